@@ -74,6 +74,7 @@ def _graal_js_gate_runner(args, tasks):
         'directbytebuffer': ['-Dpolyglot.js.direct-byte-buffer=true', 'gate'],
         'cloneuninitialized': ['-Dpolyglot.js.test-clone-uninitialized=true', 'gate'],
         'lazytranslation': ['-Dpolyglot.js.lazy-translation=true', 'gate'],
+        'lazyparsing': ['-Dpolyglot.js.lazy-parsing=true', 'gate'],
         'shareengine': ['gate', 'shareengine'],
         'latestesversion': ['gate', 'minesversion=2021'],
     }
@@ -486,6 +486,7 @@ suite = {
       "dependencies" : [
         "com.oracle.truffle.js",
         "com.oracle.truffle.js.parser",
+        "com.oracle.truffle.js.snapshot",
       ],
       "distDependencies" : [
         "regex:TREGEX",
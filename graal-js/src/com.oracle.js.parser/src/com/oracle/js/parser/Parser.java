@@ -109,6 +109,7 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Consumer;
 
 import org.graalvm.collections.Pair;
@@ -271,6 +272,9 @@ public class Parser extends AbstractParser {
 
     private RecompilableScriptFunctionData reparsedFunction;
 
+    /** Replace function bodies by empty placeholders after checking their syntax. */
+    private boolean preparseFunctionBodies;
+
     private boolean isModule;
 
     public static final boolean PROFILE_PARSING = Options.getBooleanProperty("parser.profiling", false);
@@ -356,6 +360,18 @@ public class Parser extends AbstractParser {
         this.reparsedFunction = reparsedFunction;
     }
 
+    /**
+     * Enables pre-parsing of function bodies: the syntax of the bodies of eligible functions is
+     * checked as usual, but instead of the body, only the names it references are retained in the
+     * resulting {@link FunctionNode}. Such functions have to be parsed again using
+     * {@link #parsePreparsedFunction(FunctionNode)} before they can be translated.
+     *
+     * @param preparseFunctionBodies whether to pre-parse function bodies.
+     */
+    public void setPreparseFunctionBodies(final boolean preparseFunctionBodies) {
+        this.preparseFunctionBodies = preparseFunctionBodies;
+    }
+
     /**
      * Set up first token. Skips opening EOL.
      */
@@ -465,6 +481,38 @@ public class Parser extends AbstractParser {
         return parseModule(moduleName, 0, source.getLength());
     }
 
+    /**
+     * Parse a function that has been {@linkplain FunctionNode#isPreparsed() pre-parsed} during the
+     * parsing of its enclosing script. The parser has to be created for the same source and with a
+     * line offset of {@code preparsedFunction.getLineNumber() - 1}. Nested functions are parsed
+     * completely, so that no function body is parsed more than twice.
+     *
+     * @param preparsedFunction the pre-parsed function
+     * @return the complete function node, or {@code null} if parsing failed
+     */
+    public FunctionNode parsePreparsedFunction(final FunctionNode preparsedFunction) {
+        assert preparsedFunction.isPreparsed() && !preparsedFunction.isModule();
+        boolean oldStrictMode = isStrictMode;
+        boolean oldPreparseFunctionBodies = preparseFunctionBodies;
+        try {
+            isStrictMode = preparsedFunction.isStrict();
+            preparseFunctionBodies = false;
+            final int functionStart = preparsedFunction.getStartWithoutParens();
+            prepareLexer(functionStart, preparsedFunction.getFinishWithoutParens() - functionStart);
+
+            scanFirstToken();
+
+            return preparsedFunction(preparsedFunction);
+        } catch (final Exception e) {
+            handleParseException(e);
+
+            return null;
+        } finally {
+            preparseFunctionBodies = oldPreparseFunctionBodies;
+            isStrictMode = oldStrictMode;
+        }
+    }
+
     /**
      * Parse eval code.
      *
@@ -673,6 +721,11 @@ public class Parser extends AbstractParser {
 
     private FunctionNode createFunctionNode(final ParserContextFunctionNode function, final long startToken, final IdentNode ident,
                     final int functionLine, final Block body) {
+        return createFunctionNode(function, startToken, ident, functionLine, body, null);
+    }
+
+    private FunctionNode createFunctionNode(final ParserContextFunctionNode function, final long startToken, final IdentNode ident,
+                    final int functionLine, final Block body, final List<String> preparsedReferences) {
         assert body.isFunctionBody() || (body.isParameterBlock() && ((BlockStatement) body.getLastStatement()).getBlock().isFunctionBody());
 
         VarNode varNode = function.getBodyScope().verifyHoistedVarDeclarations();
@@ -700,7 +753,8 @@ public class Parser extends AbstractParser {
                         body,
                         function.getEndParserState(),
                         function.getModule(),
-                        function.getInternalName());
+                        function.getInternalName(),
+                        preparsedReferences);
 
         return functionNode;
     }
@@ -1070,6 +1124,35 @@ public class Parser extends AbstractParser {
         return createFunctionNode(script, functionToken, ident, functionLine, programBody);
     }
 
+    /**
+     * Parse a pre-parsed function in the context of a synthetic script.
+     */
+    private FunctionNode preparsedFunction(final FunctionNode preparsedFunction) {
+        final long scriptToken = Token.toDesc(FUNCTION, start, source.getLength() - start);
+        final Scope topScope = Scope.createGlobal();
+        final ParserContextFunctionNode script = createParserContextFunctionNode(null, scriptToken, FunctionNode.IS_SCRIPT, line, null, 0, topScope);
+
+        lc.push(script);
+        final ParserContextBlockNode body = newBlock(topScope);
+        functionDeclarations = new ArrayList<>();
+        final Expression function;
+        try {
+            if (preparsedFunction.isAsync()) {
+                function = asyncFunctionExpression(preparsedFunction.isStatement(), true);
+            } else {
+                function = functionExpression(preparsedFunction.isStatement(), true);
+            }
+        } finally {
+            functionDeclarations = null;
+            restoreBlock(body);
+            lc.pop(script);
+        }
+
+        expect(EOF);
+
+        return (FunctionNode) function;
+    }
+
     private static Scope applyArgumentsToScope(Scope scope, String[] argumentNames) {
         if (argumentNames == null) {
             return scope;
@@ -2085,7 +2168,7 @@ public class Parser extends AbstractParser {
     }
 
     private static boolean isReservedWordSequence(final String name) {
-        TokenType tokenType = TokenLookup.lookupKeyword(name.toCharArray(), 0, name.length());
+        TokenType tokenType = TokenLookup.lookupKeyword(name, 0, name.length());
         return (tokenType != IDENT && !tokenType.isContextualKeyword() && !tokenType.isFutureStrict());
     }
 
@@ -2133,7 +2216,7 @@ public class Parser extends AbstractParser {
         if (ident.tokenType().isFutureStrict()) {
             return true;
         } else if (isEscapedIdent(ident)) {
-            TokenType tokenType = TokenLookup.lookupKeyword(ident.getName().toCharArray(), 0, ident.getName().length());
+            TokenType tokenType = TokenLookup.lookupKeyword(ident.getName(), 0, ident.getName().length());
             return (tokenType != IDENT && tokenType.isFutureStrict());
         }
         return false;
@@ -4915,12 +4998,19 @@ public class Parser extends AbstractParser {
 
         verifyParameterList(functionNode);
 
+        List<String> preparsedReferences = null;
+        if (canPreparseFunctionBody(functionNode, functionBody)) {
+            preparsedReferences = collectPreparsedReferences(functionBody);
+            functionBody = new Block(functionBody.getToken(), functionBody.getFinish(), functionBody.getFlags(), functionBody.getScope());
+        }
+
         final FunctionNode function = createFunctionNode(
                         functionNode,
                         functionToken,
                         name,
                         functionLine,
-                        functionBody);
+                        functionBody,
+                        preparsedReferences);
 
         if (isStatement) {
             if (isAnonymous) {
@@ -4944,6 +5034,53 @@ public class Parser extends AbstractParser {
         return function;
     }
 
+    /**
+     * Only plain function declarations and expressions with a simple parameter list (without
+     * duplicates, which are renamed) are pre-parsed. Functions that contain eval or are nested in a
+     * class or a module can observe enclosing scopes in ways that are not captured by the names
+     * they reference.
+     */
+    private boolean canPreparseFunctionBody(final ParserContextFunctionNode functionNode, final Block functionBody) {
+        if (!preparseFunctionBodies || isModule || !functionBody.isFunctionBody() || !functionNode.isSimpleParameterList() || functionNode.getDuplicateParameterBinding() != null) {
+            return false;
+        }
+        return functionNode.getFlag(FunctionNode.HAS_EVAL | FunctionNode.HAS_NESTED_EVAL | FunctionNode.HAS_ARROW_EVAL) == 0 && lc.getCurrentClass() == null;
+    }
+
+    /**
+     * Collects the names referenced by a function body that are not declared in the body itself.
+     * {@code this}, {@code super}, {@code new.target} and {@code arguments} are not included since
+     * they are always bound by the (non-arrow) function.
+     */
+    private static List<String> collectPreparsedReferences(final Block functionBody) {
+        final Set<String> references = new HashSet<>();
+        functionBody.accept(new NodeVisitor<LexicalContext>(new LexicalContext()) {
+            @Override
+            public boolean enterIdentNode(IdentNode identNode) {
+                if (!identNode.isPropertyName() && !identNode.isThis() && !identNode.isSuper() && !identNode.isMetaProperty()) {
+                    references.add(identNode.getName());
+                }
+                return false;
+            }
+
+            @Override
+            public boolean enterFunctionNode(FunctionNode functionNode) {
+                if (functionNode.isPreparsed()) {
+                    references.addAll(functionNode.getPreparsedReferences());
+                }
+                return true;
+            }
+        });
+        final Scope bodyScope = functionBody.getScope();
+        final List<String> freeReferences = new ArrayList<>(references.size());
+        for (String name : references) {
+            if (!bodyScope.hasSymbol(name) && !name.equals(ARGUMENTS_NAME)) {
+                freeReferences.add(name);
+            }
+        }
+        return freeReferences;
+    }
+
     private static Block wrapParameterBlock(ParserContextBlockNode parameterBlock, Block functionBody) {
         assert parameterBlock.getFlag(Block.IS_PARAMETER_BLOCK) != 0 && functionBody.isFunctionBody();
         if (parameterBlock.getStatements().isEmpty()) {
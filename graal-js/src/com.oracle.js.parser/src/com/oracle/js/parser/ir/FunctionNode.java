@@ -100,6 +100,12 @@ public final class FunctionNode extends LexicalContextExpression implements Flag
     /** Optional internal/inferred function name. */
     private final String internalName;
 
+    /**
+     * Names referenced by a function whose body has only been pre-parsed, or {@code null} if the
+     * function body has been parsed fully.
+     */
+    private final List<String> preparsedReferences;
+
     private boolean usesAncestorScope;
 
     /** Is anonymous function flag. */
@@ -271,6 +277,35 @@ public final class FunctionNode extends LexicalContextExpression implements Flag
                     final Object endParserState,
                     final Module module,
                     final String internalName) {
+        this(source, lineNumber, token, finish, firstToken, lastToken, ident, name, length, numOfParams, parameters, flags, body, endParserState, module, internalName, null);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param preparsedReferences names referenced by the function if its body has only been
+     *            pre-parsed (and replaced by an empty block), otherwise {@code null}.
+     * @see #FunctionNode(Source, int, long, int, long, long, IdentNode, String, int, int, List,
+     *      int, Block, Object, Module, String)
+     */
+    public FunctionNode(
+                    final Source source,
+                    final int lineNumber,
+                    final long token,
+                    final int finish,
+                    final long firstToken,
+                    final long lastToken,
+                    final IdentNode ident,
+                    final String name,
+                    final int length,
+                    final int numOfParams,
+                    final List<IdentNode> parameters,
+                    final int flags,
+                    final Block body,
+                    final Object endParserState,
+                    final Module module,
+                    final String internalName,
+                    final List<String> preparsedReferences) {
         super(token, Token.descPosition(firstToken), finish);
 
         this.source = source;
@@ -287,6 +322,7 @@ public final class FunctionNode extends LexicalContextExpression implements Flag
         this.endParserState = endParserState;
         this.module = module;
         this.internalName = internalName;
+        this.preparsedReferences = preparsedReferences;
     }
 
     private FunctionNode(
@@ -316,6 +352,8 @@ public final class FunctionNode extends LexicalContextExpression implements Flag
         this.numOfParams = functionNode.numOfParams;
         this.module = functionNode.module;
         this.internalName = functionNode.internalName;
+        // replacing the (empty) body of a pre-parsed function completes it
+        this.preparsedReferences = body == functionNode.body ? functionNode.preparsedReferences : null;
     }
 
     @Override
@@ -752,6 +790,24 @@ public final class FunctionNode extends LexicalContextExpression implements Flag
         return usesAncestorScope;
     }
 
+    /**
+     * Returns true if only a syntax check has been performed on the body of this function, i.e.,
+     * {@link #getBody()} is an empty placeholder and the function has to be parsed again before it
+     * can be translated.
+     */
+    public boolean isPreparsed() {
+        return preparsedReferences != null;
+    }
+
+    /**
+     * Names that are referenced, but not declared, by the body of a pre-parsed function (including
+     * its nested functions). Used to resolve references to enclosing scopes without the body.
+     */
+    public List<String> getPreparsedReferences() {
+        assert isPreparsed();
+        return preparsedReferences;
+    }
+
     public void setUsesAncestorScope(boolean usesAncestorScope) {
         this.usesAncestorScope = usesAncestorScope;
     }
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the time to load a script with many functions, of which only a few are called, with and
+ * without {@code js.lazy-parsing}. Each invocation uses a new context and an uncached source, so
+ * the script is parsed and translated every time.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JMHLazyParsingBenchmark {
+    @State(Scope.Thread)
+    public static class MyState {
+        protected static final int FUNCTIONS = 2000;
+        protected static final int CALLED_FUNCTIONS = 20;
+
+        @Param({"false", "true"}) String lazyParsing;
+
+        Context context;
+        Source source;
+
+        @Setup(Level.Trial)
+        public void doSetup() {
+            StringBuilder code = new StringBuilder();
+            for (int i = 0; i < FUNCTIONS; i++) {
+                code.append("function f").append(i).append("(a, b) {\n");
+                code.append("  var result = [];\n");
+                code.append("  for (var i = 0; i < a; i++) {\n");
+                code.append("    result.push({ index: i, value: typeof b === 'function' ? b(i) : b + i, nested: function(x) { return x * ").append(i).append("; } });\n");
+                code.append("  }\n");
+                code.append("  return result.length > 0 ? result[0].nested(a) : null;\n");
+                code.append("}\n");
+            }
+            code.append("var sum = 0;\n");
+            for (int i = 0; i < CALLED_FUNCTIONS; i++) {
+                code.append("sum += f").append(i * (FUNCTIONS / CALLED_FUNCTIONS)).append("(3, 1);\n");
+            }
+            code.append("sum;\n");
+            source = Source.newBuilder("js", code, "lazy-parsing.js").cached(false).buildLiteral();
+        }
+
+        @Setup(Level.Invocation)
+        public void doSetupContext() {
+            context = Context.newBuilder("js").allowExperimentalOptions(true).option("js.lazy-parsing", lazyParsing).build();
+            context.initialize("js");
+        }
+
+        @TearDown(Level.Invocation)
+        public void doTearDownContext() {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public Value testLoad(MyState state) {
+        return state.context.eval(state.source);
+    }
+}
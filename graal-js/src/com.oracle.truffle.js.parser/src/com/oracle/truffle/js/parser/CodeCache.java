@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.parser;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.ServiceLoader;
+import java.util.zip.CRC32;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleFile;
+import com.oracle.truffle.api.TruffleLanguage.Env;
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.js.nodes.JSNodeDecoder;
+import com.oracle.truffle.js.nodes.NodeFactory;
+import com.oracle.truffle.js.nodes.ScriptNode;
+import com.oracle.truffle.js.nodes.function.FunctionRootNode;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSContextOptions;
+
+/**
+ * Persistent cache of binary script snapshots in the directory given by
+ * {@link com.oracle.truffle.js.runtime.JSContextOptions#CODE_CACHE_DIR}.
+ *
+ * Every script is stored in its own file, named after a SHA-256 hash of the source code, the values
+ * of all options but the cache directory, and the snapshot format. A changed script or option
+ * therefore never finds an old entry. Entries are written to a temporary file and moved into place
+ * atomically, and they are verified (header and CRC32 of the snapshot) before they are decoded. An
+ * entry that fails verification or decoding is deleted and the script is parsed again. All file
+ * accesses go through {@link TruffleFile}, so they are subject to the IO permissions and the file
+ * system of the context; if the cache directory cannot be accessed, scripts are parsed as usual.
+ */
+final class CodeCache {
+
+    private static final int MAGIC = 0x4353434a;
+    private static final int KEY_SIZE = 32;
+    private static final int HEADER_SIZE = 4 + 4 + KEY_SIZE + 4 + 4;
+    private static final String FILE_SUFFIX = ".jsc";
+    private static final int DIGEST_CHUNK_SIZE = 4096;
+
+    private static final SnapshotRecorder RECORDER = loadRecorder();
+
+    private CodeCache() {
+        // should not be constructed
+    }
+
+    private static SnapshotRecorder loadRecorder() {
+        Iterator<SnapshotRecorder> recorders = ServiceLoader.load(SnapshotRecorder.class, CodeCache.class.getClassLoader()).iterator();
+        return recorders.hasNext() ? recorders.next() : null;
+    }
+
+    @TruffleBoundary
+    static ScriptNode parseScript(JSContext context, Source source, boolean strict) {
+        byte[] key = computeKey(context, source, strict);
+        Env env = context.getRealm().getEnv();
+        TruffleFile file = resolveEntry(env, context.getContextOptions().getCodeCacheDirectory(), toHexString(key) + FILE_SUFFIX);
+        if (file != null) {
+            ByteBuffer snapshot = readSnapshot(file, key);
+            if (snapshot != null) {
+                try {
+                    return ScriptNode.fromFunctionRoot(context, (FunctionRootNode) new BinarySnapshotProvider(snapshot).apply(NodeFactory.getInstance(context), context, source));
+                } catch (IllegalArgumentException | IllegalStateException | BufferUnderflowException e) {
+                    // malformed snapshot: a valid checksum does not protect against hash
+                    // collisions or format bugs
+                    deleteQuietly(file);
+                }
+            }
+            assert !context.getContextOptions().isLazyTranslation() : "recorded function bodies have to be translated eagerly";
+            if (RECORDER != null) {
+                return RECORDER.translateScript(context, source, strict, s -> writeSnapshot(env, file, key, s));
+            }
+        }
+        return JavaScriptTranslator.translateScript(NodeFactory.getInstance(context), context, source, strict, "", "");
+    }
+
+    /**
+     * Returns the cache entry with the given name, or {@code null} if the cache directory cannot be
+     * accessed.
+     */
+    private static TruffleFile resolveEntry(Env env, String directory, String name) {
+        try {
+            return env.getPublicTruffleFile(directory).resolve(name);
+        } catch (SecurityException | UnsupportedOperationException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static byte[] computeKey(JSContext context, Source source, boolean strict) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        // any option may affect parsing or translation, except the location of the cache itself
+        digest.update(context.getContextOptions().describeOptionValues(JSContextOptions.CODE_CACHE_DIR).getBytes(StandardCharsets.UTF_8));
+        ByteBuffer buffer = ByteBuffer.allocate(DIGEST_CHUNK_SIZE * 2);
+        buffer.putInt(JSNodeDecoder.getChecksum());
+        buffer.put((byte) (strict ? 1 : 0));
+        CharSequence code = source.getCharacters();
+        buffer.putInt(code.length());
+        for (int i = 0; i < code.length(); i++) {
+            if (buffer.remaining() < 2) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+            buffer.putChar(code.charAt(i));
+        }
+        buffer.flip();
+        digest.update(buffer);
+        byte[] key = digest.digest();
+        assert key.length == KEY_SIZE;
+        return key;
+    }
+
+    private static ByteBuffer readSnapshot(TruffleFile file, byte[] key) {
+        try (SeekableByteChannel channel = file.newByteChannel(EnumSet.of(StandardOpenOption.READ))) {
+            long size = channel.size();
+            if (size >= HEADER_SIZE && size <= Integer.MAX_VALUE) {
+                ByteBuffer buffer = readFully(channel, (int) size);
+                if (verify(buffer, key)) {
+                    buffer.position(HEADER_SIZE);
+                    return buffer.slice();
+                }
+            }
+        } catch (NoSuchFileException e) {
+            // no entry yet
+            return null;
+        } catch (IOException | SecurityException | UnsupportedOperationException e) {
+            // not readable
+            return null;
+        }
+        deleteQuietly(file);
+        return null;
+    }
+
+    /**
+     * Maps the file if the file system provides a {@link FileChannel}, otherwise reads it into a heap
+     * buffer.
+     */
+    private static ByteBuffer readFully(SeekableByteChannel channel, int size) throws IOException {
+        if (channel instanceof FileChannel) {
+            // the mapping stays valid after the channel has been closed
+            return ((FileChannel) channel).map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                break;
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static boolean verify(ByteBuffer buffer, byte[] key) {
+        if (buffer.getInt() != MAGIC || buffer.getInt() != JSNodeDecoder.getChecksum()) {
+            return false;
+        }
+        byte[] storedKey = new byte[KEY_SIZE];
+        buffer.get(storedKey);
+        if (!Arrays.equals(key, storedKey)) {
+            return false;
+        }
+        int length = buffer.getInt();
+        int crc = buffer.getInt();
+        if (length != buffer.remaining()) {
+            return false;
+        }
+        return crc == checksum(buffer);
+    }
+
+    private static int checksum(ByteBuffer snapshot) {
+        CRC32 crc = new CRC32();
+        crc.update(snapshot.duplicate());
+        return (int) crc.getValue();
+    }
+
+    private static void writeSnapshot(Env env, TruffleFile file, byte[] key, ByteBuffer snapshot) {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC);
+        header.putInt(JSNodeDecoder.getChecksum());
+        header.put(key);
+        header.putInt(snapshot.remaining());
+        header.putInt(checksum(snapshot));
+        header.flip();
+        ByteBuffer data = snapshot.duplicate();
+
+        TruffleFile tempFile = null;
+        try {
+            TruffleFile directory = file.getParent();
+            directory.createDirectories();
+            // concurrent writers use different temporary files, readers only see complete files
+            tempFile = env.createTempFile(directory, file.getName(), ".tmp");
+            try (SeekableByteChannel channel = tempFile.newByteChannel(EnumSet.of(StandardOpenOption.WRITE))) {
+                while (header.hasRemaining()) {
+                    channel.write(header);
+                }
+                while (data.hasRemaining()) {
+                    channel.write(data);
+                }
+            }
+            tempFile.move(file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            tempFile = null;
+        } catch (IOException | SecurityException | UnsupportedOperationException e) {
+            // the cache is best effort
+        } finally {
+            if (tempFile != null) {
+                deleteQuietly(tempFile);
+            }
+        }
+    }
+
+    private static void deleteQuietly(TruffleFile file) {
+        try {
+            file.delete();
+        } catch (IOException | SecurityException e) {
+            // already gone, or another process may still use it; it will be replaced on the next
+            // write
+        }
+    }
+
+    private static String toHexString(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return sb.toString();
+    }
+}
@@ -109,6 +109,8 @@ import com.oracle.truffle.js.runtime.builtins.JSFunctionData;
 import com.oracle.truffle.js.runtime.builtins.JSModuleNamespace;
 import com.oracle.truffle.js.runtime.builtins.JSPromise;
 import com.oracle.truffle.js.runtime.objects.ExportResolution;
+import com.oracle.truffle.js.runtime.objects.JSModuleCache;
+import com.oracle.truffle.js.runtime.objects.JSModuleData;
 import com.oracle.truffle.js.runtime.objects.JSModuleLoader;
 import com.oracle.truffle.js.runtime.objects.JSModuleRecord;
 import com.oracle.truffle.js.runtime.objects.JSModuleRecord.Status;
@@ -262,6 +264,9 @@ public final class GraalJSEvaluator implements JSParser {
             return fakeScriptForModule(context, source);
         }
         try {
+            if (!context.getContextOptions().getCodeCacheDirectory().isEmpty() && prolog.isEmpty() && epilog.isEmpty() && argumentNames == null) {
+                return CodeCache.parseScript(context, source, context.getParserOptions().isStrict());
+            }
             return JavaScriptTranslator.translateScript(NodeFactory.getInstance(context), context, source, context.getParserOptions().isStrict(), prolog, epilog, argumentNames);
         } catch (com.oracle.js.parser.ParserException e) {
             throw Errors.createSyntaxError(e.getMessage());
@@ -368,8 +373,20 @@ public final class GraalJSEvaluator implements JSParser {
     @TruffleBoundary
     @Override
     public JSModuleRecord parseModule(JSContext context, Source source, JSModuleLoader moduleLoader) {
+        JSModuleCache moduleCache = context.getModuleCache();
+        JSModuleData parsedModule = moduleCache.get(source);
+        if (parsedModule == null) {
+            parsedModule = parseModule(context, source);
+            moduleCache.put(parsedModule);
+        }
+        return new JSModuleRecord(parsedModule, context, moduleLoader);
+    }
+
+    @TruffleBoundary
+    @Override
+    public JSModuleData parseModule(JSContext context, Source source) {
         try {
-            return JavaScriptTranslator.translateModule(NodeFactory.getInstance(context), context, source, moduleLoader);
+            return JavaScriptTranslator.translateModule(NodeFactory.getInstance(context), context, source);
         } catch (com.oracle.js.parser.ParserException e) {
             throw Errors.createSyntaxError(e.getMessage(), e, null);
         }
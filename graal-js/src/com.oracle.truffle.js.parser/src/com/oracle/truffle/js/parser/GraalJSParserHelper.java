@@ -125,6 +125,7 @@ public final class GraalJSParserHelper {
         } else if (argumentNames != null) {
             parsed = parser.parseWithArguments(argumentNames);
         } else {
+            parser.setPreparseFunctionBodies(context.getContextOptions().isLazyParsing());
             parsed = parser.parse();
         }
 
@@ -152,8 +153,32 @@ public final class GraalJSParserHelper {
         return expression;
     }
 
+    /**
+     * Parses the body of a function that has only been pre-parsed.
+     *
+     * @see Parser#parsePreparsedFunction(FunctionNode)
+     */
+    public static FunctionNode parsePreparsedFunction(JSContext context, FunctionNode preparsedFunction) {
+        CompilerAsserts.neverPartOfCompilation(NEVER_PART_OF_COMPILATION_MESSAGE);
+        JSParserOptions parserOptions = context.getParserOptions();
+        ScriptEnvironment env = makeScriptEnvironment(parserOptions);
+        ErrorManager errors = new ErrorManager.ThrowErrorManager();
+        errors.setLimit(0);
+
+        Parser parser = createParser(context, env, preparsedFunction.getSource(), errors, parserOptions, preparsedFunction.getLineNumber() - 1);
+        try {
+            return parser.parsePreparsedFunction(preparsedFunction);
+        } catch (ParserException e) {
+            throw Errors.createSyntaxError(e.getMessage());
+        }
+    }
+
     private static Parser createParser(JSContext context, ScriptEnvironment env, com.oracle.js.parser.Source source, ErrorManager errors, JSParserOptions parserOptions) {
-        return new Parser(env, source, errors) {
+        return createParser(context, env, source, errors, parserOptions, 0);
+    }
+
+    private static Parser createParser(JSContext context, ScriptEnvironment env, com.oracle.js.parser.Source source, ErrorManager errors, JSParserOptions parserOptions, int lineOffset) {
+        return new Parser(env, source, errors, parserOptions.isStrict(), lineOffset) {
             @Override
             protected void validateLexerToken(LexerToken lexerToken) {
                 if (lexerToken instanceof RegexToken) {
@@ -137,6 +137,7 @@ import com.oracle.truffle.js.nodes.control.ContinueTarget;
 import com.oracle.truffle.js.nodes.control.DiscardResultNode;
 import com.oracle.truffle.js.nodes.control.EmptyNode;
 import com.oracle.truffle.js.nodes.control.GeneratorWrapperNode;
+import com.oracle.truffle.js.nodes.control.JumpTableSwitchNode;
 import com.oracle.truffle.js.nodes.control.ResumableNode;
 import com.oracle.truffle.js.nodes.control.ReturnNode;
 import com.oracle.truffle.js.nodes.control.ReturnTargetNode;
@@ -340,7 +341,14 @@ abstract class GraalJSTranslator extends com.oracle.js.parser.ir.visitor.Transla
 
         boolean lazyTranslation = context.getContextOptions().isLazyTranslation() && functionMode && !functionNode.isProgram() && !inDirectEval;
 
+        if (functionNode.isPreparsed() && !lazyTranslation) {
+            return enterFunctionNode(parsePreparsedFunction(functionNode));
+        }
+
         String functionName = getFunctionName(functionNode);
+        int comparatorOrder = isGeneratorFunction || isAsyncFunction || isClassConstructor ? 0 : numericComparatorOrder(functionNode);
+        boolean isAscendingComparator = comparatorOrder > 0;
+        boolean isDescendingComparator = comparatorOrder < 0;
         JSFunctionData functionData;
         FunctionRootNode functionRoot;
         if (lazyTranslation) {
@@ -350,7 +358,8 @@ abstract class GraalJSTranslator extends com.oracle.js.parser.ir.visitor.Transla
             boolean needsParentFrame = functionNode.usesAncestorScope();
 
             functionData = factory.createFunctionData(context, functionNode.getLength(), functionName, isConstructor, isDerivedConstructor, isStrict, isBuiltin,
-                            needsParentFrame, isGeneratorFunction, isAsyncFunction, isClassConstructor, strictFunctionProperties, needsNewTarget);
+                            needsParentFrame, isGeneratorFunction, isAsyncFunction, isClassConstructor, strictFunctionProperties, needsNewTarget, isAscendingComparator,
+                            isDescendingComparator);
 
             LexicalContext savedLC = lc.copy();
             Environment parentEnv = environment;
@@ -396,7 +405,8 @@ abstract class GraalJSTranslator extends com.oracle.js.parser.ir.visitor.Transla
                 currentFunction.freeze();
 
                 functionData = factory.createFunctionData(context, functionNode.getLength(), functionName, isConstructor, isDerivedConstructor, isStrict, isBuiltin,
-                                needsParentFrame, isGeneratorFunction, isAsyncFunction, isClassConstructor, strictFunctionProperties, needsNewTarget);
+                                needsParentFrame, isGeneratorFunction, isAsyncFunction, isClassConstructor, strictFunctionProperties, needsNewTarget, isAscendingComparator,
+                                isDescendingComparator);
 
                 functionRoot = createFunctionRoot(functionNode, functionData, currentFunction, body);
 
@@ -465,8 +475,9 @@ abstract class GraalJSTranslator extends com.oracle.js.parser.ir.visitor.Transla
         return body;
     }
 
-    private FunctionRootNode translateFunctionOnDemand(FunctionNode functionNode, JSFunctionData functionData, boolean isStrict, boolean isArrowFunction, boolean isGeneratorFunction,
+    private FunctionRootNode translateFunctionOnDemand(FunctionNode lazyFunctionNode, JSFunctionData functionData, boolean isStrict, boolean isArrowFunction, boolean isGeneratorFunction,
                     boolean isAsyncFunction, boolean isDerivedConstructor, boolean isGlobal, boolean needsNewTarget, boolean needsParentFrame, String functionName, boolean hasSyntheticArguments) {
+        FunctionNode functionNode = lazyFunctionNode.isPreparsed() ? parsePreparsedFunction(lazyFunctionNode) : lazyFunctionNode;
         try (EnvironmentCloseable functionEnv = enterFunctionEnvironment(isStrict, isArrowFunction, isGeneratorFunction, isDerivedConstructor, isAsyncFunction, isGlobal, hasSyntheticArguments)) {
             FunctionEnvironment currentFunction = currentFunction();
             currentFunction.setFunctionName(functionName);
@@ -489,6 +500,23 @@ abstract class GraalJSTranslator extends com.oracle.js.parser.ir.visitor.Transla
         }
     }
 
+    /**
+     * Parses the body of a pre-parsed function and replaces the function on top of the lexical
+     * context with the complete function. The function itself has already been covered by the
+     * parent frame analysis (using its pre-parsed references); its nested functions are analyzed
+     * now.
+     */
+    private FunctionNode parsePreparsedFunction(FunctionNode functionNode) {
+        assert lc.getCurrentFunction() == functionNode;
+        FunctionNode parsedFunction = GraalJSParserHelper.parsePreparsedFunction(context, functionNode);
+        FunctionNode completeFunction = functionNode.setBody(lc, parsedFunction.getBody());
+        completeFunction.setUsesAncestorScope(functionNode.usesAncestorScope());
+        if (context.getContextOptions().isLazyTranslation()) {
+            functionNeedsParentFramePass(completeFunction.getBody(), lc);
+        }
+        return completeFunction;
+    }
+
     private FunctionRootNode createFunctionRoot(FunctionNode functionNode, JSFunctionData functionData, FunctionEnvironment currentFunction, JavaScriptNode body) {
         SourceSection functionSourceSection = createSourceSection(functionNode);
         FunctionBodyNode functionBody = factory.createFunctionBody(body);
@@ -939,7 +967,15 @@ abstract class GraalJSTranslator extends com.oracle.js.parser.ir.visitor.Transla
             return; // nothing to do
         }
 
-        com.oracle.js.parser.ir.visitor.NodeVisitor<LexicalContext> visitor = new com.oracle.js.parser.ir.visitor.NodeVisitor<LexicalContext>(new LexicalContext()) {
+        functionNeedsParentFramePass(rootFunctionNode, new LexicalContext());
+    }
+
+    /**
+     * Marks the functions that need their parent frame, for {@code node} and all the functions
+     * nested in it. {@code lexicalContext} holds the nodes enclosing {@code node}.
+     */
+    private static void functionNeedsParentFramePass(com.oracle.js.parser.ir.Node node, LexicalContext lexicalContext) {
+        com.oracle.js.parser.ir.visitor.NodeVisitor<LexicalContext> visitor = new com.oracle.js.parser.ir.visitor.NodeVisitor<LexicalContext>(lexicalContext) {
             @Override
             public boolean enterIdentNode(IdentNode identNode) {
                 if (!identNode.isPropertyName()) {
@@ -1051,12 +1087,56 @@ abstract class GraalJSTranslator extends com.oracle.js.parser.ir.visitor.Transla
                 if (functionNode.hasEval()) {
                     markUsesAncestorScopeUntil(null, false);
                 }
+                if (functionNode.isPreparsed()) {
+                    // the body is not available yet, resolve the names it references instead
+                    for (String varName : functionNode.getPreparsedReferences()) {
+                        findSymbol(varName);
+                    }
+                    return false;
+                }
                 // TODO if function does not have nested functions we can skip it
                 return true;
             }
         };
 
-        rootFunctionNode.accept(visitor);
+        node.accept(visitor);
+    }
+
+    /**
+     * Recognizes trivial numeric comparators like {@code (a, b) => a - b}, i.e., functions whose
+     * body is a single {@code return} of the difference of their two simple parameters. Returns a
+     * positive value for {@code a - b}, a negative value for {@code b - a}, and 0 otherwise,
+     * including for pre-parsed functions whose body is not available.
+     */
+    private static int numericComparatorOrder(FunctionNode functionNode) {
+        if (functionNode.getNumOfParams() != 2 || !functionNode.hasSimpleParameterList() || functionNode.isPreparsed()) {
+            return 0;
+        }
+        List<Statement> statements = functionNode.getBody().getStatements();
+        if (statements.size() != 1 || !(statements.get(0) instanceof com.oracle.js.parser.ir.ReturnNode)) {
+            return 0;
+        }
+        Expression expression = ((com.oracle.js.parser.ir.ReturnNode) statements.get(0)).getExpression();
+        if (!(expression instanceof BinaryNode) || !expression.isTokenType(TokenType.SUB)) {
+            return 0;
+        }
+        Expression lhs = ((BinaryNode) expression).getLhs();
+        Expression rhs = ((BinaryNode) expression).getRhs();
+        if (!(lhs instanceof IdentNode) || !(rhs instanceof IdentNode)) {
+            return 0;
+        }
+        String first = functionNode.getParameters().get(0).getName();
+        String second = functionNode.getParameters().get(1).getName();
+        String minuend = ((IdentNode) lhs).getName();
+        String subtrahend = ((IdentNode) rhs).getName();
+        if (first.equals(second)) {
+            return 0;
+        } else if (minuend.equals(first) && subtrahend.equals(second)) {
+            return 1;
+        } else if (minuend.equals(second) && subtrahend.equals(first)) {
+            return -1;
+        }
+        return 0;
     }
 
     private static boolean checkDirectArgumentsAccess(FunctionNode functionNode, FunctionEnvironment currentFunction) {
@@ -3050,9 +3130,48 @@ abstract class GraalJSTranslator extends com.oracle.js.parser.ir.visitor.Transla
         }
         // set default case position to the end
         jumptable[jumptable.length - 1] = defaultpos != -1 ? defaultpos : statementList.size();
+        Object[] caseValues = isSwitchTypeofString ? null : getJumpTableSwitchCaseValues(switchNode);
+        if (caseValues != null) {
+            JavaScriptNode readSwitchVarNode = switchVar.createReadNode();
+            tagHiddenExpression(readSwitchVarNode);
+            return factory.createJumpTableSwitch(readSwitchVarNode, caseExprList.toArray(EMPTY_NODE_ARRAY), caseValues, jumptable, statementList.toArray(EMPTY_NODE_ARRAY));
+        }
         return factory.createSwitch(caseExprList.toArray(EMPTY_NODE_ARRAY), jumptable, statementList.toArray(EMPTY_NODE_ARRAY));
     }
 
+    /**
+     * Returns the case values (in case order, without the default case) if the switch has enough
+     * cases and all of them are int or string literals, {@code null} otherwise.
+     */
+    private static Object[] getJumpTableSwitchCaseValues(com.oracle.js.parser.ir.SwitchNode switchNode) {
+        List<CaseNode> cases = switchNode.getCases();
+        int caseCount = cases.size() - (switchNode.hasDefaultCase() ? 1 : 0);
+        if (caseCount < JSConfig.MinJumpTableSwitchCases) {
+            return null;
+        }
+        Object[] caseValues = new Object[caseCount];
+        int i = 0;
+        for (CaseNode switchCase : cases) {
+            com.oracle.js.parser.ir.Node test = switchCase.getTest();
+            if (test == null) {
+                continue;
+            }
+            if (!(test instanceof LiteralNode) || test instanceof LiteralNode.ArrayLiteralNode) {
+                return null;
+            }
+            Object value = ((LiteralNode<?>) test).getValue();
+            if (value instanceof Double && JSRuntime.doubleIsRepresentableAsInt((double) value)) {
+                value = (int) (double) value;
+            }
+            if (!JumpTableSwitchNode.isSupportedCaseValue(value)) {
+                return null;
+            }
+            caseValues[i++] = value;
+        }
+        assert i == caseCount;
+        return caseValues;
+    }
+
     private JavaScriptNode createSwitchCaseExpr(boolean isSwitchTypeofString, CaseNode switchCase, JavaScriptNode readSwitchVarNode) {
         tagHiddenExpression(readSwitchVarNode);
         if (isSwitchTypeofString) {
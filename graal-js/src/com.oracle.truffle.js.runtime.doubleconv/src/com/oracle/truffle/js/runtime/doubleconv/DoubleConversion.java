@@ -97,10 +97,10 @@ public final class DoubleConversion {
     public static String toShortest(final double value) {
         assert Double.isFinite(value) : value;
 
-        final DtoaBuffer buffer = new DtoaBuffer(FastDtoa.kFastDtoaMaximalLength);
-        dtoaShortest(value, buffer);
-
-        return buffer.format(DtoaMode.SHORTEST, 0);
+        if (value == 0) {
+            return "0";
+        }
+        return SchubfachDtoa.toShortest(value);
     }
 
     private static void dtoaShortest(final double value, final DtoaBuffer buffer) {
@@ -113,9 +113,8 @@ public final class DoubleConversion {
         if (value == 0) {
             buffer.append('0');
             buffer.decimalPoint = 1;
-        } else if (!fastDtoaShortest(absValue, buffer)) {
-            buffer.reset();
-            bignumDtoa(absValue, DtoaMode.SHORTEST, 0, buffer);
+        } else {
+            SchubfachDtoa.dtoa(absValue, buffer);
         }
     }
 
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.scriptengine.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.script.Bindings;
+import javax.script.CompiledScript;
+import javax.script.Invocable;
+import javax.script.ScriptContext;
+
+import org.graalvm.polyglot.Context;
+import org.junit.Test;
+
+import com.oracle.truffle.js.scriptengine.GraalJSScriptEngine;
+
+public class TestMultiThreaded {
+
+    @Test
+    public void compiledScriptOnManyThreads() throws Exception {
+        int threads = 4;
+        try (GraalJSScriptEngine engine = GraalJSScriptEngine.createMultiThreaded(null, null)) {
+            CompiledScript script = engine.compile("var count = (typeof count === 'number' ? count : 0) + 1; count * factor;");
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                List<Future<Object>> results = new ArrayList<>();
+                for (int i = 0; i < threads; i++) {
+                    int factor = i + 1;
+                    results.add(executor.submit(() -> {
+                        Bindings bindings = engine.getBindings(ScriptContext.ENGINE_SCOPE);
+                        bindings.put("factor", factor);
+                        Object result = null;
+                        for (int j = 0; j < 10; j++) {
+                            result = script.eval();
+                        }
+                        // globals are per thread
+                        return ((Number) result).intValue() + ":" + ((Number) bindings.get("count")).intValue();
+                    }));
+                }
+                for (int i = 0; i < threads; i++) {
+                    assertEquals((10 * (i + 1)) + ":10", results.get(i).get());
+                }
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+
+    @Test
+    public void contextPerThread() throws Exception {
+        try (GraalJSScriptEngine engine = GraalJSScriptEngine.createMultiThreaded(null, null)) {
+            engine.eval("function twice(x) { return 2 * x; }");
+            Context main = engine.getPolyglotContext();
+            Context[] other = new Context[1];
+            Object[] result = new Object[1];
+            Thread thread = new Thread(() -> {
+                try {
+                    other[0] = engine.getPolyglotContext();
+                    engine.eval("function twice(x) { return 3 * x; }");
+                    result[0] = ((Invocable) engine).invokeFunction("twice", 7);
+                } catch (Exception e) {
+                    result[0] = e;
+                }
+            });
+            thread.start();
+            thread.join();
+            assertNotSame(main, other[0]);
+            assertEquals(21, ((Number) result[0]).intValue());
+            assertEquals(14, ((Number) ((Invocable) engine).invokeFunction("twice", 7)).intValue());
+        }
+    }
+
+    @Test
+    public void contextsOfTerminatedThreadsAreClosed() throws Exception {
+        try (GraalJSScriptEngine engine = GraalJSScriptEngine.createMultiThreaded(null, null)) {
+            int threads = 8;
+            List<Context> contexts = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                Thread thread = new Thread(() -> {
+                    try {
+                        engine.eval("var x = 42;");
+                        synchronized (contexts) {
+                            contexts.add(engine.getPolyglotContext());
+                        }
+                    } catch (Exception e) {
+                        throw new AssertionError(e);
+                    }
+                });
+                thread.start();
+                thread.join();
+            }
+            assertEquals(threads, contexts.size());
+            // the first use on this thread releases the contexts of the terminated threads
+            assertEquals(42, ((Number) engine.eval("42")).intValue());
+            for (Context context : contexts) {
+                try {
+                    context.eval("js", "x");
+                    fail("context of a terminated thread should be closed");
+                } catch (IllegalStateException e) {
+                    // expected
+                }
+            }
+        }
+    }
+}
@@ -41,9 +41,11 @@
 package com.oracle.truffle.js.scriptengine;
 
 import java.util.AbstractMap;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.script.Bindings;
 import javax.script.ScriptContext;
@@ -54,65 +56,127 @@ import org.graalvm.polyglot.Value;
 
 import com.oracle.truffle.js.scriptengine.GraalJSScriptEngine.MagicBindingsOptionSetter;
 
+/**
+ * Bindings backed by the global object of a polyglot context. Thread-confined bindings create a
+ * context per calling thread, so every thread sees its own view of the global object. The context
+ * of a thread that has terminated is closed when the next thread creates its context, or when the
+ * bindings are closed.
+ */
 final class GraalJSBindings extends AbstractMap<String, Object> implements Bindings, AutoCloseable {
     private static final String SCRIPT_CONTEXT_GLOBAL_BINDINGS_IMPORT_FUNCTION_NAME = "importScriptEngineGlobalBindings";
 
     private static final TypeLiteral<Map<String, Object>> STRING_MAP = new TypeLiteral<Map<String, Object>>() {
     };
 
-    private Context context;
-    private Map<String, Object> global;
-    private Value deleteProperty;
-    private Value clear;
+    private ContextState state;
+    private final Map<Thread, ContextState> threadStates;
     private Context.Builder contextBuilder;
     // ScriptContext of the ScriptEngine where these bindings form ENGINE_SCOPE bindings
     private ScriptContext engineScriptContext;
 
     GraalJSBindings(Context.Builder contextBuilder, ScriptContext scriptContext) {
+        this(contextBuilder, scriptContext, false);
+    }
+
+    GraalJSBindings(Context.Builder contextBuilder, ScriptContext scriptContext, boolean threadConfined) {
         this.contextBuilder = contextBuilder;
         this.engineScriptContext = scriptContext;
+        this.threadStates = threadConfined ? new ConcurrentHashMap<>() : null;
     }
 
     GraalJSBindings(Context context, ScriptContext scriptContext) {
-        this.context = context;
-        initGlobal();
+        this.state = new ContextState(context);
         this.engineScriptContext = scriptContext;
+        this.threadStates = null;
     }
 
-    private void requireContext() {
-        if (context == null) {
-            initContext();
+    /**
+     * The context, the global object and helper functions of the bindings for one thread (or for
+     * all threads unless the bindings are thread-confined).
+     */
+    private static final class ContextState {
+        final Context context;
+        final Map<String, Object> global;
+        private Value deleteProperty;
+        private Value clear;
+
+        ContextState(Context context) {
+            this.context = context;
+            this.global = GraalJSScriptEngine.evalInternal(context, "this").as(STRING_MAP);
+        }
+
+        Value deletePropertyFunction() {
+            if (this.deleteProperty == null) {
+                this.deleteProperty = GraalJSScriptEngine.evalInternal(context, "(function(obj, prop) {delete obj[prop]})");
+            }
+            return this.deleteProperty;
+        }
+
+        Value clearFunction() {
+            if (this.clear == null) {
+                this.clear = GraalJSScriptEngine.evalInternal(context, "(function(obj) {for (var prop in obj) {delete obj[prop]}})");
+            }
+            return this.clear;
         }
     }
 
-    private void initContext() {
-        context = GraalJSScriptEngine.createDefaultContext(contextBuilder);
-        initGlobal();
+    boolean isThreadConfined() {
+        return threadStates != null;
     }
 
-    private void initGlobal() {
-        this.global = GraalJSScriptEngine.evalInternal(context, "this").as(STRING_MAP);
+    private ContextState currentState() {
+        return threadStates == null ? state : threadStates.get(Thread.currentThread());
     }
 
-    private Value deletePropertyFunction() {
-        if (this.deleteProperty == null) {
-            this.deleteProperty = GraalJSScriptEngine.evalInternal(context, "(function(obj, prop) {delete obj[prop]})");
+    private boolean isContextCreated() {
+        return threadStates == null ? state != null : !threadStates.isEmpty();
+    }
+
+    private ContextState requireContext() {
+        ContextState current = currentState();
+        if (current == null) {
+            current = initContext();
         }
-        return this.deleteProperty;
+        return current;
     }
 
-    private Value clearFunction() {
-        if (this.clear == null) {
-            this.clear = GraalJSScriptEngine.evalInternal(context, "(function(obj) {for (var prop in obj) {delete obj[prop]}})");
+    private ContextState initContext() {
+        ContextState newState;
+        if (threadStates == null) {
+            newState = new ContextState(GraalJSScriptEngine.createDefaultContext(contextBuilder));
+            state = newState;
+        } else {
+            closeTerminatedThreadContexts();
+            Context context;
+            // the builder is shared by all threads
+            synchronized (this) {
+                context = GraalJSScriptEngine.createDefaultContext(contextBuilder);
+            }
+            newState = new ContextState(context);
+            threadStates.put(Thread.currentThread(), newState);
+        }
+        return newState;
+    }
+
+    /**
+     * Closes and forgets the contexts of threads that have terminated; no thread can use them any
+     * more.
+     */
+    private void closeTerminatedThreadContexts() {
+        for (Iterator<Map.Entry<Thread, ContextState>> iterator = threadStates.entrySet().iterator(); iterator.hasNext();) {
+            Map.Entry<Thread, ContextState> entry = iterator.next();
+            if (!entry.getKey().isAlive()) {
+                iterator.remove();
+                entry.getValue().context.close();
+            }
         }
-        return this.clear;
     }
 
     @Override
     public Object put(String name, Object v) {
         checkKey(name);
         if (name.startsWith(GraalJSScriptEngine.MAGIC_OPTION_PREFIX)) {
-            if (context == null) {
+            if (!isContextCreated()) {
                 MagicBindingsOptionSetter optionSetter = GraalJSScriptEngine.MAGIC_BINDINGS_OPTION_MAP.get(name);
                 if (optionSetter == null) {
                     throw new IllegalArgumentException("unkown graal-js option \"" + name + "\"");
@@ -124,25 +188,25 @@ final class GraalJSBindings extends AbstractMap<String, Object> implements Bindi
                 throw magicOptionContextInitializedError(name);
             }
         }
-        requireContext();
-        return global.put(name, v);
+        return requireContext().global.put(name, v);
     }
 
     @Override
     public void clear() {
-        if (context != null) {
-            clearFunction().execute(global);
+        ContextState current = currentState();
+        if (current != null) {
+            current.clearFunction().execute(current.global);
         }
     }
 
     @Override
     public Object get(Object key) {
         checkKey((String) key);
-        requireContext();
+        ContextState current = requireContext();
         if (engineScriptContext != null) {
             importGlobalBindings(engineScriptContext);
         }
-        return global.get(key);
+        return current.global.get(key);
     }
 
     private static void checkKey(String key) {
@@ -154,27 +218,40 @@ final class GraalJSBindings extends AbstractMap<String, Object> implements Bindi
 
     @Override
     public Object remove(Object key) {
-        requireContext();
+        ContextState current = requireContext();
         Object prev = get(key);
-        deletePropertyFunction().execute(global, key);
+        current.deletePropertyFunction().execute(current.global, key);
         return prev;
     }
 
+    /**
+     * Returns the context of these bindings, or of the current thread for thread-confined
+     * bindings.
+     */
     public Context getContext() {
-        requireContext();
-        return context;
+        return requireContext().context;
     }
 
     @Override
     public Set<Entry<String, Object>> entrySet() {
-        requireContext();
-        return global.entrySet();
+        return requireContext().global.entrySet();
     }
 
     @Override
     public void close() {
-        if (context != null) {
-            context.close();
+        if (threadStates == null) {
+            if (state != null) {
+                state.context.close();
+            }
+        } else {
+            Thread currentThread = Thread.currentThread();
+            for (Iterator<Map.Entry<Thread, ContextState>> iterator = threadStates.entrySet().iterator(); iterator.hasNext();) {
+                Map.Entry<Thread, ContextState> entry = iterator.next();
+                iterator.remove();
+                // contexts of other threads may still be in use, cancel their executions
+                Thread thread = entry.getKey();
+                entry.getValue().context.close(thread != currentThread && thread.isAlive());
+            }
         }
     }
 
@@ -255,14 +255,19 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
 
     private final GraalJSEngineFactory factory;
     private final Context.Builder contextConfig;
+    private final boolean threadConfinedBindings;
 
-    private boolean evalCalled;
+    private volatile boolean evalCalled;
 
     GraalJSScriptEngine(GraalJSEngineFactory factory) {
         this(factory, factory.getPolyglotEngine(), null);
     }
 
     GraalJSScriptEngine(GraalJSEngineFactory factory, Engine engine, Context.Builder contextConfig) {
+        this(factory, engine, contextConfig, false);
+    }
+
+    GraalJSScriptEngine(GraalJSEngineFactory factory, Engine engine, Context.Builder contextConfig, boolean threadConfinedBindings) {
         Engine engineToUse = engine;
         if (engineToUse == null) {
             engineToUse = Engine.newBuilder().allowExperimentalOptions(true).build();
@@ -281,7 +286,8 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
         }
         this.factory = (factory == null) ? new GraalJSEngineFactory(engineToUse) : factory;
         this.contextConfig = contextConfigToUse.option(JS_SCRIPT_ENGINE_GLOBAL_SCOPE_IMPORT_OPTION, "true").engine(engineToUse);
-        this.context.setBindings(new GraalJSBindings(this.contextConfig, this.context), ScriptContext.ENGINE_SCOPE);
+        this.threadConfinedBindings = threadConfinedBindings;
+        this.context.setBindings(new GraalJSBindings(this.contextConfig, this.context, threadConfinedBindings), ScriptContext.ENGINE_SCOPE);
     }
 
     private static void updateForNashornCompatibilityMode(Context.Builder builder) {
@@ -307,7 +313,12 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
      */
     @Override
     public void close() {
-        getPolyglotContext().close();
+        Bindings engineBindings = context.getBindings(ScriptContext.ENGINE_SCOPE);
+        if (engineBindings instanceof GraalJSBindings && ((GraalJSBindings) engineBindings).isThreadConfined()) {
+            ((GraalJSBindings) engineBindings).close();
+        } else {
+            getPolyglotContext().close();
+        }
     }
 
     /**
@@ -330,7 +341,9 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
     /**
      * Returns the polyglot context associated with a ScriptContext. If the context is not yet
      * initialized then it will be initialized using the default context builder specified in
-     * {@link #create(Engine, org.graalvm.polyglot.Context.Builder)}.
+     * {@link #create(Engine, org.graalvm.polyglot.Context.Builder)}. For an engine created by
+     * {@link #createMultiThreaded(Engine, org.graalvm.polyglot.Context.Builder)}, this is the
+     * context of the current thread.
      */
     public Context getPolyglotContext(ScriptContext ctxt) {
         return getOrCreateGraalJSBindings(ctxt).getContext();
@@ -342,7 +355,7 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
 
     @Override
     public Bindings createBindings() {
-        return new GraalJSBindings(contextConfig, null);
+        return new GraalJSBindings(contextConfig, null, threadConfinedBindings);
     }
 
     @Override
@@ -698,6 +711,29 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
         return new GraalJSScriptEngine(null, engine, newContextConfig);
     }
 
+    /**
+     * Creates a new GraalJS script engine that can be used by multiple threads concurrently. Every
+     * thread evaluates scripts in a polyglot {@link Context} of its own, created on first use from
+     * the shared polyglot engine, so scripts running on different threads do not see each other's
+     * global variables. The bindings of the engine and those returned by {@link #createBindings()}
+     * are views of the global object of the current thread's context. {@link CompiledScript}
+     * instances can be evaluated on any thread; the code parsed for them is shared by all contexts
+     * of the engine.
+     *
+     * The context of a thread that has terminated is closed when another thread uses the engine for
+     * the first time. Contexts of all threads are closed by {@link #close()}.
+     *
+     * @param engine the engine to be used for context configurations or <code>null</code> if a
+     *            default engine should be used.
+     * @param newContextConfig a base configuration to create new context instances or
+     *            <code>null</code> if the default configuration should be used to construct new
+     *            context instances.
+     * @see #create(Engine, Context.Builder)
+     */
+    public static GraalJSScriptEngine createMultiThreaded(Engine engine, Context.Builder newContextConfig) {
+        return new GraalJSScriptEngine(null, engine, newContextConfig, true);
+    }
+
     private static boolean isInterfaceImplemented(final Class<?> iface, final Value obj) {
         for (final Method method : iface.getMethods()) {
             // ignore methods of java.lang.Object class
@@ -1076,7 +1076,7 @@ public class Recording {
         public int put(Object node) {
             Object key = getKey(node);
             if (varIndexMap.containsKey(key)) {
-                throw new RuntimeException("Duplicate put: " + node);
+                throw new IllegalStateException("Duplicate put: " + node);
             }
             int id = nextId++;
             varIndexMap.put(key, id);
@@ -1086,7 +1086,7 @@ public class Recording {
         public int getId(Object node) {
             Object key = getKey(node);
             if (!varIndexMap.containsKey(key)) {
-                throw new RuntimeException("Entry not found: " + node + "(" + (node != null ? node.getClass() : "null") + ")");
+                throw new IllegalStateException("Entry not found: " + node + "(" + (node != null ? node.getClass() : "null") + ")");
             }
             return varIndexMap.get(key);
         }
@@ -1253,7 +1253,7 @@ public class Recording {
         } else if (arg instanceof Environment) {
             enc = dumpPlaceholder(arg);
         } else {
-            throw new RuntimeException("Unrecognized argument: " + arg);
+            throw new IllegalArgumentException("Unrecognized argument: " + arg);
         }
         return enc.asVar();
     }
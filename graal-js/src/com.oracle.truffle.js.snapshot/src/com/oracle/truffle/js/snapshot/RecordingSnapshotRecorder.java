@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.snapshot;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.js.nodes.NodeFactory;
+import com.oracle.truffle.js.nodes.ScriptNode;
+import com.oracle.truffle.js.parser.JavaScriptTranslator;
+import com.oracle.truffle.js.parser.SnapshotRecorder;
+import com.oracle.truffle.js.runtime.JSContext;
+
+/**
+ * Populates the code cache by recording the node factory calls of the translation. A script that
+ * uses nodes or constants the snapshot format cannot express is translated as usual, but not
+ * passed to the snapshot consumer.
+ */
+public final class RecordingSnapshotRecorder implements SnapshotRecorder {
+
+    @Override
+    public ScriptNode translateScript(JSContext context, Source source, boolean strict, Consumer<ByteBuffer> snapshotConsumer) {
+        CacheRecording rec = new CacheRecording();
+        ScriptNode program = JavaScriptTranslator.translateScript(RecordingProxy.createRecordingNodeFactory(rec, NodeFactory.getInstance(context)), context, source, strict, "", "");
+        if (!rec.failed) {
+            ByteArrayOutputStream outs = new ByteArrayOutputStream();
+            try {
+                rec.finish(program.getRootNode());
+                rec.saveToStream(source.getName(), outs, true);
+            } catch (UnsupportedOperationException | IllegalStateException | IllegalArgumentException e) {
+                return program;
+            }
+            snapshotConsumer.accept(ByteBuffer.wrap(outs.toByteArray()));
+        }
+        return program;
+    }
+
+    /**
+     * Stops recording at the first call it cannot record, so that the translation itself is not
+     * affected.
+     */
+    private static final class CacheRecording extends Recording {
+        boolean failed;
+
+        @Override
+        public void recordCall(Method method, Object[] args) {
+            if (!failed) {
+                try {
+                    super.recordCall(method, args);
+                } catch (UnsupportedOperationException | IllegalStateException | IllegalArgumentException e) {
+                    failed = true;
+                }
+            }
+        }
+
+        @Override
+        public <T> T recordReturn(Method method, T result) {
+            if (!failed) {
+                try {
+                    return super.recordReturn(method, result);
+                } catch (UnsupportedOperationException | IllegalStateException | IllegalArgumentException e) {
+                    failed = true;
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -311,4 +311,28 @@ public class SwitchStatementTest extends FineGrainedAccessTest {
             enter(ControlFlowBranchTag.class).exit(assertReturnValue(false));
         }).exit(assertReturnValue(42));
     }
+
+    @Test
+    public void literalSwitchTable() {
+        JSConfig.OptimizeNoFallthroughSwitch = false;
+        // enough literal cases for a table-dispatched switch; branch events are still reported
+        StringBuilder src = new StringBuilder("var a = 2;switch (a) {");
+        for (int i = 0; i < JSConfig.MinJumpTableSwitchCases; i++) {
+            src.append("  case ").append(i).append(":    ;");
+        }
+        src.append("  default:    42;}");
+
+        evalWithTags(src.toString(), new Class[]{
+                        ControlFlowRootTag.class,
+                        ControlFlowBranchTag.class
+        }, new Class[]{/* no input events */});
+
+        enter(ControlFlowRootTag.class, (e, r) -> {
+            // case 0 and case 1 are false
+            enter(ControlFlowBranchTag.class).exit(assertReturnValue(false));
+            enter(ControlFlowBranchTag.class).exit(assertReturnValue(false));
+            // case 2 is true, no further cases are evaluated
+            enter(ControlFlowBranchTag.class).exit(assertReturnValue(true));
+        }).exit(assertReturnValue(42));
+    }
 }
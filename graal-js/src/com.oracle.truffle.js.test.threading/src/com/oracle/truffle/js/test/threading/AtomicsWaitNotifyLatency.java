@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.threading;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Value;
+import org.junit.Test;
+
+/**
+ * Ping-pong between two agents blocking in {@code Atomics.wait} on a shared buffer. Measures the
+ * mean round-trip latency of a notify/wait hand-off; run {@link #main} for a longer measurement.
+ */
+public class AtomicsWaitNotifyLatency {
+
+    private static final String PONG = "$262.agent.start(`\n" +
+                    "  $262.agent.receiveBroadcast(function(sab) {\n" +
+                    "    const ia = new Int32Array(sab);\n" +
+                    "    const rounds = Atomics.load(ia, 2);\n" +
+                    "    for (let i = 0; i < rounds; i++) {\n" +
+                    "      while (Atomics.load(ia, 0) === 0) {\n" +
+                    "        Atomics.wait(ia, 0, 0);\n" +
+                    "      }\n" +
+                    "      Atomics.store(ia, 0, 0);\n" +
+                    "      Atomics.store(ia, 1, 1);\n" +
+                    "      Atomics.notify(ia, 1);\n" +
+                    "    }\n" +
+                    "    $262.agent.leaving();\n" +
+                    "  });\n" +
+                    "`);\n";
+
+    private static final String PING = "(function ping(rounds) {\n" +
+                    "  const sab = new SharedArrayBuffer(Int32Array.BYTES_PER_ELEMENT * 3);\n" +
+                    "  const ia = new Int32Array(sab);\n" +
+                    "  Atomics.store(ia, 2, rounds);\n" +
+                    "  $262.agent.broadcast(sab);\n" +
+                    "  const start = $262.agent.monotonicNow();\n" +
+                    "  for (let i = 0; i < rounds; i++) {\n" +
+                    "    Atomics.store(ia, 0, 1);\n" +
+                    "    Atomics.notify(ia, 0);\n" +
+                    "    while (Atomics.load(ia, 1) === 0) {\n" +
+                    "      Atomics.wait(ia, 1, 0);\n" +
+                    "    }\n" +
+                    "    Atomics.store(ia, 1, 0);\n" +
+                    "  }\n" +
+                    "  const elapsed = $262.agent.monotonicNow() - start;\n" +
+                    "  return [rounds, elapsed * 1000 / rounds];\n" +
+                    "})";
+
+    /**
+     * Returns the mean round-trip latency in microseconds.
+     */
+    private static double measure(int rounds) {
+        try (Context context = TestUtil.newContextBuilder().option("js.test262-mode", "true").build()) {
+            context.eval("js", PONG);
+            Value result = context.eval("js", PING).execute(rounds);
+            assertEquals(rounds, result.getArrayElement(0).asInt());
+            return result.getArrayElement(1).asDouble();
+        }
+    }
+
+    @Test(timeout = 30000)
+    public void pingPong() {
+        double latency = measure(1000);
+        assertTrue(latency >= 0);
+    }
+
+    public static void main(String[] args) {
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+        for (int i = 0; i < 5; i++) {
+            System.out.printf("round-trip latency: %.3f us%n", measure(rounds));
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+ */
+
+/*
+ * Date Time String Format (parsed without the general date parser) and fallback forms.
+ *
+ * @option timezone=Europe/Vienna
+ */
+
+load('assert.js');
+
+function check(expected, str) {
+    assertSame(expected, Date.parse(str));
+    assertSame(expected, new Date(str).getTime());
+}
+
+function checkInvalid(str) {
+    assertTrue(isNaN(Date.parse(str)));
+    assertTrue(isNaN(new Date(str).getTime()));
+}
+
+// date-only forms are UTC
+check(Date.UTC(2020, 5, 26), '2020-06-26');
+check(Date.UTC(2020, 5, 1), '2020-06');
+check(Date.UTC(2020, 0, 1), '2020');
+
+// date-time forms without offset are local time
+check(Date.UTC(2020, 5, 26, 11, 37), '2020-06-26T13:37');
+check(Date.UTC(2020, 0, 26, 12, 37, 5), '2020-01-26T13:37:05');
+check(Date.UTC(2020, 0, 26, 12, 37, 5, 120), '2020-01-26T13:37:05.12');
+
+// explicit offsets
+check(Date.UTC(2020, 5, 26, 13, 37, 5, 123), '2020-06-26T13:37:05.123Z');
+check(Date.UTC(2020, 5, 26, 13, 37, 5, 123), '2020-06-26T13:37:05.123456789Z');
+check(Date.UTC(2020, 5, 26, 11, 7), '2020-06-26T13:37+02:30');
+check(Date.UTC(2020, 5, 26, 18, 37), '2020-06-26T13:37-05:00');
+check(Date.UTC(2020, 5, 27), '2020-06-26T24:00Z');
+
+// extended years and the limits of the time value range
+check(Date.UTC(-1, 0, 1), '-000001-01-01');
+check(Date.UTC(10000, 0, 1), '+010000-01-01T00:00:00Z');
+check(8.64e15, '+275760-09-13T00:00:00.000Z');
+check(-8.64e15, '-271821-04-20T00:00:00.000Z');
+checkInvalid('+275760-09-13T00:00:00.001Z');
+checkInvalid('-271821-04-19T23:59:59.999Z');
+
+// invalid fields
+checkInvalid('2020-13-01');
+checkInvalid('2020-06-26T25:00Z');
+checkInvalid('2020-06-26T24:01Z');
+checkInvalid('2020-06-26T13:60Z');
+
+// other forms are handled by the general date parser
+check(Date.UTC(2020, 5, 26), '2020/06/26 02:00');
+check(Date.UTC(2020, 5, 26, 13, 37), 'Fri Jun 26 2020 13:37:00 GMT+0000');
+check(Date.UTC(2020, 5, 26, 11, 37), '2020-06-26 13:37');
+
+true;
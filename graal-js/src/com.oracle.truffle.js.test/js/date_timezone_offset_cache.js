@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+ */
+
+/*
+ * Local time conversions around DST transitions (offsets are cached per transition interval).
+ *
+ * @option timezone=Europe/Vienna
+ */
+
+load('assert.js');
+
+// UTC -> local, hour by hour across both transitions of 2020
+var spring = Date.UTC(2020, 2, 29, 1);
+var fall = Date.UTC(2020, 9, 25, 1);
+for (var i = -3; i < 3; i++) {
+    var t = spring + i * 3600000;
+    assertSame(i < 0 ? -60 : -120, new Date(t).getTimezoneOffset());
+    t = fall + i * 3600000;
+    assertSame(i < 0 ? -120 : -60, new Date(t).getTimezoneOffset());
+}
+assertSame(1, new Date(spring - 1).getHours());
+assertSame(3, new Date(spring).getHours());
+assertSame(2, new Date(fall - 1).getHours());
+assertSame(2, new Date(fall).getHours());
+
+// local -> UTC: a time in the gap or in the overlap gets the offset before the transition
+assertSame(Date.UTC(2020, 2, 29, 1, 30), new Date(2020, 2, 29, 2, 30).getTime());
+assertSame(Date.UTC(2020, 2, 29, 1), new Date(2020, 2, 29, 3).getTime());
+assertSame(Date.UTC(2020, 2, 29, 0, 59, 59, 999), new Date(2020, 2, 29, 1, 59, 59, 999).getTime());
+assertSame(Date.UTC(2020, 9, 25, 0, 30), new Date(2020, 9, 25, 2, 30).getTime());
+assertSame(Date.UTC(2020, 9, 25, 2), new Date(2020, 9, 25, 3).getTime());
+assertSame(Date.UTC(2020, 9, 24, 23, 59, 59, 999), new Date(2020, 9, 25, 1, 59, 59, 999).getTime());
+
+// alternating far apart times must not reuse the offset of the other interval
+for (var i = 0; i < 10; i++) {
+    assertSame(-60, new Date(2020, 0, 15).getTimezoneOffset());
+    assertSame(-120, new Date(2020, 6, 15).getTimezoneOffset());
+    assertSame(12, new Date(Date.UTC(2020, 0, 15, 11)).getHours());
+    assertSame(13, new Date(Date.UTC(2020, 6, 15, 11)).getHours());
+}
+
+var d = new Date(2020, 2, 28, 12);
+d.setDate(29);
+assertSame(12, d.getHours());
+assertSame(Date.UTC(2020, 2, 29, 10), d.getTime());
+
+true;
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+ */
+
+/*
+ * Formatters and collators are shared between toLocaleString calls and Intl objects
+ * with equal resolved options; sharing must not leak state between them.
+ *
+ * @option intl-402
+ * @option timezone=UTC
+ * @option locale=en-US
+ */
+
+load('../assert.js');
+
+for (let i = 0; i < 3; i++) {
+    assertSame("1,234.5", (1234.5).toLocaleString());
+    assertSame("1.234,5", (1234.5).toLocaleString("de-DE"));
+    assertSame("25%", (0.25).toLocaleString("en", {style: "percent"}));
+    assertSame("12,345,678,901,234,567,890", 12345678901234567890n.toLocaleString());
+    assertSame("1234.5", (1234.5).toLocaleString(undefined, {useGrouping: false}));
+}
+
+// options are still read on every call
+let reads = 0;
+let options = {get useGrouping() { reads++; return false; }};
+(1).toLocaleString("en", options);
+(1).toLocaleString("en", options);
+assertSame(2, reads);
+
+// invalid locales are not cached
+for (let i = 0; i < 2; i++) {
+    assertThrows(() => (1).toLocaleString("not a locale"), RangeError);
+}
+
+let d = new Date(Date.UTC(2020, 5, 26, 13, 37));
+for (let i = 0; i < 3; i++) {
+    assertSame("6/26/2020, 1:37:00 PM", d.toLocaleString());
+    assertSame("6/26/2020", d.toLocaleDateString());
+    assertSame("1:37:00 PM", d.toLocaleTimeString());
+    assertSame("26/06/2020, 13:37:00", d.toLocaleString("en-GB"));
+    assertSame("26/06/2020", d.toLocaleDateString("en-GB"));
+}
+
+// DateTimeFormat objects with equal options do not share their (mutable) date format
+let f1 = new Intl.DateTimeFormat("en-US", {timeZone: "Asia/Tokyo"});
+let f2 = new Intl.DateTimeFormat("en-US", {timeZone: "Asia/Tokyo"});
+assertSame(f1.format(d), f2.format(d));
+assertSame("6/26/2020", f1.format(d));
+assertSame("Asia/Tokyo", f2.resolvedOptions().timeZone);
+assertFalse(f1.format === f2.format);
+
+let c1 = new Intl.Collator("en", {sensitivity: "base"});
+let c2 = new Intl.Collator("en");
+for (let i = 0; i < 3; i++) {
+    assertSame(0, c1.compare("a", "A"));
+    assertSame(-1, c2.compare("a", "A"));
+    assertSame(-1, "a".localeCompare("b"));
+    assertSame(0, "a".localeCompare("A", "en", {sensitivity: "base"}));
+    assertSame(-1, "a".localeCompare("A", "en"));
+}
+assertSame("base", c1.resolvedOptions().sensitivity);
+assertSame("variant", c2.resolvedOptions().sensitivity);
+
+let p1 = new Intl.PluralRules("en");
+let p2 = new Intl.PluralRules("en", {type: "ordinal"});
+assertSame("one", p1.select(1));
+assertSame("few", p2.select(3));
+assertSame("other", new Intl.PluralRules("en").select(3));
+
+true;
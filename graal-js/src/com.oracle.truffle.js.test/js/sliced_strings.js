@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+ */
+
+/**
+ * Tests of substrings that share the characters of their parent string.
+ */
+
+load('assert.js');
+
+function assertSameContent(expected, actual) {
+    assertSame(JSON.stringify(expected), JSON.stringify(actual));
+}
+
+var parts = [];
+for (var i = 0; i < 100; i++) {
+    parts.push('token' + i);
+}
+var input = parts.join(' ');
+
+// consume the input like a tokenizer does
+var rest = input;
+var tokens = [];
+while (rest.length > 0) {
+    var space = rest.indexOf(' ');
+    if (space < 0) {
+        tokens.push(rest);
+        rest = '';
+    } else {
+        tokens.push(rest.slice(0, space));
+        rest = rest.slice(space + 1);
+    }
+}
+assertSameContent(parts, tokens);
+
+var tail = input.slice(10);
+assertSame(input.length - 10, tail.length);
+assertSame(input.charCodeAt(10), tail.charCodeAt(0));
+assertSame(input[input.length - 1], tail[tail.length - 1]);
+assertSame(input.substring(10), tail);
+assertSame(input.substr(10), tail);
+assertSame(input.substring(input.length, 10), tail);
+assertSame(tail.slice(5, 50), input.slice(15, 60));
+assertSame(tail.substring(5, 50), input.substring(15, 60));
+assertSame(tail.substr(5, 45), input.substr(15, 45));
+assertSame(tail.slice(-20), input.slice(-20));
+assertSame('[' + input.slice(10) + ']', '[' + tail + ']');
+assertSame(tail + tail, input.slice(10) + input.slice(10));
+assertSame(typeof tail, 'string');
+assertSame(tail.toUpperCase(), input.toUpperCase().slice(10));
+
+// sliced strings as property keys and in collections
+var obj = {};
+obj[input.slice(1)] = 42;
+assertSame(42, obj[input.substring(1)]);
+var map = new Map();
+map.set(input.slice(2), 'two');
+assertSame('two', map.get(input.substr(2)));
+assertTrue(new Set([input.slice(3)]).has(input.slice(3)));
+
+assertSameContent(input.split(' '), parts);
+assertSame('en1', tail.split(' ')[0]);
+assertSame(99, tail.split(' ').length);
+assertSameContent(['token', '0', ' token', '1', ' token', '2', ''], input.slice(0, 20).split(/(\d+)/));
+assertSame(JSON.stringify(input.slice(30)), JSON.stringify(String(input.slice(30))));
+
+true;
@@ -63,4 +63,67 @@ load('assert.js');
     assertSame(1, called);
 })();
 
+(function literalCasesDispatch() {
+    function classify(x) {
+        switch (x) {
+            case 0: return "zero";
+            case 1: return "one";
+            case 2:
+            case 3: return "two or three";
+            case 5: return "five";
+            case 1: return "duplicate one";
+            case 1000000: return "million";
+            case "1": return "string one";
+            case "a": return "a";
+            case "": return "empty";
+            default: return "default";
+            case 7: return "seven";
+        }
+    }
+    assertSame("zero", classify(0));
+    assertSame("zero", classify(-0));
+    assertSame("zero", classify(0.0));
+    assertSame("one", classify(1));
+    assertSame("one", classify(1.0));
+    assertSame("two or three", classify(2));
+    assertSame("two or three", classify(3));
+    assertSame("default", classify(4));
+    assertSame("five", classify(5));
+    assertSame("million", classify(1e6));
+    assertSame("seven", classify(7));
+    assertSame("string one", classify("1"));
+    assertSame("a", classify("a"));
+    assertSame("a", classify("ab".substring(0, 1)));
+    assertSame("empty", classify(""));
+    assertSame("default", classify(1.5));
+    assertSame("default", classify(NaN));
+    assertSame("default", classify(null));
+    assertSame("default", classify(undefined));
+    assertSame("default", classify(true));
+    assertSame("default", classify({valueOf() { return 1; }}));
+})();
+
+(function literalCasesFallThrough() {
+    function count(x) {
+        var n = 0;
+        switch (x) {
+            case 1: n++;
+            case 2: n++;
+            case 3: n++;
+            case 4: n++;
+            default: n++;
+            case 5: n++;
+            case 6: n++;
+            case 7: n++;
+            case 8: n++;
+        }
+        return n;
+    }
+    assertSame(9, count(1));
+    assertSame(5, count(5));
+    assertSame(1, count(8));
+    assertSame(5, count(42));
+    assertSame(5, count("1"));
+})();
+
 true;
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+ */
+
+/**
+ * Tests of the bulk copy paths of typed array set, slice, copyWithin, fill and constructor.
+ */
+
+load('assert.js');
+
+function assertElements(expected, actual) {
+    assertSame(expected.length, actual.length);
+    for (var i = 0; i < expected.length; i++) {
+        assertSame(expected[i], actual[i]);
+    }
+}
+
+// set
+var u8 = new Uint8Array([1, 2, 3, 4, 5, 6, 7, 8]);
+var target = new Uint8Array(10);
+target.set(u8, 1);
+assertElements([0, 1, 2, 3, 4, 5, 6, 7, 8, 0], target);
+
+var i8 = new Int8Array([-1, -128, 127, 0]);
+var fromSigned = new Uint8Array(4);
+fromSigned.set(i8);
+assertElements([255, 128, 127, 0], fromSigned);
+
+var clamped = new Uint8ClampedArray(4);
+clamped.set(i8);
+assertElements([0, 0, 127, 0], clamped);
+clamped.set(new Uint8Array([255, 1, 2, 3]));
+assertElements([255, 1, 2, 3], clamped);
+
+var i16 = new Int16Array(2);
+i16.set(new Uint16Array([65535, 32768]));
+assertElements([-1, -32768], i16);
+
+var i64 = new BigInt64Array(1);
+i64.set(new BigUint64Array([2n ** 64n - 1n]));
+assertSame(-1n, i64[0]);
+
+// overlapping ranges of the same buffer
+var overlap = new Uint8Array([0, 1, 2, 3, 4, 5, 6, 7]);
+overlap.set(overlap.subarray(0, 6), 2);
+assertElements([0, 1, 0, 1, 2, 3, 4, 5], overlap);
+overlap = new Uint16Array([0, 1, 2, 3, 4, 5, 6, 7]);
+new Int16Array(overlap.buffer, 4).set(overlap.subarray(0, 6));
+assertElements([0, 1, 0, 1, 2, 3, 4, 5], overlap);
+
+// slice
+assertElements([3, 4, 5], u8.slice(2, 5));
+assertElements([7, 8], u8.slice(-2));
+assertElements([], u8.slice(5, 2));
+var sub = new Float64Array([0.5, 1.5, 2.5, 3.5]).subarray(1);
+assertElements([1.5, 2.5], sub.slice(0, 2));
+class SignedSpecies extends Uint8Array {
+    static get [Symbol.species]() {
+        return Int8Array;
+    }
+}
+assertElements([-1, 127], new SignedSpecies([255, 127]).slice());
+
+// species result that overlaps the source: bytes are copied one by one in ascending order
+function overlappingSpecies(Base, resultByteOffset) {
+    var C = class extends Base {
+        static get [Symbol.species]() {
+            return function(length) {
+                return new Base(C.instance.buffer, resultByteOffset, length);
+            };
+        }
+    };
+    C.instance = new C([0, 1, 2, 3, 4, 5, 6, 7]);
+    return C.instance;
+}
+var ahead = overlappingSpecies(Uint8Array, 2);
+ahead.slice(0, 6);
+assertElements([0, 1, 0, 1, 0, 1, 0, 1], ahead);
+var behind = overlappingSpecies(Uint8Array, 0);
+behind.slice(2);
+assertElements([2, 3, 4, 5, 6, 7, 6, 7], behind);
+var ahead16 = overlappingSpecies(Uint16Array, 4);
+ahead16.slice(0, 5);
+assertElements([0, 1, 0, 1, 0, 1, 0, 7], ahead16);
+
+// copyWithin
+assertElements([4, 5, 6, 7, 8, 6, 7, 8], new Uint8Array(u8).copyWithin(0, 3));
+assertElements([1, 2, 1, 2, 3, 4, 5, 6], new Uint8Array(u8).copyWithin(2, 0));
+assertElements([1, 2, 3, 4, 5, 6, 1, 2], new Uint8Array(u8).copyWithin(6, 0, 5));
+assertElements([1, 3, 3], new Float32Array([1, 2, 3]).copyWithin(1, 2));
+assertElements([1, 2, 3], new Float32Array([1, 2, 3]).copyWithin(1, 3));
+
+// fill
+assertElements([0, 7, 7, 7, 7, 7, 7, 0], new Uint8Array(8).fill(7, 1, -1));
+assertElements([0x1234, 0x1234, 0x1234], new Uint16Array(3).fill(0x1234));
+assertElements([1.25, 1.25, 1.25, 1.25, 1.25], new Float64Array(5).fill(1.25));
+assertElements([0n, 0n, -1n, -1n, -1n], new BigInt64Array(5).fill(-1n, 2));
+var nan = new Float32Array(3).fill(NaN);
+assertTrue(isNaN(nan[0]) && isNaN(nan[1]) && isNaN(nan[2]));
+assertElements([5, 5], new Int32Array(new ArrayBuffer(16), 8).fill(5));
+
+// constructor
+assertElements([1, 2, 3, 4, 5, 6, 7, 8], new Uint8Array(u8));
+assertElements([255, 128, 127, 0], new Uint8Array(i8));
+assertElements([0, 0, 127, 0], new Uint8ClampedArray(i8));
+assertElements([2, 3, 4], new Int8Array(u8.subarray(1, 4)));
+assertElements([-1, -32768], new Int16Array(new Uint16Array([65535, 32768])));
+assertElements([1, 2], new Float64Array(new Float64Array([1, 2, 3]).subarray(0, 2)));
+
+// source detached while getting the prototype of newTarget
+var detachedSource = new Uint8Array([1, 2, 3]);
+var detachingNewTarget = new Proxy(function() {}, {
+    get: function(target, key) {
+        if (key === 'prototype') {
+            Debug.typedArrayDetachBuffer(detachedSource.buffer);
+        }
+        return Reflect.get(target, key);
+    }
+});
+assertThrows(() => Reflect.construct(Uint8Array, [detachedSource], detachingNewTarget), TypeError);
+
+true;
@@ -0,0 +1,14 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+ */
+
+/**
+ * Tests of the bulk copy paths of typed arrays backed by direct byte buffers.
+ *
+ * @option direct-byte-buffer
+ */
+
+load('typed_array_bulk_copy.js');
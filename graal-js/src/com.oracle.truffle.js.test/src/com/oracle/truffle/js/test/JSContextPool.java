@@ -0,0 +1,297 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.PolyglotException;
+
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.JSRealm;
+
+/**
+ * Pool of initialized JavaScript contexts sharing one {@link Engine}, for embedders that run every
+ * request in a context of its own.
+ *
+ * A released context is reset to the global state it had after initialization (see
+ * {@link JSRealm#resetToPristineState()}) and handed out again by a later {@link #acquire()}. User
+ * defined globals, polyglot bindings and loaded modules are discarded, while the code compiled for
+ * sources shared through the engine stays available. A context that cannot be reset, e.g. because
+ * a script modified a built-in object, is closed instead.
+ *
+ * The pool is thread-safe; a context must only be used by one thread at a time and must not be
+ * used after it was released.
+ *
+ * The pool reaches the realm of a context through {@link JavaScriptLanguage#getJSRealm(Context)},
+ * so it only works where the classes of the language are on the class path of the embedder, as in
+ * these tests. On GraalVM, languages are loaded by a class loader of their own and the polyglot API
+ * offers no way to reset a context, which is why the pool is not part of the runtime.
+ */
+public final class JSContextPool implements AutoCloseable {
+
+    private final Engine engine;
+    private final Supplier<Context.Builder> contextBuilder;
+    private final int maxIdleContexts;
+
+    private final ConcurrentLinkedDeque<Context> idleContexts = new ConcurrentLinkedDeque<>();
+    private final Set<Context> liveContexts = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder resets = new LongAdder();
+    private final LongAdder failedResets = new LongAdder();
+    private final LongAdder totalResetNanos = new LongAdder();
+    private final AtomicLong maxResetNanos = new AtomicLong();
+
+    private JSContextPool(Engine engine, Supplier<Context.Builder> contextBuilder, int maxIdleContexts) {
+        this.engine = engine;
+        this.contextBuilder = contextBuilder;
+        this.maxIdleContexts = maxIdleContexts;
+    }
+
+    /**
+     * Creates a pool of contexts built by {@code contextBuilder} on {@code engine}. The engine is
+     * not closed with the pool.
+     *
+     * @param contextBuilder supplies a builder for a new context; the engine is set by the pool
+     * @param maxIdleContexts maximum number of released contexts kept for reuse
+     */
+    public static JSContextPool create(Engine engine, Supplier<Context.Builder> contextBuilder, int maxIdleContexts) {
+        if (maxIdleContexts < 0) {
+            throw new IllegalArgumentException("maxIdleContexts");
+        }
+        return new JSContextPool(engine, contextBuilder, maxIdleContexts);
+    }
+
+    /**
+     * Creates contexts until {@code count} idle contexts are available.
+     */
+    public void prewarm(int count) {
+        checkNotClosed();
+        int target = Math.min(count, maxIdleContexts);
+        while (idleContexts.size() < target) {
+            idleContexts.push(newContext());
+        }
+    }
+
+    /**
+     * Returns an idle context of the pool, or a new one if none is available.
+     */
+    public Context acquire() {
+        checkNotClosed();
+        Context context = idleContexts.poll();
+        if (context != null) {
+            hits.increment();
+            return context;
+        }
+        misses.increment();
+        return newContext();
+    }
+
+    /**
+     * Returns a context obtained from {@link #acquire()} to the pool. The context is reset, or
+     * closed if it cannot be reset or enough contexts are idle already.
+     */
+    public void release(Context context) {
+        if (!liveContexts.contains(context)) {
+            throw new IllegalArgumentException("context does not belong to this pool");
+        }
+        if (closed || idleContexts.size() >= maxIdleContexts) {
+            discard(context);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean reset;
+        try {
+            context.enter();
+            try {
+                reset = JavaScriptLanguage.getJSRealm(context).resetToPristineState();
+            } finally {
+                context.leave();
+            }
+        } catch (IllegalStateException | PolyglotException e) {
+            // closed or cancelled context
+            reset = false;
+        }
+        long elapsed = System.nanoTime() - start;
+        if (reset) {
+            resets.increment();
+            totalResetNanos.add(elapsed);
+            maxResetNanos.accumulateAndGet(elapsed, Math::max);
+            idleContexts.push(context);
+            if (closed && idleContexts.remove(context)) {
+                discard(context);
+            }
+        } else {
+            failedResets.increment();
+            discard(context);
+        }
+    }
+
+    /**
+     * Closes all idle contexts. Contexts that are in use are closed when they are released.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        Context context;
+        while ((context = idleContexts.poll()) != null) {
+            discard(context);
+        }
+    }
+
+    public Metrics getMetrics() {
+        return new Metrics(hits.sum(), misses.sum(), resets.sum(), failedResets.sum(), totalResetNanos.sum(), maxResetNanos.get(), liveContexts.size(), idleContexts.size());
+    }
+
+    private Context newContext() {
+        Context context = contextBuilder.get().engine(engine).build();
+        try {
+            context.enter();
+            try {
+                JavaScriptLanguage.getJSRealm(context).capturePristineState();
+            } finally {
+                context.leave();
+            }
+        } catch (RuntimeException e) {
+            context.close();
+            throw e;
+        }
+        liveContexts.add(context);
+        return context;
+    }
+
+    private void discard(Context context) {
+        liveContexts.remove(context);
+        try {
+            context.close();
+        } catch (IllegalStateException | PolyglotException e) {
+            // already closed or still in use by another thread
+        }
+    }
+
+    private void checkNotClosed() {
+        if (closed) {
+            throw new IllegalStateException("pool is closed");
+        }
+    }
+
+    /**
+     * Usage statistics of a {@link JSContextPool}.
+     */
+    public static final class Metrics {
+        private final long hits;
+        private final long misses;
+        private final long resets;
+        private final long failedResets;
+        private final long totalResetNanos;
+        private final long maxResetNanos;
+        private final int liveContexts;
+        private final int idleContexts;
+
+        Metrics(long hits, long misses, long resets, long failedResets, long totalResetNanos, long maxResetNanos, int liveContexts, int idleContexts) {
+            this.hits = hits;
+            this.misses = misses;
+            this.resets = resets;
+            this.failedResets = failedResets;
+            this.totalResetNanos = totalResetNanos;
+            this.maxResetNanos = maxResetNanos;
+            this.liveContexts = liveContexts;
+            this.idleContexts = idleContexts;
+        }
+
+        /** Number of {@link JSContextPool#acquire()} calls served by an idle context. */
+        public long getHits() {
+            return hits;
+        }
+
+        /** Number of {@link JSContextPool#acquire()} calls that created a new context. */
+        public long getMisses() {
+            return misses;
+        }
+
+        public double getHitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+
+        /** Number of released contexts that were reset successfully. */
+        public long getResets() {
+            return resets;
+        }
+
+        /** Number of released contexts that could not be reset and were closed. */
+        public long getFailedResets() {
+            return failedResets;
+        }
+
+        public long getAverageResetNanos() {
+            return resets == 0 ? 0 : totalResetNanos / resets;
+        }
+
+        public long getMaxResetNanos() {
+            return maxResetNanos;
+        }
+
+        /** Number of open contexts of the pool, whether idle or in use. */
+        public int getLiveContexts() {
+            return liveContexts;
+        }
+
+        public int getIdleContexts() {
+            return idleContexts;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("JSContextPool.Metrics[hits=%d, misses=%d, hitRate=%.3f, resets=%d, failedResets=%d, avgResetNanos=%d, maxResetNanos=%d, live=%d, idle=%d]",
+                            hits, misses, getHitRate(), resets, failedResets, getAverageResetNanos(), maxResetNanos, liveContexts, idleContexts);
+        }
+    }
+}
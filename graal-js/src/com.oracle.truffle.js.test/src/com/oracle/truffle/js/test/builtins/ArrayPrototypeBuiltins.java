@@ -81,4 +81,37 @@ public class ArrayPrototypeBuiltins {
         }
     }
 
+    @Test
+    public void testSortPrimitiveArrays() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            // default comparator sorts ints by their string representation
+            Value value = context.eval(JavaScriptLanguage.ID, "[10, -1, 9, 1, -10, 0, 2147483647, -2147483648, 100].sort().join()");
+            assertEquals("-1,-10,-2147483648,0,1,10,100,2147483647,9", value.asString());
+
+            value = context.eval(JavaScriptLanguage.ID, "[10, -1, 9, 1, -10, 0].sort((a, b) => a - b).join()");
+            assertEquals("-10,-1,0,1,9,10", value.asString());
+            value = context.eval(JavaScriptLanguage.ID, "[10, -1, 9, 1, -10, 0].sort(function(x, y) { return y - x; }).join()");
+            assertEquals("10,9,1,0,-1,-10", value.asString());
+
+            value = context.eval(JavaScriptLanguage.ID, "[2.5, -1.5, 0.5, 10.25].sort((a, b) => a - b).join()");
+            assertEquals("-1.5,0.5,2.5,10.25", value.asString());
+            value = context.eval(JavaScriptLanguage.ID, "[2.5, -1.5, 0.5, 10.25].sort().join()");
+            assertEquals("-1.5,0.5,10.25,2.5", value.asString());
+
+            // shifted array with a non-zero start offset in the backing store
+            value = context.eval(JavaScriptLanguage.ID, "var a = [5, 4, 3, 2, 1]; a.shift(); a.sort((a, b) => a - b).join()");
+            assertEquals("1,2,3,4", value.asString());
+
+            // comparators that are not recognized still sort correctly
+            value = context.eval(JavaScriptLanguage.ID, "[3, 1, 2].sort((a, a2) => a2 - a + 0).join()");
+            assertEquals("3,2,1", value.asString());
+
+            // recognized from the parsed function, independent of comments and parentheses
+            value = context.eval(JavaScriptLanguage.ID, "[3, 1, 2].sort(function(a, b) { /* descending */ return (b - a); }).join()");
+            assertEquals("3,2,1", value.asString());
+            value = context.eval(JavaScriptLanguage.ID, "[3, 1, 2].sort((a, b) => {\n  return a\n    - b;\n}).join()");
+            assertEquals("1,2,3", value.asString());
+        }
+    }
+
 }
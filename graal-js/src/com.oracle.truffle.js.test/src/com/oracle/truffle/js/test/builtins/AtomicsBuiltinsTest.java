@@ -80,4 +80,48 @@ public class AtomicsBuiltinsTest {
         }
     }
 
+    @Test
+    public void testConcurrentReadModifyWrite() {
+        int agentCount = 4;
+        int iterations = 10000;
+        try (Context context = JSTest.newContextBuilder().option(JSContextOptions.TEST262_MODE_NAME, "true").build()) {
+            // neighboring 8-bit and 16-bit elements share a 32-bit word, updates must not be lost
+            String code = "let agentCount = " + agentCount + ";\n" //
+                            + "for (let i = 0; i < agentCount; i++) {\n" //
+                            + "  $262.agent.start(`\n" //
+                            + "    $262.agent.receiveBroadcast(function(sab) {\n" //
+                            + "      const i8a = new Int8Array(sab, 0, 4);\n" //
+                            + "      const u16a = new Uint16Array(sab, 4, 2);\n" //
+                            + "      const i32a = new Int32Array(sab, 8, 1);\n" //
+                            + "      const i64a = new BigInt64Array(sab, 16, 1);\n" //
+                            + "      for (let j = 0; j < " + iterations + "; j++) {\n" //
+                            + "        Atomics.add(i8a, j & 3, 1);\n" //
+                            + "        Atomics.sub(u16a, j & 1, 1);\n" //
+                            + "        Atomics.add(i32a, 0, 1);\n" //
+                            + "        Atomics.add(i64a, 0, 1n);\n" //
+                            + "      }\n" //
+                            + "      $262.agent.report('done');\n" //
+                            + "      $262.agent.leaving();\n" //
+                            + "    });\n" //
+                            + "  `);\n" //
+                            + "}\n" //
+                            + "const sab = new SharedArrayBuffer(24);\n" //
+                            + "$262.agent.broadcast(sab);\n" //
+                            + "let done = 0;\n" //
+                            + "while (done < agentCount) {\n" //
+                            + "  if ($262.agent.getReport() !== null) {\n" //
+                            + "    done++;\n" //
+                            + "  } else {\n" //
+                            + "    $262.agent.sleep(10);\n" //
+                            + "  }\n" //
+                            + "}\n" //
+                            + "[...new Int8Array(sab, 0, 4), ...new Uint16Array(sab, 4, 2), new Int32Array(sab, 8, 1)[0], Number(new BigInt64Array(sab, 16, 1)[0])].join();";
+            Value result = context.eval(JavaScriptLanguage.ID, code);
+            int total = agentCount * iterations;
+            byte perByte = (byte) (total / 4);
+            int perShort = (-total / 2) & 0xFFFF;
+            String expected = perByte + "," + perByte + "," + perByte + "," + perByte + "," + perShort + "," + perShort + "," + total + "," + total;
+            Assert.assertEquals(expected, result.asString());
+        }
+    }
 }
@@ -41,6 +41,7 @@
 package com.oracle.truffle.js.test.builtins;
 
 import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
 import org.graalvm.polyglot.HostAccess;
 import org.graalvm.polyglot.PolyglotAccess;
 import org.graalvm.polyglot.PolyglotException;
@@ -59,6 +60,7 @@ import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -68,6 +70,7 @@ import static com.oracle.truffle.js.runtime.JSContextOptions.COMMONJS_REQUIRE_CW
 import static com.oracle.truffle.js.runtime.JSContextOptions.COMMONJS_CORE_MODULES_REPLACEMENTS_NAME;
 import static com.oracle.truffle.js.runtime.JSContextOptions.COMMONJS_REQUIRE_GLOBAL_PROPERTIES_NAME;
 import static com.oracle.truffle.js.runtime.JSContextOptions.COMMONJS_REQUIRE_NAME;
+import static com.oracle.truffle.js.runtime.JSContextOptions.COMMONJS_RESOLUTION_CACHE_NAME;
 import static com.oracle.truffle.js.runtime.JSContextOptions.ECMASCRIPT_VERSION_NAME;
 import static com.oracle.truffle.js.runtime.JSContextOptions.GLOBAL_PROPERTY_NAME;
 import static org.junit.Assert.assertEquals;
@@ -710,4 +713,54 @@ public class CommonJSRequireTest {
             assertEquals(expectedMessage, t.getMessage());
         }
     }
+
+    @Test
+    public void resolutionCacheSeesFileSystemChanges() throws IOException {
+        Path dir = Files.createTempDirectory("commonjs-cache");
+        Path pkg = Files.createDirectories(dir.resolve("node_modules").resolve("pkg"));
+        Files.write(pkg.resolve("a.js"), "module.exports.foo = 'a';".getBytes());
+        Files.write(pkg.resolve("b.js"), "module.exports.foo = 'b';".getBytes());
+        Files.write(pkg.resolve("package.json"), "{\"main\": \"a.js\"}".getBytes());
+        try (Context cx = testContext(dir)) {
+            assertEquals("a", cx.eval(ID, "require('pkg').foo").asString());
+            try {
+                cx.eval(ID, "require('./later')");
+                Assert.fail("should have thrown");
+            } catch (PolyglotException e) {
+                Assert.assertTrue(e.getMessage().contains("later"));
+            }
+            // modification times are set explicitly, file systems may only record seconds
+            Files.write(dir.resolve("later.js"), "module.exports.foo = 42;".getBytes());
+            Files.setLastModifiedTime(dir, FileTime.fromMillis(Files.getLastModifiedTime(dir).toMillis() + 10000));
+            assertEquals(42, cx.eval(ID, "require('./later').foo").asInt());
+
+            Files.write(pkg.resolve("package.json"), "{\"main\": \"b.js\"}".getBytes());
+            Files.setLastModifiedTime(pkg.resolve("package.json"), FileTime.fromMillis(Files.getLastModifiedTime(pkg).toMillis() + 10000));
+            assertEquals("b", cx.eval(ID, "require('pkg').foo").asString());
+        }
+    }
+
+    @Test
+    public void resolutionCacheIsNotSharedBetweenContexts() throws IOException {
+        Path dir = Files.createTempDirectory("commonjs-cache");
+        Map<String, String> options = new HashMap<>();
+        options.put(COMMONJS_REQUIRE_NAME, "true");
+        options.put(COMMONJS_REQUIRE_CWD_NAME, dir.toAbsolutePath().toString());
+        options.put(COMMONJS_RESOLUTION_CACHE_NAME, "permanent");
+        try (Engine engine = JSTest.newEngineBuilder().build()) {
+            try (Context cx = JSTest.newContextBuilder().engine(engine).allowIO(true).options(options).build()) {
+                try {
+                    cx.eval(ID, "require('./later')");
+                    Assert.fail("should have thrown");
+                } catch (PolyglotException e) {
+                    Assert.assertTrue(e.getMessage().contains("later"));
+                }
+            }
+            Files.write(dir.resolve("later.js"), "module.exports.foo = 42;".getBytes());
+            // the permanent cache of the first context must not hide the new file
+            try (Context cx = JSTest.newContextBuilder().engine(engine).allowIO(true).options(options).build()) {
+                assertEquals(42, cx.eval(ID, "require('./later').foo").asInt());
+            }
+        }
+    }
 }
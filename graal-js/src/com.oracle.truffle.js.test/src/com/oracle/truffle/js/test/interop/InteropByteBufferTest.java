@@ -161,4 +161,59 @@ public class InteropByteBufferTest {
             assertEquals(jBuffer.get(2), 43);
         }
     }
+
+    @Test
+    public void testReadOnlyDirectBuffer() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(3).put(new byte[]{1, 2, 3}).asReadOnlyBuffer();
+        try (Context context = JSTest.newContextBuilder().build()) {
+            context.getBindings("js").putMember("buffer", buffer);
+            Value result = context.eval(ID, "var ia = new Int8Array(new ArrayBuffer(buffer));" +
+                            "var error;" +
+                            "try { ia[0] = 42; } catch (e) { error = e; }" +
+                            "error instanceof TypeError && ia[0] === 1 && ia[2] === 3;");
+            assertTrue(result.asBoolean());
+        }
+    }
+
+    @Test
+    public void testHeapBufferSlice() {
+        byte[] array = new byte[]{1, 2, 3, 4, 5};
+        ByteBuffer buffer = ByteBuffer.wrap(array, 1, 3).slice();
+        try (Context context = JSTest.newContextBuilder().build()) {
+            context.getBindings("js").putMember("buffer", buffer);
+            Value jsBuffer = context.eval(ID, "new Int8Array(new ArrayBuffer(buffer));");
+            assertEquals(3, jsBuffer.getArraySize());
+            assertEquals(2, jsBuffer.getArrayElement(0).asByte());
+            assertEquals(4, jsBuffer.getArrayElement(2).asByte());
+        }
+    }
+
+    @Test
+    public void testAsByteBuffer() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            Value jsBuffer = context.eval(ID, "var ab = new ArrayBuffer(8); new Uint8Array(ab).set([1, 2, 3, 4, 5, 6, 7, 8]); Graal.asByteBuffer(ab);");
+            ByteBuffer buffer = jsBuffer.asHostObject();
+            assertEquals(8, buffer.remaining());
+            assertEquals(1, buffer.get(0));
+            buffer.put(0, (byte) 42);
+            assertEquals(42, context.eval(ID, "new Uint8Array(ab)[0]").asInt());
+
+            ByteBuffer view = context.eval(ID, "Graal.asByteBuffer(new Int16Array(ab, 2, 2));").asHostObject();
+            assertEquals(4, view.remaining());
+            assertEquals(3, view.get(0));
+            assertEquals(context.eval(ID, "new Int16Array(ab, 2, 2)[1]").asInt(), view.getShort(2));
+        }
+    }
+
+    @Test
+    public void testAsByteBufferDirect() {
+        try (Context context = JSTest.newContextBuilder().option("js.direct-byte-buffer", "true").build()) {
+            ByteBuffer buffer = context.eval(ID, "var ab = new ArrayBuffer(4); Graal.asByteBuffer(new DataView(ab, 1));").asHostObject();
+            assertTrue(buffer.isDirect());
+            assertEquals(3, buffer.remaining());
+            buffer.put(0, (byte) 42);
+            assertEquals(42, context.eval(ID, "new Uint8Array(ab)[1]").asInt());
+            assertTrue(context.eval(ID, "try { Graal.asByteBuffer({}); false; } catch (e) { e instanceof TypeError; }").asBoolean());
+        }
+    }
 }
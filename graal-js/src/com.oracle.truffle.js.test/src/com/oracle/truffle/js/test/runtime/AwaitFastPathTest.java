@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+
+import org.graalvm.polyglot.Context;
+import org.junit.Test;
+
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.test.JSTest;
+
+/**
+ * Awaiting primitives and already fulfilled promises resumes the async function from a single
+ * promise job; the interleaving with other promise jobs must stay the same.
+ */
+public class AwaitFastPathTest {
+
+    private static String run(String source) {
+        try (Context context = JSTest.newContextBuilder().option(JSContextOptions.ECMASCRIPT_VERSION_NAME, "2021").build()) {
+            context.eval(JavaScriptLanguage.ID, "var log = [];\n" + source);
+            return context.eval(JavaScriptLanguage.ID, "log.join();").asString();
+        }
+    }
+
+    @Test
+    public void testOrdering() {
+        String src = "async function f() { log.push('f1'); await 1; log.push('f2'); await Promise.resolve(2); log.push('f3'); }\n" +
+                        "f();\n" +
+                        "Promise.resolve().then(() => log.push('p1')).then(() => log.push('p2')).then(() => log.push('p3'));\n" +
+                        "log.push('sync');";
+        assertEquals("f1,sync,f2,p1,f3,p2,p3", run(src));
+    }
+
+    @Test
+    public void testValues() {
+        String src = "async function f() { var a = await 40; var b = await Promise.resolve(2); var c = await undefined; return a + b + String(c); }\n" +
+                        "f().then(v => log.push(v));";
+        assertEquals("42undefined", run(src));
+    }
+
+    @Test
+    public void testConstructorLookup() {
+        String src = "var p = Promise.resolve('v');\n" +
+                        "Object.defineProperty(p, 'constructor', { get() { log.push('ctor'); return Promise; } });\n" +
+                        "(async function() { log.push(await p); })();";
+        assertEquals("ctor,v", run(src));
+    }
+
+    @Test
+    public void testRejectedAndPending() {
+        String src = "var resolve;\n" +
+                        "var pending = new Promise(r => resolve = r);\n" +
+                        "(async function() { try { await Promise.reject('r'); } catch (e) { log.push('caught ' + e); } log.push(await pending); })();\n" +
+                        "Promise.resolve().then(() => resolve('later'));";
+        assertEquals("caught r,later", run(src));
+    }
+
+    @Test
+    public void testAsyncGenerator() {
+        String src = "async function* g() { yield await 1; yield Promise.resolve(2); }\n" +
+                        "(async function() { for await (var v of g()) log.push(v); })();";
+        assertEquals("1,2", run(src));
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Source;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.test.JSTest;
+
+public class CodeCacheTest {
+
+    private static final String SCRIPT = "function fib(n) { return n < 2 ? n : fib(n - 1) + fib(n - 2); }\n" +
+                    "var o = { a: [1, 2, 3], get b() { return this.a.length; } };\n" +
+                    "`${fib(15)}:${o.b}:${fib.name}`;";
+
+    private Path cacheDir;
+
+    @Before
+    public void setUp() throws IOException {
+        cacheDir = Files.createTempDirectory("js-code-cache");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        for (Path file : listCache()) {
+            Files.delete(file);
+        }
+        Files.delete(cacheDir);
+    }
+
+    private String eval(String code) {
+        return eval(code, JSTest.newContextBuilder().allowIO(true));
+    }
+
+    private String eval(String code, Context.Builder builder) {
+        try (Context context = builder.option(JSContextOptions.CODE_CACHE_DIR_NAME, cacheDir.toString()).build()) {
+            return context.eval(Source.create(JavaScriptLanguage.ID, code)).toString();
+        }
+    }
+
+    private List<Path> listCache() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(cacheDir)) {
+            stream.forEach(files::add);
+        }
+        return files;
+    }
+
+    private Path singleEntry() throws IOException {
+        List<Path> files = listCache();
+        assertEquals(files.toString(), 1, files.size());
+        assertTrue(files.get(0).toString().endsWith(".jsc"));
+        return files.get(0);
+    }
+
+    @Test
+    public void testReuse() throws IOException {
+        assertEquals("610:3:fib", eval(SCRIPT));
+        Path entry = singleEntry();
+        byte[] content = Files.readAllBytes(entry);
+        assertEquals("610:3:fib", eval(SCRIPT));
+        assertArrayEquals(content, Files.readAllBytes(singleEntry()));
+    }
+
+    @Test
+    public void testChangedSource() throws IOException {
+        assertEquals("610:3:fib", eval(SCRIPT));
+        assertEquals("610:3:fib!", eval(SCRIPT + " + '!'"));
+        assertEquals(2, listCache().size());
+    }
+
+    @Test
+    public void testChangedOptions() throws IOException {
+        assertEquals("610:3:fib", eval(SCRIPT));
+        assertEquals("610:3:fib", eval(SCRIPT, JSTest.newContextBuilder().allowIO(true).option(JSContextOptions.STRICT_NAME, "true")));
+        assertEquals(2, listCache().size());
+        assertEquals("610:3:fib", eval(SCRIPT, JSTest.newContextBuilder().allowIO(true).option(JSContextOptions.STRICT_NAME, "true")));
+        assertEquals(2, listCache().size());
+        // options that do not affect the parser can still affect the translation
+        assertEquals("610:3:fib", eval(SCRIPT, JSTest.newContextBuilder().allowIO(true).option(JSContextOptions.AWAIT_OPTIMIZATION_NAME, "false")));
+        assertEquals(3, listCache().size());
+    }
+
+    @Test
+    public void testLazyParsing() throws IOException {
+        assertEquals("610:3:fib", eval(SCRIPT, JSTest.newContextBuilder().allowIO(true).option(JSContextOptions.LAZY_PARSING_NAME, "true")));
+        Path entry = singleEntry();
+        byte[] content = Files.readAllBytes(entry);
+        assertEquals("610:3:fib", eval(SCRIPT, JSTest.newContextBuilder().allowIO(true).option(JSContextOptions.LAZY_PARSING_NAME, "true")));
+        assertArrayEquals(content, Files.readAllBytes(singleEntry()));
+    }
+
+    @Test
+    public void testWithoutIO() throws IOException {
+        assertEquals("610:3:fib", eval(SCRIPT, JSTest.newContextBuilder()));
+        assertTrue(listCache().isEmpty());
+    }
+
+    @Test
+    public void testCorruptEntry() throws IOException {
+        assertEquals("610:3:fib", eval(SCRIPT));
+        Path entry = singleEntry();
+        byte[] content = Files.readAllBytes(entry);
+        byte[] corrupt = content.clone();
+        corrupt[corrupt.length - 1] ^= 0x55;
+        Files.write(entry, corrupt);
+        assertEquals("610:3:fib", eval(SCRIPT));
+        assertEquals(content.length, Files.readAllBytes(singleEntry()).length);
+        assertFalse(Arrays.equals(corrupt, Files.readAllBytes(singleEntry())));
+
+        Files.write(entry, new byte[]{1, 2, 3});
+        assertEquals("610:3:fib", eval(SCRIPT));
+        assertEquals(content.length, Files.readAllBytes(singleEntry()).length);
+    }
+
+    @Test
+    public void testSyntaxError() throws IOException {
+        try {
+            eval("var x = ;");
+            fail();
+        } catch (PolyglotException e) {
+            assertTrue(e.isSyntaxError());
+        }
+        assertTrue(listCache().isEmpty());
+    }
+}
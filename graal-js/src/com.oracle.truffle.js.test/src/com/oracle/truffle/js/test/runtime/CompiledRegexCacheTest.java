@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static com.oracle.truffle.js.lang.JavaScriptLanguage.ID;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.junit.Test;
+
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.CompiledRegexCache;
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.test.JSTest;
+
+public class CompiledRegexCacheTest {
+
+    // more patterns than the inline cache of the RegExp constructor can hold
+    private static final String COMPILE_PATTERNS = "var ok = true;" +
+                    "for (var i = 0; i < 10; i++) { ok = ok && new RegExp('^x' + i + 'y$').test('x' + i + 'y'); }" +
+                    "ok;";
+
+    private static CompiledRegexCache getCompiledRegexCache(Context context) {
+        context.enter();
+        try {
+            return JavaScriptLanguage.getJSRealm(context).getContext().getCompiledRegexCache();
+        } finally {
+            context.leave();
+        }
+    }
+
+    @Test
+    public void testSharedAcrossContexts() {
+        try (Engine engine = JSTest.newEngineBuilder().build()) {
+            CompiledRegexCache cache;
+            long misses;
+            try (Context context = JSTest.newContextBuilder().engine(engine).build()) {
+                assertTrue(context.eval(ID, COMPILE_PATTERNS).asBoolean());
+                cache = getCompiledRegexCache(context);
+                misses = cache.getMisses();
+                assertTrue(misses >= 10);
+            }
+            long hits = cache.getHits();
+            try (Context context = JSTest.newContextBuilder().engine(engine).build()) {
+                assertTrue(context.eval(ID, COMPILE_PATTERNS).asBoolean());
+            }
+            assertEquals(misses, cache.getMisses());
+            assertTrue(cache.getHits() > hits);
+            assertTrue(cache.getHitRate() > 0);
+        }
+    }
+
+    @Test
+    public void testEviction() {
+        try (Engine engine = JSTest.newEngineBuilder().option(JSContextOptions.REGEX_CACHE_SIZE_NAME, "1").build()) {
+            try (Context context = JSTest.newContextBuilder().engine(engine).build()) {
+                assertTrue(context.eval(ID, COMPILE_PATTERNS).asBoolean());
+                CompiledRegexCache cache = getCompiledRegexCache(context);
+                long hits = cache.getHits();
+                assertTrue(context.eval(ID, COMPILE_PATTERNS).asBoolean());
+                assertEquals(1, cache.size());
+                assertEquals(hits, cache.getHits());
+            }
+        }
+    }
+
+    @Test
+    public void testSyntaxErrorNotCached() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            for (int i = 0; i < 2; i++) {
+                assertTrue(context.eval(ID, "try { new RegExp('('); false; } catch (e) { e instanceof SyntaxError; }").asBoolean());
+                assertTrue(context.eval(ID, "try { new RegExp('a', 'gg'); false; } catch (e) { e instanceof SyntaxError; }").asBoolean());
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.oracle.truffle.js.runtime.doubleconv.DoubleConversion;
+import com.oracle.truffle.js.runtime.doubleconv.DtoaBuffer;
+import com.oracle.truffle.js.runtime.doubleconv.DtoaMode;
+
+/**
+ * Compares the shortest representation of doubles with the digits computed by the FastDtoa and
+ * BignumDtoa algorithms.
+ */
+public class DoubleConversionTest {
+
+    private static String legacyToShortest(double value) {
+        if (value == 0) {
+            return "0";
+        }
+        double absValue = Math.abs(value);
+        DtoaBuffer buffer = new DtoaBuffer(DtoaBuffer.kFastDtoaMaximalLength);
+        if (!DoubleConversion.fastDtoaShortest(absValue, buffer)) {
+            buffer.reset();
+            DoubleConversion.bignumDtoa(absValue, DtoaMode.SHORTEST, 0, buffer);
+        }
+        String formatted = buffer.format(DtoaMode.SHORTEST, 0);
+        return value < 0 ? "-" + formatted : formatted;
+    }
+
+    private static void check(double value) {
+        if (Double.isFinite(value)) {
+            assertEquals(String.valueOf(value), legacyToShortest(value), DoubleConversion.toShortest(value));
+        }
+    }
+
+    @Test
+    public void testExamples() {
+        assertEquals("0", DoubleConversion.toShortest(-0.0));
+        assertEquals("0.30000000000000004", DoubleConversion.toShortest(0.1 + 0.2));
+        assertEquals("-1.5", DoubleConversion.toShortest(-1.5));
+        assertEquals("123456789012345680000", DoubleConversion.toShortest(123456789012345678901.0));
+        assertEquals("1e+21", DoubleConversion.toShortest(1e21));
+        assertEquals("0.000001", DoubleConversion.toShortest(1e-6));
+        assertEquals("1e-7", DoubleConversion.toShortest(1e-7));
+        assertEquals("1.7976931348623157e+308", DoubleConversion.toShortest(Double.MAX_VALUE));
+        assertEquals("2.2250738585072014e-308", DoubleConversion.toShortest(Double.MIN_NORMAL));
+        assertEquals("5e-324", DoubleConversion.toShortest(Double.MIN_VALUE));
+        assertEquals("1e-323", DoubleConversion.toShortest(2 * Double.MIN_VALUE));
+        assertEquals("9007199254740992", DoubleConversion.toShortest(9007199254740992.0));
+        assertEquals("1.2e-7", DoubleConversion.toExponential(1.2e-7, -1));
+        assertEquals("-1e+21", DoubleConversion.toExponential(-1e21, -1));
+    }
+
+    @Test
+    public void testSmallSignificands() {
+        for (long bits = 1; bits < 1 << 16; bits++) {
+            check(Double.longBitsToDouble(bits));
+            check(Double.longBitsToDouble(0x000fffffffffffffL - bits));
+        }
+    }
+
+    @Test
+    public void testPowersOfTwo() {
+        for (long exponent = 1; exponent < 2047; exponent++) {
+            for (long delta = -2; delta <= 2; delta++) {
+                check(Double.longBitsToDouble((exponent << 52) + delta));
+            }
+        }
+    }
+
+    @Test
+    public void testPowersOfTen() {
+        for (int exponent = -325; exponent <= 309; exponent++) {
+            for (int digit = 1; digit <= 9; digit++) {
+                double value = Double.parseDouble(digit + "e" + exponent);
+                check(value);
+                check(Math.nextUp(value));
+                check(Math.nextDown(value));
+            }
+        }
+    }
+
+    @Test
+    public void testRandom() {
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            check(Double.longBitsToDouble(random.nextLong()));
+            check(random.nextDouble() * Math.pow(10, random.nextInt(40) - 20));
+        }
+    }
+}
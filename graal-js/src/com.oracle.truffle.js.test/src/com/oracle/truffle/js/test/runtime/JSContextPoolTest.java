@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.PolyglotAccess;
+import org.graalvm.polyglot.Value;
+import org.junit.Test;
+
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.test.JSContextPool;
+import com.oracle.truffle.js.test.JSTest;
+
+public class JSContextPoolTest {
+
+    private static String eval(Context context, String source) {
+        return context.eval(JavaScriptLanguage.ID, source).toString();
+    }
+
+    @Test
+    public void testResetDiscardsGlobals() {
+        try (Engine engine = JSTest.newEngineBuilder().build(); JSContextPool pool = JSContextPool.create(engine, JSTest::newContextBuilder, 2)) {
+            Context context = pool.acquire();
+            String before = eval(context, "Object.getOwnPropertyNames(globalThis).join()");
+            eval(context, "var v = 1; let l = 2; const c = 3; function f() {} globalThis.g = 4; delete globalThis.Math; Uint8Array; JSON = null;");
+            context.getBindings(JavaScriptLanguage.ID).putMember("host", 42);
+            pool.release(context);
+
+            Context reused = pool.acquire();
+            assertSame(context, reused);
+            assertEquals("undefined,undefined,undefined,undefined,undefined,undefined,object,object",
+                            eval(reused, "[typeof v, typeof l, typeof c, typeof f, typeof g, typeof host, typeof Math, typeof JSON].join()"));
+            assertEquals(before, eval(reused, "Object.getOwnPropertyNames(globalThis).join()"));
+            // lexical declarations can be made again
+            assertEquals("2", eval(reused, "let l = 2; l"));
+            pool.release(reused);
+
+            JSContextPool.Metrics metrics = pool.getMetrics();
+            assertEquals(1, metrics.getHits());
+            assertEquals(1, metrics.getMisses());
+            assertEquals(2, metrics.getResets());
+            assertEquals(1, metrics.getLiveContexts());
+            assertEquals(1, metrics.getIdleContexts());
+        }
+    }
+
+    @Test
+    public void testModifiedBuiltinIsNotReused() {
+        try (Engine engine = JSTest.newEngineBuilder().build(); JSContextPool pool = JSContextPool.create(engine, JSTest::newContextBuilder, 2)) {
+            Context context = pool.acquire();
+            eval(context, "Array.prototype.evil = function() {};");
+            pool.release(context);
+            Context next = pool.acquire();
+            assertNotSame(context, next);
+            assertEquals("undefined", eval(next, "typeof [].evil"));
+            pool.release(next);
+
+            JSContextPool.Metrics metrics = pool.getMetrics();
+            assertEquals(1, metrics.getFailedResets());
+            assertEquals(1, metrics.getLiveContexts());
+        }
+    }
+
+    @Test
+    public void testOverwrittenBuiltinIsNotReused() {
+        String[] modifications = {"Math.max = Math.min;", "(function() { 'use strict'; JSON.parse = null; })();", "Object.prototype[0] = 1;",
+                        "Object.defineProperty(String.prototype, 'trim', {value: null});", "Object.freeze(Reflect);", "delete Promise.prototype.then;"};
+        try (Engine engine = JSTest.newEngineBuilder().build(); JSContextPool pool = JSContextPool.create(engine, JSTest::newContextBuilder, 2)) {
+            for (String modification : modifications) {
+                Context context = pool.acquire();
+                // populate the property caches first
+                eval(context, "Math.max(1, 2); JSON.parse('1'); ''.trim();");
+                eval(context, modification);
+                pool.release(context);
+                assertNotSame(modification, context, pool.acquire());
+            }
+            assertEquals(modifications.length, pool.getMetrics().getFailedResets());
+        }
+    }
+
+    @Test
+    public void testPolyglotBindingsAreCleared() {
+        try (Engine engine = JSTest.newEngineBuilder().build();
+                        JSContextPool pool = JSContextPool.create(engine, () -> JSTest.newContextBuilder().allowPolyglotAccess(PolyglotAccess.ALL), 2)) {
+            Context context = pool.acquire();
+            eval(context, "Polyglot.export('secret', 42);");
+            pool.release(context);
+
+            Context reused = pool.acquire();
+            assertSame(context, reused);
+            assertEquals("undefined", eval(reused, "typeof Polyglot.import('secret')"));
+            assertFalse(reused.getPolyglotBindings().hasMember("secret"));
+        }
+    }
+
+    @Test
+    public void testAgentStateIsCleared() {
+        try (Engine engine = JSTest.newEngineBuilder().build();
+                        JSContextPool pool = JSContextPool.create(engine, () -> JSTest.newContextBuilder().option(JSContextOptions.ECMASCRIPT_VERSION_NAME, "2021"), 2)) {
+            Context context = pool.acquire();
+            Value symbol = context.eval(JavaScriptLanguage.ID, "var target = {};\n" +
+                            "var registry = new FinalizationRegistry(() => {});\n" +
+                            "registry.register(target, 'held');\n" +
+                            "var ref = new WeakRef(target);\n" +
+                            "Symbol.for('tenant');");
+            pool.release(context);
+
+            Context reused = pool.acquire();
+            assertSame(context, reused);
+            Value check = reused.eval(JavaScriptLanguage.ID, "(s) => [Symbol.keyFor(s), Symbol.for('tenant') === s].join()");
+            assertEquals(",false", check.execute(symbol).asString());
+            assertTrue(reused.eval(JavaScriptLanguage.ID, "Symbol.keyFor(Symbol.for('tenant')) === 'tenant'").asBoolean());
+            pool.release(reused);
+            assertEquals(0, pool.getMetrics().getFailedResets());
+        }
+    }
+
+    @Test
+    public void testPrewarm() {
+        try (Engine engine = JSTest.newEngineBuilder().build(); JSContextPool pool = JSContextPool.create(engine, JSTest::newContextBuilder, 4)) {
+            pool.prewarm(3);
+            for (int i = 0; i < 3; i++) {
+                assertEquals("3", eval(pool.acquire(), "1 + 2"));
+            }
+            assertEquals(3, pool.getMetrics().getHits());
+            assertEquals(0, pool.getMetrics().getMisses());
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.oracle.truffle.js.runtime.util.JSHashMap;
+
+public class JSHashMapTest {
+
+    private static List<Object> iterate(JSHashMap map) {
+        List<Object> keys = new ArrayList<>();
+        JSHashMap.Cursor cursor = map.getEntries();
+        while (cursor.advance()) {
+            keys.add(cursor.getKey());
+        }
+        return keys;
+    }
+
+    @Test
+    public void testInsertionOrder() {
+        JSHashMap map = new JSHashMap();
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, "v" + i);
+        }
+        for (int i = 0; i < 1000; i += 2) {
+            assertTrue(map.remove(i));
+        }
+        assertFalse(map.remove(0));
+        map.put(0, "again");
+        assertEquals(501, map.size());
+        assertEquals("again", map.get(0));
+        assertEquals("v999", map.get(999));
+        List<Object> keys = iterate(map);
+        assertEquals(1, keys.get(0));
+        assertEquals(0, keys.get(keys.size() - 1));
+    }
+
+    @Test
+    public void testCursorSurvivesRebuild() {
+        JSHashMap map = new JSHashMap();
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+        List<Object> keys = new ArrayList<>();
+        JSHashMap.Cursor cursor = map.getEntries();
+        while (cursor.advance()) {
+            int key = (Integer) cursor.getKey();
+            keys.add(key);
+            if (key == 10) {
+                // shrinks the table while the cursor is on a removed entry
+                for (int i = 0; i < 95; i++) {
+                    if (i != 50) {
+                        map.remove(i);
+                    }
+                }
+                map.put(200, 200);
+            }
+        }
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 50, 95, 96, 97, 98, 99, 200), keys);
+    }
+
+    @Test
+    public void testCursorSurvivesClear() {
+        JSHashMap map = new JSHashMap();
+        for (int i = 0; i < 5; i++) {
+            map.put(i, i);
+        }
+        List<Object> keys = new ArrayList<>();
+        JSHashMap.Cursor cursor = map.getEntries();
+        while (cursor.advance()) {
+            int key = (Integer) cursor.getKey();
+            keys.add(key);
+            if (key == 2) {
+                map.clear();
+                map.put(7, 7);
+            }
+        }
+        assertEquals(Arrays.asList(0, 1, 2, 7), keys);
+        assertFalse(cursor.advance());
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Value;
+import org.junit.Test;
+
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.test.JSTest;
+
+/**
+ * Graal.parseJSON must produce the same values and error types as JSON.parse, whatever the input.
+ */
+public class JSONStreamParserTest {
+
+    private static final String[] DOCUMENTS = {
+                    "{\"a\":[1,2,3],\"b\":{\"c\":\"d\\n\\u00e9\\ud83d\\ude00\"},\"e\":[1,2.5,-0,1e300],\"f\":[true,null,\"x\",{}]}",
+                    "  [ ]  ",
+                    "[9007199254740993, -2147483649, 2147483647, 0.1]",
+                    "\"\u00fc\u4e2d\ud83d\ude00\"",
+                    "[{\"id\":1,\"name\":\"x\"},{\"id\":2,\"name\":\"y\"},{\"name\":\"z\",\"id\":3}]",
+    };
+
+    private static final String[] INVALID = {"", "[1,]", "{\"a\" 1}", "01", "[1 2]", "\"abc", "tru", "{\"a\":1}x", "-", "1.e5", "\"\\x\""};
+
+    private static final String COMPARE = "(function(text) {\n" +
+                    "  function describe(f) { try { return JSON.stringify(f()); } catch (e) { return e.name; } }\n" +
+                    "  var expected = describe(() => JSON.parse(text));\n" +
+                    "  var bytes = new TextEncoderShim().encode(text);\n" +
+                    "  var results = [describe(() => Graal.parseJSON(text)), describe(() => Graal.parseJSON(bytes.buffer)),\n" +
+                    "                 describe(() => Graal.parseJSON(bytes)), describe(() => Graal.parseJSON(new DataView(bytes.buffer)))];\n" +
+                    "  return results.every(r => r === expected) ? expected : expected + ' != ' + results.join(' | ');\n" +
+                    "})";
+
+    private static final String TEXT_ENCODER = "function TextEncoderShim() {}\n" +
+                    "TextEncoderShim.prototype.encode = function(s) {\n" +
+                    "  var utf8 = unescape(encodeURIComponent(s)), result = new Uint8Array(utf8.length);\n" +
+                    "  for (var i = 0; i < utf8.length; i++) result[i] = utf8.charCodeAt(i);\n" +
+                    "  return result;\n" +
+                    "};\n";
+
+    @Test
+    public void testSameAsJSONParse() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            context.eval(JavaScriptLanguage.ID, TEXT_ENCODER);
+            Value compare = context.eval(JavaScriptLanguage.ID, COMPARE);
+            for (String document : DOCUMENTS) {
+                String expected = context.eval(JavaScriptLanguage.ID, "JSON.stringify(JSON.parse(" + quote(document) + "))").asString();
+                assertEquals(expected, compare.execute(document).asString());
+            }
+            for (String document : INVALID) {
+                String result = compare.execute(document).asString();
+                assertEquals(document, "SyntaxError", result);
+            }
+        }
+    }
+
+    @Test
+    public void testTypedArrayWindow() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            assertEquals("[1,2]", context.eval(JavaScriptLanguage.ID, "var b = new Uint8Array([120, 91, 49, 44, 50, 93, 120]);\n" +
+                            "JSON.stringify(Graal.parseJSON(b.subarray(1, 6)));").asString());
+            assertEquals("{\"a\":2}", context.eval(JavaScriptLanguage.ID, "var b = new Uint8Array([123, 34, 97, 34, 58, 49, 125]);\n" +
+                            "JSON.stringify(Graal.parseJSON(b, (k, v) => typeof v === 'number' ? v + 1 : v));").asString());
+        }
+    }
+
+    @Test
+    public void testHostInput() {
+        String json = "{\"k\":[1,\"\u00e9\"]}";
+        try (Context context = JSTest.newContextBuilder().build()) {
+            Value parse = context.eval(JavaScriptLanguage.ID, "(x) => JSON.stringify(Graal.parseJSON(x))");
+            assertEquals(json, parse.execute(json.getBytes(StandardCharsets.UTF_8)).asString());
+            assertEquals(json, parse.execute(ByteBuffer.wrap(json.getBytes(StandardCharsets.UTF_8))).asString());
+            assertEquals(json, parse.execute(new StringReader(json)).asString());
+        }
+    }
+
+    @Test
+    public void testMalformedUTF8() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            Value parse = context.eval(JavaScriptLanguage.ID, "(x) => Graal.parseJSON(x)");
+            byte[] bytes = {'"', (byte) 0xC3, 'a', (byte) 0xF0, (byte) 0x9F, '"'};
+            assertEquals("\ufffda\ufffd", parse.execute((Object) bytes).asString());
+        }
+    }
+
+    @Test
+    public void testArrayKindTransitions() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            context.eval(JavaScriptLanguage.ID, TEXT_ENCODER);
+            Value compare = context.eval(JavaScriptLanguage.ID, COMPARE);
+            // element buffer capacities: 8, then growing by half
+            for (int capacity = 8; capacity < 200; capacity += capacity >> 1) {
+                for (int size = capacity - 1; size <= capacity + 1; size++) {
+                    StringBuilder ints = new StringBuilder("[");
+                    for (int i = 0; i < size; i++) {
+                        ints.append(i).append(',');
+                    }
+                    for (String last : new String[]{"1.5", "\"x\"", "1.5,\"x\"", "{}"}) {
+                        String document = ints + last + "]";
+                        String expected = context.eval(JavaScriptLanguage.ID, "JSON.stringify(JSON.parse(" + quote(document) + "))").asString();
+                        assertEquals(expected, compare.execute(document).asString());
+                    }
+                }
+            }
+        }
+    }
+
+    private static String quote(String s) {
+        return "'" + s.replace("\\", "\\\\").replace("'", "\\'") + "'";
+    }
+}
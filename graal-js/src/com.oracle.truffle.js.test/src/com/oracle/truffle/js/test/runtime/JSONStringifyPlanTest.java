@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+
+import org.graalvm.polyglot.Context;
+import org.junit.Test;
+
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.test.JSTest;
+
+/**
+ * JSON.stringify must observe changes to objects and prototypes even if it already serialized
+ * objects of the same shape.
+ */
+public class JSONStringifyPlanTest {
+
+    private static String eval(String source) {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            return context.eval(JavaScriptLanguage.ID, source).asString();
+        }
+    }
+
+    @Test
+    public void testSameShape() {
+        assertEquals("[{\"a\":1,\"b\\n\":\"x\"},{\"a\":2,\"b\\n\":\"y\"},{\"a\":3}]",
+                        eval("JSON.stringify([{a: 1, 'b\\n': 'x'}, {a: 2, 'b\\n': 'y'}, {a: 3, 'b\\n': undefined}]);"));
+        assertEquals("{\"1\":1,\"b\":2,\"a\":3}", eval("JSON.stringify({b: 2, 1: 1, a: 3});"));
+    }
+
+    @Test
+    public void testShapeChangedBySerialization() {
+        assertEquals("{\"a\":{},\"c\":\"getter\"}", eval("var o = {a: {toJSON() { delete o.b; Object.defineProperty(o, 'c', {get() { return 'getter'; }}); return {}; }}, b: 1, c: 2};\n" +
+                        "JSON.stringify(o);"));
+    }
+
+    @Test
+    public void testToJSONAddedLater() {
+        assertEquals("{\"p\":{\"x\":1}}|{\"p\":\"proto\"}|{\"p\":\"own\"}", eval("function P() { this.x = 1; }\n" +
+                        "var r1 = JSON.stringify({p: new P()});\n" +
+                        "P.prototype.toJSON = function() { return 'proto'; };\n" +
+                        "var r2 = JSON.stringify({p: new P()});\n" +
+                        "var p = new P(); p.toJSON = function() { return 'own'; };\n" +
+                        "[r1, r2, JSON.stringify({p: p})].join('|');"));
+        assertEquals("{\"p\":\"object\"}", eval("JSON.stringify({p: {x: 1}});\n" +
+                        "Object.prototype.toJSON = function() { return 'object'; };\n" +
+                        "JSON.stringify({p: {x: 1}});"));
+    }
+
+    @Test
+    public void testNumberArrays() {
+        assertEquals("[1,-2,3]|[1.5,null,0,-1e+300]|[1,null,3]|[1,\"2\"]|[1,2]", eval("var d = [1.5, 0, -0, -1e300]; d[1] = NaN;\n" +
+                        "var h = [1, 2, 3]; delete h[1];\n" +
+                        "[JSON.stringify([1, -2, 3]), JSON.stringify(d), JSON.stringify(h), JSON.stringify([1, 2], (k, v) => v === 2 ? '2' : v),\n" +
+                        " JSON.stringify(new Int32Array([1, 2]).reduce((a, v) => (a.push(v), a), []))].join('|');"));
+    }
+}
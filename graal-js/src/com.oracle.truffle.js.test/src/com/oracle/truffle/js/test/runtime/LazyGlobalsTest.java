@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Value;
+import org.junit.Test;
+
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.test.JSTest;
+
+/**
+ * Global built-ins that are only created on first access must behave like ordinary data
+ * properties of the global object.
+ */
+public class LazyGlobalsTest {
+
+    private static String eval(String source) {
+        try (Context context = JSTest.newContextBuilder().option(JSContextOptions.ECMASCRIPT_VERSION_NAME, "2021").build()) {
+            Value result = context.eval(JavaScriptLanguage.ID, source);
+            return result.toString();
+        }
+    }
+
+    @Test
+    public void testDescriptor() {
+        String src = "var names = ['Uint8Array', 'Float64Array', 'Intl', 'Reflect', 'Atomics', 'WeakRef', 'FinalizationRegistry'];\n" +
+                        "names.map(function(name) {\n" +
+                        "  var desc = Object.getOwnPropertyDescriptor(globalThis, name);\n" +
+                        "  return [typeof desc.value, desc.writable, desc.enumerable, desc.configurable].join();\n" +
+                        "}).join(';');";
+        String expected = "function,true,false,true;function,true,false,true;object,true,false,true;object,true,false,true;" +
+                        "object,true,false,true;function,true,false,true;function,true,false,true";
+        assertEquals(expected, eval(src));
+    }
+
+    @Test
+    public void testPropertyOrder() {
+        assertEquals("true", eval("var before = Object.getOwnPropertyNames(globalThis).join();\n" +
+                        "Uint8Array; Intl; Reflect; Atomics; WeakRef;\n" +
+                        "before === Object.getOwnPropertyNames(globalThis).join();"));
+    }
+
+    @Test
+    public void testIntrinsicIdentity() {
+        assertEquals("true,true,true,true", eval("var ta = new Int16Array(2);\n" +
+                        "[Object.getPrototypeOf(ta) === Int16Array.prototype,\n" +
+                        " Object.getPrototypeOf(Int16Array) === Object.getPrototypeOf(Uint8Array),\n" +
+                        " new Intl.Collator() instanceof Intl.Collator,\n" +
+                        " Reflect.apply(Math.max, null, [1, 3, 2]) === 3].join();"));
+    }
+
+    @Test
+    public void testWriteBeforeRead() {
+        assertEquals("5,number,true", eval("Uint8Array = 5; Reflect = 6;\n" +
+                        "var u = new Uint8ClampedArray(1);\n" +
+                        "[Uint8Array, typeof Reflect, Object.getPrototypeOf(Object.getPrototypeOf(u)).constructor.name === 'TypedArray'].join();"));
+        assertEquals("undefined,undefined,true", eval("'use strict'; delete globalThis.Atomics; delete globalThis.Intl;\n" +
+                        "[typeof Atomics, typeof Intl, 'toLocaleString' in new Date()].join();"));
+    }
+
+    @Test
+    public void testFrozenGlobal() {
+        assertEquals("function,false,false", eval("Object.freeze(globalThis);\n" +
+                        "var desc = Object.getOwnPropertyDescriptor(globalThis, 'Float32Array');\n" +
+                        "[typeof Float32Array, desc.writable, desc.configurable].join();"));
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Value;
+import org.junit.Test;
+
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.test.JSTest;
+
+public class LazyParsingTest {
+
+    private static String eval(String source, boolean lazyParsing) {
+        try (Context context = JSTest.newContextBuilder().option(JSContextOptions.LAZY_PARSING_NAME, Boolean.toString(lazyParsing)).build()) {
+            Value result = context.eval(JavaScriptLanguage.ID, source);
+            return result.toString();
+        }
+    }
+
+    private static void assertSameResult(String expected, String source) {
+        assertEquals(expected, eval(source, false));
+        assertEquals(expected, eval(source, true));
+    }
+
+    @Test
+    public void testClosures() {
+        String src = "var x = 1;\n" +
+                        "function outer(a) {\n" +
+                        "  var y = 2;\n" +
+                        "  function middle() {\n" +
+                        "    let z = 3;\n" +
+                        "    return function inner(b) { return a + b + x + y + z; };\n" +
+                        "  }\n" +
+                        "  return middle();\n" +
+                        "}\n" +
+                        "var counter = (function() { var count = 0; return { inc: function() { return ++count; } }; })();\n" +
+                        "counter.inc(); outer(10)(100) + counter.inc();";
+        assertSameResult("118", src);
+    }
+
+    @Test
+    public void testFunctionKinds() {
+        String src = "'use strict';\n" +
+                        "function* gen(n) { for (let i = 0; i < n; i++) { yield function() { return i; }; } }\n" +
+                        "async function af(v) { return function() { return v; }; }\n" +
+                        "var s = 0; for (var f of gen(4)) { s += f(); }\n" +
+                        "var r; af(10).then(function(g) { r = g(); });\n" +
+                        "function strictThis() { return this; }\n" +
+                        "s + (strictThis() === undefined ? 1000 : 0);";
+        assertSameResult("1006", src);
+    }
+
+    @Test
+    public void testFunctionSource() {
+        String src = "var f = (function named(a, b) {\n  return a + b; // comment\n});\n" +
+                        "function g() {\n  return new Error().stack;\n}\n" +
+                        "f.toString() + '|' + g().split('\\n')[1].trim();";
+        String wrapped = "(function() {\n" + src + "\n})()";
+        assertEquals(eval(wrapped, false), eval(wrapped, true));
+        assertTrue(eval(wrapped, true).contains(":6:10)"));
+    }
+
+    @Test
+    public void testNestedFunctionSource() {
+        String src = "function a(x) {\n" +
+                        "  function b(y) {\n" +
+                        "    function c(z) {\n" +
+                        "      return function d() {\n" +
+                        "        return x + y + z + new Error().stack.split('\\n')[1].trim();\n" +
+                        "      };\n" +
+                        "    }\n" +
+                        "    return c(3);\n" +
+                        "  }\n" +
+                        "  return b(2);\n" +
+                        "}\n" +
+                        "var d = a(1);\n" +
+                        "d() + '|' + d.toString();";
+        assertSameResult(eval(src, false), src);
+        String result = eval(src, true);
+        assertTrue(result, result.startsWith("6at d (") && result.contains(":5:"));
+    }
+
+    @Test
+    public void testSyntaxErrorInFunctionBody() {
+        try {
+            eval("var ok = 1;\nfunction neverCalled() {\n  return 1 +;\n}\nok;", true);
+            fail("SyntaxError expected");
+        } catch (PolyglotException e) {
+            assertTrue(e.isSyntaxError());
+        }
+    }
+}
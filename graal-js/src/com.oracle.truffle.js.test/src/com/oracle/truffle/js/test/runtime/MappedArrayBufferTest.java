@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static com.oracle.truffle.js.lang.JavaScriptLanguage.ID;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Value;
+import org.junit.Test;
+
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.test.JSTest;
+
+public class MappedArrayBufferTest {
+
+    private static Path createFile(byte... content) throws IOException {
+        Path file = Files.createTempFile("mapped", ".bin");
+        file.toFile().deleteOnExit();
+        return Files.write(file, content);
+    }
+
+    private static Context newContext(Path file, boolean allowIO) {
+        Context context = JSTest.newContextBuilder().allowIO(allowIO).option(JSContextOptions.MAP_FILE_NAME, "true").build();
+        context.getBindings(ID).putMember("path", file.toString());
+        return context;
+    }
+
+    @Test
+    public void testReadWrite() throws IOException {
+        Path file = createFile(new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+        try (Context context = newContext(file, true)) {
+            Value sum = context.eval(ID, "var buffer = Graal.mapFile(path, 'rw', 2, 4);" +
+                            "var view = new Uint8Array(buffer);" +
+                            "var sum = view.reduce((a, b) => a + b);" +
+                            "view.fill(42, 1, 3);" +
+                            "Graal.flushMappedFile(buffer);" +
+                            "Graal.unmapFile(buffer);" +
+                            "sum;");
+            assertEquals(3 + 4 + 5 + 6, sum.asInt());
+            assertEquals(0, context.eval(ID, "buffer.byteLength + view.length").asInt());
+        }
+        assertArrayEquals(new byte[]{1, 2, 3, 42, 42, 6, 7, 8}, Files.readAllBytes(file));
+    }
+
+    @Test
+    public void testReadOnly() throws IOException {
+        Path file = createFile(new byte[]{1, 2, 3, 4});
+        try (Context context = newContext(file, true)) {
+            Value result = context.eval(ID, "var view = new DataView(Graal.mapFile(path));" +
+                            "var error;" +
+                            "try { view.setInt8(0, 42); } catch (e) { error = e; }" +
+                            "error instanceof TypeError && view.getInt32(0) === 0x01020304;");
+            assertTrue(result.asBoolean());
+            try {
+                context.eval(ID, "new Uint8Array(Graal.mapFile(path, 'r'))[0] = 42;");
+                fail("expected TypeError");
+            } catch (PolyglotException e) {
+                assertTrue(e.isGuestException());
+                assertTrue(e.getMessage(), e.getMessage().startsWith("TypeError"));
+            }
+        }
+        assertArrayEquals(new byte[]{1, 2, 3, 4}, Files.readAllBytes(file));
+    }
+
+    @Test
+    public void testReadOnlyBuiltins() throws IOException {
+        Path file = createFile(new byte[]{1, 2, 3, 4});
+        try (Context context = newContext(file, true)) {
+            context.eval(ID, "var view = new Uint8Array(Graal.mapFile(path, 'r'));");
+            for (String write : new String[]{"view.set([42])", "view.fill(42)", "view.copyWithin(0, 2)", "view.reverse()", "view.sort()", "Reflect.set(view, 0, 42)",
+                            "Object.defineProperty(view, 0, {value: 42})"}) {
+                assertTrue(write, context.eval(ID, "try { " + write + "; false; } catch (e) { e instanceof TypeError; }").asBoolean());
+            }
+            assertTrue(context.eval(ID, "view[4] = 42; view[0] === 1;").asBoolean());
+        }
+        assertArrayEquals(new byte[]{1, 2, 3, 4}, Files.readAllBytes(file));
+    }
+
+    @Test
+    public void testReadOnlyInterop() throws IOException {
+        Path file = createFile(new byte[]{1, 2, 3, 4});
+        try (Context context = newContext(file, true)) {
+            Value view = context.eval(ID, "new Int8Array(Graal.mapFile(path, 'r'))");
+            assertEquals(2, view.getArrayElement(1).asInt());
+            try {
+                view.setArrayElement(1, 42);
+                fail("expected TypeError");
+            } catch (PolyglotException e) {
+                assertTrue(e.isGuestException());
+                assertFalse(e.isInternalError());
+                assertTrue(e.getMessage(), e.getMessage().startsWith("TypeError"));
+            }
+        }
+        assertArrayEquals(new byte[]{1, 2, 3, 4}, Files.readAllBytes(file));
+    }
+
+    @Test
+    public void testHostBufferOutlivesUnmap() throws IOException {
+        Path file = createFile(new byte[]{1, 2, 3, 4});
+        try (Context context = newContext(file, true)) {
+            Value hostBuffer = context.eval(ID, "var buffer = Graal.mapFile(path, 'rw');" +
+                            "var hostBuffer = Graal.asByteBuffer(buffer);" +
+                            "Graal.unmapFile(buffer);" +
+                            "hostBuffer;");
+            ByteBuffer byteBuffer = hostBuffer.asHostObject();
+            assertEquals(3, byteBuffer.get(2));
+            byteBuffer.put(1, (byte) 42);
+            assertTrue(context.eval(ID, "try { new Uint8Array(buffer); false; } catch (e) { e instanceof TypeError; }").asBoolean());
+        }
+    }
+
+    @Test
+    public void testInvalidArguments() throws IOException {
+        Path file = createFile(new byte[]{1, 2, 3, 4});
+        try (Context context = newContext(file, true)) {
+            assertTrue(context.eval(ID, "try { Graal.mapFile(path, 'w'); false; } catch (e) { e instanceof RangeError; }").asBoolean());
+            assertTrue(context.eval(ID, "try { Graal.unmapFile(new ArrayBuffer(4)); false; } catch (e) { e instanceof TypeError; }").asBoolean());
+            assertTrue(context.eval(ID, "var b = Graal.mapFile(path); Graal.unmapFile(b); try { Graal.unmapFile(b); false; } catch (e) { e instanceof TypeError; }").asBoolean());
+        }
+    }
+
+    @Test
+    public void testRegionOutsideOfFile() throws IOException {
+        Path file = createFile(new byte[]{1, 2, 3, 4});
+        try (Context context = newContext(file, true)) {
+            for (String mode : new String[]{"r", "rw"}) {
+                for (String args : new String[]{"0, 5", "2, 3", "4, 1", "5", "5, 0"}) {
+                    String map = "Graal.mapFile(path, '" + mode + "', " + args + ")";
+                    assertTrue(map, context.eval(ID, "try { " + map + "; false; } catch (e) { e instanceof RangeError; }").asBoolean());
+                }
+                assertEquals(0, context.eval(ID, "Graal.mapFile(path, '" + mode + "', 4).byteLength").asInt());
+                assertEquals(2, context.eval(ID, "new Uint8Array(Graal.mapFile(path, '" + mode + "', 2, 2))[1] - 2").asInt());
+            }
+        }
+        assertArrayEquals(new byte[]{1, 2, 3, 4}, Files.readAllBytes(file));
+    }
+
+    @Test
+    public void testRequiresIO() throws IOException {
+        Path file = createFile(new byte[]{1, 2, 3, 4});
+        try (Context context = newContext(file, false)) {
+            assertTrue(context.eval(ID, "try { Graal.mapFile(path); false; } catch (e) { e instanceof Error; }").asBoolean());
+        }
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        try (Context context = JSTest.newContextBuilder().allowIO(true).build()) {
+            assertFalse(context.eval(ID, "'mapFile' in Graal").asBoolean());
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static com.oracle.truffle.js.lang.JavaScriptLanguage.ID;
+import static com.oracle.truffle.js.lang.JavaScriptLanguage.MODULE_MIME_TYPE;
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.Source;
+import org.junit.Test;
+
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.runtime.objects.JSModuleCache;
+import com.oracle.truffle.js.test.JSTest;
+
+public class ModuleCacheTest {
+
+    private static JSModuleCache getModuleCache(Context context) {
+        context.enter();
+        try {
+            return JavaScriptLanguage.getJSRealm(context).getContext().getModuleCache();
+        } finally {
+            context.leave();
+        }
+    }
+
+    private static int evalMain(Engine engine, Path main) throws IOException {
+        try (Context context = JSTest.newContextBuilder().engine(engine).allowIO(true).build()) {
+            context.eval(Source.newBuilder(ID, main.toFile()).mimeType(MODULE_MIME_TYPE).build());
+            return context.getBindings(ID).getMember("result").asInt();
+        }
+    }
+
+    @Test
+    public void testSharedAcrossContexts() throws IOException {
+        Path dir = Files.createTempDirectory("module-cache");
+        Path main = Files.write(dir.resolve("main.mjs"), "import {inc} from './dep.mjs'; globalThis.result = inc();".getBytes());
+        Path dep = Files.write(dir.resolve("dep.mjs"), "export let count = 0; export function inc() { return ++count; }".getBytes());
+        try (Engine engine = JSTest.newEngineBuilder().build()) {
+            // every context instantiates and evaluates the modules of its own
+            for (int i = 0; i < 3; i++) {
+                assertEquals(1, evalMain(engine, main));
+            }
+            JSModuleCache cache;
+            try (Context context = JSTest.newContextBuilder().engine(engine).build()) {
+                cache = getModuleCache(context);
+            }
+            assertEquals(2, cache.size());
+            assertEquals(2, cache.getMisses());
+            assertEquals(4, cache.getHits());
+
+            Files.write(dep, "export function inc() { return 42; }".getBytes());
+            assertEquals(42, evalMain(engine, main));
+            assertEquals(3, cache.getMisses());
+            assertEquals(5, cache.getHits());
+        }
+    }
+
+    @Test
+    public void testEviction() throws IOException {
+        Path dir = Files.createTempDirectory("module-cache");
+        Path main = Files.write(dir.resolve("main.mjs"), "import {inc} from './dep.mjs'; globalThis.result = inc();".getBytes());
+        Files.write(dir.resolve("dep.mjs"), "export function inc() { return 1; }".getBytes());
+        try (Engine engine = JSTest.newEngineBuilder().option(JSContextOptions.MODULE_CACHE_SIZE_NAME, "1").build()) {
+            assertEquals(1, evalMain(engine, main));
+            assertEquals(1, evalMain(engine, main));
+            try (Context context = JSTest.newContextBuilder().engine(engine).build()) {
+                JSModuleCache cache = getModuleCache(context);
+                assertEquals(1, cache.size());
+                assertEquals(0, cache.getHits());
+            }
+        }
+    }
+}
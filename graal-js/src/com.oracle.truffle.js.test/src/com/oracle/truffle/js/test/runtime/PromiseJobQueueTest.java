@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.proxy.ProxyExecutable;
+import org.junit.Test;
+
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.test.JSTest;
+
+/**
+ * Tests the promise job queue of the agent: jobs run in FIFO order, jobs of different realms run in
+ * their own realm, and the queue is left empty when the processing is terminated.
+ */
+public class PromiseJobQueueTest {
+
+    /**
+     * Every job gets the next id when it is enqueued, so the jobs ran in FIFO order if and only if
+     * the log is 0, 1, 2, ...
+     */
+    private static final String SCHEDULE = "var log = [];\n" +
+                    "var nextId = 0;\n" +
+                    "function schedule(children, depth) {\n" +
+                    "  var id = nextId++;\n" +
+                    "  Promise.resolve().then(() => {\n" +
+                    "    log.push(id);\n" +
+                    "    if (depth > 0) { for (var i = 0; i < children; i++) schedule(children, depth - 1); }\n" +
+                    "  });\n" +
+                    "}\n" +
+                    "function inOrder() { return log.length === nextId && log.every((id, index) => id === index); }\n";
+
+    private static void assertFIFO(String source, int expectedJobs) {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            context.eval(JavaScriptLanguage.ID, SCHEDULE + source);
+            assertEquals(expectedJobs, context.eval(JavaScriptLanguage.ID, "log.length").asInt());
+            assertTrue(context.eval(JavaScriptLanguage.ID, "inOrder()").asBoolean());
+        }
+    }
+
+    @Test
+    public void testWrapAround() {
+        // the queue stays below its initial capacity while the head wraps around many times
+        assertFIFO("for (var i = 0; i < 10; i++) schedule(1, 99);", 1000);
+    }
+
+    @Test
+    public void testGrowth() {
+        // the queue grows several times while its head is in the middle of the ring
+        assertFIFO("for (var i = 0; i < 3; i++) schedule(2, 6);", 381);
+    }
+
+    @Test
+    public void testGrowthInSingleBatch() {
+        assertFIFO("for (var i = 0; i < 100; i++) schedule(0, 0);", 100);
+    }
+
+    @Test
+    public void testInterleavedRealms() {
+        try (Context context = JSTest.newContextBuilder().option(JSContextOptions.V8_REALM_BUILTIN_NAME, "true").build()) {
+            String source = "var log = [];\n" +
+                            "var tag = 'a';\n" +
+                            "var id = Realm.create();\n" +
+                            "Realm.eval(id, 'var tag = \"b\";');\n" +
+                            "var local = (n) => Promise.resolve().then(() => log.push(tag + n));\n" +
+                            "var other = Realm.eval(id, '(log, n) => Promise.resolve().then(() => log.push(tag + n))');\n" +
+                            "for (var i = 0; i < 40; i++) {\n" +
+                            "  if (i % 3 === 0 || i % 7 === 0) { other(log, i); } else { local(i); }\n" +
+                            "}\n";
+            context.eval(JavaScriptLanguage.ID, source);
+            StringBuilder expected = new StringBuilder();
+            for (int i = 0; i < 40; i++) {
+                expected.append(expected.length() == 0 ? "" : ",").append(i % 3 == 0 || i % 7 == 0 ? "b" : "a").append(i);
+            }
+            assertEquals(expected.toString(), context.eval(JavaScriptLanguage.ID, "log.join()").asString());
+        }
+    }
+
+    @Test
+    public void testExitInJobOfOtherRealm() {
+        List<String> log = Collections.synchronizedList(new ArrayList<>());
+        Engine engine = JSTest.newEngineBuilder().build();
+        try (Context context = JSTest.newContextBuilder().engine(engine).option(JSContextOptions.V8_REALM_BUILTIN_NAME, "true").option(JSContextOptions.SHELL_NAME, "true").build()) {
+            context.getBindings(JavaScriptLanguage.ID).putMember("record", (ProxyExecutable) (args) -> log.add(args[0].asString()));
+            String source = "var id = Realm.create();\n" +
+                            "var exitLater = Realm.eval(id, '() => Promise.resolve().then(() => quit())');\n" +
+                            "for (var i = 0; i < 20; i++) {\n" +
+                            "  let n = i;\n" +
+                            "  if (n === 10) { exitLater(); } else { Promise.resolve().then(() => record('job' + n)); }\n" +
+                            "}\n";
+            context.eval(JavaScriptLanguage.ID, source);
+            fail("Exception expected");
+        } catch (PolyglotException pex) {
+            assertTrue(pex.isExit());
+        }
+        // the jobs queued after the exiting one were dropped
+        assertEquals(10, log.size());
+        assertEquals("job9", log.get(9));
+        try (Context context = JSTest.newContextBuilder().engine(engine).build()) {
+            context.eval(JavaScriptLanguage.ID, "var log = []; Promise.resolve().then(() => log.push(1)).then(() => log.push(2));");
+            assertEquals("1,2", context.eval(JavaScriptLanguage.ID, "log.join()").asString());
+        }
+    }
+
+    @Test
+    public void testCloseWithPendingJobs() throws InterruptedException {
+        List<String> log = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch looping = new CountDownLatch(1);
+        List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+        Context context = JSTest.newContextBuilder().build();
+        context.getBindings(JavaScriptLanguage.ID).putMember("record", (ProxyExecutable) (args) -> log.add(args[0].asString()));
+        context.getBindings(JavaScriptLanguage.ID).putMember("looping", (ProxyExecutable) (args) -> {
+            looping.countDown();
+            return null;
+        });
+        Thread thread = new Thread(() -> {
+            try {
+                context.eval(JavaScriptLanguage.ID, "Promise.resolve().then(() => { record('first'); looping(); for (;;) {} });\n" +
+                                "for (var i = 0; i < 20; i++) { Promise.resolve().then(() => record('pending')); }");
+                failures.add(new AssertionError("Exception expected"));
+            } catch (PolyglotException pex) {
+                if (!pex.isCancelled()) {
+                    failures.add(pex);
+                }
+            }
+        });
+        thread.start();
+        looping.await();
+        context.close(true);
+        thread.join();
+        assertEquals(Collections.emptyList(), failures);
+        assertEquals(Collections.singletonList("first"), log);
+    }
+
+}
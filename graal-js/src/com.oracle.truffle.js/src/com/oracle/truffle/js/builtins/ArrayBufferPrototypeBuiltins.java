@@ -201,6 +201,10 @@ public final class ArrayBufferPrototypeBuiltins extends JSBuiltinsContainer.Lamb
                 errorBranch.enter();
                 throw Errors.createTypeError("insufficient length constructed");
             }
+            if (direct && newLen > 0 && !getContext().getArrayBufferNotReadOnlyAssumption().isValid() && JSArrayBuffer.isReadOnlyBuffer(resObj)) {
+                errorBranch.enter();
+                throw Errors.createTypeErrorReadOnlyBuffer(this);
+            }
             // NOTE: Side-effects of the above steps may have detached O.
             if (!getContext().getTypedArrayNotDetachedAssumption().isValid() && JSArrayBuffer.isDetachedBuffer(thisObj)) {
                 // yes, check again! see clause 22 of ES 6 24.1.4.3.
@@ -103,6 +103,7 @@ import com.oracle.truffle.js.builtins.ArrayPrototypeBuiltinsFactory.JSArraySplic
 import com.oracle.truffle.js.builtins.ArrayPrototypeBuiltinsFactory.JSArrayToLocaleStringNodeGen;
 import com.oracle.truffle.js.builtins.ArrayPrototypeBuiltinsFactory.JSArrayToStringNodeGen;
 import com.oracle.truffle.js.builtins.ArrayPrototypeBuiltinsFactory.JSArrayUnshiftNodeGen;
+import com.oracle.truffle.js.builtins.helper.PrimitiveArraySort;
 import com.oracle.truffle.js.nodes.JSGuards;
 import com.oracle.truffle.js.nodes.JSNodeUtil;
 import com.oracle.truffle.js.nodes.JavaScriptBaseNode;
@@ -160,10 +161,12 @@ import com.oracle.truffle.js.runtime.array.SparseArray;
 import com.oracle.truffle.js.runtime.array.TypedArray;
 import com.oracle.truffle.js.runtime.array.dyn.AbstractDoubleArray;
 import com.oracle.truffle.js.runtime.array.dyn.AbstractIntArray;
+import com.oracle.truffle.js.runtime.array.dyn.AbstractWritableArray;
 import com.oracle.truffle.js.runtime.array.dyn.ConstantByteArray;
 import com.oracle.truffle.js.runtime.array.dyn.ConstantDoubleArray;
 import com.oracle.truffle.js.runtime.array.dyn.ConstantIntArray;
 import com.oracle.truffle.js.runtime.builtins.BuiltinEnum;
+import com.oracle.truffle.js.runtime.builtins.JSAbstractArray;
 import com.oracle.truffle.js.runtime.builtins.JSArray;
 import com.oracle.truffle.js.runtime.builtins.JSArrayBuffer;
 import com.oracle.truffle.js.runtime.builtins.JSArrayBufferView;
@@ -406,6 +409,13 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
             }
         }
 
+        protected final void checkNotReadOnlyBuffer(DynamicObject view) {
+            if (JSArrayBufferView.hasReadOnlyBuffer(view, getContext())) {
+                errorBranch.enter();
+                throw Errors.createTypeErrorReadOnlyBuffer(this);
+            }
+        }
+
         /**
          * ES2016, 22.2.3.5.1 ValidateTypedArray(O).
          */
@@ -975,6 +985,8 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
         private final ConditionProfile sizeIsZero = ConditionProfile.createBinaryProfile();
         private final ConditionProfile offsetProfile1 = ConditionProfile.createBinaryProfile();
         private final ConditionProfile offsetProfile2 = ConditionProfile.createBinaryProfile();
+        private final ConditionProfile bulkCopyProfile = ConditionProfile.createBinaryProfile();
+        private final ConditionProfile overlapProfile = ConditionProfile.createBinaryProfile();
 
         @Specialization
         protected Object sliceGeneric(Object thisObj, Object begin, Object end,
@@ -993,7 +1005,11 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
             long size = startPos <= endPos ? endPos - startPos : 0;
             Object resultArray = getArraySpeciesConstructorNode().createEmptyContainer(thisArrayObj, size);
             if (sizeIsZero.profile(size > 0)) {
-                forEachIndexCall(thisArrayObj, null, startPos, startPos, endPos, resultArray);
+                if (isTypedArrayImplementation && bulkCopyProfile.profile(isBytewiseCompatible(thisArrayObj, resultArray))) {
+                    sliceTypedArray((DynamicObject) thisArrayObj, (DynamicObject) resultArray, startPos, size);
+                } else {
+                    forEachIndexCall(thisArrayObj, null, startPos, startPos, endPos, resultArray);
+                }
             }
             if (!isTypedArrayImplementation) {
                 setLength(resultArray, size);
@@ -1001,6 +1017,31 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
             return resultArray;
         }
 
+        private static boolean isBytewiseCompatible(Object source, Object result) {
+            return JSArrayBufferView.isJSArrayBufferView(result) &&
+                            TypedArray.isBytewiseCompatible(JSArrayBufferView.typedArrayGetArrayType((DynamicObject) source), JSArrayBufferView.typedArrayGetArrayType((DynamicObject) result));
+        }
+
+        private void sliceTypedArray(DynamicObject source, DynamicObject result, long startPos, long size) {
+            checkHasDetachedBuffer(source);
+            checkNotReadOnlyBuffer(result);
+            TypedArray sourceType = JSArrayBufferView.typedArrayGetArrayType(source);
+            TypedArray resultType = JSArrayBufferView.typedArrayGetArrayType(result);
+            int elementSize = sourceType.bytesPerElement();
+            int sourceByteIndex = JSArrayBufferView.typedArrayGetOffset(source) + (int) startPos * elementSize;
+            int resultByteIndex = JSArrayBufferView.typedArrayGetOffset(result);
+            int byteLength = (int) size * elementSize;
+            Object sourceBuffer = sourceType.getBufferFromTypedArray(source);
+            Object resultBuffer = resultType.getBufferFromTypedArray(result);
+            if (overlapProfile.profile(sourceBuffer == resultBuffer && sourceByteIndex < resultByteIndex && resultByteIndex < sourceByteIndex + byteLength)) {
+                // the species constructor returned a view on the same bytes; the spec copies them
+                // one by one in ascending order
+                TypedArray.copyBytesAscending(sourceBuffer, sourceByteIndex, resultByteIndex, byteLength);
+            } else {
+                TypedArray.copyBytes(sourceBuffer, sourceByteIndex, resultBuffer, resultByteIndex, byteLength);
+            }
+        }
+
         @Override
         protected MaybeResultNode makeMaybeResultNode() {
             return new ForEachIndexCallNode.MaybeResultNode() {
@@ -2129,6 +2170,9 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
             DynamicObject typedResult = (DynamicObject) obj;
             TypedArray typedArray = arrayTypeProfile.profile(JSArrayBufferView.typedArrayGetArrayType(typedResult));
             ScriptArray array = resultArrayTypeProfile.profile(arrayGetArrayType(resultArray));
+            if (resultLen > 0) {
+                checkNotReadOnlyBuffer(typedResult);
+            }
             for (long i = 0; i < resultLen; i++) {
                 typedArray.setElement(typedResult, i, array.getElement(resultArray, i), true);
             }
@@ -2522,6 +2566,7 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
         private final BranchProfile hasCompareFnBranch = BranchProfile.create();
         private final BranchProfile noCompareFnBranch = BranchProfile.create();
         private final BranchProfile growProfile = BranchProfile.create();
+        private final ConditionProfile isPrimitiveSort = ConditionProfile.createBinaryProfile();
         @Child private InteropLibrary interopNode;
         @Child private ImportValueNode importValueNode;
 
@@ -2542,6 +2587,10 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
             }
 
             ScriptArray scriptArray = arrayGetArrayType(thisObj);
+            if (isPrimitiveSort.profile(sortPrimitiveInPlace(thisObj, scriptArray, len, compare))) {
+                reportLoopCount(len);
+                return thisObj;
+            }
             Object[] array = arrayToObjectArrayNode.executeObjectArray(thisObj, scriptArray, len);
 
             sortIntl(getComparator(thisObj, compare), array);
@@ -2557,6 +2606,52 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
             return thisObj;
         }
 
+        /**
+         * Sorts a dense int or double array directly in its backing store if the comparator is the
+         * default one (int arrays only) or a recognized numeric comparator. Returns {@code false}
+         * if the array has to be sorted the generic way.
+         */
+        private boolean sortPrimitiveInPlace(DynamicObject thisObj, ScriptArray scriptArray, long len, Object compare) {
+            boolean isInt = scriptArray instanceof AbstractIntArray;
+            if (!(isInt || scriptArray instanceof AbstractDoubleArray) || scriptArray.isHolesType() || len > Integer.MAX_VALUE ||
+                            scriptArray.firstElementIndex(thisObj) != 0 || scriptArray.lastElementIndex(thisObj) != len - 1) {
+                return false;
+            }
+            int order;
+            if (compare == Undefined.instance) {
+                if (!isInt) {
+                    return false;
+                }
+                order = PrimitiveArraySort.UNKNOWN;
+            } else {
+                order = getNumericComparatorOrder(compare);
+                if (order == PrimitiveArraySort.UNKNOWN) {
+                    return false;
+                }
+            }
+            int start = ((AbstractWritableArray) scriptArray).getInternalIndex(thisObj, 0);
+            int end = start + (int) len;
+            if (isInt) {
+                int[] storage = (int[]) JSAbstractArray.arrayGetArray(thisObj);
+                if (order == PrimitiveArraySort.UNKNOWN) {
+                    PrimitiveArraySort.sortStringOrder(storage, start, end);
+                } else {
+                    PrimitiveArraySort.sortNumeric(storage, start, end, order == PrimitiveArraySort.DESCENDING);
+                }
+                return true;
+            } else {
+                double[] storage = (double[]) JSAbstractArray.arrayGetArray(thisObj);
+                return PrimitiveArraySort.sortNumeric(storage, start, end, order == PrimitiveArraySort.DESCENDING);
+            }
+        }
+
+        private static int getNumericComparatorOrder(Object compare) {
+            if (!JSFunction.isJSFunction(compare)) {
+                return PrimitiveArraySort.UNKNOWN;
+            }
+            return PrimitiveArraySort.numericComparatorOrder(JSFunction.getFunctionData((DynamicObject) compare));
+        }
+
         private void delete(Object obj, Object i) {
             if (deletePropertyNode == null) {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
@@ -2929,6 +3024,12 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
                 finalIdx = JSRuntime.getOffset(toIntegerAsLong(end), len, offsetProfile3);
             }
             long count = Math.min(finalIdx - from, len - to);
+            if (isTypedArrayImplementation) {
+                if (count > 0) {
+                    copyWithinTypedArray((DynamicObject) obj, from, to, count);
+                }
+                return obj;
+            }
             long expectedCount = count;
 
             long direction;
@@ -2954,6 +3055,16 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
             reportLoopCount(expectedCount);
             return obj;
         }
+
+        private void copyWithinTypedArray(DynamicObject typedArrayObj, long from, long to, long count) {
+            checkHasDetachedBuffer(typedArrayObj);
+            checkNotReadOnlyBuffer(typedArrayObj);
+            TypedArray arrayType = JSArrayBufferView.typedArrayGetArrayType(typedArrayObj);
+            Object buffer = arrayType.getBufferFromTypedArray(typedArrayObj);
+            int elementSize = arrayType.bytesPerElement();
+            int byteOffset = JSArrayBufferView.typedArrayGetOffset(typedArrayObj);
+            TypedArray.copyBytes(buffer, byteOffset + (int) from * elementSize, buffer, byteOffset + (int) to * elementSize, (int) count * elementSize);
+        }
     }
 
     public abstract static class JSArrayIncludesNode extends JSArrayOperationWithToInt {
@@ -67,6 +67,7 @@ import com.oracle.truffle.js.nodes.function.JSBuiltin;
 import com.oracle.truffle.js.nodes.function.JSBuiltinNode;
 import com.oracle.truffle.js.runtime.BigInt;
 import com.oracle.truffle.js.runtime.Errors;
+import com.oracle.truffle.js.runtime.JSAgentWaiterList.JSAgentWaiter;
 import com.oracle.truffle.js.runtime.JSAgentWaiterList.JSAgentWaiterListEntry;
 import com.oracle.truffle.js.runtime.JSConfig;
 import com.oracle.truffle.js.runtime.JSContext;
@@ -248,6 +249,12 @@ public final class AtomicsBuiltins extends JSBuiltinsContainer.SwitchEnum<Atomic
             return ta;
         }
 
+        protected final void checkNotReadOnly(DynamicObject target) {
+            if (JSArrayBufferView.hasReadOnlyBuffer(target, getContext())) {
+                throw Errors.createTypeErrorReadOnlyBuffer(this);
+            }
+        }
+
         protected DynamicObject ensureDynamicObject(Object maybeTarget) {
             if (!(maybeTarget instanceof DynamicObject)) {
                 throw createTypeErrorNotSharedArray();
@@ -305,22 +312,27 @@ public final class AtomicsBuiltins extends JSBuiltinsContainer.SwitchEnum<Atomic
         }
 
         protected int doCASInt8(DynamicObject target, int index, int expected, int replacement, boolean sign) {
+            checkNotReadOnly(target);
             return SharedMemorySync.atomicFetchOrGetByte(getContext(), target, index, (byte) expected, replacement, sign);
         }
 
         protected int doCASInt16(DynamicObject target, int index, int expected, int replacement, boolean sign) {
+            checkNotReadOnly(target);
             return SharedMemorySync.atomicFetchOrGetShort(getContext(), target, index, expected, replacement, sign);
         }
 
         protected Object doCASUint32(DynamicObject target, int index, Object expected, Object replacement) {
+            checkNotReadOnly(target);
             return SafeInteger.valueOf(SharedMemorySync.atomicFetchOrGetUnsigned(getContext(), target, index, expected, replacement));
         }
 
         protected int doCASInt(DynamicObject target, int index, int expected, int replacement) {
+            checkNotReadOnly(target);
             return SharedMemorySync.atomicFetchOrGetInt(getContext(), target, index, expected, replacement);
         }
 
         protected BigInt doCASBigInt(DynamicObject target, int index, BigInt expected, BigInt replacement) {
+            checkNotReadOnly(target);
             return SharedMemorySync.atomicFetchOrGetBigInt(getContext(), target, index, expected, replacement);
         }
 
@@ -549,10 +561,20 @@ public final class AtomicsBuiltins extends JSBuiltinsContainer.SwitchEnum<Atomic
             super(context, builtin);
         }
 
+        private void store(DynamicObject target, int index, int value) {
+            checkNotReadOnly(target);
+            SharedMemorySync.doVolatilePut(target, index, value);
+        }
+
+        private void storeBigInt(DynamicObject target, int index, BigInt value) {
+            checkNotReadOnly(target);
+            SharedMemorySync.doVolatilePutBigInt(target, index, value);
+        }
+
         @Specialization(guards = {"isInt8SharedBufferView(target)||isUint8SharedBufferView(target)",
                         "inboundFast(target,index)"})
         protected Object doIntArrayObj(DynamicObject target, int index, int value) {
-            SharedMemorySync.doVolatilePut(target, index, value);
+            store(target, index, value);
             return value;
         }
 
@@ -560,14 +582,14 @@ public final class AtomicsBuiltins extends JSBuiltinsContainer.SwitchEnum<Atomic
                         "inboundFast(target,index)"})
         protected int doIntArrayObj(DynamicObject target, int index, double value) {
             int v = (int) toInt(value);
-            SharedMemorySync.doVolatilePut(target, index, v);
+            store(target, index, v);
             return v;
         }
 
         @Specialization(guards = {"isInt16SharedBufferView(target)||isUint16SharedBufferView(target)",
                         "inboundFast(target,index)"})
         protected Object doInt16ArrayObj(DynamicObject target, int index, int value) {
-            SharedMemorySync.doVolatilePut(target, index, (short) value);
+            store(target, index, (short) value);
             return value;
         }
 
@@ -575,14 +597,14 @@ public final class AtomicsBuiltins extends JSBuiltinsContainer.SwitchEnum<Atomic
                         "inboundFast(target,index)"})
         protected int doInt16ArrayObj(DynamicObject target, int index, double value) {
             int v = (int) toInt(value);
-            SharedMemorySync.doVolatilePut(target, index, v);
+            store(target, index, v);
             return v;
         }
 
         @Specialization(guards = {"isInt32SharedBufferView(target)||isUint32SharedBufferView(target)",
                         "inboundFast(target,index)"})
         protected int doInt32ArrayObj(DynamicObject target, int index, int value) {
-            SharedMemorySync.doVolatilePut(target, index, value);
+            store(target, index, value);
             return value;
         }
 
@@ -590,7 +612,7 @@ public final class AtomicsBuiltins extends JSBuiltinsContainer.SwitchEnum<Atomic
                         "inboundFast(target,index)"})
         protected Object doInt32ArrayObj(DynamicObject target, int index, double value) {
             long v = toInt(value);
-            SharedMemorySync.doVolatilePut(target, index, (int) v);
+            store(target, index, (int) v);
             return SafeInteger.valueOf(v);
         }
 
@@ -598,7 +620,7 @@ public final class AtomicsBuiltins extends JSBuiltinsContainer.SwitchEnum<Atomic
         protected Object doInt32ArrayObjObjIdx(DynamicObject target, Object index, int value,
                         @Cached("create()") JSToIndexNode toIndexNode) {
             int intIndex = validateAtomicAccess(target, toIndexNode.executeLong(index), index);
-            SharedMemorySync.doVolatilePut(target, intIndex, value);
+            store(target, intIndex, value);
             return value;
         }
 
@@ -607,7 +629,7 @@ public final class AtomicsBuiltins extends JSBuiltinsContainer.SwitchEnum<Atomic
                         @Cached("create()") JSToIndexNode toIndexNode) {
             int intIndex = validateAtomicAccess(target, toIndexNode.executeLong(index), index);
             BigInt biValue = toBigInt(value);
-            SharedMemorySync.doVolatilePutBigInt(target, intIndex, biValue);
+            storeBigInt(target, intIndex, biValue);
             return biValue;
         }
 
@@ -621,19 +643,19 @@ public final class AtomicsBuiltins extends JSBuiltinsContainer.SwitchEnum<Atomic
 
             if (ta instanceof TypedArray.DirectInt8Array || ta instanceof TypedArray.DirectUint8Array) {
                 int v = (int) toInt(value);
-                SharedMemorySync.doVolatilePut(target, intIndex, v);
+                store(target, intIndex, v);
                 return v;
             } else if (ta instanceof TypedArray.DirectInt16Array || ta instanceof TypedArray.DirectUint16Array) {
                 int v = (int) toInt(value);
-                SharedMemorySync.doVolatilePut(target, intIndex, (short) v);
+                store(target, intIndex, (short) v);
                 return v;
             } else if (ta instanceof TypedArray.DirectInt32Array || ta instanceof TypedArray.DirectUint32Array) {
                 long v = toInt(value);
-                SharedMemorySync.doVolatilePut(target, intIndex, (int) v);
+                store(target, intIndex, (int) v);
                 return SafeInteger.valueOf(v);
             } else if (ta instanceof TypedArray.DirectBigInt64Array || ta instanceof TypedArray.DirectBigUint64Array) {
                 BigInt v = toBigInt(value);
-                SharedMemorySync.doVolatilePutBigInt(target, intIndex, v);
+                storeBigInt(target, intIndex, v);
                 return v;
             } else {
                 throw Errors.shouldNotReachHere();
@@ -675,6 +697,7 @@ public final class AtomicsBuiltins extends JSBuiltinsContainer.SwitchEnum<Atomic
         }
 
         private int atomicDoInt(DynamicObject target, int index, int value) {
+            checkNotReadOnly(target);
             int initial;
             int result;
             do {
@@ -685,6 +708,7 @@ public final class AtomicsBuiltins extends JSBuiltinsContainer.SwitchEnum<Atomic
         }
 
         private BigInt atomicDoBigInt(DynamicObject target, int index, BigInt value) {
+            checkNotReadOnly(target);
             BigInt initial;
             BigInt result;
             do {
@@ -810,12 +834,7 @@ public final class AtomicsBuiltins extends JSBuiltinsContainer.SwitchEnum<Atomic
 
             SharedMemorySync.enterCriticalSection(getContext(), wl);
             try {
-                int[] waiters = SharedMemorySync.removeWaiters(getContext(), wl, c);
-                int n;
-                for (n = 0; n < waiters.length; n++) {
-                    SharedMemorySync.wakeWaiter(getContext(), waiters[n]);
-                }
-                return n;
+                return SharedMemorySync.notifyWaiters(getContext(), wl, c);
             } finally {
                 SharedMemorySync.leaveCriticalSection(getContext(), wl);
             }
@@ -855,10 +874,10 @@ public final class AtomicsBuiltins extends JSBuiltinsContainer.SwitchEnum<Atomic
 
             boolean isInt32 = isInt32SharedBufferView(maybeTarget);
             long v = isInt32 ? toInt32(value) : toBigInt(value).longValue();
-            int t = Integer.MAX_VALUE;
+            double t = Double.POSITIVE_INFINITY;
             Number tmp = timeToInt32Node.executeNumber(timeout);
             if (!JSRuntime.isNaN(tmp)) {
-                t = Integer.max(tmp.intValue(), 0);
+                t = Math.max(JSRuntime.doubleValue(tmp), 0);
             }
 
             if (!SharedMemorySync.agentCanSuspend(getContext())) {
@@ -873,17 +892,13 @@ public final class AtomicsBuiltins extends JSBuiltinsContainer.SwitchEnum<Atomic
                 if (isNotEqual) {
                     return NOT_EQUAL;
                 }
-                int id = getContext().getJSAgent().getSignifier();
-                SharedMemorySync.addWaiter(getContext(), wl, id);
-                if (t < 0) {
-                    return TIMED_OUT;
-                }
-                boolean awoken = SharedMemorySync.suspendAgent(getContext(), wl, id, t);
+                JSAgentWaiter waiter = SharedMemorySync.addWaiter(getContext(), wl);
+                boolean awoken = SharedMemorySync.suspendAgent(getContext(), wl, waiter, t);
                 if (awoken) {
-                    assert !wl.contains(id);
+                    assert !wl.contains(waiter);
                     return OK;
                 } else {
-                    SharedMemorySync.removeWaiter(getContext(), wl, id);
+                    SharedMemorySync.removeWaiter(getContext(), wl, waiter);
                     return TIMED_OUT;
                 }
             } finally {
@@ -194,23 +194,16 @@ public final class BigIntPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
             this.initNumberFormatNode = InitializeNumberFormatNode.createInitalizeNumberFormatNode(context);
         }
 
-        @TruffleBoundary
-        private DynamicObject createNumberFormat(Object locales, Object options) {
-            DynamicObject numberFormatObj = JSNumberFormat.create(getContext());
-            initNumberFormatNode.executeInit(numberFormatObj, locales, options);
-            return numberFormatObj;
-        }
-
         @Specialization
         protected String bigIntToLocaleString(BigInt thisObj, Object locales, Object options) {
-            DynamicObject numberFormatObj = createNumberFormat(locales, options);
-            return JSNumberFormat.format(numberFormatObj, thisObj);
+            JSNumberFormat.InternalState state = initNumberFormatNode.createInternalState(locales, options);
+            return JSNumberFormat.format(state, thisObj);
         }
 
         @Specialization(guards = "isJSBigInt(thisObj)")
         protected String jsBigIntToLocaleString(DynamicObject thisObj, Object locales, Object options) {
-            DynamicObject numberFormatObj = createNumberFormat(locales, options);
-            return JSNumberFormat.format(numberFormatObj, getBigIntValue(thisObj));
+            JSNumberFormat.InternalState state = initNumberFormatNode.createInternalState(locales, options);
+            return JSNumberFormat.format(state, getBigIntValue(thisObj));
         }
 
         @Fallback
@@ -161,7 +161,6 @@ import com.oracle.truffle.js.nodes.intl.InitializeSegmenterNode;
 import com.oracle.truffle.js.nodes.promise.PromiseResolveThenableNode;
 import com.oracle.truffle.js.nodes.unary.IsCallableNode;
 import com.oracle.truffle.js.runtime.BigInt;
-import com.oracle.truffle.js.runtime.Boundaries;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.Evaluator;
 import com.oracle.truffle.js.runtime.GraalJSException;
@@ -218,6 +217,7 @@ import com.oracle.truffle.js.runtime.objects.JSLazyString;
 import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.Undefined;
+import com.oracle.truffle.js.runtime.util.ISODateParser;
 import com.oracle.truffle.js.runtime.util.SimpleArrayList;
 import com.oracle.truffle.js.runtime.util.TRegexUtil;
 
@@ -864,7 +864,12 @@ public final class ConstructorBuiltins extends JSBuiltinsContainer.SwitchEnum<Co
 
         @TruffleBoundary
         private double parseDate(String target) {
-            Integer[] fields = getContext().getEvaluator().parseDate(getContext().getRealm(), target.trim());
+            String dateString = target.trim();
+            double isoDate = ISODateParser.parse(dateString, getContext());
+            if (!Double.isNaN(isoDate)) {
+                return isoDate;
+            }
+            Integer[] fields = getContext().getEvaluator().parseDate(getContext().getRealm(), dateString);
             if (gotFieldsProfile.profile(fields != null)) {
                 return JSDate.makeDate(fields[0], fields[1], fields[2], fields[3], fields[4], fields[5], fields[6], fields[7], getContext());
             }
@@ -1777,16 +1782,10 @@ public final class ConstructorBuiltins extends JSBuiltinsContainer.SwitchEnum<Co
 
         @Specialization(guards = "isHostByteBuffer(buffer)")
         protected DynamicObject constructFromHostByteBuffer(DynamicObject newTarget, Object buffer,
-                        @Cached("create()") BranchProfile errorBranch,
-                        @Cached("createBinaryProfile()") ConditionProfile isDirect) {
+                        @Cached("create()") BranchProfile errorBranch) {
             Object maybeBuffer = getContext().getRealm().getEnv().asHostObject(buffer);
             if (maybeBuffer instanceof ByteBuffer) {
-                ByteBuffer byteBuffer = (ByteBuffer) maybeBuffer;
-                if (isDirect.profile(byteBuffer.isDirect())) {
-                    return swapPrototype(JSArrayBuffer.createDirectArrayBuffer(getContext(), byteBuffer), newTarget);
-                } else {
-                    return swapPrototype(JSArrayBuffer.createArrayBuffer(getContext(), Boundaries.byteBufferArray(byteBuffer)), newTarget);
-                }
+                return swapPrototype(JSArrayBuffer.createArrayBufferFromHostBuffer(getContext(), (ByteBuffer) maybeBuffer), newTarget);
             } else {
                 errorBranch.enter();
                 throw Errors.createTypeError("Unsupported input data type");
@@ -55,6 +55,7 @@ import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.builtins.BuiltinEnum;
 import com.oracle.truffle.js.runtime.builtins.JSDate;
+import com.oracle.truffle.js.runtime.util.ISODateParser;
 
 /**
  * Contains builtins for {@linkplain JSDate} function (constructor).
@@ -107,8 +108,12 @@ public final class DateFunctionBuiltins extends JSBuiltinsContainer.SwitchEnum<D
         @Specialization
         protected double parse(Object parseDate,
                         @Cached("create()") JSToStringNode toStringNode) {
-            String dateString = toStringNode.executeString(parseDate);
-            Integer[] fields = getContext().getEvaluator().parseDate(getContext().getRealm(), dateString.trim());
+            String dateString = toStringNode.executeString(parseDate).trim();
+            double isoDate = ISODateParser.parse(dateString, getContext());
+            if (!Double.isNaN(isoDate)) {
+                return isoDate;
+            }
+            Integer[] fields = getContext().getEvaluator().parseDate(getContext().getRealm(), dateString);
             if (gotFieldsProfile.profile(fields != null)) {
                 return JSDate.makeDate(fields[0], fields[1], fields[2], fields[3], fields[4], fields[5], fields[6], fields[7], getContext());
             }
@@ -353,12 +353,6 @@ public final class DatePrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum<
                 throw Errors.createRangeError("time value is not a finite number");
             }
         }
-
-        protected DynamicObject createDateTimeFormat(InitializeDateTimeFormatNode initDateTimeFormatNode, Object locales, Object options) {
-            DynamicObject dateTimeFormatObj = JSDateTimeFormat.create(getContext());
-            initDateTimeFormatNode.executeInit(dateTimeFormatObj, locales, options);
-            return dateTimeFormatObj;
-        }
     }
 
     public abstract static class JSDateOperationWithToNumberNode extends JSDateOperation {
@@ -420,8 +414,8 @@ public final class DatePrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum<
             if (isNaN.profile(Double.isNaN(t))) {
                 return JSDate.INVALID_DATE_STRING;
             }
-            DynamicObject formatter = createDateTimeFormat(initDateTimeFormatNode, locales, options);
-            return JSDateTimeFormat.format(getContext(), formatter, t);
+            JSDateTimeFormat.InternalState state = initDateTimeFormatNode.createInternalState(locales, options);
+            return JSDateTimeFormat.formatShared(getContext(), state, t);
         }
     }
 
@@ -488,8 +482,8 @@ public final class DatePrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum<
             if (isNaN.profile(Double.isNaN(t))) {
                 return JSDate.INVALID_DATE_STRING;
             }
-            DynamicObject formatter = createDateTimeFormat(initDateTimeFormatNode, locales, options);
-            return JSDateTimeFormat.format(getContext(), formatter, t);
+            JSDateTimeFormat.InternalState state = initDateTimeFormatNode.createInternalState(locales, options);
+            return JSDateTimeFormat.formatShared(getContext(), state, t);
         }
     }
 
@@ -524,8 +518,8 @@ public final class DatePrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum<
             if (isNaN.profile(Double.isNaN(t))) {
                 return JSDate.INVALID_DATE_STRING;
             }
-            DynamicObject formatter = createDateTimeFormat(initDateTimeFormatNode, locales, options);
-            return JSDateTimeFormat.format(getContext(), formatter, t);
+            JSDateTimeFormat.InternalState state = initDateTimeFormatNode.createInternalState(locales, options);
+            return JSDateTimeFormat.formatShared(getContext(), state, t);
         }
     }
 
@@ -0,0 +1,350 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.builtins;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumSet;
+import java.util.Set;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleFile;
+import com.oracle.truffle.api.TruffleLanguage;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.js.builtins.GraalBuiltinsFactory.GraalAsByteBufferNodeGen;
+import com.oracle.truffle.js.builtins.GraalBuiltinsFactory.GraalFlushMappedFileNodeGen;
+import com.oracle.truffle.js.builtins.GraalBuiltinsFactory.GraalMapFileNodeGen;
+import com.oracle.truffle.js.builtins.GraalBuiltinsFactory.GraalParseJSONNodeGen;
+import com.oracle.truffle.js.builtins.GraalBuiltinsFactory.GraalUnmapFileNodeGen;
+import com.oracle.truffle.js.builtins.JSONBuiltins.JSONParseNode;
+import com.oracle.truffle.js.builtins.helper.JSONStreamParser;
+import com.oracle.truffle.js.nodes.cast.JSToIndexNode;
+import com.oracle.truffle.js.nodes.cast.JSToStringNode;
+import com.oracle.truffle.js.nodes.function.JSBuiltin;
+import com.oracle.truffle.js.nodes.function.JSBuiltinNode;
+import com.oracle.truffle.js.runtime.Errors;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.builtins.JSArrayBuffer;
+import com.oracle.truffle.js.runtime.builtins.JSArrayBufferObject;
+import com.oracle.truffle.js.runtime.builtins.JSArrayBufferView;
+import com.oracle.truffle.js.runtime.builtins.JSDataView;
+import com.oracle.truffle.js.runtime.objects.JSAttributes;
+import com.oracle.truffle.js.runtime.objects.Undefined;
+
+/**
+ * Functions of the {@code Graal} object.
+ */
+public final class GraalBuiltins extends JSBuiltinsContainer.Lambda {
+
+    public static final JSBuiltinsContainer BUILTINS = new GraalBuiltins();
+    public static final JSBuiltinsContainer MAP_FILE_BUILTINS = new GraalMapFileBuiltins();
+
+    protected GraalBuiltins() {
+        super("Graal");
+        defineFunction("parseJSON", 2, JSAttributes.getDefault(), (context, builtin) -> GraalParseJSONNodeGen.create(context, builtin, args().fixedArgs(2).createArgumentNodes(context)));
+        defineFunction("asByteBuffer", 1, JSAttributes.getDefault(), (context, builtin) -> GraalAsByteBufferNodeGen.create(context, builtin, args().fixedArgs(1).createArgumentNodes(context)));
+    }
+
+    /**
+     * Functions of the {@code Graal} object that map files into ArrayBuffers, provided with the
+     * {@code js.map-file} option.
+     */
+    public static final class GraalMapFileBuiltins extends JSBuiltinsContainer.Lambda {
+
+        protected GraalMapFileBuiltins() {
+            super("Graal");
+            defineFunction("mapFile", 4, JSAttributes.getDefault(), (context, builtin) -> GraalMapFileNodeGen.create(context, builtin, args().fixedArgs(4).createArgumentNodes(context)));
+            defineFunction("flushMappedFile", 1, JSAttributes.getDefault(),
+                            (context, builtin) -> GraalFlushMappedFileNodeGen.create(context, builtin, args().fixedArgs(1).createArgumentNodes(context)));
+            defineFunction("unmapFile", 1, JSAttributes.getDefault(), (context, builtin) -> GraalUnmapFileNodeGen.create(context, builtin, args().fixedArgs(1).createArgumentNodes(context)));
+        }
+    }
+
+    /**
+     * Like {@code JSON.parse}, but also accepts UTF-8 encoded text in an ArrayBuffer, TypedArray or
+     * DataView, and (via interop) a host {@code byte[]}, {@link ByteBuffer}, {@link Reader} or
+     * {@link InputStream}. Such input is parsed incrementally, without creating a string for the
+     * whole text first. Any other value is converted to a string as in {@code JSON.parse}.
+     */
+    public abstract static class GraalParseJSONNode extends JSONParseNode {
+
+        public GraalParseJSONNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        @Override
+        protected Object parseText(Object text) {
+            Object result = parseStream(text);
+            return result != null ? result : super.parseText(text);
+        }
+
+        @TruffleBoundary(transferToInterpreterOnException = false)
+        private Object parseStream(Object text) {
+            JSContext context = getContext();
+            if (JSArrayBuffer.isJSHeapArrayBuffer(text) || JSArrayBuffer.isJSDirectOrSharedArrayBuffer(text)) {
+                DynamicObject arrayBuffer = (DynamicObject) text;
+                return JSONStreamParser.parse(context, byteWindow(arrayBuffer, 0, -1));
+            } else if (JSArrayBufferView.isJSArrayBufferView(text)) {
+                DynamicObject view = (DynamicObject) text;
+                DynamicObject arrayBuffer = JSArrayBufferView.getArrayBuffer(view);
+                checkNotDetached(arrayBuffer);
+                return JSONStreamParser.parse(context, byteWindow(arrayBuffer, JSArrayBufferView.getByteOffset(view, context), JSArrayBufferView.getByteLength(view, context)));
+            } else if (JSDataView.isJSDataView(text)) {
+                DynamicObject view = (DynamicObject) text;
+                DynamicObject arrayBuffer = JSDataView.getArrayBuffer(view);
+                checkNotDetached(arrayBuffer);
+                return JSONStreamParser.parse(context, byteWindow(arrayBuffer, JSDataView.typedArrayGetOffset(view), JSDataView.typedArrayGetLength(view)));
+            }
+            TruffleLanguage.Env env = context.getRealm().getEnv();
+            if (env.isHostObject(text)) {
+                Object hostObject = env.asHostObject(text);
+                if (hostObject instanceof byte[]) {
+                    return JSONStreamParser.parse(context, ByteBuffer.wrap((byte[]) hostObject));
+                } else if (hostObject instanceof ByteBuffer) {
+                    return JSONStreamParser.parse(context, (ByteBuffer) hostObject);
+                } else if (hostObject instanceof Reader) {
+                    return JSONStreamParser.parse(context, (Reader) hostObject);
+                } else if (hostObject instanceof InputStream) {
+                    return JSONStreamParser.parse(context, new InputStreamReader((InputStream) hostObject, StandardCharsets.UTF_8));
+                }
+            }
+            return null;
+        }
+
+        static void checkNotDetached(DynamicObject arrayBuffer) {
+            if (JSArrayBuffer.isDetachedBuffer(arrayBuffer)) {
+                throw Errors.createTypeErrorDetachedBuffer();
+            }
+        }
+
+        /**
+         * Returns a buffer over {@code length} bytes of the array buffer starting at {@code offset};
+         * a negative length selects all remaining bytes.
+         */
+        private static ByteBuffer byteWindow(DynamicObject arrayBuffer, int offset, int length) {
+            checkNotDetached(arrayBuffer);
+            ByteBuffer buffer;
+            if (JSArrayBuffer.isJSHeapArrayBuffer(arrayBuffer)) {
+                buffer = ByteBuffer.wrap(JSArrayBufferObject.getByteArray(arrayBuffer));
+            } else {
+                buffer = JSArrayBuffer.getDirectByteBuffer(arrayBuffer).duplicate();
+            }
+            buffer.position(offset);
+            if (length >= 0) {
+                buffer.limit(offset + length);
+            }
+            return buffer;
+        }
+    }
+
+    /**
+     * {@code Graal.asByteBuffer(buffer)} returns a host {@link ByteBuffer} over the contents of an
+     * ArrayBuffer, SharedArrayBuffer, TypedArray or DataView without copying, so that the contents
+     * can be passed to Java code. The byte order of the ByteBuffer is the native byte order, like the
+     * one of typed arrays. The reverse direction is {@code new ArrayBuffer(byteBuffer)}.
+     */
+    public abstract static class GraalAsByteBufferNode extends JSBuiltinNode {
+
+        public GraalAsByteBufferNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        @Specialization
+        protected Object asByteBuffer(Object value) {
+            return getContext().getRealm().getEnv().asGuestValue(toByteBuffer(value));
+        }
+
+        @TruffleBoundary
+        private ByteBuffer toByteBuffer(Object value) {
+            if (JSArrayBuffer.isJSHeapArrayBuffer(value) || JSArrayBuffer.isJSDirectOrSharedArrayBuffer(value)) {
+                DynamicObject arrayBuffer = (DynamicObject) value;
+                GraalParseJSONNode.checkNotDetached(arrayBuffer);
+                int length = JSArrayBuffer.isJSHeapArrayBuffer(arrayBuffer) ? JSArrayBufferObject.getByteLength(arrayBuffer) : JSArrayBuffer.getDirectByteLength(arrayBuffer);
+                return JSArrayBuffer.asByteBuffer(arrayBuffer, 0, length);
+            } else if (JSArrayBufferView.isJSArrayBufferView(value)) {
+                DynamicObject view = (DynamicObject) value;
+                DynamicObject arrayBuffer = JSArrayBufferView.getArrayBuffer(view);
+                GraalParseJSONNode.checkNotDetached(arrayBuffer);
+                return JSArrayBuffer.asByteBuffer(arrayBuffer, JSArrayBufferView.getByteOffset(view, getContext()), JSArrayBufferView.getByteLength(view, getContext()));
+            } else if (JSDataView.isJSDataView(value)) {
+                DynamicObject view = (DynamicObject) value;
+                DynamicObject arrayBuffer = JSDataView.getArrayBuffer(view);
+                GraalParseJSONNode.checkNotDetached(arrayBuffer);
+                return JSArrayBuffer.asByteBuffer(arrayBuffer, JSDataView.typedArrayGetOffset(view), JSDataView.typedArrayGetLength(view));
+            }
+            throw Errors.createTypeError("ArrayBuffer, TypedArray or DataView expected");
+        }
+    }
+
+    /**
+     * {@code Graal.mapFile(path, mode = "r", offset = 0, length = size - offset)} maps a region of a
+     * file into an ArrayBuffer. Mode {@code "r"} maps the region read-only (writes throw a
+     * TypeError), mode {@code "rw"} maps it read-write so that writes go to the file. The region
+     * has to lie within the file (mapping does not grow it) and is limited to 2 GB; larger files
+     * have to be mapped in windows.
+     */
+    public abstract static class GraalMapFileNode extends JSBuiltinNode {
+
+        public GraalMapFileNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        @Specialization
+        protected DynamicObject mapFile(Object path, Object mode, Object offset, Object length,
+                        @Cached("create()") JSToStringNode toStringNode,
+                        @Cached("create()") JSToIndexNode toIndexNode) {
+            String fileName = toStringNode.executeString(path);
+            boolean writable = mode != Undefined.instance && isWritableMode(toStringNode.executeString(mode));
+            long position = toIndexNode.executeLong(offset);
+            long size = length == Undefined.instance ? -1 : toIndexNode.executeLong(length);
+            return map(fileName, writable, position, size);
+        }
+
+        @TruffleBoundary
+        private static boolean isWritableMode(String mode) {
+            switch (mode) {
+                case "r":
+                    return false;
+                case "rw":
+                    return true;
+                default:
+                    throw Errors.createRangeError("Invalid mode \"" + mode + "\", expected \"r\" or \"rw\"");
+            }
+        }
+
+        @TruffleBoundary
+        private DynamicObject map(String fileName, boolean writable, long position, long size) {
+            JSContext context = getContext();
+            Set<StandardOpenOption> options = writable ? EnumSet.of(StandardOpenOption.READ, StandardOpenOption.WRITE) : EnumSet.of(StandardOpenOption.READ);
+            try {
+                TruffleFile file = context.getRealm().getEnv().getPublicTruffleFile(fileName);
+                try (SeekableByteChannel channel = file.newByteChannel(options)) {
+                    if (!(channel instanceof FileChannel)) {
+                        throw Errors.createError("File cannot be mapped: " + fileName);
+                    }
+                    FileChannel fileChannel = (FileChannel) channel;
+                    long fileSize = fileChannel.size();
+                    if (position > fileSize) {
+                        throw Errors.createRangeError("Offset is outside of the file");
+                    }
+                    long mapSize = size < 0 ? fileSize - position : size;
+                    if (mapSize > fileSize - position) {
+                        // a read-only mapping past the end faults on access, a read-write one grows the file
+                        throw Errors.createRangeError("Length exceeds the end of the file");
+                    }
+                    if (mapSize > Integer.MAX_VALUE) {
+                        throw Errors.createRangeError("Cannot map more than 2 GB at once, use offset and length to map a window of the file");
+                    }
+                    MappedByteBuffer buffer = fileChannel.map(writable ? MapMode.READ_WRITE : MapMode.READ_ONLY, position, mapSize);
+                    buffer.order(ByteOrder.nativeOrder());
+                    return JSArrayBuffer.createMappedArrayBuffer(context, buffer);
+                }
+            } catch (IOException | SecurityException | UnsupportedOperationException e) {
+                throw Errors.createErrorFromException(e);
+            }
+        }
+    }
+
+    /**
+     * {@code Graal.flushMappedFile(buffer)} writes the changes of a read-write mapped ArrayBuffer
+     * to the file.
+     */
+    public abstract static class GraalFlushMappedFileNode extends JSBuiltinNode {
+
+        public GraalFlushMappedFileNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        @Specialization
+        protected Object flush(Object buffer) {
+            force(getMappedByteBuffer(buffer));
+            return Undefined.instance;
+        }
+
+        @TruffleBoundary
+        private static void force(MappedByteBuffer buffer) {
+            buffer.force();
+        }
+    }
+
+    /**
+     * {@code Graal.unmapFile(buffer)} detaches a mapped ArrayBuffer. The mapping itself is released
+     * by the garbage collector once it is no longer referenced, so host ByteBuffers obtained from
+     * {@code Graal.asByteBuffer} stay valid.
+     */
+    public abstract static class GraalUnmapFileNode extends JSBuiltinNode {
+
+        public GraalUnmapFileNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        @Specialization
+        protected Object unmap(Object buffer) {
+            getMappedByteBuffer(buffer);
+            JSArrayBuffer.detachArrayBuffer((DynamicObject) buffer);
+            return Undefined.instance;
+        }
+    }
+
+    @TruffleBoundary
+    static MappedByteBuffer getMappedByteBuffer(Object buffer) {
+        if (!JSArrayBuffer.isJSMappedArrayBuffer(buffer)) {
+            throw Errors.createTypeError("Mapped ArrayBuffer expected");
+        }
+        ByteBuffer byteBuffer = JSArrayBuffer.getDirectByteBuffer((DynamicObject) buffer);
+        if (byteBuffer == null) {
+            throw Errors.createTypeErrorDetachedBuffer();
+        }
+        return (MappedByteBuffer) byteBuffer;
+    }
+}
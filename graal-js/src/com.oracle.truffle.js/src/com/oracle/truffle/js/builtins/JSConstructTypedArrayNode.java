@@ -102,6 +102,7 @@ public abstract class JSConstructTypedArrayNode extends JSBuiltinNode {
     @Child private IntegerIndexedObjectCreateNode integerIndexObjectCreateNode;
     @Child private ArraySpeciesConstructorNode arraySpeciesConstructorNode;
     private final BranchProfile errorBranch = BranchProfile.create();
+    private final ConditionProfile bytewiseCompatibleProfile = ConditionProfile.createBinaryProfile();
 
     private final TypedArrayFactory factory;
 
@@ -265,6 +266,10 @@ public abstract class JSConstructTypedArrayNode extends JSBuiltinNode {
         DynamicObject arrayBuffer = createTypedArrayBuffer(length);
         JSObject.setPrototype(arrayBuffer, getPrototypeFromConstructorBuffer(bufferConstructor));
 
+        TypedArray typedArray = factory.createArrayType(getContext().isOptionDirectByteBuffer(), false);
+        DynamicObject result = createTypedArray(arrayBuffer, typedArray, 0, (int) length, newTarget);
+
+        // getting the prototype of newTarget may have detached the source
         checkDetachedBuffer(srcData);
 
         boolean elementTypeIsBig = JSRuntime.isTypedArrayBigIntFactory(factory);
@@ -273,13 +278,16 @@ public abstract class JSConstructTypedArrayNode extends JSBuiltinNode {
             throw Errors.createTypeErrorCannotMixBigIntWithOtherTypes(this);
         }
 
-        TypedArray typedArray = factory.createArrayType(getContext().isOptionDirectByteBuffer(), false);
-        DynamicObject result = createTypedArray(arrayBuffer, typedArray, 0, (int) length, newTarget);
-
         assert typedArray == JSArrayBufferView.typedArrayGetArrayType(result);
-        for (long i = 0; i < length; i++) {
-            Object element = sourceType.getElement(arrayBufferView, i);
-            typedArray.setElement(result, i, element, false);
+        if (bytewiseCompatibleProfile.profile(TypedArray.isBytewiseCompatible(sourceType, typedArray))) {
+            int elementSize = typedArray.bytesPerElement();
+            TypedArray.copyBytes(sourceType.getBufferFromTypedArray(arrayBufferView), JSArrayBufferView.typedArrayGetOffset(arrayBufferView), typedArray.getBufferFromTypedArray(result), 0,
+                            (int) length * elementSize);
+        } else {
+            for (long i = 0; i < length; i++) {
+                Object element = sourceType.getElement(arrayBufferView, i);
+                typedArray.setElement(result, i, element, false);
+            }
         }
         return result;
     }
@@ -70,6 +70,7 @@ import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.builtins.BuiltinEnum;
 import com.oracle.truffle.js.runtime.builtins.JSArray;
 import com.oracle.truffle.js.runtime.builtins.JSNumber;
+import com.oracle.truffle.js.runtime.builtins.JSON;
 import com.oracle.truffle.js.runtime.builtins.JSString;
 import com.oracle.truffle.js.runtime.builtins.JSOrdinary;
 import com.oracle.truffle.js.runtime.objects.JSAttributes;
@@ -146,7 +147,7 @@ public final class JSONBuiltins extends JSBuiltinsContainer.SwitchEnum<JSONBuilt
         @Specialization(guards = "isCallable.executeBoolean(reviver)", limit = "1")
         protected Object parse(Object text, Object reviver,
                         @Cached @Shared("isCallable") @SuppressWarnings("unused") IsCallableNode isCallable) {
-            Object unfiltered = parseIntl(toString(text));
+            Object unfiltered = parseText(text);
             DynamicObject root = JSOrdinary.create(getContext());
             JSObjectUtil.putDataProperty(getContext(), root, "", unfiltered, JSAttributes.getDefault());
             return walk((DynamicObject) reviver, root, "");
@@ -155,6 +156,13 @@ public final class JSONBuiltins extends JSBuiltinsContainer.SwitchEnum<JSONBuilt
         @Specialization(guards = "!isCallable.executeBoolean(reviver)", limit = "1")
         protected Object parseUnfiltered(Object text, @SuppressWarnings("unused") Object reviver,
                         @Cached @Shared("isCallable") @SuppressWarnings("unused") IsCallableNode isCallable) {
+            return parseText(text);
+        }
+
+        /**
+         * Parses the (unfiltered) JSON value of the first argument.
+         */
+        protected Object parseText(Object text) {
             return parseIntl(toString(text));
         }
 
@@ -274,7 +282,7 @@ public final class JSONBuiltins extends JSBuiltinsContainer.SwitchEnum<JSONBuilt
                         @Cached("createStringBuilderProfile()") StringBuilderProfile stringBuilderProfile) {
             String str = JSRuntime.toStringIsString(value);
             StringBuilder builder = new StringBuilder(str.length() + 8);
-            JSONStringifyStringNode.jsonQuote(stringBuilderProfile, builder, str);
+            JSON.quote(stringBuilderProfile, builder, str);
             return stringBuilderProfile.toString(builder);
         }
 
@@ -277,23 +277,16 @@ public final class NumberPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
             this.initNumberFormatNode = InitializeNumberFormatNode.createInitalizeNumberFormatNode(context);
         }
 
-        @TruffleBoundary
-        private DynamicObject createNumberFormat(Object locales, Object options) {
-            DynamicObject numberFormatObj = JSNumberFormat.create(getContext());
-            initNumberFormatNode.executeInit(numberFormatObj, locales, options);
-            return numberFormatObj;
-        }
-
         @Specialization(guards = "isJSNumber(thisObj)")
         protected String jsNumberToLocaleString(DynamicObject thisObj, Object locales, Object options) {
-            DynamicObject numberFormatObj = createNumberFormat(locales, options);
-            return JSNumberFormat.format(numberFormatObj, getNumberValue(thisObj));
+            JSNumberFormat.InternalState state = initNumberFormatNode.createInternalState(locales, options);
+            return JSNumberFormat.format(state, getNumberValue(thisObj));
         }
 
         @Specialization(guards = "isJavaNumber(thisObj)")
         protected String javaNumberToLocaleString(Object thisObj, Object locales, Object options) {
-            DynamicObject numberFormatObj = createNumberFormat(locales, options);
-            return JSNumberFormat.format(numberFormatObj, JSRuntime.doubleValue((Number) thisObj));
+            JSNumberFormat.InternalState state = initNumberFormatNode.createInternalState(locales, options);
+            return JSNumberFormat.format(state, JSRuntime.doubleValue((Number) thisObj));
         }
 
         @Specialization(guards = {"!isJSNumber(notANumber)", "!isJavaNumber(notANumber)"})
@@ -446,6 +446,25 @@ public final class StringPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
             return toStringNode.executeString(target);
         }
 
+        /**
+         * Like {@link #toString(Object)}, but keeps lazy strings as they are instead of flattening
+         * them.
+         */
+        protected CharSequence toCharSequence(Object target) {
+            if (target instanceof JSLazyString) {
+                return (JSLazyString) target;
+            }
+            return toString(target);
+        }
+
+        /**
+         * Returns the substring from {@code begin} to {@code end}, which may share the characters
+         * of {@code str} (see {@link JSLazyString#substring}).
+         */
+        protected final CharSequence substring(CharSequence str, int begin, int end) {
+            return JSLazyString.substring(getContext(), str, begin, end);
+        }
+
         protected int toIntegerAsInt(Object target) {
             if (toIntegerNode == null) {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
@@ -665,7 +684,19 @@ public final class StringPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
         }
 
         @Specialization
-        protected String substring(String thisStr, int start, int end) {
+        protected CharSequence substringLazyString(JSLazyString thisStr, int start, int end) {
+            int len = thisStr.length();
+            return substringIntl(thisStr, within(start, 0, len), within(end, 0, len));
+        }
+
+        @Specialization(guards = "isUndefined(end)")
+        protected CharSequence substringLazyStringStart(JSLazyString thisStr, int start, @SuppressWarnings("unused") Object end) {
+            int len = thisStr.length();
+            return substringIntl(thisStr, within(start, 0, len), len);
+        }
+
+        @Specialization
+        protected CharSequence substring(String thisStr, int start, int end) {
             int len = thisStr.length();
             int finalStart = within(start, 0, len);
             int finalEnd = within(end, 0, len);
@@ -673,29 +704,29 @@ public final class StringPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
         }
 
         @Specialization(guards = "isUndefined(end)")
-        protected String substringStart(String thisStr, int start, @SuppressWarnings("unused") Object end) {
+        protected CharSequence substringStart(String thisStr, int start, @SuppressWarnings("unused") Object end) {
             int len = thisStr.length();
             int finalStart = within(start, 0, len);
             int finalEnd = len;
             return substringIntl(thisStr, finalStart, finalEnd);
         }
 
-        private String substringIntl(String thisStr, int start, int end) {
+        private CharSequence substringIntl(CharSequence thisStr, int start, int end) {
             if (startLowerEnd.profile(start <= end)) {
-                return Boundaries.substring(thisStr, start, end);
+                return substring(thisStr, start, end);
             } else {
-                return Boundaries.substring(thisStr, end, start);
+                return substring(thisStr, end, start);
             }
         }
 
-        @Specialization(replaces = {"substring", "substringStart"})
-        protected String substringGeneric(Object thisObj, Object start, Object end,
+        @Specialization(replaces = {"substringLazyString", "substringLazyStringStart", "substring", "substringStart"})
+        protected CharSequence substringGeneric(Object thisObj, Object start, Object end,
                         @Cached("create()") JSToNumberNode toNumberNode,
                         @Cached("create()") JSToNumberNode toNumber2Node,
                         @Cached("createBinaryProfile()") ConditionProfile startUndefined,
                         @Cached("createBinaryProfile()") ConditionProfile endUndefined) {
             requireObjectCoercible(thisObj);
-            String thisStr = toString(thisObj);
+            CharSequence thisStr = toCharSequence(thisObj);
             int len = thisStr.length();
             int intStart;
             int intEnd;
@@ -724,7 +755,7 @@ public final class StringPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
 
             @Override
             @Specialization
-            protected String substringGeneric(Object thisObj, Object start, Object end,
+            protected CharSequence substringGeneric(Object thisObj, Object start, Object end,
                             @Cached("create()") JSToNumberNode toNumberNode,
                             @Cached("create()") JSToNumberNode toNumber2Node,
                             @Cached("createBinaryProfile()") ConditionProfile startUndefined,
@@ -1024,18 +1055,19 @@ public final class StringPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
 
             @TruffleBoundary
             private static Object[] regularSplitIntl(String input, int limit, String separator, int endParam, JSStringSplitNode parent) {
-                SimpleArrayList<String> splits = SimpleArrayList.create(limit);
+                JSContext context = parent.getContext();
+                SimpleArrayList<CharSequence> splits = SimpleArrayList.create(limit);
                 int start = 0;
                 int end = endParam;
                 while (end != -1) {
-                    splits.add(input.substring(start, end), parent.growProfile);
+                    splits.add(JSLazyString.substring(context, input, start, end), parent.growProfile);
                     if (splits.size() == limit) {
                         return splits.toArray();
                     }
                     start = end + separator.length();
                     end = input.indexOf(separator, start);
                 }
-                splits.add(input.substring(start), parent.growProfile);
+                splits.add(JSLazyString.substring(context, input, start, input.length()), parent.growProfile);
                 return splits.toArray();
             }
 
@@ -1085,15 +1117,14 @@ public final class StringPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
                         result = parent.matchIgnoreLastIndex(regExp, input, start + 1);
                         continue;
                     }
-                    String split = Boundaries.substring(input, start, matchStart);
-                    splits.add(split, parent.growProfile);
+                    splits.add(parent.substring(input, start, matchStart), parent.growProfile);
                     int count = Math.min(parent.getCompiledRegexAccessor().groupCount(JSRegExp.getCompiledRegex(regExp)) - 1, limit - splits.size());
                     for (int i = 1; i <= count; i++) {
                         int groupStart = parent.getResultAccessor().captureGroupStart(result, i);
                         if (groupStart == TRegexUtil.Constants.CAPTURE_GROUP_NO_MATCH) {
                             splits.add(Undefined.instance, parent.growProfile);
                         } else {
-                            splits.add(Boundaries.substring(input, groupStart, parent.getResultAccessor().captureGroupEnd(result, i)), parent.growProfile);
+                            splits.add(parent.substring(input, groupStart, parent.getResultAccessor().captureGroupEnd(result, i)), parent.growProfile);
                         }
                     }
                     if (splits.size() == limit) {
@@ -1102,7 +1133,7 @@ public final class StringPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
                     start = matchEnd + (matchEnd == start ? 1 : 0);
                     result = parent.matchIgnoreLastIndex(regExp, input, start);
                 }
-                splits.add(Boundaries.substring(input, start), parent.growProfile);
+                splits.add(parent.substring(input, start, input.length()), parent.growProfile);
                 return splits.toArray();
             }
         }
@@ -2032,25 +2063,30 @@ public final class StringPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
         }
 
         @Specialization
-        protected String substrInt(String thisStr, int start, int length) {
+        protected CharSequence substrLazyString(JSLazyString thisStr, Object start, Object length) {
+            return substrGeneric(thisStr, start, length);
+        }
+
+        @Specialization
+        protected CharSequence substrInt(String thisStr, int start, int length) {
             return substrIntl(thisStr, start, length);
         }
 
         @Specialization(guards = "isUndefined(length)")
-        protected String substrLenUndef(String thisStr, int start, @SuppressWarnings("unused") Object length) {
+        protected CharSequence substrLenUndef(String thisStr, int start, @SuppressWarnings("unused") Object length) {
             return substrIntl(thisStr, start, thisStr.length());
         }
 
-        @Specialization(replaces = {"substrInt", "substrLenUndef"})
-        protected String substrGeneric(Object thisObj, Object start, Object length) {
+        @Specialization(replaces = {"substrLazyString", "substrInt", "substrLenUndef"})
+        protected CharSequence substrGeneric(Object thisObj, Object start, Object length) {
             requireObjectCoercible(thisObj);
-            String thisStr = toString(thisObj);
+            CharSequence thisStr = toCharSequence(thisObj);
             int startInt = toIntegerAsInt(start);
             int len = (length == Undefined.instance) ? thisStr.length() : toIntegerAsInt(length);
             return substrIntl(thisStr, startInt, len);
         }
 
-        private String substrIntl(String thisStr, int start, int length) {
+        private CharSequence substrIntl(CharSequence thisStr, int start, int length) {
             int startInt = start;
             if (startInt < 0) {
                 startNegativeBranch.enter();
@@ -2061,7 +2097,7 @@ public final class StringPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
                 finalLenEmptyBranch.enter();
                 return "";
             }
-            return Boundaries.substring(thisStr, startInt, startInt + finalLen);
+            return substring(thisStr, startInt, startInt + finalLen);
         }
     }
 
@@ -2342,21 +2378,14 @@ public final class StringPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
             this.initCollatorNode = InitializeCollatorNode.createInitalizeCollatorNode(context);
         }
 
-        @TruffleBoundary
-        private DynamicObject createCollator(Object locales, Object options) {
-            DynamicObject collatorObj = JSCollator.create(getContext());
-            initCollatorNode.executeInit(collatorObj, locales, options);
-            return collatorObj;
-        }
-
         @Specialization
         protected int localeCompare(Object thisObj, Object thatObj, Object locales, Object options,
                         @Cached("create()") JSToStringNode toString2Node) {
             requireObjectCoercible(thisObj);
             String thisStr = toString(thisObj);
             String thatStr = toString2Node.executeString(thatObj);
-            DynamicObject collator = createCollator(locales, options);
-            return JSCollator.compare(collator, thisStr, thatStr);
+            JSCollator.InternalState state = initCollatorNode.createInternalState(locales, options);
+            return JSCollator.compare(state, thisStr, thatStr);
         }
     }
 
@@ -2374,45 +2403,53 @@ public final class StringPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
         }
 
         @Specialization
-        protected String sliceStringIntInt(String str, int start, int end) {
+        protected CharSequence sliceLazyString(JSLazyString str, Object start, Object end,
+                        @Cached("createBinaryProfile()") ConditionProfile isUndefined) {
+            return sliceCharSequence(str, start, end, isUndefined);
+        }
+
+        @Specialization
+        protected CharSequence sliceStringIntInt(String str, int start, int end) {
             int len = str.length();
             int istart = JSRuntime.getOffset(start, len, offsetProfile1);
             int iend = JSRuntime.getOffset(end, len, offsetProfile2);
             if (canReturnEmpty.profile(iend > istart)) {
-                return Boundaries.substring(str, istart, iend);
+                return substring(str, istart, iend);
             } else {
                 return "";
             }
         }
 
         @Specialization(replaces = {"sliceStringIntInt"})
-        protected String sliceObjectIntInt(Object thisObj, int start, int end) {
+        protected CharSequence sliceObjectIntInt(Object thisObj, int start, int end) {
             requireObjectCoercible(thisObj);
             return sliceStringIntInt(toString(thisObj), start, end);
         }
 
         @Specialization(guards = "isUndefined(end)")
-        protected String sliceStringIntUndefined(String str, int start, @SuppressWarnings("unused") Object end) {
+        protected CharSequence sliceStringIntUndefined(String str, int start, @SuppressWarnings("unused") Object end) {
             int len = str.length();
             int istart = JSRuntime.getOffset(start, len, offsetProfile1);
             if (canReturnEmpty.profile(len > istart)) {
-                return Boundaries.substring(str, istart, len);
+                return substring(str, istart, len);
             } else {
                 return "";
             }
         }
 
-        @Specialization(replaces = {"sliceStringIntInt", "sliceObjectIntInt", "sliceStringIntUndefined"})
-        protected String sliceGeneric(Object thisObj, Object start, Object end,
+        @Specialization(replaces = {"sliceLazyString", "sliceStringIntInt", "sliceObjectIntInt", "sliceStringIntUndefined"})
+        protected CharSequence sliceGeneric(Object thisObj, Object start, Object end,
                         @Cached("createBinaryProfile()") ConditionProfile isUndefined) {
             requireObjectCoercible(thisObj);
-            String s = toString(thisObj);
+            return sliceCharSequence(toCharSequence(thisObj), start, end, isUndefined);
+        }
 
+        private CharSequence sliceCharSequence(CharSequence s, Object start, Object end, ConditionProfile isUndefined) {
             long len = s.length();
             long istart = JSRuntime.getOffset(toIntegerAsInt(start), len, offsetProfile1);
             long iend = isUndefined.profile(end == Undefined.instance) ? len : JSRuntime.getOffset(toIntegerAsInt(end), len, offsetProfile2);
             if (canReturnEmpty.profile(iend > istart)) {
-                return Boundaries.substring(s, (int) istart, (int) iend);
+                return substring(s, (int) istart, (int) iend);
             } else {
                 return "";
             }
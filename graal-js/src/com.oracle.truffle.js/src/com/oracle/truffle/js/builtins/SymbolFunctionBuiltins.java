@@ -106,7 +106,7 @@ public final class SymbolFunctionBuiltins extends JSBuiltinsContainer.SwitchEnum
         @Specialization
         protected Symbol symbolFor(Object key) {
             String stringKey = toStringNode.executeString(key);
-            return getOrCreateSymbol(getContext().getSymbolRegistry(), stringKey);
+            return getOrCreateSymbol(getContext().getJSAgent().getSymbolRegistry(), stringKey);
         }
 
         @TruffleBoundary
@@ -127,7 +127,7 @@ public final class SymbolFunctionBuiltins extends JSBuiltinsContainer.SwitchEnum
 
         @Specialization(guards = "isSymbol(symbol)")
         protected Object symbolKeyFor(Symbol symbol) {
-            return getKeyFor(getContext().getSymbolRegistry(), symbol);
+            return getKeyFor(getContext().getJSAgent().getSymbolRegistry(), symbol);
         }
 
         @TruffleBoundary
@@ -314,6 +314,7 @@ public final class TypedArrayPrototypeBuiltins extends JSBuiltinsContainer.Switc
 
         private final BranchProfile needErrorBranch = BranchProfile.create();
         private final ConditionProfile sameBufferProf = ConditionProfile.createBinaryProfile();
+        private final ConditionProfile bytewiseCompatibleProf = ConditionProfile.createBinaryProfile();
         private final ValueProfile sourceArrayProf = ValueProfile.createIdentityProfile();
         private final ValueProfile targetArrayProf = ValueProfile.createIdentityProfile();
         private final JSClassProfile sourceArrayClassProfile = JSClassProfile.create();
@@ -361,6 +362,7 @@ public final class TypedArrayPrototypeBuiltins extends JSBuiltinsContainer.Switc
                 throw Errors.createRangeError("out of bounds");
             }
             checkHasDetachedBuffer(targetObj);
+            checkNotReadOnlyBuffer(targetObj);
             int targetOffset = (int) targetOffsetLong;
             if (arrayIsArrayBufferView.profile(JSArrayBufferView.isJSArrayBufferView(array))) {
                 setArrayBufferView(targetObj, (DynamicObject) array, targetOffset);
@@ -432,6 +434,14 @@ public final class TypedArrayPrototypeBuiltins extends JSBuiltinsContainer.Switc
             int srcByteOffset = JSArrayBufferView.typedArrayGetOffset(sourceView);
             int targetByteOffset = JSArrayBufferView.typedArrayGetOffset(targetView);
 
+            if (bytewiseCompatibleProf.profile(TypedArray.isBytewiseCompatible(sourceArray, targetArray))) {
+                // bulk copy, also correct for overlapping ranges of the same buffer
+                int elementSize = sourceArray.bytesPerElement();
+                TypedArray.copyBytes(sourceArray.getBufferFromTypedArray(sourceView), srcByteOffset, targetArray.getBufferFromTypedArray(targetView), targetByteOffset + offset * elementSize,
+                                sourceLen * elementSize);
+                return;
+            }
+
             int srcByteIndex;
             if (sameBufferProf.profile(sourceBuffer == targetBuffer)) {
                 int srcByteLength = sourceLen * sourceArray.bytesPerElement();
@@ -451,15 +461,8 @@ public final class TypedArrayPrototypeBuiltins extends JSBuiltinsContainer.Switc
             int targetElementSize = targetType.bytesPerElement();
             int sourceElementSize = sourceType.bytesPerElement();
             int targetByteIndex = targetByteOffset + targetOffset * targetElementSize;
-            if (sourceType == targetType) {
-                // same element type => bulk copy
-                int sourceByteLength = sourceLength * sourceElementSize;
-                if (isDirectProf.profile(targetType.isDirect())) {
-                    Boundaries.byteBufferPutSlice((ByteBuffer) targetBackingBuffer, targetByteIndex, (ByteBuffer) sourceBackingBuffer, sourceByteIndex, sourceByteIndex + sourceByteLength);
-                } else {
-                    System.arraycopy(sourceBackingBuffer, sourceByteIndex, targetBackingBuffer, targetByteIndex, sourceByteLength);
-                }
-            } else if (sourceType instanceof TypedArray.TypedIntArray && targetType instanceof TypedArray.TypedIntArray) {
+            assert !TypedArray.isBytewiseCompatible(sourceType, targetType);
+            if (sourceType instanceof TypedArray.TypedIntArray && targetType instanceof TypedArray.TypedIntArray) {
                 intToIntBranch.enter();
                 for (int i = 0; i < sourceLength; i++) {
                     int value = ((TypedArray.TypedIntArray<Object>) sourceType).getIntImpl(sourceBackingBuffer, sourceByteIndex, i);
@@ -534,6 +537,13 @@ public final class TypedArrayPrototypeBuiltins extends JSBuiltinsContainer.Switc
                 throw Errors.createTypeErrorDetachedBuffer();
             }
         }
+
+        private void checkNotReadOnlyBuffer(DynamicObject view) {
+            if (JSArrayBufferView.hasReadOnlyBuffer(view, getContext())) {
+                needErrorBranch.enter();
+                throw Errors.createTypeErrorReadOnlyBuffer(this);
+            }
+        }
     }
 
     public abstract static class JSArrayBufferViewForEachNode extends ArrayForEachIndexCallOperation {
@@ -624,6 +634,7 @@ public final class TypedArrayPrototypeBuiltins extends JSBuiltinsContainer.Switc
     public abstract static class JSArrayBufferViewFillNode extends JSArrayOperationWithToInt {
         private final ConditionProfile offsetProfile1 = ConditionProfile.createBinaryProfile();
         private final ConditionProfile offsetProfile2 = ConditionProfile.createBinaryProfile();
+        private final ConditionProfile bulkFillProfile = ConditionProfile.createBinaryProfile();
         @Child private JSToNumberNode toNumberNode;
         @Child private JSToBigIntNode toBigIntNode;
 
@@ -640,8 +651,15 @@ public final class TypedArrayPrototypeBuiltins extends JSBuiltinsContainer.Switc
             long lStart = JSRuntime.getOffset(toIntegerAsLong(start), len, offsetProfile1);
             long lEnd = end == Undefined.instance ? len : JSRuntime.getOffset(toIntegerAsLong(end), len, offsetProfile2);
             checkHasDetachedBuffer(thisJSObj);
-            for (long idx = lStart; idx < lEnd; idx++) {
-                write(thisJSObj, idx, convValue);
+            if (lStart < lEnd) {
+                write(thisJSObj, lStart, convValue);
+                if (bulkFillProfile.profile(lEnd - lStart > 1)) {
+                    // copy the bytes of the first element to the remaining ones
+                    TypedArray arrayType = JSArrayBufferView.typedArrayGetArrayType(thisJSObj);
+                    int elementSize = arrayType.bytesPerElement();
+                    int byteIndex = JSArrayBufferView.typedArrayGetOffset(thisJSObj) + (int) lStart * elementSize;
+                    TypedArray.replicateElement(arrayType.getBufferFromTypedArray(thisJSObj), byteIndex, elementSize, (int) (lEnd - lStart));
+                }
             }
             return thisJSObj;
         }
@@ -56,15 +56,14 @@ import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.api.source.Source;
 import com.oracle.truffle.api.source.SourceSection;
 import com.oracle.truffle.js.builtins.GlobalBuiltins;
+import com.oracle.truffle.js.builtins.commonjs.CommonJSResolutionCache.PackageJson;
 import com.oracle.truffle.js.lang.JavaScriptLanguage;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSArguments;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSRealm;
-import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.builtins.JSFunction;
 import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
-import com.oracle.truffle.js.runtime.objects.JSObject;
 
 final class CommonJSResolution {
 
@@ -185,7 +184,7 @@ final class CommonJSResolution {
         return null;
     }
 
-    public static TruffleFile loadIndex(TruffleLanguage.Env env, TruffleFile modulePath) {
+    public static TruffleFile loadIndex(JSContext cx, TruffleLanguage.Env env, TruffleFile modulePath) {
         /* @formatter:off
          *
          * LOAD_INDEX(X)
@@ -196,20 +195,20 @@ final class CommonJSResolution {
          * @formatter:on
          */
         TruffleFile indexJs = joinPaths(env, modulePath, INDEX_JS);
-        if (fileExists(indexJs)) {
+        if (fileExists(cx, indexJs)) {
             return indexJs;
         }
         TruffleFile indexJson = joinPaths(env, modulePath, INDEX_JSON);
-        if (fileExists(indexJson)) {
+        if (fileExists(cx, indexJson)) {
             return indexJson;
-        } else if (fileExists(joinPaths(env, modulePath, INDEX_NODE))) {
+        } else if (fileExists(cx, joinPaths(env, modulePath, INDEX_NODE))) {
             // Ignore .node files.
             return null;
         }
         return null;
     }
 
-    static TruffleFile loadAsFile(TruffleLanguage.Env env, TruffleFile modulePath) {
+    static TruffleFile loadAsFile(JSContext cx, TruffleLanguage.Env env, TruffleFile modulePath) {
         /* @formatter:off
          *
          * LOAD_AS_FILE(X)
@@ -220,18 +219,18 @@ final class CommonJSResolution {
          *
          * @formatter:on
          */
-        if (fileExists(modulePath)) {
+        if (fileExists(cx, modulePath)) {
             return modulePath;
         }
         TruffleFile moduleJs = env.getPublicTruffleFile(modulePath.toString() + JS_EXT);
-        if (fileExists(moduleJs)) {
+        if (fileExists(cx, moduleJs)) {
             return moduleJs;
         }
         TruffleFile moduleJson = env.getPublicTruffleFile(modulePath.toString() + JSON_EXT);
-        if (fileExists(moduleJson)) {
+        if (fileExists(cx, moduleJson)) {
             return moduleJson;
         }
-        if (fileExists(env.getPublicTruffleFile(modulePath.toString() + NODE_EXT))) {
+        if (fileExists(cx, env.getPublicTruffleFile(modulePath.toString() + NODE_EXT))) {
             // .node files not supported.
             return null;
         }
@@ -253,7 +252,7 @@ final class CommonJSResolution {
     }
 
     private static TruffleFile loadAsFileOrDirectory(JSContext cx, TruffleLanguage.Env env, TruffleFile modulePath) {
-        TruffleFile maybeFile = loadAsFile(env, modulePath);
+        TruffleFile maybeFile = loadAsFile(cx, env, modulePath);
         if (maybeFile == null) {
             return loadAsDirectory(cx, env, modulePath);
         } else {
@@ -273,23 +272,22 @@ final class CommonJSResolution {
 
     private static TruffleFile loadAsDirectory(JSContext cx, TruffleLanguage.Env env, TruffleFile modulePath) {
         TruffleFile packageJson = joinPaths(env, modulePath, PACKAGE_JSON);
-        if (fileExists(packageJson)) {
-            DynamicObject jsonObj = loadJsonObject(packageJson, cx);
-            if (JSDynamicObject.isJSDynamicObject(jsonObj)) {
-                Object main = JSObject.get(jsonObj, PACKAGE_JSON_MAIN_PROPERTY_NAME);
-                if (!JSRuntime.isString(main)) {
-                    return loadIndex(env, modulePath);
+        if (fileExists(cx, packageJson)) {
+            PackageJson json = cx.getRealm().getCommonJSResolutionCache().getPackageJson(packageJson, cx);
+            if (json != null) {
+                if (json.main == null) {
+                    return loadIndex(cx, env, modulePath);
                 }
-                TruffleFile module = joinPaths(env, modulePath, JSRuntime.safeToString(main));
-                TruffleFile asFile = loadAsFile(env, module);
+                TruffleFile module = joinPaths(env, modulePath, json.main);
+                TruffleFile asFile = loadAsFile(cx, env, module);
                 if (asFile != null) {
                     return asFile;
                 } else {
-                    return loadIndex(env, module);
+                    return loadIndex(cx, env, module);
                 }
             }
         } else {
-            return loadIndex(env, modulePath);
+            return loadIndex(cx, env, modulePath);
         }
         return null;
     }
@@ -331,6 +329,10 @@ final class CommonJSResolution {
         return modulePath.exists() && modulePath.isRegularFile();
     }
 
+    static boolean fileExists(JSContext cx, TruffleFile modulePath) {
+        return cx.getRealm().getCommonJSResolutionCache().isRegularFile(modulePath);
+    }
+
     private static boolean isPathFileName(String moduleIdentifier) {
         return moduleIdentifier.startsWith("/") || moduleIdentifier.startsWith("./") || moduleIdentifier.startsWith("../");
     }
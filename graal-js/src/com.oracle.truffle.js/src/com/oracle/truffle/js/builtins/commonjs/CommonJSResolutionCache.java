@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.builtins.commonjs;
+
+import java.io.IOException;
+import java.nio.file.attribute.FileTime;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleFile;
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSRuntime;
+import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
+import com.oracle.truffle.js.runtime.objects.JSObject;
+
+/**
+ * Per-realm cache of the file system lookups done by CommonJS {@code require} and npm-compatible
+ * ES module resolution. Resolving a module probes many candidate files (extensions, index files,
+ * package.json files in every parent node_modules folder), most of which do not exist. The cache is
+ * not shared between contexts, which may use different file systems, working directories and IO
+ * permissions.
+ *
+ * Directories are listed once, so that a missing candidate is recognized from the listing of its
+ * parent directory. Regular file checks are remembered per directory, and the "main" and "type"
+ * fields of package.json files are kept after parsing. In {@code validate} mode, a directory entry
+ * or package.json file is read again when its modification time has changed; in
+ * {@code permanent} mode, the file system is assumed not to change.
+ */
+public final class CommonJSResolutionCache {
+
+    private enum Mode {
+        NONE,
+        VALIDATE,
+        PERMANENT
+    }
+
+    private final Mode mode;
+    private final Map<String, DirectoryEntry> directories = new ConcurrentHashMap<>();
+    private final Map<String, PackageJson> packageJsonFiles = new ConcurrentHashMap<>();
+
+    public CommonJSResolutionCache(String mode) {
+        switch (mode) {
+            case "none":
+                this.mode = Mode.NONE;
+                break;
+            case "permanent":
+                this.mode = Mode.PERMANENT;
+                break;
+            default:
+                this.mode = Mode.VALIDATE;
+                break;
+        }
+    }
+
+    /**
+     * Fields of a package.json file relevant for module resolution.
+     */
+    static final class PackageJson {
+        final FileTime lastModified;
+        final String main;
+        final String type;
+
+        PackageJson(FileTime lastModified, String main, String type) {
+            this.lastModified = lastModified;
+            this.main = main;
+            this.type = type;
+        }
+    }
+
+    private static final class DirectoryEntry {
+        final FileTime lastModified;
+        /** Names of the directory entries, or {@code null} if the directory cannot be listed. */
+        final Set<String> names;
+        final boolean isDirectory;
+        final Map<String, Boolean> regularFiles = new ConcurrentHashMap<>();
+
+        DirectoryEntry(FileTime lastModified, boolean isDirectory, Set<String> names) {
+            this.lastModified = lastModified;
+            this.isDirectory = isDirectory;
+            this.names = names;
+        }
+    }
+
+    @TruffleBoundary
+    boolean isRegularFile(TruffleFile file) {
+        TruffleFile parent = file.getParent();
+        if (mode == Mode.NONE || parent == null) {
+            return statRegularFile(file);
+        }
+        DirectoryEntry directory = getDirectory(parent);
+        if (!directory.isDirectory) {
+            return false;
+        }
+        String name = file.getName();
+        if (directory.names != null && !directory.names.contains(name)) {
+            return false;
+        }
+        Boolean regularFile = directory.regularFiles.get(name);
+        if (regularFile == null) {
+            regularFile = statRegularFile(file);
+            directory.regularFiles.put(name, regularFile);
+        }
+        return regularFile;
+    }
+
+    /**
+     * Returns the package.json file parsed as an object, or {@code null} if it does not exist or
+     * does not contain an object.
+     */
+    @TruffleBoundary
+    PackageJson getPackageJson(TruffleFile file, JSContext context) {
+        if (!isRegularFile(file)) {
+            return null;
+        }
+        if (mode == Mode.NONE) {
+            return readPackageJson(file, null, context);
+        }
+        String key = file.toString();
+        PackageJson packageJson = packageJsonFiles.get(key);
+        FileTime lastModified = null;
+        if (packageJson != null) {
+            if (mode == Mode.PERMANENT) {
+                return packageJson;
+            }
+            lastModified = getLastModifiedTime(file);
+            if (Objects.equals(lastModified, packageJson.lastModified)) {
+                return packageJson;
+            }
+        } else if (mode == Mode.VALIDATE) {
+            lastModified = getLastModifiedTime(file);
+        }
+        packageJson = readPackageJson(file, lastModified, context);
+        if (packageJson != null) {
+            packageJsonFiles.put(key, packageJson);
+        } else {
+            packageJsonFiles.remove(key);
+        }
+        return packageJson;
+    }
+
+    private static PackageJson readPackageJson(TruffleFile file, FileTime lastModified, JSContext context) {
+        DynamicObject jsonObj = CommonJSResolution.loadJsonObject(file, context);
+        if (!JSDynamicObject.isJSDynamicObject(jsonObj)) {
+            return null;
+        }
+        Object main = JSObject.get(jsonObj, CommonJSResolution.PACKAGE_JSON_MAIN_PROPERTY_NAME);
+        Object type = JSObject.get(jsonObj, CommonJSResolution.PACKAGE_JSON_TYPE_PROPERTY_NAME);
+        return new PackageJson(lastModified, JSRuntime.isString(main) ? JSRuntime.safeToString(main) : null, JSRuntime.isString(type) ? JSRuntime.safeToString(type) : null);
+    }
+
+    private DirectoryEntry getDirectory(TruffleFile directory) {
+        String key = directory.toString();
+        DirectoryEntry entry = directories.get(key);
+        FileTime lastModified = null;
+        if (entry != null) {
+            if (mode == Mode.PERMANENT) {
+                return entry;
+            }
+            lastModified = getLastModifiedTime(directory);
+            if (Objects.equals(lastModified, entry.lastModified)) {
+                return entry;
+            }
+        } else if (mode == Mode.VALIDATE) {
+            lastModified = getLastModifiedTime(directory);
+        }
+        entry = readDirectory(directory, lastModified);
+        directories.put(key, entry);
+        return entry;
+    }
+
+    private static DirectoryEntry readDirectory(TruffleFile directory, FileTime lastModified) {
+        if (!directory.isDirectory()) {
+            return new DirectoryEntry(lastModified, false, null);
+        }
+        Set<String> names;
+        try {
+            names = new HashSet<>();
+            for (TruffleFile child : directory.list()) {
+                names.add(child.getName());
+            }
+        } catch (IOException e) {
+            // fall back to checking every file
+            names = null;
+        }
+        return new DirectoryEntry(lastModified, true, names);
+    }
+
+    private static FileTime getLastModifiedTime(TruffleFile file) {
+        try {
+            return file.getLastModifiedTime();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static boolean statRegularFile(TruffleFile file) {
+        return file.exists() && file.isRegularFile();
+    }
+}
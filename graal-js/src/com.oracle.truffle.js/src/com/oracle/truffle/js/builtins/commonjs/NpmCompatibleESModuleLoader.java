@@ -45,12 +45,13 @@ import com.oracle.truffle.api.TruffleFile;
 import com.oracle.truffle.api.TruffleLanguage;
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.js.builtins.commonjs.CommonJSResolutionCache.PackageJson;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSArguments;
+import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSErrorType;
 import com.oracle.truffle.js.runtime.JSException;
 import com.oracle.truffle.js.runtime.JSRealm;
-import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.builtins.JSFunction;
 import com.oracle.truffle.js.runtime.objects.DefaultESModuleLoader;
 import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
@@ -66,15 +67,12 @@ import java.util.List;
 
 import static com.oracle.truffle.js.builtins.commonjs.CommonJSRequireBuiltin.log;
 import static com.oracle.truffle.js.builtins.commonjs.CommonJSResolution.PACKAGE_JSON;
-import static com.oracle.truffle.js.builtins.commonjs.CommonJSResolution.PACKAGE_JSON_MAIN_PROPERTY_NAME;
 import static com.oracle.truffle.js.builtins.commonjs.CommonJSResolution.PACKAGE_JSON_MODULE_VALUE;
-import static com.oracle.truffle.js.builtins.commonjs.CommonJSResolution.PACKAGE_JSON_TYPE_PROPERTY_NAME;
 import static com.oracle.truffle.js.builtins.commonjs.CommonJSResolution.getNodeModulesPaths;
 import static com.oracle.truffle.js.builtins.commonjs.CommonJSResolution.isCoreModule;
 import static com.oracle.truffle.js.builtins.commonjs.CommonJSResolution.joinPaths;
 import static com.oracle.truffle.js.builtins.commonjs.CommonJSResolution.loadAsFile;
 import static com.oracle.truffle.js.builtins.commonjs.CommonJSResolution.loadIndex;
-import static com.oracle.truffle.js.builtins.commonjs.CommonJSResolution.loadJsonObject;
 import static com.oracle.truffle.js.lang.JavaScriptLanguage.ID;
 import static com.oracle.truffle.js.lang.JavaScriptLanguage.MODULE_SOURCE_NAME_SUFFIX;
 
@@ -248,27 +246,26 @@ public final class NpmCompatibleESModuleLoader extends DefaultESModuleLoader {
         // Load module using `package.json`
         TruffleFile mainPackageFolder = getFullPath(referencingModule);
         List<TruffleFile> nodeModulesPaths = getNodeModulesPaths(mainPackageFolder);
+        JSContext context = realm.getContext();
 
         for (TruffleFile modulePath : nodeModulesPaths) {
             TruffleFile moduleFolder = joinPaths(env, modulePath, packageSpecifier);
             TruffleFile packageJson = joinPaths(env, moduleFolder, PACKAGE_JSON);
-            if (CommonJSResolution.fileExists(packageJson)) {
-                DynamicObject jsonObj = loadJsonObject(packageJson, realm.getContext());
-                if (JSDynamicObject.isJSDynamicObject(jsonObj)) {
-                    Object main = JSObject.get(jsonObj, PACKAGE_JSON_MAIN_PROPERTY_NAME);
-                    Object type = JSObject.get(jsonObj, PACKAGE_JSON_TYPE_PROPERTY_NAME);
-                    if (type == Undefined.instance || !JSRuntime.isString(type) || !PACKAGE_JSON_MODULE_VALUE.equals(JSRuntime.safeToString(type))) {
+            if (CommonJSResolution.fileExists(context, packageJson)) {
+                PackageJson json = context.getRealm().getCommonJSResolutionCache().getPackageJson(packageJson, context);
+                if (json != null) {
+                    if (!PACKAGE_JSON_MODULE_VALUE.equals(json.type)) {
                         throw failMessage("do not use import() to load non-ES modules.");
                     }
-                    if (!JSRuntime.isString(main)) {
-                        return loadIndex(env, moduleFolder);
+                    if (json.main == null) {
+                        return loadIndex(context, env, moduleFolder);
                     }
-                    TruffleFile mainPackageFile = joinPaths(env, moduleFolder, JSRuntime.safeToString(main));
-                    TruffleFile asFile = loadAsFile(env, mainPackageFile);
+                    TruffleFile mainPackageFile = joinPaths(env, moduleFolder, json.main);
+                    TruffleFile asFile = loadAsFile(context, env, mainPackageFile);
                     if (asFile != null) {
                         return asFile;
                     } else {
-                        return loadIndex(env, mainPackageFile);
+                        return loadIndex(context, env, mainPackageFile);
                     }
                 }
             }
@@ -0,0 +1,612 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.builtins.helper;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.js.runtime.Errors;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSException;
+import com.oracle.truffle.js.runtime.JSRuntime;
+import com.oracle.truffle.js.runtime.array.dyn.ZeroBasedDoubleArray;
+import com.oracle.truffle.js.runtime.array.dyn.ZeroBasedIntArray;
+import com.oracle.truffle.js.runtime.array.dyn.ZeroBasedObjectArray;
+import com.oracle.truffle.js.runtime.builtins.JSArray;
+import com.oracle.truffle.js.runtime.builtins.JSOrdinary;
+import com.oracle.truffle.js.runtime.objects.Null;
+
+/**
+ * JSON parser that reads its input incrementally, either as UTF-8 encoded bytes or from a
+ * {@link Reader}, so that the text of a large document never has to be held in memory as a whole.
+ * It accepts the same grammar as {@link TruffleJSONParser}.
+ *
+ * Arrays of numbers are collected in int or double arrays and become arrays with the
+ * corresponding storage. Member names are shared between objects through a small cache, as
+ * documents often repeat the same names many times.
+ */
+public final class JSONStreamParser {
+
+    private static final int EOF = -1;
+    private static final int KEY_CACHE_SIZE = 1024;
+    private static final int MAX_CACHED_KEY_LENGTH = 64;
+    private static final int MAX_LONG_DIGITS = 15;
+    private static final int INITIAL_ARRAY_CAPACITY = 8;
+    private static final String MALFORMED_NUMBER = "malformed number";
+
+    private final JSContext context;
+    private final Input input;
+    /** Current UTF-16 code unit, or {@link #EOF}. */
+    private int c;
+    /** Index of the current code unit in the input. */
+    private int pos = -1;
+    private int parseDepth;
+
+    private final StringBuilder stringBuffer = new StringBuilder();
+    private final StringBuilder numberBuffer = new StringBuilder();
+    private final String[] keyCache = new String[KEY_CACHE_SIZE];
+
+    /** The last number parsed by {@link #scanNumber()}. */
+    private boolean numberIsInt;
+    private int intValue;
+    private double doubleValue;
+
+    private JSONStreamParser(JSContext context, Input input) {
+        this.context = context;
+        this.input = input;
+    }
+
+    /**
+     * Parses UTF-8 encoded JSON text from the remaining bytes of the buffer. A leading byte order
+     * mark is skipped.
+     */
+    @TruffleBoundary
+    public static Object parse(JSContext context, ByteBuffer utf8) {
+        return new JSONStreamParser(context, new UTF8Input(utf8.duplicate())).parse();
+    }
+
+    /**
+     * Parses JSON text read from the reader. The reader is not closed.
+     */
+    @TruffleBoundary
+    public static Object parse(JSContext context, Reader reader) {
+        return new JSONStreamParser(context, new ReaderInput(reader)).parse();
+    }
+
+    private Object parse() {
+        try {
+            next();
+            if (c == 0xFEFF) {
+                next();
+            }
+            skipWhitespace();
+            Object result = parseValue();
+            skipWhitespace();
+            if (c != EOF) {
+                throw Errors.createSyntaxError("JSON cannot be fully parsed");
+            }
+            return result;
+        } catch (StackOverflowError ex) {
+            TruffleJSONParser.throwStackError();
+        } catch (IOException ex) {
+            throw Errors.createError(ex.getMessage(), ex);
+        }
+        return null;
+    }
+
+    private Object parseValue() throws IOException {
+        switch (c) {
+            case '"':
+                return parseString();
+            case '{':
+                return parseObject();
+            case '[':
+                return parseArray();
+            case 'n':
+                expectLiteral("null");
+                return Null.instance;
+            case 't':
+                expectLiteral("true");
+                return true;
+            case 'f':
+                expectLiteral("false");
+                return false;
+            default:
+                if (isNumberStart(c)) {
+                    scanNumber();
+                    return numberIsInt ? (Object) intValue : (Object) doubleValue;
+                }
+                throw unexpectedToken();
+        }
+    }
+
+    private DynamicObject parseObject() throws IOException {
+        incDepth();
+        next();
+        skipWhitespace();
+        DynamicObject object = JSOrdinary.create(context);
+        if (c != '}') {
+            while (true) {
+                if (c != '"') {
+                    throw isDigit(c) ? syntaxError("Unexpected number in JSON at position " + pos) : unexpectedToken();
+                }
+                String key = parseKey();
+                skipWhitespace();
+                if (c != ':') {
+                    throw c == EOF ? unexpectedEnd() : syntaxError(": expected");
+                }
+                next();
+                skipWhitespace();
+                Object value = parseValue();
+                JSRuntime.createDataProperty(object, key, value);
+                skipWhitespace();
+                if (c == ',') {
+                    next();
+                    skipWhitespace();
+                } else if (c == '}') {
+                    break;
+                } else if (c == '"') {
+                    throw syntaxError("Unexpected string in JSON at position " + pos);
+                } else {
+                    throw unexpectedToken();
+                }
+            }
+        }
+        next();
+        parseDepth--;
+        return object;
+    }
+
+    private DynamicObject parseArray() throws IOException {
+        incDepth();
+        next();
+        skipWhitespace();
+        if (c == ']') {
+            next();
+            parseDepth--;
+            return JSArray.createEmptyZeroLength(context);
+        }
+        int[] ints = null;
+        double[] doubles = null;
+        Object[] objects = null;
+        int size = 0;
+        while (true) {
+            if (objects == null && isNumberStart(c)) {
+                scanNumber();
+                if (doubles == null && numberIsInt) {
+                    if (ints == null) {
+                        ints = new int[INITIAL_ARRAY_CAPACITY];
+                    } else if (size == ints.length) {
+                        ints = Arrays.copyOf(ints, grow(size));
+                    }
+                    ints[size++] = intValue;
+                } else {
+                    if (doubles == null) {
+                        doubles = toDoubles(ints, size);
+                    } else if (size == doubles.length) {
+                        doubles = Arrays.copyOf(doubles, grow(size));
+                    }
+                    doubles[size++] = numberIsInt ? intValue : doubleValue;
+                }
+            } else {
+                if (objects == null) {
+                    objects = toObjects(ints, doubles, size);
+                } else if (size == objects.length) {
+                    objects = Arrays.copyOf(objects, grow(size));
+                }
+                objects[size++] = parseValue();
+            }
+            skipWhitespace();
+            if (c == ',') {
+                next();
+                skipWhitespace();
+            } else if (c == ']') {
+                break;
+            } else if (c == EOF) {
+                throw unexpectedEnd();
+            } else {
+                throw syntaxError("closing quote ] expected");
+            }
+        }
+        next();
+        parseDepth--;
+        if (objects != null) {
+            return JSArray.create(context, ZeroBasedObjectArray.createZeroBasedObjectArray(), objects, size, size, 0, 0);
+        } else if (doubles != null) {
+            return JSArray.create(context, ZeroBasedDoubleArray.createZeroBasedDoubleArray(), doubles, size, size, 0, 0);
+        } else {
+            return JSArray.create(context, ZeroBasedIntArray.createZeroBasedIntArray(), ints, size, size, 0, 0);
+        }
+    }
+
+    private static int grow(int size) {
+        int newSize = size + (size >> 1);
+        if (newSize < 0 || newSize > JSRuntime.MAX_ARRAY_LENGTH) {
+            throw Errors.createRangeErrorInvalidArrayLength();
+        }
+        return newSize;
+    }
+
+    private static double[] toDoubles(int[] ints, int size) {
+        // leave room for the element that caused the conversion
+        double[] doubles = new double[Math.max(INITIAL_ARRAY_CAPACITY, grow(size))];
+        for (int i = 0; i < size; i++) {
+            doubles[i] = ints[i];
+        }
+        return doubles;
+    }
+
+    private static Object[] toObjects(int[] ints, double[] doubles, int size) {
+        Object[] objects = new Object[Math.max(INITIAL_ARRAY_CAPACITY, size * 2)];
+        for (int i = 0; i < size; i++) {
+            objects[i] = doubles != null ? (Object) doubles[i] : (Object) ints[i];
+        }
+        return objects;
+    }
+
+    private void incDepth() {
+        if (++parseDepth > TruffleJSONParser.MAX_PARSE_DEPTH) {
+            TruffleJSONParser.throwStackError();
+        }
+    }
+
+    private String parseString() throws IOException {
+        scanString();
+        return stringBuffer.toString();
+    }
+
+    private String parseKey() throws IOException {
+        scanString();
+        StringBuilder sb = stringBuffer;
+        int length = sb.length();
+        if (length > MAX_CACHED_KEY_LENGTH) {
+            return sb.toString();
+        }
+        int hash = 0;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + sb.charAt(i);
+        }
+        int index = (hash ^ (hash >>> 16)) & (KEY_CACHE_SIZE - 1);
+        String cached = keyCache[index];
+        if (cached != null && cached.length() == length && cached.hashCode() == hash && cached.contentEquals(sb)) {
+            return cached;
+        }
+        String key = sb.toString();
+        keyCache[index] = key;
+        return key;
+    }
+
+    /**
+     * Reads the characters of a string literal into {@link #stringBuffer}.
+     */
+    private void scanString() throws IOException {
+        assert c == '"';
+        StringBuilder sb = stringBuffer;
+        sb.setLength(0);
+        next();
+        while (c != '"') {
+            if (c == EOF) {
+                throw unexpectedEnd();
+            } else if (c < ' ') {
+                throw syntaxError("invalid string");
+            } else if (c == '\\') {
+                next();
+                switch (c) {
+                    case '"':
+                    case '\\':
+                    case '/':
+                        sb.append((char) c);
+                        break;
+                    case 'b':
+                        sb.append('\b');
+                        break;
+                    case 'f':
+                        sb.append('\f');
+                        break;
+                    case 'n':
+                        sb.append('\n');
+                        break;
+                    case 'r':
+                        sb.append('\r');
+                        break;
+                    case 't':
+                        sb.append('\t');
+                        break;
+                    case 'u':
+                        int value = 0;
+                        for (int i = 0; i < 4; i++) {
+                            next();
+                            int digit = c == EOF ? -1 : JSRuntime.valueInHex((char) c);
+                            if (digit < 0) {
+                                throw c == EOF ? unexpectedEnd() : syntaxError("invalid string");
+                            }
+                            value = (value << 4) | digit;
+                        }
+                        sb.append((char) value);
+                        break;
+                    case EOF:
+                        throw unexpectedEnd();
+                    default:
+                        throw syntaxError("wrong escape sequence");
+                }
+            } else {
+                sb.append((char) c);
+            }
+            next();
+        }
+        next();
+    }
+
+    private static boolean isNumberStart(int ch) {
+        return ch == '-' || isDigit(ch);
+    }
+
+    private static boolean isDigit(int ch) {
+        return '0' <= ch && ch <= '9';
+    }
+
+    /**
+     * Scans a number into {@link #numberIsInt}, {@link #intValue} and {@link #doubleValue} without
+     * boxing it.
+     */
+    private void scanNumber() throws IOException {
+        StringBuilder sb = numberBuffer;
+        sb.setLength(0);
+        boolean negative = false;
+        if (c == '-') {
+            negative = true;
+            sb.append('-');
+            next();
+        }
+        if (!isDigit(c)) {
+            throw c == EOF ? syntaxError(MALFORMED_NUMBER) : unexpectedToken();
+        }
+        int digits = 0;
+        long value = 0;
+        if (c == '0') {
+            sb.append('0');
+            digits++;
+            next();
+            if (isDigit(c) || c == 'x' || c == 'X') {
+                throw syntaxError("octal and hexadecimal not allowed");
+            }
+        } else {
+            while (isDigit(c)) {
+                if (digits < MAX_LONG_DIGITS) {
+                    value = value * 10 + (c - '0');
+                }
+                sb.append((char) c);
+                digits++;
+                next();
+            }
+        }
+        boolean isInteger = true;
+        if (c == '.') {
+            isInteger = false;
+            sb.append('.');
+            next();
+            if (!isDigit(c)) {
+                throw syntaxError(MALFORMED_NUMBER);
+            }
+            while (isDigit(c)) {
+                sb.append((char) c);
+                next();
+            }
+            if (c == '.') {
+                throw syntaxError(MALFORMED_NUMBER);
+            }
+        }
+        if (c == 'e' || c == 'E') {
+            isInteger = false;
+            sb.append('e');
+            next();
+            if (c == '+' || c == '-') {
+                sb.append((char) c);
+                next();
+            }
+            if (!isDigit(c)) {
+                throw c == EOF ? syntaxError(MALFORMED_NUMBER) : syntaxError("Expected number but found ident");
+            }
+            while (isDigit(c)) {
+                sb.append((char) c);
+                next();
+            }
+        }
+        if (isInteger && digits <= MAX_LONG_DIGITS) {
+            if (value == 0 && negative) {
+                numberIsInt = false;
+                doubleValue = -0.0;
+            } else {
+                long signed = negative ? -value : value;
+                numberIsInt = JSRuntime.longIsRepresentableAsInt(signed);
+                intValue = (int) signed;
+                doubleValue = signed;
+            }
+        } else {
+            numberIsInt = false;
+            doubleValue = Double.parseDouble(sb.toString());
+        }
+    }
+
+    private void expectLiteral(String literal) throws IOException {
+        for (int i = 0; i < literal.length(); i++) {
+            if (c != literal.charAt(i)) {
+                throw c == EOF ? unexpectedEnd() : unexpectedToken();
+            }
+            next();
+        }
+    }
+
+    private void skipWhitespace() throws IOException {
+        while (c == ' ' || c == '\n' || c == '\r' || c == '\t') {
+            next();
+        }
+    }
+
+    private void next() throws IOException {
+        c = input.read();
+        pos++;
+    }
+
+    private JSException unexpectedToken() {
+        if (c == EOF) {
+            return unexpectedEnd();
+        }
+        return syntaxError("Unexpected token " + (char) c + " in JSON at position " + pos);
+    }
+
+    private JSException unexpectedEnd() {
+        return syntaxError(context.isOptionNashornCompatibilityMode() ? "Unexpected end of input" : "Unexpected end of JSON input");
+    }
+
+    private static JSException syntaxError(String message) {
+        return Errors.createSyntaxError(message);
+    }
+
+    /**
+     * Source of UTF-16 code units.
+     */
+    private abstract static class Input {
+        /**
+         * Returns the next UTF-16 code unit, or {@link JSONStreamParser#EOF}.
+         */
+        abstract int read() throws IOException;
+    }
+
+    private static final class ReaderInput extends Input {
+        private final Reader reader;
+        private final char[] buffer = new char[8192];
+        private int index;
+        private int limit;
+
+        ReaderInput(Reader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        int read() throws IOException {
+            if (index == limit) {
+                int count;
+                do {
+                    count = reader.read(buffer, 0, buffer.length);
+                } while (count == 0);
+                if (count < 0) {
+                    return EOF;
+                }
+                index = 0;
+                limit = count;
+            }
+            return buffer[index++];
+        }
+    }
+
+    /**
+     * Decodes UTF-8 on the fly. Malformed sequences are replaced by U+FFFD.
+     */
+    private static final class UTF8Input extends Input {
+        private static final char REPLACEMENT_CHARACTER = '�';
+
+        private final ByteBuffer buffer;
+        private int pendingLowSurrogate = EOF;
+
+        UTF8Input(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        int read() {
+            if (pendingLowSurrogate != EOF) {
+                int low = pendingLowSurrogate;
+                pendingLowSurrogate = EOF;
+                return low;
+            }
+            if (!buffer.hasRemaining()) {
+                return EOF;
+            }
+            int b = buffer.get() & 0xff;
+            if (b < 0x80) {
+                return b;
+            }
+            int length;
+            int codePoint;
+            int min;
+            if (b >= 0xC2 && b <= 0xDF) {
+                length = 1;
+                codePoint = b & 0x1F;
+                min = 0x80;
+            } else if (b >= 0xE0 && b <= 0xEF) {
+                length = 2;
+                codePoint = b & 0x0F;
+                min = 0x800;
+            } else if (b >= 0xF0 && b <= 0xF4) {
+                length = 3;
+                codePoint = b & 0x07;
+                min = 0x10000;
+            } else {
+                return REPLACEMENT_CHARACTER;
+            }
+            for (int i = 0; i < length; i++) {
+                if (!buffer.hasRemaining()) {
+                    return REPLACEMENT_CHARACTER;
+                }
+                int continuation = buffer.get(buffer.position()) & 0xff;
+                if ((continuation & 0xC0) != 0x80) {
+                    // leave the byte for the next character
+                    return REPLACEMENT_CHARACTER;
+                }
+                buffer.position(buffer.position() + 1);
+                codePoint = (codePoint << 6) | (continuation & 0x3F);
+            }
+            if (codePoint < min || codePoint > Character.MAX_CODE_POINT || (codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE)) {
+                return REPLACEMENT_CHARACTER;
+            }
+            if (codePoint >= Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+                pendingLowSurrogate = Character.lowSurrogate(codePoint);
+                return Character.highSurrogate(codePoint);
+            }
+            return codePoint;
+        }
+    }
+}
@@ -51,6 +51,7 @@ import com.oracle.truffle.api.interop.TruffleObject;
 import com.oracle.truffle.api.interop.UnknownIdentifierException;
 import com.oracle.truffle.api.interop.UnsupportedMessageException;
 import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.js.nodes.JSGuards;
 import com.oracle.truffle.js.nodes.JavaScriptBaseNode;
 import com.oracle.truffle.js.nodes.access.PropertyGetNode;
@@ -60,15 +61,23 @@ import com.oracle.truffle.js.runtime.JSArguments;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.Symbol;
+import com.oracle.truffle.js.runtime.array.ScriptArray;
+import com.oracle.truffle.js.runtime.array.dyn.ConstantIntArray;
+import com.oracle.truffle.js.runtime.array.dyn.ZeroBasedDoubleArray;
+import com.oracle.truffle.js.runtime.array.dyn.ZeroBasedIntArray;
+import com.oracle.truffle.js.runtime.builtins.JSAbstractArray;
 import com.oracle.truffle.js.runtime.builtins.JSArray;
 import com.oracle.truffle.js.runtime.builtins.JSBigInt;
 import com.oracle.truffle.js.runtime.builtins.JSBoolean;
 import com.oracle.truffle.js.runtime.builtins.JSClass;
 import com.oracle.truffle.js.runtime.builtins.JSNumber;
+import com.oracle.truffle.js.runtime.builtins.JSON;
 import com.oracle.truffle.js.runtime.builtins.JSString;
 import com.oracle.truffle.js.runtime.interop.JSInteropUtil;
 import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
+import com.oracle.truffle.js.runtime.objects.JSONSerializationPlan;
 import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.objects.JSShape;
 import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.js.runtime.util.StringBuilderProfile;
@@ -79,6 +88,9 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
     @Child private PropertyGetNode getToJSONProperty;
     @Child private JSFunctionCallNode callToJSONFunction;
     private final StringBuilderProfile stringBuilderProfile;
+    /** The most recently used serialization plan and its shape, to avoid the shape data lookup. */
+    private JSONSerializationPlan lastPlan;
+    private Shape lastPlanShape;
 
     protected JSONStringifyStringNode(JSContext context) {
         this.context = context;
@@ -122,7 +134,7 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
         } else if (value instanceof Boolean) {
             stringBuilderProfile.append(builder, (boolean) value ? JSBoolean.TRUE_NAME : JSBoolean.FALSE_NAME);
         } else if (JSRuntime.isString(value)) {
-            jsonQuote(stringBuilderProfile, builder, value.toString());
+            JSON.quote(stringBuilderProfile, builder, value.toString());
         } else if (JSRuntime.isNumber(value)) {
             appendNumber(builder, (Number) value);
         } else if (JSRuntime.isBigInt(value)) {
@@ -139,7 +151,7 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
             jsonForeignObject(builder, data, value);
         } else if (JSRuntime.isJavaPrimitive(value)) {
             // call toString on Java objects, GR-3722
-            jsonQuote(stringBuilderProfile, builder, value.toString());
+            JSON.quote(stringBuilderProfile, builder, value.toString());
         } else {
             throw new RuntimeException("JSON.stringify: should never reach here, unknown type: " + value + " " + value.getClass());
         }
@@ -239,6 +251,9 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
             CompilerDirectives.transferToInterpreterAndInvalidate();
             getToJSONProperty = insert(PropertyGetNode.create("toJSON", false, context));
         }
+        if (JSDynamicObject.isJSDynamicObject(value) && JSONSerializationPlan.hasNoToJSON((DynamicObject) value)) {
+            return value;
+        }
         Object toJSON = getToJSONProperty.getValue(value);
         if (JSRuntime.isCallable(toJSON)) {
             return jsonStrPrepareObjectFunction(key, value, (DynamicObject) toJSON);
@@ -267,7 +282,14 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
         boolean hasContent;
         if (data.getPropertyList() == null) {
             if (JSDynamicObject.isJSDynamicObject(value)) {
-                hasContent = serializeJSONObjectProperties(builder, data, value, indent, JSObject.enumerableOwnNames((DynamicObject) value));
+                DynamicObject object = (DynamicObject) value;
+                Shape shape = object.getShape();
+                JSONSerializationPlan plan = getSerializationPlan(shape);
+                if (plan != null) {
+                    hasContent = serializeJSONObjectProperties(builder, data, object, indent, shape, plan);
+                } else {
+                    hasContent = serializeJSONObjectProperties(builder, data, value, indent, JSObject.enumerableOwnNames(object));
+                }
             } else {
                 hasContent = serializeForeignObjectProperties(builder, data, value, indent);
             }
@@ -293,7 +315,52 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
                 } else {
                     appendSeparator(builder, data, indent);
                 }
-                jsonQuote(stringBuilderProfile, builder, name);
+                JSON.quote(stringBuilderProfile, builder, name);
+                appendColon(builder, data);
+                jsonStrExecute(builder, data, strPPrepared);
+                hasContent = true;
+            }
+        }
+        return hasContent;
+    }
+
+    private JSONSerializationPlan getSerializationPlan(Shape shape) {
+        if (lastPlanShape == shape) {
+            return lastPlan;
+        }
+        JSONSerializationPlan plan = JSShape.getJSONSerializationPlan(shape);
+        if (plan != null) {
+            lastPlan = plan;
+            lastPlanShape = shape;
+        }
+        return plan;
+    }
+
+    /**
+     * Serializes the properties listed in the plan for objects of the given shape. Values are read
+     * directly from their locations as long as the object keeps that shape, which user code (toJSON,
+     * replacer) can change; after that, they are read generically.
+     */
+    private boolean serializeJSONObjectProperties(StringBuilder builder, JSONData data, DynamicObject object, int indent, Shape shape, JSONSerializationPlan plan) {
+        boolean isFirst = true;
+        boolean hasContent = false;
+        for (int i = 0; i < plan.getPropertyCount(); i++) {
+            String name = plan.getKey(i);
+            Object propertyValue;
+            if (object.getShape() == shape) {
+                propertyValue = plan.getValue(object, i);
+            } else {
+                propertyValue = JSObject.get(object, name);
+            }
+            Object strPPrepared = jsonStrPreparePart2(data, name, object, propertyValue);
+            if (isStringifyable(strPPrepared)) {
+                if (isFirst) {
+                    concatFirstStep(builder, data);
+                    isFirst = false;
+                } else {
+                    appendSeparator(builder, data, indent);
+                }
+                stringBuilderProfile.append(builder, plan.getQuotedKey(i));
                 appendColon(builder, data);
                 jsonStrExecute(builder, data, strPPrepared);
                 hasContent = true;
@@ -336,7 +403,7 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
                     } else {
                         appendSeparator(builder, data, indent);
                     }
-                    jsonQuote(stringBuilderProfile, builder, stringKey);
+                    JSON.quote(stringBuilderProfile, builder, stringKey);
                     appendColon(builder, data);
                     jsonStrExecute(builder, data, strPPrepared);
                     hasContent = true;
@@ -376,6 +443,12 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
         }
         int len = (int) length;
         concatStart(builder, '[');
+        if (isArray && data.getReplacerFnObj() == null && serializeNumberArrayElements(builder, data, (DynamicObject) value, len, indent)) {
+            concatEnd(builder, data, stepback, ']', len > 0);
+            data.popStack();
+            data.setIndent(stepback);
+            return;
+        }
         for (int index = 0; index < len; index++) {
             if (index == 0) {
                 concatFirstStep(builder, data);
@@ -403,6 +476,39 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
         data.setIndent(stepback);
     }
 
+    /**
+     * Serializes the elements of an array with int or double storage directly from the backing
+     * store. Numbers have no toJSON method, so without a replacer function no user code can run.
+     * Returns {@code false} if the array does not have such a storage.
+     */
+    private boolean serializeNumberArrayElements(StringBuilder builder, JSONData data, DynamicObject array, int len, int indent) {
+        ScriptArray arrayType = JSAbstractArray.arrayGetArrayType(array);
+        boolean isInt = arrayType instanceof ZeroBasedIntArray || arrayType instanceof ConstantIntArray;
+        if (!(isInt || arrayType instanceof ZeroBasedDoubleArray) || arrayType.hasHoles(array) || arrayType.lengthInt(array) != len) {
+            return false;
+        }
+        for (int index = 0; index < len; index++) {
+            if (index == 0) {
+                concatFirstStep(builder, data);
+            } else {
+                appendSeparator(builder, data, indent);
+            }
+            if (arrayType instanceof ZeroBasedIntArray) {
+                stringBuilderProfile.append(builder, ((ZeroBasedIntArray) arrayType).getInBoundsFastInt(array, index));
+            } else if (isInt) {
+                stringBuilderProfile.append(builder, ConstantIntArray.getElementInt(array, index));
+            } else {
+                double d = ((ZeroBasedDoubleArray) arrayType).getInBoundsFastDouble(array, index);
+                if (Double.isNaN(d) || Double.isInfinite(d)) {
+                    stringBuilderProfile.append(builder, Null.NAME);
+                } else {
+                    stringBuilderProfile.append(builder, JSRuntime.doubleToString(d));
+                }
+            }
+        }
+        return true;
+    }
+
     private static void checkStackDepth(JSONData data) {
         if (data.stackTooDeep()) {
             throwStackError();
@@ -454,68 +560,6 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
         }
     }
 
-    @TruffleBoundary
-    public static void jsonQuote(StringBuilderProfile stringBuilderProfile, StringBuilder builder, String value) {
-        stringBuilderProfile.append(builder, '"');
-        for (int i = 0; i < value.length();) {
-            char ch = value.charAt(i);
-            if (ch < ' ') {
-                if (ch == '\b') {
-                    stringBuilderProfile.append(builder, "\\b");
-                } else if (ch == '\f') {
-                    stringBuilderProfile.append(builder, "\\f");
-                } else if (ch == '\n') {
-                    stringBuilderProfile.append(builder, "\\n");
-                } else if (ch == '\r') {
-                    stringBuilderProfile.append(builder, "\\r");
-                } else if (ch == '\t') {
-                    stringBuilderProfile.append(builder, "\\t");
-                } else {
-                    jsonQuoteUnicode(stringBuilderProfile, builder, ch);
-                }
-            } else {
-                if (ch == '\\') {
-                    stringBuilderProfile.append(builder, "\\\\");
-                } else if (ch == '"') {
-                    stringBuilderProfile.append(builder, "\\\"");
-                } else if (Character.isSurrogate(ch)) {
-                    if (Character.isHighSurrogate(ch)) {
-                        char nextCh;
-                        if (i + 1 < value.length() && (Character.isLowSurrogate(nextCh = value.charAt(i + 1)))) {
-                            // paired surrogates
-                            stringBuilderProfile.append(builder, ch);
-                            stringBuilderProfile.append(builder, nextCh);
-                            i++;
-                        } else {
-                            // unpaired high surrogate
-                            jsonQuoteSurrogate(stringBuilderProfile, builder, ch);
-                        }
-                    } else {
-                        // unpaired low surrogate
-                        jsonQuoteSurrogate(stringBuilderProfile, builder, ch);
-                    }
-                } else {
-                    stringBuilderProfile.append(builder, ch);
-                }
-            }
-            i++;
-        }
-        stringBuilderProfile.append(builder, '"');
-    }
-
-    private static void jsonQuoteUnicode(StringBuilderProfile profile, StringBuilder builder, char c) {
-        profile.append(builder, "\\u00");
-        profile.append(builder, Character.forDigit((c >> 4) & 0xF, 16));
-        profile.append(builder, Character.forDigit(c & 0xF, 16));
-    }
-
-    private static void jsonQuoteSurrogate(StringBuilderProfile profile, StringBuilder builder, char c) {
-        profile.append(builder, "\\ud");
-        profile.append(builder, Character.forDigit((c >> 8) & 0xF, 16));
-        profile.append(builder, Character.forDigit((c >> 4) & 0xF, 16));
-        profile.append(builder, Character.forDigit(c & 0xF, 16));
-    }
-
     private Object truffleGetSize(Object obj) {
         return JSInteropUtil.getArraySize(obj, InteropLibrary.getFactory().getUncached(), this);
     }
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.builtins.helper;
+
+import java.util.Arrays;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.js.runtime.builtins.JSFunctionData;
+
+/**
+ * In-place sorting of the primitive backing store of int and double arrays, used by
+ * Array.prototype.sort to avoid boxing every element and writing it back.
+ *
+ * Besides the default (string order) comparator, trivial numeric comparators like
+ * {@code (a, b) => a - b} are supported; the translator recognizes them and marks their
+ * {@link JSFunctionData}. Since the elements are numbers, such a comparator has no side effects and
+ * orders the elements numerically.
+ */
+public final class PrimitiveArraySort {
+
+    /** Comparator that is not recognized. */
+    public static final int UNKNOWN = 0;
+    /** Numeric comparator {@code (a, b) => a - b}. */
+    public static final int ASCENDING = 1;
+    /** Numeric comparator {@code (a, b) => b - a}. */
+    public static final int DESCENDING = 2;
+
+    private static final int MAX_DIGITS = 10;
+    /** 11^10: each decimal digit takes one base-11 position; 0 marks "no more digits". */
+    private static final long NON_NEGATIVE_OFFSET = 25937424601L;
+
+    private PrimitiveArraySort() {
+        // should not be constructed
+    }
+
+    /**
+     * Returns {@link #ASCENDING}, {@link #DESCENDING} or {@link #UNKNOWN} for the function data of
+     * a comparator.
+     */
+    public static int numericComparatorOrder(JSFunctionData functionData) {
+        if (functionData.isAscendingNumericComparator()) {
+            return ASCENDING;
+        } else if (functionData.isDescendingNumericComparator()) {
+            return DESCENDING;
+        }
+        return UNKNOWN;
+    }
+
+    @TruffleBoundary
+    public static void sortNumeric(int[] array, int fromIndex, int toIndex, boolean descending) {
+        Arrays.sort(array, fromIndex, toIndex);
+        if (descending) {
+            reverse(array, fromIndex, toIndex);
+        }
+    }
+
+    /**
+     * Sorts numerically unless the range contains NaN or -0, which a subtraction comparator cannot
+     * order consistently. Returns {@code false} if the range was left untouched.
+     */
+    @TruffleBoundary
+    public static boolean sortNumeric(double[] array, int fromIndex, int toIndex, boolean descending) {
+        for (int i = fromIndex; i < toIndex; i++) {
+            double value = array[i];
+            if (Double.isNaN(value) || (value == 0 && Double.doubleToRawLongBits(value) != 0)) {
+                return false;
+            }
+        }
+        Arrays.sort(array, fromIndex, toIndex);
+        if (descending) {
+            reverse(array, fromIndex, toIndex);
+        }
+        return true;
+    }
+
+    /**
+     * Sorts ints in the order of their string representations (the default comparator) without
+     * converting them to strings. Every int is mapped to a unique long key whose natural order is
+     * the string order, so the keys can be sorted and decoded again.
+     */
+    @TruffleBoundary
+    public static void sortStringOrder(int[] array, int fromIndex, int toIndex) {
+        long[] keys = new long[toIndex - fromIndex];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = toStringOrderKey(array[fromIndex + i]);
+        }
+        Arrays.sort(keys);
+        for (int i = 0; i < keys.length; i++) {
+            array[fromIndex + i] = fromStringOrderKey(keys[i]);
+        }
+    }
+
+    static long toStringOrderKey(int value) {
+        // '-' sorts before any digit, so all negative values come first
+        long abs = Math.abs((long) value);
+        long divisor = 1;
+        int digits = 1;
+        while (digits < MAX_DIGITS && divisor * 10 <= abs) {
+            divisor *= 10;
+            digits++;
+        }
+        long key = 0;
+        for (int i = 0; i < MAX_DIGITS; i++) {
+            key *= 11;
+            if (i < digits) {
+                key += (abs / divisor) % 10 + 1;
+                divisor /= 10;
+            }
+        }
+        return value < 0 ? key : key + NON_NEGATIVE_OFFSET;
+    }
+
+    static int fromStringOrderKey(long key) {
+        boolean negative = key < NON_NEGATIVE_OFFSET;
+        long digitKey = negative ? key : key - NON_NEGATIVE_OFFSET;
+        long abs = 0;
+        long weight = NON_NEGATIVE_OFFSET / 11;
+        for (int i = 0; i < MAX_DIGITS; i++) {
+            long digit = (digitKey / weight) % 11;
+            if (digit == 0) {
+                break;
+            }
+            abs = abs * 10 + (digit - 1);
+            weight /= 11;
+        }
+        return (int) (negative ? -abs : abs);
+    }
+
+    private static void reverse(int[] array, int fromIndex, int toIndex) {
+        for (int i = fromIndex, j = toIndex - 1; i < j; i++, j--) {
+            int tmp = array[i];
+            array[i] = array[j];
+            array[j] = tmp;
+        }
+    }
+
+    private static void reverse(double[] array, int fromIndex, int toIndex) {
+        for (int i = fromIndex, j = toIndex - 1; i < j; i++, j--) {
+            double tmp = array[i];
+            array[i] = array[j];
+            array[j] = tmp;
+        }
+    }
+}
@@ -42,13 +42,18 @@ package com.oracle.truffle.js.builtins.helper;
 
 import static com.oracle.truffle.js.runtime.builtins.JSArrayBufferView.typedArrayGetArrayType;
 
+import java.nio.ByteBuffer;
+
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.js.runtime.BigInt;
+import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSAgentWaiterList;
+import com.oracle.truffle.js.runtime.JSAgentWaiterList.JSAgentWaiter;
 import com.oracle.truffle.js.runtime.JSAgentWaiterList.JSAgentWaiterListEntry;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSRuntime;
+import com.oracle.truffle.js.runtime.array.ByteBufferAtomicAccess;
 import com.oracle.truffle.js.runtime.array.TypedArray;
 import com.oracle.truffle.js.runtime.builtins.JSArrayBufferView;
 import com.oracle.truffle.js.runtime.builtins.JSSharedArrayBuffer;
@@ -56,9 +61,14 @@ import com.oracle.truffle.js.runtime.util.Fences;
 
 /**
  * Implementation of the synchronization primitives of ECMA2017 Shared Memory model.
+ *
+ * Read-modify-write operations use hardware compare-exchange on the shared buffer whenever
+ * {@link ByteBufferAtomicAccess} supports it, and only fall back to the buffer's lock otherwise.
  */
 public final class SharedMemorySync {
 
+    private static final ByteBufferAtomicAccess ATOMIC_ACCESS = ByteBufferAtomicAccess.nativeOrder();
+
     private SharedMemorySync() {
         // should not be constructed
     }
@@ -97,9 +107,52 @@ public final class SharedMemorySync {
         Fences.releaseFence();
     }
 
+    // ##### Lock-free access helpers
+
+    private static int getByteIndex(DynamicObject target, TypedArray array, int index) {
+        int offset = array.hasOffset() ? JSArrayBufferView.typedArrayGetOffset(target) : 0;
+        return offset + index * array.bytesPerElement();
+    }
+
+    private static int elementMask(int bytesPerElement) {
+        switch (bytesPerElement) {
+            case 1:
+                return 0xFF;
+            case 2:
+                return 0xFFFF;
+            default:
+                return 0xFFFFFFFF;
+        }
+    }
+
+    /**
+     * Lock-free compare-exchange of an integer element of up to 32 bits. Returns the previous
+     * element value, zero-extended to the element size.
+     */
+    private static int compareExchangeInt(ByteBuffer buffer, int byteIndex, int bytesPerElement, int expected, int replacement) {
+        switch (bytesPerElement) {
+            case 1:
+                return ATOMIC_ACCESS.compareExchangeInt8(buffer, byteIndex, expected, replacement);
+            case 2:
+                return ATOMIC_ACCESS.compareExchangeInt16(buffer, byteIndex, expected, replacement);
+            case 4:
+                return ATOMIC_ACCESS.compareExchangeInt32(buffer, byteIndex, expected, replacement);
+            default:
+                throw Errors.shouldNotReachHere();
+        }
+    }
+
     // ##### Atomic CAS primitives
     @TruffleBoundary
     public static boolean compareAndSwapInt(JSContext cx, DynamicObject target, int intArrayOffset, int initial, int result) {
+        TypedArray array = typedArrayGetArrayType(target);
+        ByteBuffer buffer = JSArrayBufferView.typedArrayGetByteBuffer(target);
+        int byteIndex = getByteIndex(target, array, intArrayOffset);
+        int bytesPerElement = array.bytesPerElement();
+        if (ATOMIC_ACCESS.isLockFree(buffer, byteIndex, bytesPerElement)) {
+            int mask = elementMask(bytesPerElement);
+            return (compareExchangeInt(buffer, byteIndex, bytesPerElement, initial, result) & mask) == (initial & mask);
+        }
         cx.getJSAgent().atomicSectionEnter(target);
         try {
             int value = doVolatileGet(target, intArrayOffset);
@@ -115,6 +168,13 @@ public final class SharedMemorySync {
 
     @TruffleBoundary
     public static boolean compareAndSwapBigInt(JSContext cx, DynamicObject target, int intArrayOffset, BigInt initial, BigInt result) {
+        TypedArray array = typedArrayGetArrayType(target);
+        ByteBuffer buffer = JSArrayBufferView.typedArrayGetByteBuffer(target);
+        int byteIndex = getByteIndex(target, array, intArrayOffset);
+        if (ATOMIC_ACCESS.isLockFree(buffer, byteIndex, array.bytesPerElement())) {
+            long expected = initial.longValue();
+            return ATOMIC_ACCESS.compareExchangeInt64(buffer, byteIndex, expected, result.longValue()) == expected;
+        }
         cx.getJSAgent().atomicSectionEnter(target);
         try {
             BigInt value = doVolatileGetBigInt(target, intArrayOffset);
@@ -131,22 +191,18 @@ public final class SharedMemorySync {
     // ##### Atomic Fetch-or-Get primitives
     @TruffleBoundary
     public static long atomicFetchOrGetUnsigned(JSContext cx, DynamicObject target, int intArrayOffset, Object expected, Object replacement) {
-        cx.getJSAgent().atomicSectionEnter(target);
-        long read = JSRuntime.toUInt32(doVolatileGet(target, intArrayOffset));
-        if (read == JSRuntime.toUInt32(expected)) {
-            doVolatilePut(target, intArrayOffset, (int) JSRuntime.toUInt32(replacement));
+        TypedArray array = typedArrayGetArrayType(target);
+        ByteBuffer buffer = JSArrayBufferView.typedArrayGetByteBuffer(target);
+        int byteIndex = getByteIndex(target, array, intArrayOffset);
+        if (ATOMIC_ACCESS.isLockFree(buffer, byteIndex, array.bytesPerElement())) {
+            int witness = ATOMIC_ACCESS.compareExchangeInt32(buffer, byteIndex, (int) JSRuntime.toUInt32(expected), (int) JSRuntime.toUInt32(replacement));
+            return witness & 0xFFFFFFFFL;
         }
-        cx.getJSAgent().atomicSectionLeave(target);
-        return read;
-    }
-
-    @TruffleBoundary
-    public static long atomicFetchOrGetLong(JSContext cx, DynamicObject target, int intArrayOffset, long expected, long replacement) {
         cx.getJSAgent().atomicSectionEnter(target);
         try {
-            int read = doVolatileGet(target, intArrayOffset);
-            if (read == expected) {
-                doVolatilePut(target, intArrayOffset, (int) replacement);
+            long read = JSRuntime.toUInt32(doVolatileGet(target, intArrayOffset));
+            if (read == JSRuntime.toUInt32(expected)) {
+                doVolatilePut(target, intArrayOffset, (int) JSRuntime.toUInt32(replacement));
             }
             return read;
         } finally {
@@ -154,8 +210,19 @@ public final class SharedMemorySync {
         }
     }
 
+    @TruffleBoundary
+    public static long atomicFetchOrGetLong(JSContext cx, DynamicObject target, int intArrayOffset, long expected, long replacement) {
+        return atomicFetchOrGetInt(cx, target, intArrayOffset, (int) expected, (int) replacement);
+    }
+
     @TruffleBoundary
     public static int atomicFetchOrGetInt(JSContext cx, DynamicObject target, int intArrayOffset, int expected, int replacement) {
+        TypedArray array = typedArrayGetArrayType(target);
+        ByteBuffer buffer = JSArrayBufferView.typedArrayGetByteBuffer(target);
+        int byteIndex = getByteIndex(target, array, intArrayOffset);
+        if (ATOMIC_ACCESS.isLockFree(buffer, byteIndex, array.bytesPerElement())) {
+            return ATOMIC_ACCESS.compareExchangeInt32(buffer, byteIndex, expected, replacement);
+        }
         cx.getJSAgent().atomicSectionEnter(target);
         try {
             int read = doVolatileGet(target, intArrayOffset);
@@ -170,20 +237,37 @@ public final class SharedMemorySync {
 
     @TruffleBoundary
     public static int atomicFetchOrGetShort(JSContext cx, DynamicObject target, int intArrayOffset, int expected, int replacement, boolean sign) {
+        TypedArray array = typedArrayGetArrayType(target);
+        ByteBuffer buffer = JSArrayBufferView.typedArrayGetByteBuffer(target);
+        int byteIndex = getByteIndex(target, array, intArrayOffset);
+        if (ATOMIC_ACCESS.isLockFree(buffer, byteIndex, array.bytesPerElement())) {
+            int witness = ATOMIC_ACCESS.compareExchangeInt16(buffer, byteIndex, expected, replacement);
+            return sign ? (short) witness : witness;
+        }
         cx.getJSAgent().atomicSectionEnter(target);
-        int read = doVolatileGet(target, intArrayOffset);
-        read = sign ? read : read & 0xFFFF;
-        int expectedChopped = sign ? (short) expected : expected & 0xFFFF;
-        if (read == expectedChopped) {
-            int signed = sign ? replacement : replacement & 0xFFFF;
-            SharedMemorySync.doVolatilePut(target, intArrayOffset, (short) signed);
+        try {
+            int read = doVolatileGet(target, intArrayOffset);
+            read = sign ? read : read & 0xFFFF;
+            int expectedChopped = sign ? (short) expected : expected & 0xFFFF;
+            if (read == expectedChopped) {
+                int signed = sign ? replacement : replacement & 0xFFFF;
+                SharedMemorySync.doVolatilePut(target, intArrayOffset, (short) signed);
+            }
+            return read;
+        } finally {
+            cx.getJSAgent().atomicSectionLeave(target);
         }
-        cx.getJSAgent().atomicSectionLeave(target);
-        return read;
     }
 
     @TruffleBoundary
     public static int atomicFetchOrGetByte(JSContext cx, DynamicObject target, int intArrayOffset, int expected, int replacement, boolean sign) {
+        TypedArray array = typedArrayGetArrayType(target);
+        ByteBuffer buffer = JSArrayBufferView.typedArrayGetByteBuffer(target);
+        int byteIndex = getByteIndex(target, array, intArrayOffset);
+        if (ATOMIC_ACCESS.isLockFree(buffer, byteIndex, array.bytesPerElement())) {
+            int witness = ATOMIC_ACCESS.compareExchangeInt8(buffer, byteIndex, expected, replacement);
+            return sign ? (byte) witness : witness;
+        }
         cx.getJSAgent().atomicSectionEnter(target);
         try {
             int read = doVolatileGet(target, intArrayOffset);
@@ -201,6 +285,13 @@ public final class SharedMemorySync {
 
     @TruffleBoundary
     public static BigInt atomicFetchOrGetBigInt(JSContext cx, DynamicObject target, int intArrayOffset, BigInt expected, BigInt replacement) {
+        TypedArray array = typedArrayGetArrayType(target);
+        ByteBuffer buffer = JSArrayBufferView.typedArrayGetByteBuffer(target);
+        int byteIndex = getByteIndex(target, array, intArrayOffset);
+        if (ATOMIC_ACCESS.isLockFree(buffer, byteIndex, array.bytesPerElement())) {
+            long witness = ATOMIC_ACCESS.compareExchangeInt64(buffer, byteIndex, expected.longValue(), replacement.longValue());
+            return array instanceof TypedArray.DirectBigUint64Array ? BigInt.valueOfUnsigned(witness) : BigInt.valueOf(witness);
+        }
         cx.getJSAgent().atomicSectionEnter(target);
         try {
             BigInt read = doVolatileGetBigInt(target, intArrayOffset);
@@ -215,11 +306,16 @@ public final class SharedMemorySync {
 
     // ##### Thread Wake/Park primitives
 
+    /**
+     * Returns the waiter list for the element at {@code indexPos}. Waiter lists are keyed by the
+     * byte index in the underlying buffer, so that views with different element types or offsets
+     * agree on the waiters of a location.
+     */
     @SuppressWarnings("unused")
     public static JSAgentWaiterListEntry getWaiterList(JSContext cx, DynamicObject target, int indexPos) {
         DynamicObject arrayBuffer = JSArrayBufferView.getArrayBuffer(target);
         JSAgentWaiterList waiterList = JSSharedArrayBuffer.getWaiterList(arrayBuffer);
-        return waiterList.getListForIndex(indexPos);
+        return waiterList.getListForIndex(getByteIndex(target, typedArrayGetArrayType(target), indexPos));
     }
 
     @TruffleBoundary
@@ -238,52 +334,46 @@ public final class SharedMemorySync {
     }
 
     @TruffleBoundary
-    public static void addWaiter(JSContext cx, JSAgentWaiterListEntry wl, int id) {
+    public static JSAgentWaiter addWaiter(JSContext cx, JSAgentWaiterListEntry wl) {
         assert cx.getJSAgent().inCriticalSection();
-        assert !wl.contains(id);
-        wl.add(id);
+        JSAgentWaiter waiter = new JSAgentWaiter(cx.getJSAgent().getSignifier(), Thread.currentThread());
+        wl.add(waiter);
+        return waiter;
     }
 
     @TruffleBoundary
-    public static void removeWaiter(JSContext cx, JSAgentWaiterListEntry wl, int w) {
+    public static void removeWaiter(JSContext cx, JSAgentWaiterListEntry wl, JSAgentWaiter waiter) {
         assert cx.getJSAgent().inCriticalSection();
-        assert wl.contains(w);
-        wl.remove(w);
+        assert wl.contains(waiter);
+        wl.remove(waiter);
     }
 
-    /* ECMA2017 24.4.1.9 - Suspend returns true if agent was woken by another agent */
+    /**
+     * ECMA2017 24.4.1.9 - Suspend returns true if agent was woken by another agent. The timeout is
+     * given in milliseconds and may be {@code Infinity}.
+     */
     @TruffleBoundary
-    public static boolean suspendAgent(JSContext cx, JSAgentWaiterListEntry wl, int w, int timeout) {
+    public static boolean suspendAgent(JSContext cx, JSAgentWaiterListEntry wl, JSAgentWaiter waiter, double timeout) {
         assert cx.getJSAgent().inCriticalSection();
-        assert wl.contains(w);
-        assert cx.getJSAgent().getSignifier() == w;
+        assert wl.contains(waiter);
+        assert cx.getJSAgent().getSignifier() == waiter.getAgentSignifier();
         assert cx.getJSAgent().canBlock();
         cx.getJSAgent().criticalSectionLeave(wl);
-        boolean interrupt = false;
         try {
-            Thread.sleep(timeout);
-        } catch (InterruptedException e) {
-            interrupt = true;
+            waiter.await(timeout);
+        } finally {
+            cx.getJSAgent().criticalSectionEnter(wl);
         }
-        cx.getJSAgent().criticalSectionEnter(wl);
-        return interrupt;
-    }
-
-    /* ECMA2017 24.4.1.10 - Wake up another agent */
-    @TruffleBoundary
-    public static void wakeWaiter(JSContext cx, int w) {
-        assert cx.getJSAgent().inCriticalSection();
-        cx.getJSAgent().wakeAgent(w);
+        // a notification racing with the timeout is decided in the critical section
+        return waiter.isNotified();
     }
 
+    /**
+     * ECMA2017 24.4.1.10 - Wake up to {@code count} waiters in FIFO order.
+     */
     @TruffleBoundary
-    public static int[] removeWaiters(JSContext cx, JSAgentWaiterListEntry wl, int count) {
+    public static int notifyWaiters(JSContext cx, JSAgentWaiterListEntry wl, int count) {
         assert cx.getJSAgent().inCriticalSection();
-        int c = Integer.min(wl.size(), count);
-        int[] removed = new int[c];
-        while (c-- > 0) {
-            removed[c] = wl.poll();
-        }
-        return removed;
+        return wl.notifyWaiters(count);
     }
 }
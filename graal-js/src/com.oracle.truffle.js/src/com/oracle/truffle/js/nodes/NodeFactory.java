@@ -169,6 +169,7 @@ import com.oracle.truffle.js.nodes.control.GeneratorVoidBlockNode;
 import com.oracle.truffle.js.nodes.control.GeneratorWrapperNode;
 import com.oracle.truffle.js.nodes.control.IfNode;
 import com.oracle.truffle.js.nodes.control.IteratorCloseWrapperNode;
+import com.oracle.truffle.js.nodes.control.JumpTableSwitchNode;
 import com.oracle.truffle.js.nodes.control.LabelNode;
 import com.oracle.truffle.js.nodes.control.ModuleBodyNode;
 import com.oracle.truffle.js.nodes.control.ModuleYieldNode;
@@ -455,6 +456,10 @@ public class NodeFactory {
         return SwitchNode.create(caseExpressions, jumptable, statements);
     }
 
+    public JumpTableSwitchNode createJumpTableSwitch(JavaScriptNode switchExpression, JavaScriptNode[] caseExpressions, Object[] caseValues, int[] jumptable, JavaScriptNode[] statements) {
+        return JumpTableSwitchNode.create(switchExpression, caseExpressions, caseValues, jumptable, statements);
+    }
+
     public JavaScriptNode createWhileDo(JavaScriptNode condition, JavaScriptNode body) {
         return WhileNode.createWhileDo(condition, body);
     }
@@ -835,9 +840,10 @@ public class NodeFactory {
     }
 
     public JSFunctionData createFunctionData(JSContext context, int length, String name, boolean isConstructor, boolean isDerived, boolean isStrict, boolean isBuiltin, boolean needsParentFrame,
-                    boolean isGenerator, boolean isAsync, boolean isClassConstructor, boolean strictProperties, boolean needsNewTarget) {
+                    boolean isGenerator, boolean isAsync, boolean isClassConstructor, boolean strictProperties, boolean needsNewTarget, boolean isAscendingNumericComparator,
+                    boolean isDescendingNumericComparator) {
         return JSFunctionData.create(context, null, null, null, length, name, isConstructor, isDerived, isStrict, isBuiltin, needsParentFrame, isGenerator, isAsync, isClassConstructor,
-                        strictProperties, needsNewTarget, false);
+                        strictProperties, needsNewTarget, false, isAscendingNumericComparator, isDescendingNumericComparator);
     }
 
     public JavaScriptNode createAwait(JSContext context, JavaScriptNode expression, JSReadFrameSlotNode asyncContextNode, JSReadFrameSlotNode asyncResultNode) {
@@ -107,6 +107,7 @@ abstract class CachedSetPropertyNode extends JavaScriptBaseNode {
         if (setOwn) {
             createDataPropertyOrThrow(target, Boundaries.stringValueOf(index), value);
         } else {
+            JSObject.checkBuiltinModification(target);
             jsclass.set(target, index, value, receiver, strict);
         }
     }
@@ -1238,6 +1238,10 @@ public class PropertySetNode extends PropertyCacheNode<PropertySetNode.SetCacheN
         AbstractShapeCheckNode shapeCheck = createShapeCheckNode(cacheShape, thisObj, depth, false, false);
 
         if (JSProperty.isData(property)) {
+            if (depth == 0 && JSShape.isBuiltinObject(cacheShape) && !(key instanceof HiddenKey)) {
+                // writes to built-ins of a resettable realm must be recorded
+                return createGenericPropertyNode();
+            }
             return createCachedDataPropertyNodeJSObject(thisObj, depth, value, shapeCheck, property);
         } else {
             assert JSProperty.isAccessor(property);
@@ -1343,8 +1347,9 @@ public class PropertySetNode extends PropertyCacheNode<PropertySetNode.SetCacheN
                 return new TypeErrorPropertySetNode(shapeCheck);
             } else if (JSArrayBufferView.isJSArrayBufferView(store) && isNonIntegerIndex(key)) {
                 return new ArrayBufferViewNonIntegerIndexSetNode(shapeCheck);
-            } else if (superProperty) {
+            } else if (superProperty || (JSShape.isBuiltinObject(cacheShape) && !(key instanceof HiddenKey))) {
                 // define the property on the receiver; currently not handled, rewrite to generic
+                // (writes to built-ins of a resettable realm must be recorded, too)
                 return createGenericPropertyNode();
             } else if (JSShape.isExtensible(cacheShape) || key instanceof HiddenKey) {
                 return createDefinePropertyNode(key, shapeCheck, value, context, getAttributeFlags(), isDeclaration());
@@ -123,6 +123,12 @@ public abstract class SetViewValueNode extends JavaScriptNode {
             errorBranch.enter();
             throw Errors.createRangeError("index + elementSize > viewLength");
         }
+        if (!context.getArrayBufferNotReadOnlyAssumption().isValid()) {
+            if (JSArrayBuffer.isReadOnlyBuffer(buffer)) {
+                errorBranch.enter();
+                throw Errors.createTypeErrorReadOnlyBuffer(this);
+            }
+        }
         int viewOffset = JSDataView.typedArrayGetOffset(dataView);
 
         assert getIndex + viewOffset <= Integer.MAX_VALUE;
@@ -787,6 +787,12 @@ public class WriteElementNode extends JSTargetableNode {
                 throw Errors.createTypeErrorDetachedBuffer();
             }
         }
+
+        protected void checkReadOnlyArrayBuffer(DynamicObject target, WriteElementNode root) {
+            if (JSArrayBufferView.hasReadOnlyBuffer(target, root.context)) {
+                throw Errors.createTypeErrorReadOnlyBuffer(this);
+            }
+        }
     }
 
     private abstract static class RecursiveCachedArrayWriteElementCacheNode extends ArrayClassGuardCachedArrayWriteElementCacheNode {
@@ -1466,6 +1472,7 @@ public class WriteElementNode extends JSTargetableNode {
             int iValue = toInt(value); // could throw
             checkDetachedArrayBuffer(target, root);
             if (inBoundsProfile.profile(typedArray.hasElement(target, index))) {
+                checkReadOnlyArrayBuffer(target, root);
                 typedArray.setInt(target, (int) index, iValue);
             } else {
                 // do nothing; cf. ES6 9.4.5.9 IntegerIndexedElementSet(O, index, value)
@@ -1506,6 +1513,7 @@ public class WriteElementNode extends JSTargetableNode {
             BigInt biValue = toBigIntNode.executeBigInteger(value); // could throw
             checkDetachedArrayBuffer(target, root);
             if (inBoundsProfile.profile(typedArray.hasElement(target, index))) {
+                checkReadOnlyArrayBuffer(target, root);
                 typedArray.setBigInt(target, (int) index, biValue);
             }
             return true;
@@ -1580,6 +1588,7 @@ public class WriteElementNode extends JSTargetableNode {
             double dValue = toDouble(value); // could throw
             checkDetachedArrayBuffer(target, root);
             if (inBoundsProfile.profile(typedArray.hasElement(target, index))) {
+                checkReadOnlyArrayBuffer(target, root);
                 typedArray.setDouble(target, (int) index, dValue);
             } else {
                 // do nothing; cf. ES6 9.4.5.9 IntegerIndexedElementSet(O, index, value)
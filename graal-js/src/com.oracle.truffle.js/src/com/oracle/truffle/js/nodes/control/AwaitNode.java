@@ -51,6 +51,7 @@ import com.oracle.truffle.api.RootCallTarget;
 import com.oracle.truffle.api.Truffle;
 import com.oracle.truffle.api.TruffleStackTrace;
 import com.oracle.truffle.api.TruffleStackTraceElement;
+import com.oracle.truffle.api.frame.Frame;
 import com.oracle.truffle.api.frame.MaterializedFrame;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.instrumentation.InstrumentableNode;
@@ -82,6 +83,7 @@ import com.oracle.truffle.js.runtime.JSArguments;
 import com.oracle.truffle.js.runtime.JSConfig;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSFrameUtil;
+import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.JavaScriptRootNode;
 import com.oracle.truffle.js.runtime.UserScriptException;
 import com.oracle.truffle.js.runtime.builtins.JSFunction;
@@ -109,10 +111,13 @@ public class AwaitNode extends JavaScriptNode implements ResumableNode, SuspendN
     @Child private PropertySetNode setAsyncCallNode;
     @Child private PropertySetNode setAsyncGeneratorNode;
     @Child private JSTargetableNode materializedInputNode;
+    @Child private PropertyGetNode getPromiseResultNode;
     protected final JSContext context;
     private final ConditionProfile asyncTypeProf = ConditionProfile.createBinaryProfile();
     private final ConditionProfile resumptionTypeProf = ConditionProfile.createBinaryProfile();
     private final BranchProfile saveStackBranch = BranchProfile.create();
+    private final ConditionProfile primitiveValueProf = ConditionProfile.createBinaryProfile();
+    private final ConditionProfile fulfilledPromiseProf = ConditionProfile.createBinaryProfile();
 
     static final HiddenKey ASYNC_CONTEXT = new HiddenKey("AsyncContext");
     static final HiddenKey ASYNC_TARGET = new HiddenKey("AsyncTarget");
@@ -191,12 +196,27 @@ public class AwaitNode extends JavaScriptNode implements ResumableNode, SuspendN
             context.notifyPromiseHook(-1 /* parent info */, (DynamicObject) parentPromise);
         }
 
+        boolean fastPath = isFastPathApplicable();
+        if (fastPath && primitiveValueProf.profile(JSRuntime.isJSPrimitive(value))) {
+            // The promise that PromiseResolve would create is not observable, it is fulfilled
+            // with the value and has no other reactions.
+            enqueueAwaitFulfilledJob(frame, initialState, value);
+            throw YieldException.AWAIT_NULL;
+        }
+
         DynamicObject promise = promiseResolve(value);
+        if (fastPath && fulfilledPromiseProf.profile(JSPromise.isFulfilled(promise))) {
+            // PerformPromiseThen would enqueue the reaction job right away.
+            enqueueAwaitFulfilledJob(frame, initialState, getPromiseResult(promise));
+            throw YieldException.AWAIT_NULL;
+        }
+
         DynamicObject onFulfilled = createAwaitFulfilledFunction(resumeTarget, asyncContext, generatorOrCapability);
         DynamicObject onRejected = createAwaitRejectedFunction(resumeTarget, asyncContext, generatorOrCapability);
         PromiseCapabilityRecord throwawayCapability = newThrowawayCapability();
 
-        fillAsyncStackTrace(frame, onFulfilled, onRejected);
+        setAsyncCallNode(onFulfilled, onRejected);
+        fillAsyncStackTrace(frame);
         context.notifyPromiseHook(-1 /* parent info */, promise);
 
         if (materializedInputNode != null) {
@@ -206,11 +226,40 @@ public class AwaitNode extends JavaScriptNode implements ResumableNode, SuspendN
         throw YieldException.AWAIT_NULL; // value is ignored
     }
 
-    private void fillAsyncStackTrace(VirtualFrame frame, DynamicObject onFulfilled, DynamicObject onRejected) {
+    /**
+     * Whether awaiting a primitive or an already fulfilled native promise may resume the async
+     * function directly from a single promise job instead of creating the resolving functions and
+     * a promise reaction. This is not observable unless promise hooks or instrumentation are
+     * watching the intermediate promise, and requires the await optimization (PromiseResolve)
+     * without a throwaway capability.
+     */
+    private boolean isFastPathApplicable() {
+        return context.usePromiseResolve() && context.getEcmaScriptVersion() >= JSConfig.ECMAScript2019 && materializedInputNode == null &&
+                        context.getPromiseHookNotUsedAssumption().isValid();
+    }
+
+    private void enqueueAwaitFulfilledJob(VirtualFrame frame, Object[] initialState, Object value) {
+        fillAsyncStackTrace(frame);
+        JSFunctionData functionData = context.getOrCreateBuiltinFunctionData(JSContext.BuiltinFunctionKey.AwaitFulfilledJob, (c) -> createAwaitFulfilledJobImpl(c));
+        context.promiseEnqueueJob(context.getRealm(), functionData.getCallTarget(), initialState, value);
+    }
+
+    private Object getPromiseResult(DynamicObject promise) {
+        if (getPromiseResultNode == null) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            getPromiseResultNode = insert(PropertyGetNode.createGetHidden(JSPromise.PROMISE_RESULT, context));
+        }
+        return getPromiseResultNode.getValue(promise);
+    }
+
+    private void setAsyncCallNode(DynamicObject onFulfilled, DynamicObject onRejected) {
         if (setAsyncCallNode != null) {
             setAsyncCallNode.setValue(onFulfilled, expression);
             setAsyncCallNode.setValue(onRejected, expression);
         }
+    }
+
+    private void fillAsyncStackTrace(VirtualFrame frame) {
         if (context.isOptionAsyncStackTraces()) {
             Object[] asyncContext = (Object[]) readAsyncContextNode.execute(frame);
             int asyncStackDepth = 0;
@@ -387,6 +436,61 @@ public class AwaitNode extends JavaScriptNode implements ResumableNode, SuspendN
         return JSFunctionData.createCallOnly(context, callTarget, 1, "");
     }
 
+    private static JSFunctionData createAwaitFulfilledJobImpl(JSContext context) {
+        CallTarget callTarget = Truffle.getRuntime().createCallTarget(new AwaitFulfilledJobRootNode(context));
+        return JSFunctionData.createCallOnly(context, callTarget, 0, "");
+    }
+
+    /**
+     * Promise job that resumes an async function awaiting a value that is already known to be
+     * fulfilled. The user arguments are the async context array of the suspended function and the
+     * fulfillment value.
+     */
+    public static final class AwaitFulfilledJobRootNode extends JavaScriptRootNode {
+        private final JSContext context;
+        @Child private AwaitResumeNode awaitResumeNode;
+
+        AwaitFulfilledJobRootNode(JSContext context) {
+            super(context.getLanguage(), null, null);
+            this.context = context;
+            this.awaitResumeNode = AwaitResumeNode.create(false);
+        }
+
+        @Override
+        public Object execute(VirtualFrame frame) {
+            Object[] arguments = frame.getArguments();
+            Object[] asyncState = (Object[]) JSArguments.getUserArgument(arguments, 0);
+            Object value = JSArguments.getUserArgument(arguments, 1);
+            CallTarget asyncTarget = (CallTarget) asyncState[AsyncRootNode.CALL_TARGET_INDEX];
+            Object asyncContext = asyncState[AsyncRootNode.ASYNC_FRAME_INDEX];
+            Object generator = asyncState[AsyncRootNode.GENERATOR_OBJECT_OR_PROMISE_CAPABILITY_INDEX];
+            return awaitResumeNode.execute(asyncTarget, asyncContext, generator, value);
+        }
+
+        @Override
+        public boolean isCaptureFramesForTrace() {
+            return context.isOptionAsyncStackTraces();
+        }
+
+        @Override
+        protected List<TruffleStackTraceElement> findAsynchronousFrames(Frame frame) {
+            if (!context.isOptionAsyncStackTraces()) {
+                return null;
+            }
+
+            Object[] asyncState = (Object[]) JSArguments.getUserArgument(frame.getArguments(), 0);
+            RootCallTarget asyncTarget = (RootCallTarget) asyncState[AsyncRootNode.CALL_TARGET_INDEX];
+            if (asyncTarget.getRootNode() instanceof AsyncRootNode) {
+                MaterializedFrame asyncContextFrame = (MaterializedFrame) asyncState[AsyncRootNode.ASYNC_FRAME_INDEX];
+                DynamicObject asyncPromise = ((AsyncRootNode) asyncTarget.getRootNode()).getAsyncFunctionPromise(asyncContextFrame);
+                if (asyncPromise != null) {
+                    return findAsyncStackFramesFromPromise(asyncPromise);
+                }
+            }
+            return null;
+        }
+    }
+
     @Override
     protected JavaScriptNode copyUninitialized(Set<Class<? extends Tag>> materializedTags) {
         JavaScriptNode expressionCopy = cloneUninitialized(expression, materializedTags);
@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.nodes.control;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.instrumentation.InstrumentableNode;
+import com.oracle.truffle.api.instrumentation.StandardTags.CallTag;
+import com.oracle.truffle.api.instrumentation.StandardTags.RootBodyTag;
+import com.oracle.truffle.api.instrumentation.StandardTags.RootTag;
+import com.oracle.truffle.api.instrumentation.StandardTags.StatementTag;
+import com.oracle.truffle.api.instrumentation.Tag;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
+import com.oracle.truffle.api.nodes.NodeInfo;
+import com.oracle.truffle.api.profiles.BranchProfile;
+import com.oracle.truffle.api.profiles.ConditionProfile;
+import com.oracle.truffle.js.nodes.JavaScriptNode;
+import com.oracle.truffle.js.nodes.instrumentation.JSTags;
+import com.oracle.truffle.js.nodes.instrumentation.JSTags.ControlFlowRootTag;
+import com.oracle.truffle.js.runtime.JSRuntime;
+import com.oracle.truffle.js.runtime.SafeInteger;
+
+/**
+ * Switch whose case labels are all int or string literals.
+ *
+ * The translator uses this node instead of {@link SwitchNode}, which compares the switch value with
+ * each case expression in turn, if a switch has at least {@code JSConfig.MinJumpTableSwitchCases}
+ * cases besides {@code default} and all their labels are int or string literals (except for
+ * {@code switch (typeof x)}, which has its own specialization). The tables map a case value to the
+ * index of the first case with that label: a dense array indexed by {@code value - min} for int
+ * cases that are close together, sorted keys with binary search for other int cases, and a hash
+ * map for string cases. The case index is then mapped to the first statement to execute through
+ * the same jump table as in {@link SwitchNode}.
+ *
+ * Since literal case expressions have no side effects, this is equivalent to {@link SwitchNode}.
+ * The case expressions are only kept for instrumentation: if tags that observe them (control flow,
+ * expression, or operation tags) are materialized, the node is replaced by a regular
+ * {@link SwitchNode}.
+ */
+@NodeInfo(shortName = "switch")
+public final class JumpTableSwitchNode extends StatementNode {
+
+    /** Maximum ratio of table size to number of int cases for a dense table. */
+    private static final int MAX_DENSE_TABLE_RATIO = 4;
+
+    @Children private final JavaScriptNode[] caseExpressions;
+    @Children private final JavaScriptNode[] statements;
+    @Child private JavaScriptNode switchExpression;
+    /** @see SwitchNode */
+    @CompilationFinal(dimensions = 1) private final int[] jumptable;
+    private final Object[] caseValues;
+
+    /** Sorted int case values and the corresponding case indices. */
+    @CompilationFinal(dimensions = 1) private final int[] intKeys;
+    @CompilationFinal(dimensions = 1) private final int[] intCases;
+    /** If non-null, case index of (value - denseTableMin), or -1 for no case. */
+    @CompilationFinal(dimensions = 1) private final int[] denseTable;
+    private final int denseTableMin;
+    private final Map<String, Integer> stringCases;
+
+    private final ConditionProfile intValueProfile = ConditionProfile.createBinaryProfile();
+    private final BranchProfile doubleValueBranch = BranchProfile.create();
+    private final BranchProfile stringValueBranch = BranchProfile.create();
+
+    private JumpTableSwitchNode(JavaScriptNode switchExpression, JavaScriptNode[] caseExpressions, Object[] caseValues, int[] jumptable, JavaScriptNode[] statements) {
+        assert caseExpressions.length == caseValues.length && caseExpressions.length == jumptable.length - 1;
+        this.switchExpression = switchExpression;
+        this.caseExpressions = caseExpressions;
+        this.caseValues = caseValues;
+        this.jumptable = jumptable;
+        this.statements = statements;
+
+        Map<Integer, Integer> intCaseMap = new HashMap<>();
+        Map<String, Integer> stringCaseMap = new HashMap<>();
+        for (int i = 0; i < caseValues.length; i++) {
+            Object value = caseValues[i];
+            assert isSupportedCaseValue(value) : value;
+            // with duplicate labels, the first case wins
+            if (value instanceof Integer) {
+                intCaseMap.putIfAbsent((Integer) value, i);
+            } else {
+                stringCaseMap.putIfAbsent((String) value, i);
+            }
+        }
+        this.intKeys = new int[intCaseMap.size()];
+        int k = 0;
+        for (Integer key : intCaseMap.keySet()) {
+            intKeys[k++] = key;
+        }
+        Arrays.sort(intKeys);
+        this.intCases = new int[intKeys.length];
+        for (int i = 0; i < intKeys.length; i++) {
+            intCases[i] = intCaseMap.get(intKeys[i]);
+        }
+        this.stringCases = stringCaseMap.isEmpty() ? null : stringCaseMap;
+
+        if (intKeys.length > 0 && (long) intKeys[intKeys.length - 1] - intKeys[0] < (long) intKeys.length * MAX_DENSE_TABLE_RATIO) {
+            this.denseTableMin = intKeys[0];
+            this.denseTable = new int[intKeys[intKeys.length - 1] - intKeys[0] + 1];
+            Arrays.fill(denseTable, -1);
+            for (int i = 0; i < intKeys.length; i++) {
+                denseTable[intKeys[i] - denseTableMin] = intCases[i];
+            }
+        } else {
+            this.denseTableMin = 0;
+            this.denseTable = null;
+        }
+    }
+
+    /**
+     * Creates a switch over the given case values, which must be {@link Integer} or {@link String}
+     * literals. The case expressions are the strict equality comparisons that {@link SwitchNode}
+     * would evaluate.
+     */
+    public static JumpTableSwitchNode create(JavaScriptNode switchExpression, JavaScriptNode[] caseExpressions, Object[] caseValues, int[] jumptable, JavaScriptNode[] statements) {
+        return new JumpTableSwitchNode(switchExpression, caseExpressions, caseValues, jumptable, statements);
+    }
+
+    public static boolean isSupportedCaseValue(Object value) {
+        return value instanceof Integer || value instanceof String;
+    }
+
+    @Override
+    public boolean hasTag(Class<? extends Tag> tag) {
+        if (tag == ControlFlowRootTag.class) {
+            return true;
+        }
+        return super.hasTag(tag);
+    }
+
+    @Override
+    public Object getNodeObject() {
+        return JSTags.createNodeObjectDescriptor("type", ControlFlowRootTag.Type.Conditional.name());
+    }
+
+    @Override
+    public InstrumentableNode materializeInstrumentableNodes(Set<Class<? extends Tag>> materializedTags) {
+        if (observesCaseExpressions(materializedTags)) {
+            // case expressions have to be executed (and reported) one by one
+            SwitchNode switchNode = SwitchNode.create(cloneUninitialized(caseExpressions, materializedTags), jumptable, cloneUninitialized(statements, materializedTags));
+            transferSourceSectionAndTags(this, switchNode);
+            return switchNode.materializeInstrumentableNodes(materializedTags);
+        }
+        return this;
+    }
+
+    private static boolean observesCaseExpressions(Set<Class<? extends Tag>> materializedTags) {
+        for (Class<? extends Tag> tag : materializedTags) {
+            if (tag != StatementTag.class && tag != RootTag.class && tag != RootBodyTag.class && tag != CallTag.class) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Object execute(VirtualFrame frame) {
+        int caseIndex = identifyTargetCase(switchExpression.execute(frame));
+        int statementStartIndex = caseIndex < 0 ? jumptable[jumptable.length - 1] : jumptable[caseIndex];
+        return executeStatements(frame, statementStartIndex);
+    }
+
+    private int identifyTargetCase(Object value) {
+        if (intValueProfile.profile(value instanceof Integer)) {
+            return lookupInt((int) value);
+        } else if (value instanceof Double) {
+            doubleValueBranch.enter();
+            double doubleValue = (double) value;
+            int intValue = (int) doubleValue;
+            // -0 === 0, NaN does not match any case
+            return intValue == doubleValue ? lookupInt(intValue) : -1;
+        } else if (value instanceof SafeInteger) {
+            long longValue = ((SafeInteger) value).longValue();
+            return (int) longValue == longValue ? lookupInt((int) longValue) : -1;
+        } else if (JSRuntime.isString(value)) {
+            stringValueBranch.enter();
+            return stringCases == null ? -1 : lookupString(JSRuntime.toStringIsString(value));
+        }
+        return -1;
+    }
+
+    private int lookupInt(int value) {
+        if (denseTable != null) {
+            int tableIndex = value - denseTableMin;
+            if (tableIndex >= 0 && tableIndex < denseTable.length) {
+                return denseTable[tableIndex];
+            }
+            return -1;
+        }
+        int keyIndex = Arrays.binarySearch(intKeys, value);
+        return keyIndex >= 0 ? intCases[keyIndex] : -1;
+    }
+
+    @TruffleBoundary
+    private int lookupString(String value) {
+        Integer caseIndex = stringCases.get(value);
+        return caseIndex == null ? -1 : caseIndex;
+    }
+
+    @ExplodeLoop
+    private Object executeStatements(VirtualFrame frame, int statementStartIndex) {
+        Object result = EMPTY;
+        for (int statementIndex = 0; statementIndex < statements.length; statementIndex++) {
+            if (statementIndex >= statementStartIndex) {
+                result = statements[statementIndex].execute(frame);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    protected JavaScriptNode copyUninitialized(Set<Class<? extends Tag>> materializedTags) {
+        return create(cloneUninitialized(switchExpression, materializedTags), cloneUninitialized(caseExpressions, materializedTags), caseValues, jumptable,
+                        cloneUninitialized(statements, materializedTags));
+    }
+}
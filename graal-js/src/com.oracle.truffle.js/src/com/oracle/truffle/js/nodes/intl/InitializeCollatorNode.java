@@ -42,12 +42,14 @@ package com.oracle.truffle.js.nodes.intl;
 
 import java.util.MissingResourceException;
 
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.api.profiles.BranchProfile;
 import com.oracle.truffle.js.nodes.JavaScriptBaseNode;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.builtins.intl.IntlObjectCache;
 import com.oracle.truffle.js.runtime.builtins.intl.JSCollator;
 import com.oracle.truffle.js.runtime.util.IntlUtil;
 
@@ -87,6 +89,29 @@ public abstract class InitializeCollatorNode extends JavaScriptBaseNode {
         return InitializeCollatorNodeGen.create(context);
     }
 
+    /**
+     * Returns the internal state of a new Collator initialized with the given arguments, for
+     * builtins that compare strings without exposing the Collator object. States that do not
+     * depend on user code are shared through the {@link IntlObjectCache}.
+     */
+    @TruffleBoundary
+    public JSCollator.InternalState createInternalState(Object locales, Object options) {
+        Object key = null;
+        if (IntlObjectCache.isCacheable(locales, options)) {
+            key = IntlObjectCache.key(JSCollator.InternalState.class, locales);
+            JSCollator.InternalState cached = (JSCollator.InternalState) context.getIntlObjectCache().get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        DynamicObject collatorObj = executeInit(JSCollator.create(context), locales, options);
+        JSCollator.InternalState state = JSCollator.getInternalState(collatorObj);
+        if (key != null) {
+            context.getIntlObjectCache().put(key, state);
+        }
+        return state;
+    }
+
     @Specialization
     public DynamicObject initializeCollator(DynamicObject collatorObj, Object localesArg, Object optionsArg) {
 
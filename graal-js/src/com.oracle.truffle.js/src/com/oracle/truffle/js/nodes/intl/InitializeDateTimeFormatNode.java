@@ -53,6 +53,7 @@ import com.oracle.truffle.js.nodes.access.PropertyGetNode;
 import com.oracle.truffle.js.nodes.cast.JSToStringNode;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.builtins.intl.IntlObjectCache;
 import com.oracle.truffle.js.runtime.builtins.intl.JSDateTimeFormat;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.js.runtime.util.IntlUtil;
@@ -133,6 +134,30 @@ public abstract class InitializeDateTimeFormatNode extends JavaScriptBaseNode {
         return InitializeDateTimeFormatNodeGen.create(context, required, defaults);
     }
 
+    /**
+     * Returns the internal state of a new DateTimeFormat initialized with the given arguments, for
+     * builtins that format a date without exposing the DateTimeFormat object. States that do not
+     * depend on user code are shared through the {@link IntlObjectCache}, so they must only be
+     * used with {@link JSDateTimeFormat#formatShared}.
+     */
+    @TruffleBoundary
+    public JSDateTimeFormat.InternalState createInternalState(Object locales, Object options) {
+        Object key = null;
+        if (IntlObjectCache.isCacheable(locales, options)) {
+            key = IntlObjectCache.key(JSDateTimeFormat.InternalState.class, required, defaults, locales, context.getRealm().getLocalTimeZoneId());
+            JSDateTimeFormat.InternalState cached = (JSDateTimeFormat.InternalState) context.getIntlObjectCache().get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        DynamicObject dateTimeFormatObj = executeInit(JSDateTimeFormat.create(context), locales, options);
+        JSDateTimeFormat.InternalState state = JSDateTimeFormat.getInternalState(dateTimeFormatObj);
+        if (key != null) {
+            context.getIntlObjectCache().put(key, state);
+        }
+        return state;
+    }
+
     @Specialization
     public DynamicObject initializeDateTimeFormat(DynamicObject dateTimeFormatObj, Object localesArg, Object optionsArg) {
 
@@ -42,12 +42,14 @@ package com.oracle.truffle.js.nodes.intl;
 
 import java.util.MissingResourceException;
 
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.api.profiles.BranchProfile;
 import com.oracle.truffle.js.nodes.JavaScriptBaseNode;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.builtins.intl.IntlObjectCache;
 import com.oracle.truffle.js.runtime.builtins.intl.JSNumberFormat;
 import com.oracle.truffle.js.runtime.util.IntlUtil;
 
@@ -109,6 +111,29 @@ public abstract class InitializeNumberFormatNode extends JavaScriptBaseNode {
         return InitializeNumberFormatNodeGen.create(context);
     }
 
+    /**
+     * Returns the internal state of a new NumberFormat initialized with the given arguments, for
+     * builtins that format a value without exposing the NumberFormat object. States that do not
+     * depend on user code are shared through the {@link IntlObjectCache}.
+     */
+    @TruffleBoundary
+    public JSNumberFormat.InternalState createInternalState(Object locales, Object options) {
+        Object key = null;
+        if (IntlObjectCache.isCacheable(locales, options)) {
+            key = IntlObjectCache.key(JSNumberFormat.InternalState.class, locales);
+            JSNumberFormat.InternalState cached = (JSNumberFormat.InternalState) context.getIntlObjectCache().get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        DynamicObject numberFormatObj = executeInit(JSNumberFormat.create(context), locales, options);
+        JSNumberFormat.InternalState state = JSNumberFormat.getInternalState(numberFormatObj);
+        if (key != null) {
+            context.getIntlObjectCache().put(key, state);
+        }
+        return state;
+    }
+
     @Specialization
     public DynamicObject initializeNumberFormat(DynamicObject numberFormatObj, Object localesArg, Object optionsArg) {
         try {
@@ -156,7 +181,7 @@ public abstract class InitializeNumberFormatNode extends JavaScriptBaseNode {
             String signDisplay = getSignDisplayOption.executeValue(options);
             state.setSignDisplay(signDisplay);
 
-            state.initializeNumberFormatter();
+            state.initializeNumberFormatter(context);
         } catch (MissingResourceException e) {
             errorBranch.enter();
             throw Errors.createICU4JDataError(e);
@@ -102,8 +102,8 @@ public abstract class InitializePluralRulesNode extends JavaScriptBaseNode {
             state.resolveLocaleAndNumberingSystem(context, locales, null);
             setNumberFormatDigitOptions.execute(state, options, 0, 3, false);
 
-            state.initializeNumberFormatter();
-            state.initializePluralRules();
+            state.initializeNumberFormatter(context);
+            state.initializePluralRules(context);
         } catch (MissingResourceException e) {
             errorBranch.enter();
             throw Errors.createICU4JDataError(e);
@@ -141,7 +141,7 @@ public class ImportCallNode extends JavaScriptNode {
             return promise;
         } else {
             PromiseCapabilityRecord promiseCapability = newPromiseCapability();
-            context.promiseEnqueueJob(realm, createImportModuleDynamicallyJob((ScriptOrModule) referencingScriptOrModule, specifier, promiseCapability));
+            enqueueImportModuleDynamicallyJob(realm, (ScriptOrModule) referencingScriptOrModule, specifier, promiseCapability);
             return promiseCapability.getPromise();
         }
     }
@@ -171,17 +171,17 @@ public class ImportCallNode extends JavaScriptNode {
     }
 
     /**
-     * Returns a promise job that performs both HostImportModuleDynamically and FinishDynamicImport.
+     * Enqueues a promise job that performs both HostImportModuleDynamically and FinishDynamicImport.
      */
-    public DynamicObject createImportModuleDynamicallyJob(ScriptOrModule referencingScriptOrModule, String specifier, PromiseCapabilityRecord promiseCapability) {
+    public void enqueueImportModuleDynamicallyJob(JSRealm realm, ScriptOrModule referencingScriptOrModule, String specifier, PromiseCapabilityRecord promiseCapability) {
         if (context.getEcmaScriptVersion() >= ECMAScript2021) {
             Triple<ScriptOrModule, String, PromiseCapabilityRecord> request = new Triple<>(referencingScriptOrModule, specifier, promiseCapability);
             PromiseCapabilityRecord startModuleLoadCapability = newPromiseCapability();
             PromiseReactionRecord startModuleLoad = PromiseReactionRecord.create(startModuleLoadCapability, createImportModuleDynamicallyHandler(), true);
-            return promiseReactionJobNode.execute(startModuleLoad, request);
+            promiseReactionJobNode.enqueue(realm, startModuleLoad, request);
         } else {
             Pair<ScriptOrModule, String> request = new Pair<>(referencingScriptOrModule, specifier);
-            return promiseReactionJobNode.execute(PromiseReactionRecord.create(promiseCapability, createImportModuleDynamicallyHandler(), true), request);
+            promiseReactionJobNode.enqueue(realm, PromiseReactionRecord.create(promiseCapability, createImportModuleDynamicallyHandler(), true), request);
         }
     }
 
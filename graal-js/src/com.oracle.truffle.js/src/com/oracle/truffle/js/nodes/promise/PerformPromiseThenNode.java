@@ -98,16 +98,14 @@ public class PerformPromiseThenNode extends JavaScriptBaseNode {
             ((SimpleArrayList<? super PromiseReactionRecord>) getPromiseRejectReactionsNode.getValue(promise)).add(rejectReaction, growProfile);
         } else if (fulfilledProf.profile(promiseState == JSPromise.FULFILLED)) {
             Object value = getPromiseResult(promise);
-            DynamicObject job = getPromiseReactionJob(fulfillReaction, value);
-            context.promiseEnqueueJob(context.getRealm(), job);
+            enqueuePromiseReactionJob(fulfillReaction, value);
         } else {
             assert promiseState == JSPromise.REJECTED;
             Object reason = getPromiseResult(promise);
             if (unhandledProf.profile(!getPromiseIsHandled(promise))) {
                 context.notifyPromiseRejectionTracker(promise, JSPromise.REJECTION_TRACKER_OPERATION_HANDLE, Undefined.instance);
             }
-            DynamicObject job = getPromiseReactionJob(rejectReaction, reason);
-            context.promiseEnqueueJob(context.getRealm(), job);
+            enqueuePromiseReactionJob(rejectReaction, reason);
         }
         setPromiseIsHandledNode.setValueBoolean(promise, true);
         if (resultCapability == null) {
@@ -116,12 +114,12 @@ public class PerformPromiseThenNode extends JavaScriptBaseNode {
         return resultCapability.getPromise();
     }
 
-    private DynamicObject getPromiseReactionJob(PromiseReactionRecord reaction, Object value) {
+    private void enqueuePromiseReactionJob(PromiseReactionRecord reaction, Object value) {
         if (promiseReactionJobNode == null) {
             CompilerDirectives.transferToInterpreterAndInvalidate();
             promiseReactionJobNode = insert(PromiseReactionJobNode.create(context));
         }
-        return promiseReactionJobNode.execute(reaction, value);
+        promiseReactionJobNode.enqueue(context.getRealm(), reaction, value);
     }
 
     private Object getPromiseResult(DynamicObject promise) {
@@ -53,19 +53,16 @@ import com.oracle.truffle.api.instrumentation.ProbeNode;
 import com.oracle.truffle.api.instrumentation.StandardTags;
 import com.oracle.truffle.api.instrumentation.Tag;
 import com.oracle.truffle.api.object.DynamicObject;
-import com.oracle.truffle.api.object.HiddenKey;
 import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.api.profiles.ValueProfile;
 import com.oracle.truffle.js.nodes.JavaScriptBaseNode;
-import com.oracle.truffle.js.nodes.access.PropertyGetNode;
-import com.oracle.truffle.js.nodes.access.PropertySetNode;
 import com.oracle.truffle.js.nodes.control.AwaitNode;
 import com.oracle.truffle.js.nodes.control.TryCatchNode;
 import com.oracle.truffle.js.nodes.function.JSFunctionCallNode;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSArguments;
 import com.oracle.truffle.js.runtime.JSContext;
-import com.oracle.truffle.js.runtime.JSFrameUtil;
+import com.oracle.truffle.js.runtime.JSRealm;
 import com.oracle.truffle.js.runtime.JavaScriptRootNode;
 import com.oracle.truffle.js.runtime.PromiseHook;
 import com.oracle.truffle.js.runtime.builtins.JSFunction;
@@ -76,30 +73,25 @@ import com.oracle.truffle.js.runtime.objects.Undefined;
 
 import static com.oracle.truffle.js.runtime.JSConfig.ECMAScript2021;
 
+/**
+ * Enqueues a PromiseReactionJob. The job is a record of the reaction and the argument in the job
+ * queue; it is executed by calling the shared call target of {@link PromiseReactionJobRootNode}
+ * with both as arguments, so no function object is created per job.
+ */
 public class PromiseReactionJobNode extends JavaScriptBaseNode {
-    static final HiddenKey REACTION_KEY = new HiddenKey("Reaction");
-    static final HiddenKey ARGUMENT_KEY = new HiddenKey("Argument");
-
     private final JSContext context;
-    @Child private PropertySetNode setReaction;
-    @Child private PropertySetNode setArgument;
 
     protected PromiseReactionJobNode(JSContext context) {
         this.context = context;
-        this.setReaction = PropertySetNode.createSetHidden(REACTION_KEY, context);
-        this.setArgument = PropertySetNode.createSetHidden(ARGUMENT_KEY, context);
     }
 
     public static PromiseReactionJobNode create(JSContext context) {
         return new PromiseReactionJobNode(context);
     }
 
-    public DynamicObject execute(Object reaction, Object argument) {
+    public void enqueue(JSRealm realm, PromiseReactionRecord reaction, Object argument) {
         JSFunctionData functionData = context.getOrCreateBuiltinFunctionData(JSContext.BuiltinFunctionKey.PromiseReactionJob, (c) -> createPromiseReactionJobImpl(c));
-        DynamicObject function = JSFunction.create(context.getRealm(), functionData);
-        setReaction.setValue(function, reaction);
-        setArgument.setValue(function, argument);
-        return function;
+        context.promiseEnqueueJob(realm, functionData.getCallTarget(), reaction, argument);
     }
 
     private static JSFunctionData createPromiseReactionJobImpl(JSContext context) {
@@ -109,8 +101,6 @@ public class PromiseReactionJobNode extends JavaScriptBaseNode {
 
     public static class PromiseReactionJobRootNode extends JavaScriptRootNode implements InstrumentableNode {
         private final JSContext context;
-        @Child private PropertyGetNode getReaction;
-        @Child private PropertyGetNode getArgument;
         @Child private JSFunctionCallNode callResolveNode;
         @Child private JSFunctionCallNode callRejectNode;
         @Child private JSFunctionCallNode callHandlerNode;
@@ -121,15 +111,13 @@ public class PromiseReactionJobNode extends JavaScriptBaseNode {
         PromiseReactionJobRootNode(JSContext context) {
             super(context.getLanguage(), null, null);
             this.context = context;
-            this.getReaction = PropertyGetNode.createGetHidden(REACTION_KEY, context);
-            this.getArgument = PropertyGetNode.createGetHidden(ARGUMENT_KEY, context);
         }
 
         @Override
         public Object execute(VirtualFrame frame) {
-            DynamicObject functionObject = JSFrameUtil.getFunctionObject(frame);
-            PromiseReactionRecord reaction = (PromiseReactionRecord) getReaction.getValue(functionObject);
-            Object argument = getArgument.getValue(functionObject);
+            Object[] arguments = frame.getArguments();
+            PromiseReactionRecord reaction = (PromiseReactionRecord) JSArguments.getUserArgument(arguments, 0);
+            Object argument = JSArguments.getUserArgument(arguments, 1);
 
             PromiseCapabilityRecord promiseCapability = reaction.getCapability();
             Object handler = reaction.getHandler();
@@ -220,8 +208,7 @@ public class PromiseReactionJobNode extends JavaScriptBaseNode {
                 return null;
             }
 
-            DynamicObject functionObject = JSFrameUtil.getFunctionObject(frame);
-            PromiseReactionRecord reaction = (PromiseReactionRecord) getReaction.getValue(functionObject);
+            PromiseReactionRecord reaction = (PromiseReactionRecord) JSArguments.getUserArgument(frame.getArguments(), 0);
             PromiseCapabilityRecord promiseCapability = reaction.getCapability();
             if (promiseCapability != null) {
                 return AwaitNode.findAsyncStackFramesFromPromise(promiseCapability.getPromise());
@@ -40,9 +40,9 @@
  */
 package com.oracle.truffle.js.nodes.promise;
 
-import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.js.nodes.JavaScriptBaseNode;
 import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.objects.PromiseReactionRecord;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.js.runtime.util.SimpleArrayList;
 
@@ -66,9 +66,8 @@ public class TriggerPromiseReactionsNode extends JavaScriptBaseNode {
     public Object execute(Object reactions, Object argument) {
         SimpleArrayList<?> list = (SimpleArrayList<?>) reactions;
         for (int i = 0; i < list.size(); i++) {
-            Object reaction = list.get(i);
-            DynamicObject job = promiseReactionJob.execute(reaction, argument);
-            context.promiseEnqueueJob(context.getRealm(), job);
+            PromiseReactionRecord reaction = (PromiseReactionRecord) list.get(i);
+            promiseReactionJob.enqueue(context.getRealm(), reaction, argument);
         }
         return Undefined.instance;
     }
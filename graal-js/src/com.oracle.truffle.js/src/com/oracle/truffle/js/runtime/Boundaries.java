@@ -383,11 +383,6 @@ public final class Boundaries {
         return economicSet.contains(element);
     }
 
-    @TruffleBoundary(allowInlining = true)
-    public static byte[] byteBufferArray(ByteBuffer buffer) {
-        return buffer.array();
-    }
-
     @TruffleBoundary(allowInlining = true)
     public static void byteBufferPutSlice(ByteBuffer dst, int dstPos, ByteBuffer src, int srcPos, int srcLimit) {
         ByteBuffer slice = byteBufferSlice(src, srcPos, srcLimit);
@@ -396,6 +391,20 @@ public final class Boundaries {
         dstDup.put(slice);
     }
 
+    @TruffleBoundary(allowInlining = true)
+    public static void byteBufferPutArray(ByteBuffer dst, int dstPos, byte[] src, int srcPos, int length) {
+        ByteBuffer dstDup = dst.duplicate();
+        BufferUtil.asBaseBuffer(dstDup).position(dstPos);
+        dstDup.put(src, srcPos, length);
+    }
+
+    @TruffleBoundary(allowInlining = true)
+    public static void byteBufferGetArray(ByteBuffer src, int srcPos, byte[] dst, int dstPos, int length) {
+        ByteBuffer srcDup = src.duplicate();
+        BufferUtil.asBaseBuffer(srcDup).position(srcPos);
+        srcDup.get(dst, dstPos, length);
+    }
+
     @TruffleBoundary(allowInlining = true)
     public static ByteBuffer byteBufferSlice(ByteBuffer buf, int pos, int limit) {
         ByteBuffer dup = buf.duplicate();
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * Engine-wide cache of compiled TRegex objects, keyed by pattern and flags. Call sites that
+ * compile more distinct regular expressions than their inline cache can hold (e.g. the RegExp
+ * constructor called with dynamically built patterns) look up the compiled regex here instead of
+ * compiling it again. The cache is shared by all realms of a {@link JSContext}.
+ *
+ * Only successfully compiled regular expressions are cached. The least recently used entry is
+ * evicted when the cache exceeds its maximum size.
+ */
+public final class CompiledRegexCache {
+
+    private final int maxSize;
+    private final Map<Key, Object> cache;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public CompiledRegexCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.cache = new LinkedHashMap<Key, Object>(16, 0.75F, true) {
+            private static final long serialVersionUID = -3204985106412315218L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Object> eldest) {
+                return size() > CompiledRegexCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the compiled regex for the pattern and flags, or {@code null} if it has not been
+     * compiled yet (or was evicted).
+     */
+    @TruffleBoundary
+    public Object get(String pattern, String flags) {
+        if (maxSize <= 0) {
+            return null;
+        }
+        Object cached;
+        synchronized (cache) {
+            cached = cache.get(new Key(pattern, flags));
+        }
+        if (cached != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+        }
+        return cached;
+    }
+
+    @TruffleBoundary
+    public void put(String pattern, String flags, Object compiledRegex) {
+        if (maxSize <= 0) {
+            return;
+        }
+        synchronized (cache) {
+            cache.put(new Key(pattern, flags), compiledRegex);
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Returns the ratio of lookups that found a compiled regex, or 0 if there were no lookups.
+     */
+    public double getHitRate() {
+        long h = hits.get();
+        long total = h + misses.get();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    @TruffleBoundary
+    @Override
+    public String toString() {
+        return String.format("CompiledRegexCache[size=%d, maxSize=%d, hits=%d, misses=%d, hitRate=%.3f]",
+                        size(), maxSize, getHits(), getMisses(), getHitRate());
+    }
+
+    private static final class Key {
+        private final String pattern;
+        private final String flags;
+
+        Key(String pattern, String flags) {
+            this.pattern = pattern;
+            this.flags = flags;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * pattern.hashCode() + flags.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            } else if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return pattern.equals(other.pattern) && flags.equals(other.flags);
+        }
+    }
+}
@@ -518,6 +518,16 @@ public final class Errors {
         return Errors.createTypeError("Detached buffer");
     }
 
+    @TruffleBoundary
+    public static JSException createTypeErrorReadOnlyBuffer() {
+        return Errors.createTypeError("Cannot modify a read-only ArrayBuffer");
+    }
+
+    @TruffleBoundary
+    public static JSException createTypeErrorReadOnlyBuffer(Node originatingNode) {
+        return Errors.createTypeError("Cannot modify a read-only ArrayBuffer", originatingNode);
+    }
+
     @TruffleBoundary
     public static JSException createTypeErrorArrayBufferExpected() {
         return Errors.createTypeError("ArrayBuffer expected");
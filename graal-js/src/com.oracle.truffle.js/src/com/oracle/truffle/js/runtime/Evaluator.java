@@ -48,6 +48,7 @@ import com.oracle.truffle.api.source.Source;
 import com.oracle.truffle.js.nodes.JavaScriptNode;
 import com.oracle.truffle.js.nodes.ScriptNode;
 import com.oracle.truffle.js.runtime.objects.ExportResolution;
+import com.oracle.truffle.js.runtime.objects.JSModuleData;
 import com.oracle.truffle.js.runtime.objects.JSModuleLoader;
 import com.oracle.truffle.js.runtime.objects.JSModuleRecord;
 import com.oracle.truffle.js.runtime.objects.ScriptOrModule;
@@ -83,8 +84,17 @@ public interface Evaluator {
      */
     Object getDefaultNodeFactory();
 
+    /**
+     * Creates a module record for the source, reusing the parsed module from the context's
+     * {@linkplain JSContext#getModuleCache() module cache} if possible.
+     */
     JSModuleRecord parseModule(JSContext context, Source source, JSModuleLoader moduleLoader);
 
+    /**
+     * Parses and translates module code, without consulting the module cache.
+     */
+    JSModuleData parseModule(JSContext context, Source source);
+
     JSModuleRecord hostResolveImportedModule(JSContext context, ScriptOrModule referencingScriptOrModule, String specifier);
 
     void moduleInstantiation(JSRealm realm, JSModuleRecord moduleRecord);
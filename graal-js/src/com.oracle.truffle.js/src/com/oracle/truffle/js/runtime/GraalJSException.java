@@ -57,6 +57,7 @@ import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.api.source.Source;
 import com.oracle.truffle.api.source.SourceSection;
 import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.nodes.control.AwaitNode.AwaitFulfilledJobRootNode;
 import com.oracle.truffle.js.nodes.promise.PerformPromiseAllNode.PromiseAllMarkerRootNode;
 import com.oracle.truffle.js.nodes.promise.PromiseReactionJobNode.PromiseReactionJobRootNode;
 import com.oracle.truffle.js.runtime.builtins.JSError;
@@ -233,7 +234,7 @@ public abstract class GraalJSException extends RuntimeException implements Truff
             return null;
         }
         if (rootNode instanceof JavaScriptRootNode) {
-            if (rootNode instanceof PromiseReactionJobRootNode) {
+            if (rootNode instanceof PromiseReactionJobRootNode || rootNode instanceof AwaitFulfilledJobRootNode) {
                 return JavaScriptRootNode.findAsynchronousFrames((JavaScriptRootNode) rootNode, element.getFrame());
             } else {
                 // We do not want to include any of the extra stack trace elements available when
@@ -42,13 +42,17 @@ package com.oracle.truffle.js.runtime;
 
 import java.lang.ref.WeakReference;
 import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Deque;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.graalvm.collections.EconomicSet;
 import org.graalvm.collections.Equivalence;
 
+import com.oracle.truffle.api.CallTarget;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.js.runtime.JSAgentWaiterList.JSAgentWaiterListEntry;
@@ -76,7 +80,7 @@ public abstract class JSAgent implements EcmaAgent {
     /**
      * ECMA 8.4 "PromiseJobs" job queue.
      */
-    private final Deque<DynamicObject> promiseJobsQueue;
+    private final PromiseJobQueue promiseJobsQueue;
 
     /**
      * According to ECMA2017 8.4 the queue of pending jobs (promises reactions) must be processed
@@ -95,15 +99,18 @@ public abstract class JSAgent implements EcmaAgent {
 
     private final Deque<WeakReference<JSFinalizationRegistryObject>> finalizationRegistryQueue;
 
+    /**
+     * ECMA 19.4.2.2 GlobalSymbolRegistry, shared by all realms of this agent.
+     */
+    private Map<String, Symbol> symbolRegistry;
+
     public JSAgent(boolean canBlock) {
         this.signifier = signifierGenerator.incrementAndGet();
         this.canBlock = canBlock;
-        this.promiseJobsQueue = new ArrayDeque<>(4);
+        this.promiseJobsQueue = new PromiseJobQueue();
         this.finalizationRegistryQueue = new ArrayDeque<>(4);
     }
 
-    public abstract void wakeAgent(int w);
-
     public int getSignifier() {
         return signifier;
     }
@@ -148,22 +155,56 @@ public abstract class JSAgent implements EcmaAgent {
 
     @TruffleBoundary
     public final void enqueuePromiseJob(DynamicObject job) {
-        promiseJobsQueue.push(job);
+        if (JSFunction.isJSFunction(job)) {
+            promiseJobsQueue.add(JSFunction.getRealm(job), job, null, null);
+        }
+    }
+
+    /**
+     * Enqueues a job that is executed by calling the call target with the two arguments in the
+     * given realm, without creating a function object for it.
+     */
+    @TruffleBoundary
+    public final void enqueuePromiseJob(JSRealm realm, CallTarget job, Object argument0, Object argument1) {
+        promiseJobsQueue.add(realm, job, argument0, argument1);
+    }
+
+    public final boolean hasPendingPromiseJobs() {
+        return !promiseJobsQueue.isEmpty();
+    }
+
+    public final Map<String, Symbol> getSymbolRegistry() {
+        if (symbolRegistry == null) {
+            symbolRegistry = new HashMap<>();
+        }
+        return symbolRegistry;
+    }
+
+    /**
+     * Forgets the state left behind by the code that ran in this agent: registered symbols,
+     * finalization registries and weak reference targets. Used when the realm of the agent is reset.
+     */
+    @TruffleBoundary
+    public final void resetRealmState() {
+        assert promiseJobsQueue.isEmpty();
+        symbolRegistry = null;
+        weakRefTargets = null;
+        finalizationRegistryQueue.clear();
     }
 
     @TruffleBoundary
     public final void processAllPromises(boolean processWeakRefs) {
         try {
             while (!promiseJobsQueue.isEmpty()) {
-                DynamicObject nextJob = promiseJobsQueue.pollLast();
-                if (JSFunction.isJSFunction(nextJob)) {
-                    JSRealm functionRealm = JSFunction.getRealm(nextJob);
-                    Object prev = functionRealm.getTruffleContext().enter();
-                    try {
-                        JSFunction.call(nextJob, Undefined.instance, JSArguments.EMPTY_ARGUMENTS_ARRAY);
-                    } finally {
-                        functionRealm.getTruffleContext().leave(prev);
-                    }
+                // run all consecutive jobs of the same realm within a single context enter
+                JSRealm realm = promiseJobsQueue.peekRealm();
+                Object prev = realm.getTruffleContext().enter();
+                try {
+                    do {
+                        promiseJobsQueue.runNext();
+                    } while (!promiseJobsQueue.isEmpty() && promiseJobsQueue.peekRealm() == realm);
+                } finally {
+                    realm.getTruffleContext().leave(prev);
                 }
             }
         } finally {
@@ -179,6 +220,78 @@ public abstract class JSAgent implements EcmaAgent {
         }
     }
 
+    /**
+     * FIFO ring buffer of jobs. Each job takes {@link #JOB_SIZE} consecutive slots: the realm, the
+     * job (a function or a call target) and two arguments for a call target.
+     */
+    private static final class PromiseJobQueue {
+        private static final int JOB_SIZE = 4;
+        private static final int INITIAL_CAPACITY = 16;
+
+        private Object[] slots = new Object[INITIAL_CAPACITY * JOB_SIZE];
+        /** Slot index of the first job. */
+        private int head;
+        private int count;
+
+        boolean isEmpty() {
+            return count == 0;
+        }
+
+        void add(JSRealm realm, Object job, Object argument0, Object argument1) {
+            if (count * JOB_SIZE == slots.length) {
+                grow();
+            }
+            int index = (head + count * JOB_SIZE) & (slots.length - 1);
+            slots[index] = realm;
+            slots[index + 1] = job;
+            slots[index + 2] = argument0;
+            slots[index + 3] = argument1;
+            count++;
+        }
+
+        private void grow() {
+            Object[] newSlots = new Object[slots.length * 2];
+            int firstPart = slots.length - head;
+            System.arraycopy(slots, head, newSlots, 0, firstPart);
+            System.arraycopy(slots, 0, newSlots, firstPart, head);
+            slots = newSlots;
+            head = 0;
+        }
+
+        JSRealm peekRealm() {
+            assert count > 0;
+            return (JSRealm) slots[head];
+        }
+
+        /**
+         * Removes the first job and runs it; the current context must be that of its realm.
+         */
+        void runNext() {
+            assert count > 0;
+            int index = head;
+            Object job = slots[index + 1];
+            Object argument0 = slots[index + 2];
+            Object argument1 = slots[index + 3];
+            Arrays.fill(slots, index, index + JOB_SIZE, null);
+            head = (head + JOB_SIZE) & (slots.length - 1);
+            count--;
+            if (job instanceof CallTarget) {
+                Object[] arguments = JSArguments.createInitial(Undefined.instance, Undefined.instance, 2);
+                JSArguments.setUserArgument(arguments, 0, argument0);
+                JSArguments.setUserArgument(arguments, 1, argument1);
+                ((CallTarget) job).call(arguments);
+            } else {
+                JSFunction.call((DynamicObject) job, Undefined.instance, JSArguments.EMPTY_ARGUMENTS_ARRAY);
+            }
+        }
+
+        void clear() {
+            Arrays.fill(slots, null);
+            head = 0;
+            count = 0;
+        }
+    }
+
     /**
      * Cleanup the finalizationRegistries that are unreferenced; cleanup referenced ones according
      * to 4.1.3 Execution and 4.1.4.1 HostCleanupFinalizatioRegistry.
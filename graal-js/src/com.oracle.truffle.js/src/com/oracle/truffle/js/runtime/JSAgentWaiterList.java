@@ -40,13 +40,16 @@
  */
 package com.oracle.truffle.js.runtime;
 
-import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import java.util.ArrayDeque;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
 import java.util.concurrent.locks.ReentrantLock;
 
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
 /**
  * Java-based implementation of ECMA2017 WaiterList (24.4.1.2).
  */
@@ -62,6 +65,9 @@ public class JSAgentWaiterList {
         this.globalMonitor = new ReentrantLock();
     }
 
+    /**
+     * Returns the waiter list for the given byte index in the shared buffer.
+     */
     public JSAgentWaiterListEntry getListForIndex(int indexPos) {
         JSAgentWaiterListEntry list = Boundaries.mapPutIfAbsent(waiters, indexPos, new JSAgentWaiterListEntry());
         if (list == null) {
@@ -79,16 +85,19 @@ public class JSAgentWaiterList {
         globalMonitor.unlock();
     }
 
-    public static final class JSAgentWaiterListEntry extends ConcurrentLinkedQueue<Integer> {
-
-        private static final long serialVersionUID = 2655886588267252886L;
+    /**
+     * FIFO queue of the agents waiting on a single location. All accesses to the queue must happen
+     * in the critical section guarded by {@link #lock()}.
+     */
+    public static final class JSAgentWaiterListEntry {
 
         private final Lock indexMonitor;
+        private final ArrayDeque<JSAgentWaiter> queue;
 
         @TruffleBoundary
         public JSAgentWaiterListEntry() {
-            super();
             this.indexMonitor = new ReentrantLock();
+            this.queue = new ArrayDeque<>(4);
         }
 
         public void lock() {
@@ -99,6 +108,96 @@ public class JSAgentWaiterList {
             indexMonitor.unlock();
         }
 
+        @TruffleBoundary
+        public void add(JSAgentWaiter waiter) {
+            queue.addLast(waiter);
+        }
+
+        @TruffleBoundary
+        public boolean remove(JSAgentWaiter waiter) {
+            return queue.remove(waiter);
+        }
+
+        @TruffleBoundary
+        public boolean contains(JSAgentWaiter waiter) {
+            return queue.contains(waiter);
+        }
+
+        public int size() {
+            return queue.size();
+        }
+
+        /**
+         * Wakes up to {@code count} waiters in FIFO order. Returns the number of woken waiters.
+         */
+        @TruffleBoundary
+        public int notifyWaiters(int count) {
+            int n = 0;
+            while (n < count) {
+                JSAgentWaiter waiter = queue.pollFirst();
+                if (waiter == null) {
+                    break;
+                }
+                waiter.wake();
+                n++;
+            }
+            return n;
+        }
     }
 
+    /**
+     * A single agent blocked in {@code Atomics.wait}. The waiting thread parks until it is
+     * notified, its timeout elapses, or it is interrupted (e.g. to terminate a worker).
+     */
+    public static final class JSAgentWaiter {
+
+        /** Timeouts beyond this are treated as infinite to avoid overflowing the deadline. */
+        private static final long MAX_TIMEOUT_NANOS = Long.MAX_VALUE >> 1;
+
+        private final int agentSignifier;
+        private final Thread thread;
+        private volatile boolean notified;
+
+        public JSAgentWaiter(int agentSignifier, Thread thread) {
+            this.agentSignifier = agentSignifier;
+            this.thread = thread;
+        }
+
+        public int getAgentSignifier() {
+            return agentSignifier;
+        }
+
+        public boolean isNotified() {
+            return notified;
+        }
+
+        void wake() {
+            notified = true;
+            LockSupport.unpark(thread);
+        }
+
+        /**
+         * Parks the current thread until this waiter has been notified, the timeout (in
+         * milliseconds, possibly infinite) has elapsed, or the thread is interrupted. The interrupt
+         * status is left set, so that whoever interrupted the thread can act on it.
+         */
+        @TruffleBoundary
+        public void await(double timeoutMillis) {
+            assert thread == Thread.currentThread();
+            double timeoutNanos = timeoutMillis * TimeUnit.MILLISECONDS.toNanos(1);
+            boolean timed = timeoutNanos < MAX_TIMEOUT_NANOS;
+            long deadline = timed ? System.nanoTime() + (long) timeoutNanos : 0;
+            while (!notified && !thread.isInterrupted()) {
+                if (timed) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    LockSupport.parkNanos(this, remaining);
+                } else {
+                    LockSupport.park(this);
+                }
+            }
+        }
+    }
 }
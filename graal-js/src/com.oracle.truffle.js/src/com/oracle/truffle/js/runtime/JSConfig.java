@@ -94,6 +94,7 @@ public final class JSConfig {
     public static final boolean LazyStrings = true;
     public static final int MinLazyStringLength = 20;
     public static final int ConcatToLeafLimit = MinLazyStringLength / 2;
+    public static final int SlicedStringRatio = 4;
 
     // Parser options
     public static final boolean ReturnOptimizer = true;
@@ -101,6 +102,8 @@ public final class JSConfig {
     public static final boolean LocalVarIncDecNode = true;
     public static final boolean OptimizeApplyArguments = true;
     public static boolean OptimizeNoFallthroughSwitch = false;
+    /** Minimum number of int or string literal cases for a table-dispatched switch. */
+    public static final int MinJumpTableSwitchCases = 8;
     public static final boolean ManyBlockScopes = false;
     public static final boolean YieldResultInFrame = true;
     public static final boolean LazyFunctionData = true;
@@ -82,6 +82,12 @@ public class JSConsoleUtil {
         }
     }
 
+    public void reset() {
+        countMap = null;
+        timeMap = null;
+        consoleIndentation = 0;
+    }
+
     @TruffleBoundary
     public String getConsoleIndentationString() {
         StringBuilder sb = new StringBuilder();
@@ -40,7 +40,6 @@
  */
 package com.oracle.truffle.js.runtime;
 
-import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
 import java.util.WeakHashMap;
@@ -110,6 +109,7 @@ import com.oracle.truffle.js.runtime.builtins.JSWeakMap;
 import com.oracle.truffle.js.runtime.builtins.JSWeakRef;
 import com.oracle.truffle.js.runtime.builtins.JSWeakSet;
 import com.oracle.truffle.js.runtime.builtins.PrototypeSupplier;
+import com.oracle.truffle.js.runtime.builtins.intl.IntlObjectCache;
 import com.oracle.truffle.js.runtime.builtins.intl.JSCollator;
 import com.oracle.truffle.js.runtime.builtins.intl.JSDateTimeFormat;
 import com.oracle.truffle.js.runtime.builtins.intl.JSDisplayNames;
@@ -123,6 +123,7 @@ import com.oracle.truffle.js.runtime.java.JavaImporter;
 import com.oracle.truffle.js.runtime.java.JavaPackage;
 import com.oracle.truffle.js.runtime.java.adapter.JavaAdapterFactory;
 import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
+import com.oracle.truffle.js.runtime.objects.JSModuleCache;
 import com.oracle.truffle.js.runtime.objects.JSModuleRecord;
 import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.JSPrototypeData;
@@ -172,6 +173,13 @@ public class JSContext {
      */
     @CompilationFinal private Assumption typedArrayNotDetachedAssumption;
 
+    /**
+     * Assumption: ArrayBuffers are never backed by read-only ByteBuffers (e.g. files mapped
+     * read-only), i.e., direct ArrayBuffers are backed by writable ByteBuffers of the exact class
+     * returned by {@link java.nio.ByteBuffer#allocateDirect}.
+     */
+    @CompilationFinal private Assumption arrayBufferNotReadOnlyAssumption;
+
     /**
      * Assumption: Static RegExp results (RegExp.$1 etc) are never used. As long as this assumption
      * holds, just the arguments of the last RegExp execution are stored, allowing RegExp result
@@ -179,7 +187,11 @@ public class JSContext {
      */
     private final Assumption regExpStaticResultUnusedAssumption;
 
-    private volatile Map<String, Symbol> symbolRegistry;
+    private volatile JSModuleCache moduleCache;
+
+    private volatile IntlObjectCache intlObjectCache;
+
+    private volatile CompiledRegexCache compiledRegexCache;
 
     private final Object nodeFactory;
 
@@ -219,6 +231,7 @@ public class JSContext {
         ArrayFlattenIntoArray,
         AwaitFulfilled,
         AwaitRejected,
+        AwaitFulfilledJob,
         AsyncGeneratorReturnFulfilled,
         AsyncGeneratorReturnRejected,
         AsyncFromSyncIteratorValueUnwrap,
@@ -435,6 +448,7 @@ public class JSContext {
         this.noSuchMethodUnusedAssumption = Truffle.getRuntime().createAssumption("noSuchMethodUnusedAssumption");
         this.arrayPrototypeNoElementsAssumption = Truffle.getRuntime().createAssumption("arrayPrototypeNoElementsAssumption");
         this.typedArrayNotDetachedAssumption = Truffle.getRuntime().createAssumption("typedArrayNotDetachedAssumption");
+        this.arrayBufferNotReadOnlyAssumption = Truffle.getRuntime().createAssumption("arrayBufferNotReadOnlyAssumption");
         this.fastArrayAssumption = Truffle.getRuntime().createAssumption("fastArrayAssumption");
         this.fastArgumentsObjectAssumption = Truffle.getRuntime().createAssumption("fastArgumentsObjectAssumption");
         this.regExpStaticResultUnusedAssumption = Truffle.getRuntime().createAssumption("regExpStaticResultUnusedAssumption");
@@ -604,6 +618,10 @@ public class JSContext {
         return typedArrayNotDetachedAssumption;
     }
 
+    public final Assumption getArrayBufferNotReadOnlyAssumption() {
+        return arrayBufferNotReadOnlyAssumption;
+    }
+
     public final Assumption getRegExpStaticResultUnusedAssumption() {
         return regExpStaticResultUnusedAssumption;
     }
@@ -673,18 +691,55 @@ public class JSContext {
         return JSShape.makeEmptyRoot(JSGlobal.INSTANCE, this);
     }
 
-    public final Map<String, Symbol> getSymbolRegistry() {
-        if (symbolRegistry == null) {
-            createSymbolRegistry();
+    /**
+     * Returns the cache of parsed module sources shared by all realms of this context.
+     */
+    @TruffleBoundary
+    public JSModuleCache getModuleCache() {
+        JSModuleCache result = moduleCache;
+        if (result == null) {
+            synchronized (this) {
+                result = moduleCache;
+                if (result == null) {
+                    result = moduleCache = new JSModuleCache(getContextOptions().getModuleCacheSize());
+                }
+            }
         }
-        return symbolRegistry;
+        return result;
     }
 
+    /**
+     * Returns the cache of ICU formatters and collators shared by all realms of this context.
+     */
     @TruffleBoundary
-    private synchronized void createSymbolRegistry() {
-        if (symbolRegistry == null) {
-            symbolRegistry = new HashMap<>();
+    public IntlObjectCache getIntlObjectCache() {
+        IntlObjectCache result = intlObjectCache;
+        if (result == null) {
+            synchronized (this) {
+                result = intlObjectCache;
+                if (result == null) {
+                    result = intlObjectCache = new IntlObjectCache(getContextOptions().getIntlCacheSize());
+                }
+            }
         }
+        return result;
+    }
+
+    /**
+     * Returns the cache of compiled regular expressions shared by all realms of this context.
+     */
+    @TruffleBoundary
+    public CompiledRegexCache getCompiledRegexCache() {
+        CompiledRegexCache result = compiledRegexCache;
+        if (result == null) {
+            synchronized (this) {
+                result = compiledRegexCache;
+                if (result == null) {
+                    result = compiledRegexCache = new CompiledRegexCache(getContextOptions().getRegexCacheSize());
+                }
+            }
+        }
+        return result;
     }
 
     /**
@@ -695,6 +750,15 @@ public class JSContext {
         realm.getAgent().enqueuePromiseJob(job);
     }
 
+    /**
+     * ECMA 8.4.1 EnqueueJob for a job that is not represented by a function object. The job is
+     * executed by calling the call target with the two arguments.
+     */
+    public final void promiseEnqueueJob(JSRealm realm, CallTarget job, Object argument0, Object argument1) {
+        invalidatePromiseQueueNotUsedAssumption();
+        realm.getAgent().enqueuePromiseJob(realm, job, argument0, argument1);
+    }
+
     private void invalidatePromiseQueueNotUsedAssumption() {
         Assumption promiseJobsQueueEmptyAssumption = language.getPromiseJobsQueueEmptyAssumption();
         if (promiseJobsQueueEmptyAssumption.isValid()) {
@@ -1008,10 +1072,6 @@ public class JSContext {
         return regExpGroupsEmptyShape;
     }
 
-    public void setSymbolRegistry(Map<String, Symbol> newSymbolRegistry) {
-        this.symbolRegistry = newSymbolRegistry;
-    }
-
     public Map<Shape, JSShapeData> getShapeDataMap() {
         assert Thread.holdsLock(this);
         Map<Shape, JSShapeData> map = shapeDataMap;
@@ -1296,6 +1356,10 @@ public class JSContext {
         return contextOptions.getStringLengthLimit();
     }
 
+    public int getSlicedStringRatio() {
+        return contextOptions.getSlicedStringRatio();
+    }
+
     public boolean usePromiseResolve() {
         return contextOptions.isAwaitOptimization();
     }
@@ -1374,6 +1438,10 @@ public class JSContext {
         this.promiseHook = promiseHook;
     }
 
+    public final Assumption getPromiseHookNotUsedAssumption() {
+        return promiseHookNotUsedAssumption;
+    }
+
     private void invalidatePromiseHookNotUsedAssumption() {
         if (promiseHookNotUsedAssumption.isValid()) {
             CompilerDirectives.transferToInterpreterAndInvalidate();
@@ -42,7 +42,9 @@ package com.oracle.truffle.js.runtime;
 
 import java.time.DateTimeException;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -311,10 +313,27 @@ public final class JSContextOptions {
     @Option(name = COMMONJS_REQUIRE_GLOBAL_PROPERTIES_NAME, category = OptionCategory.USER, help = "Npm package used to populate Node.js global object.") //
     public static final OptionKey<String> COMMONJS_REQUIRE_GLOBAL_PROPERTIES = new OptionKey<>("");
 
+    public static final String COMMONJS_RESOLUTION_CACHE_NAME = JS_OPTION_PREFIX + "commonjs-resolution-cache";
+    @Option(name = COMMONJS_RESOLUTION_CACHE_NAME, category = OptionCategory.EXPERT, help = "Cache file system lookups and package.json files of CommonJS and npm module resolution in the context: " +
+                    "'none', 'validate' (check modification times of directories and package.json files, default) or 'permanent'.") //
+    public static final OptionKey<String> COMMONJS_RESOLUTION_CACHE = new OptionKey<>("validate", new OptionType<>("commonjs-resolution-cache", new Function<String, String>() {
+        @Override
+        public String apply(String mode) {
+            if (!"none".equals(mode) && !"validate".equals(mode) && !"permanent".equals(mode)) {
+                throw new IllegalArgumentException("Supported values are none, validate and permanent.");
+            }
+            return mode;
+        }
+    }));
+
     public static final String GRAAL_BUILTIN_NAME = JS_OPTION_PREFIX + "graal-builtin";
     @Option(name = GRAAL_BUILTIN_NAME, category = OptionCategory.USER, help = "Provide 'Graal' global property.") //
     public static final OptionKey<Boolean> GRAAL_BUILTIN = new OptionKey<>(true);
 
+    public static final String MAP_FILE_NAME = JS_OPTION_PREFIX + "map-file";
+    @Option(name = MAP_FILE_NAME, category = OptionCategory.USER, help = "Provide 'Graal.mapFile' to map files into ArrayBuffers (requires IO access).") //
+    public static final OptionKey<Boolean> MAP_FILE = new OptionKey<>(false);
+
     public static final String POLYGLOT_BUILTIN_NAME = JS_OPTION_PREFIX + "polyglot-builtin";
     @Option(name = POLYGLOT_BUILTIN_NAME, category = OptionCategory.USER, help = "Provide 'Polyglot' global property.", deprecated = true) //
     public static final OptionKey<Boolean> POLYGLOT_BUILTIN = new OptionKey<>(true);
@@ -405,11 +424,28 @@ public final class JSContextOptions {
     public static final OptionKey<Integer> FUNCTION_CONSTRUCTOR_CACHE_SIZE = new OptionKey<>(32);
     @CompilationFinal private int functionConstructorCacheSize;
 
+    public static final String MODULE_CACHE_SIZE_NAME = JS_OPTION_PREFIX + "module-cache-size";
+    @Option(name = MODULE_CACHE_SIZE_NAME, category = OptionCategory.EXPERT, help = "Maximum number of parsed ES modules shared by the contexts of an engine (0 disables the cache).") //
+    public static final OptionKey<Integer> MODULE_CACHE_SIZE = new OptionKey<>(1024);
+
+    public static final String INTL_CACHE_SIZE_NAME = JS_OPTION_PREFIX + "intl-cache-size";
+    @Option(name = INTL_CACHE_SIZE_NAME, category = OptionCategory.EXPERT, help = "Maximum number of ICU formatters and collators shared by the contexts of an engine (0 disables the cache).") //
+    public static final OptionKey<Integer> INTL_CACHE_SIZE = new OptionKey<>(256);
+
+    public static final String REGEX_CACHE_SIZE_NAME = JS_OPTION_PREFIX + "regex-cache-size";
+    @Option(name = REGEX_CACHE_SIZE_NAME, category = OptionCategory.EXPERT, help = "Maximum number of compiled regular expressions shared by the contexts of an engine (0 disables the cache).") //
+    public static final OptionKey<Integer> REGEX_CACHE_SIZE = new OptionKey<>(512);
+
     public static final String STRING_LENGTH_LIMIT_NAME = JS_OPTION_PREFIX + "string-length-limit";
     @Option(name = STRING_LENGTH_LIMIT_NAME, category = OptionCategory.EXPERT, help = "Maximum string length.") //
     public static final OptionKey<Integer> STRING_LENGTH_LIMIT = new OptionKey<>(JSConfig.StringLengthLimit);
     @CompilationFinal private int stringLengthLimit;
 
+    public static final String SLICED_STRING_RATIO_NAME = JS_OPTION_PREFIX + "sliced-string-ratio";
+    @Option(name = SLICED_STRING_RATIO_NAME, category = OptionCategory.EXPERT, help = "Substrings that are at least 1/ratio as long as their parent string share its characters instead of copying them (0 disables sliced strings).") //
+    public static final OptionKey<Integer> SLICED_STRING_RATIO = new OptionKey<>(JSConfig.SlicedStringRatio);
+    @CompilationFinal private int slicedStringRatio;
+
     public static final String BIND_MEMBER_FUNCTIONS_NAME = JS_OPTION_PREFIX + "bind-member-functions";
     @Option(name = BIND_MEMBER_FUNCTIONS_NAME, category = OptionCategory.EXPERT, help = "Bind functions returned by Value.getMember to the receiver object.") //
     public static final OptionKey<Boolean> BIND_MEMBER_FUNCTIONS = new OptionKey<>(true);
@@ -447,6 +483,16 @@ public final class JSContextOptions {
     public static final OptionKey<Boolean> LAZY_TRANSLATION = new OptionKey<>(false);
     @CompilationFinal private boolean lazyTranslation;
 
+    public static final String LAZY_PARSING_NAME = JS_OPTION_PREFIX + "lazy-parsing";
+    @Option(name = LAZY_PARSING_NAME, category = OptionCategory.EXPERT, help = "Keep only the names referenced by function bodies after parsing and parse the bodies again on first call. Implies lazy-translation, unless code-cache-dir is set.") //
+    public static final OptionKey<Boolean> LAZY_PARSING = new OptionKey<>(false);
+    @CompilationFinal private boolean lazyParsing;
+
+    public static final String CODE_CACHE_DIR_NAME = JS_OPTION_PREFIX + "code-cache-dir";
+    @Option(name = CODE_CACHE_DIR_NAME, category = OptionCategory.EXPERT, help = "Directory of a persistent cache of script snapshots (disabled if empty). " +
+                    "Function bodies are translated eagerly while the cache is enabled, so that their snapshots can be recorded.") //
+    public static final OptionKey<String> CODE_CACHE_DIR = new OptionKey<>("");
+
     public static final String MAX_TYPED_ARRAY_LENGTH_NAME = JS_OPTION_PREFIX + "max-typed-array-length";
     @Option(name = MAX_TYPED_ARRAY_LENGTH_NAME, category = OptionCategory.EXPERT, help = "Maximum allowed length for TypedArrays.") //
     public static final OptionKey<Integer> MAX_TYPED_ARRAY_LENGTH = new OptionKey<>(JSConfig.MaxTypedArrayLength);
@@ -549,12 +595,15 @@ public final class JSContextOptions {
         this.validateRegExpLiterals = readBooleanOption(VALIDATE_REGEXP_LITERALS);
         this.functionConstructorCacheSize = readIntegerOption(FUNCTION_CONSTRUCTOR_CACHE_SIZE);
         this.stringLengthLimit = readIntegerOption(STRING_LENGTH_LIMIT);
+        this.slicedStringRatio = readIntegerOption(SLICED_STRING_RATIO);
         this.bindMemberFunctions = readBooleanOption(BIND_MEMBER_FUNCTIONS);
         this.commonJSRequire = readBooleanOption(COMMONJS_REQUIRE);
         this.regexRegressionTestMode = readBooleanOption(REGEX_REGRESSION_TEST_MODE);
         this.interopCompletePromises = readBooleanOption(INTEROP_COMPLETE_PROMISES);
         this.testCloneUninitialized = readBooleanOption(TEST_CLONE_UNINITIALIZED);
-        this.lazyTranslation = readBooleanOption(LAZY_TRANSLATION);
+        this.lazyParsing = readBooleanOption(LAZY_PARSING);
+        // snapshots for the code cache can only be recorded from an eager translation
+        this.lazyTranslation = (readBooleanOption(LAZY_TRANSLATION) || lazyParsing) && CODE_CACHE_DIR.getValue(optionValues).isEmpty();
         this.stackTraceLimit = readIntegerOption(STACK_TRACE_LIMIT);
         this.maxTypedArrayLength = readIntegerOption(MAX_TYPED_ARRAY_LENGTH);
         this.maxApplyArgumentLength = readIntegerOption(MAX_APPLY_ARGUMENT_LENGTH);
@@ -607,6 +656,25 @@ public final class JSContextOptions {
         }
     }
 
+    /**
+     * Returns the name and value of every option except {@code excluded}, one per line and sorted
+     * by name, e.g. to key persistent caches of translated code on all options that may affect it.
+     */
+    public String describeOptionValues(OptionKey<?> excluded) {
+        List<OptionDescriptor> descriptors = new ArrayList<>();
+        for (OptionDescriptor desc : new JSContextOptionsOptionDescriptors()) {
+            if (desc.getKey() != excluded) {
+                descriptors.add(desc);
+            }
+        }
+        descriptors.sort(Comparator.comparing(OptionDescriptor::getName));
+        StringBuilder sb = new StringBuilder();
+        for (OptionDescriptor desc : descriptors) {
+            sb.append(desc.getName()).append('=').append(desc.getKey().getValue(optionValues)).append('\n');
+        }
+        return sb.toString();
+    }
+
     public <T> boolean optionWillChange(OptionKey<T> option, OptionValues newOptionValues) {
         return !option.getValue(this.optionValues).equals(option.getValue(newOptionValues));
     }
@@ -782,6 +850,11 @@ public final class JSContextOptions {
         return COMMONJS_REQUIRE_CWD.getValue(optionValues);
     }
 
+    public String getCommonJSResolutionCache() {
+        CompilerAsserts.neverPartOfCompilation("Context patchable option load was assumed not to be accessed in compiled code.");
+        return COMMONJS_RESOLUTION_CACHE.getValue(optionValues);
+    }
+
     public boolean isPerformance() {
         CompilerAsserts.neverPartOfCompilation("Context patchable option performance was assumed not to be accessed in compiled code.");
         return PERFORMANCE.getValue(optionValues) || (!PERFORMANCE.hasBeenSet(optionValues) && isShell());
@@ -796,6 +869,11 @@ public final class JSContextOptions {
         return GRAAL_BUILTIN.getValue(optionValues);
     }
 
+    public boolean isMapFile() {
+        CompilerAsserts.neverPartOfCompilation("Context patchable option map-file was assumed not to be accessed in compiled code.");
+        return MAP_FILE.getValue(optionValues);
+    }
+
     public boolean isPolyglotBuiltin() {
         return POLYGLOT_BUILTIN.getValue(optionValues);
     }
@@ -843,10 +921,29 @@ public final class JSContextOptions {
         return functionConstructorCacheSize;
     }
 
+    public int getModuleCacheSize() {
+        CompilerAsserts.neverPartOfCompilation("Context patchable option module-cache-size was assumed not to be accessed in compiled code.");
+        return MODULE_CACHE_SIZE.getValue(optionValues);
+    }
+
+    public int getIntlCacheSize() {
+        CompilerAsserts.neverPartOfCompilation("Context patchable option intl-cache-size was assumed not to be accessed in compiled code.");
+        return INTL_CACHE_SIZE.getValue(optionValues);
+    }
+
+    public int getRegexCacheSize() {
+        CompilerAsserts.neverPartOfCompilation("Context patchable option regex-cache-size was assumed not to be accessed in compiled code.");
+        return REGEX_CACHE_SIZE.getValue(optionValues);
+    }
+
     public int getStringLengthLimit() {
         return stringLengthLimit;
     }
 
+    public int getSlicedStringRatio() {
+        return slicedStringRatio;
+    }
+
     public boolean bindMemberFunctions() {
         return bindMemberFunctions;
     }
@@ -877,6 +974,14 @@ public final class JSContextOptions {
         return lazyTranslation;
     }
 
+    public boolean isLazyParsing() {
+        return lazyParsing;
+    }
+
+    public String getCodeCacheDirectory() {
+        return CODE_CACHE_DIR.getValue(optionValues);
+    }
+
     public boolean isProfileTimePrintCumulative() {
         CompilerAsserts.neverPartOfCompilation("Context patchable option profile-time-print-cumulative was assumed not to be accessed in compiled code.");
         return PROFILE_TIME_PRINT_CUMULATIVE.getValue(optionValues);
@@ -944,12 +1049,14 @@ public final class JSContextOptions {
         hash = 53 * hash + (this.validateRegExpLiterals ? 1 : 0);
         hash = 53 * hash + this.functionConstructorCacheSize;
         hash = 53 * hash + this.stringLengthLimit;
+        hash = 53 * hash + this.slicedStringRatio;
         hash = 53 * hash + (this.bindMemberFunctions ? 1 : 0);
         hash = 53 * hash + (this.commonJSRequire ? 1 : 0);
         hash = 53 * hash + (this.regexRegressionTestMode ? 1 : 0);
         hash = 53 * hash + (this.interopCompletePromises ? 1 : 0);
         hash = 53 * hash + (this.testCloneUninitialized ? 1 : 0);
         hash = 53 * hash + (this.lazyTranslation ? 1 : 0);
+        hash = 53 * hash + (this.lazyParsing ? 1 : 0);
         hash = 53 * hash + this.stackTraceLimit;
         hash = 53 * hash + (this.asyncStackTraces ? 1 : 0);
         hash = 53 * hash + this.maxTypedArrayLength;
@@ -1062,6 +1169,9 @@ public final class JSContextOptions {
         if (this.stringLengthLimit != other.stringLengthLimit) {
             return false;
         }
+        if (this.slicedStringRatio != other.slicedStringRatio) {
+            return false;
+        }
         if (this.bindMemberFunctions != other.bindMemberFunctions) {
             return false;
         }
@@ -1080,6 +1190,9 @@ public final class JSContextOptions {
         if (this.lazyTranslation != other.lazyTranslation) {
             return false;
         }
+        if (this.lazyParsing != other.lazyParsing) {
+            return false;
+        }
         if (this.stackTraceLimit != other.stackTraceLimit) {
             return false;
         }
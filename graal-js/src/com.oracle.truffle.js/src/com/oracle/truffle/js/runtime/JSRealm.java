@@ -48,12 +48,14 @@ import java.io.Writer;
 import java.time.DateTimeException;
 import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.SplittableRandom;
 import java.util.WeakHashMap;
+import java.util.function.Supplier;
 
 import org.graalvm.home.HomeFinder;
 import org.graalvm.options.OptionValues;
@@ -67,8 +69,13 @@ import com.oracle.truffle.api.TruffleContext;
 import com.oracle.truffle.api.TruffleFile;
 import com.oracle.truffle.api.TruffleLanguage;
 import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.InvalidArrayIndexException;
+import com.oracle.truffle.api.interop.UnknownIdentifierException;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.api.object.DynamicObjectLibrary;
+import com.oracle.truffle.api.object.Property;
 import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.js.builtins.ArrayIteratorPrototypeBuiltins;
 import com.oracle.truffle.js.builtins.AtomicsBuiltins;
@@ -76,6 +83,7 @@ import com.oracle.truffle.js.builtins.ConsoleBuiltins;
 import com.oracle.truffle.js.builtins.ConstructorBuiltins;
 import com.oracle.truffle.js.builtins.DebugBuiltins;
 import com.oracle.truffle.js.builtins.GlobalBuiltins;
+import com.oracle.truffle.js.builtins.GraalBuiltins;
 import com.oracle.truffle.js.builtins.JSBuiltinsContainer;
 import com.oracle.truffle.js.builtins.JavaBuiltins;
 import com.oracle.truffle.js.builtins.MapIteratorPrototypeBuiltins;
@@ -89,6 +97,7 @@ import com.oracle.truffle.js.builtins.RegExpStringIteratorPrototypeBuiltins;
 import com.oracle.truffle.js.builtins.SetIteratorPrototypeBuiltins;
 import com.oracle.truffle.js.builtins.StringIteratorPrototypeBuiltins;
 import com.oracle.truffle.js.builtins.commonjs.CommonJSRequireBuiltin;
+import com.oracle.truffle.js.builtins.commonjs.CommonJSResolutionCache;
 import com.oracle.truffle.js.builtins.commonjs.GlobalCommonJSRequireBuiltins;
 import com.oracle.truffle.js.builtins.commonjs.NpmCompatibleESModuleLoader;
 import com.oracle.truffle.js.lang.JavaScriptLanguage;
@@ -151,11 +160,13 @@ import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
 import com.oracle.truffle.js.runtime.objects.JSModuleLoader;
 import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
+import com.oracle.truffle.js.runtime.objects.JSProperty;
 import com.oracle.truffle.js.runtime.objects.PropertyDescriptor;
 import com.oracle.truffle.js.runtime.objects.PropertyProxy;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.js.runtime.util.PrintWriterWrapper;
 import com.oracle.truffle.js.runtime.util.TRegexUtil;
+import com.oracle.truffle.js.runtime.util.TimeZoneOffsetCache;
 
 /**
  * Container for JavaScript globals (i.e. an ECMAScript 6 Realm object).
@@ -198,24 +209,24 @@ public class JSRealm {
     private final DynamicObject stringPrototype;
     private final DynamicObject regExpConstructor;
     private final DynamicObject regExpPrototype;
-    private final DynamicObject collatorConstructor;
-    private final DynamicObject collatorPrototype;
-    private final DynamicObject numberFormatConstructor;
-    private final DynamicObject numberFormatPrototype;
-    private final DynamicObject pluralRulesConstructor;
-    private final DynamicObject pluralRulesPrototype;
-    private final DynamicObject listFormatConstructor;
-    private final DynamicObject listFormatPrototype;
-    private final DynamicObject dateTimeFormatConstructor;
-    private final DynamicObject dateTimeFormatPrototype;
-    private final DynamicObject relativeTimeFormatConstructor;
-    private final DynamicObject relativeTimeFormatPrototype;
-    private final DynamicObject segmenterConstructor;
-    private final DynamicObject segmenterPrototype;
-    private final DynamicObject displayNamesConstructor;
-    private final DynamicObject displayNamesPrototype;
-    private final DynamicObject localeConstructor;
-    private final DynamicObject localePrototype;
+    @CompilationFinal private DynamicObject collatorConstructor;
+    @CompilationFinal private DynamicObject collatorPrototype;
+    @CompilationFinal private DynamicObject numberFormatConstructor;
+    @CompilationFinal private DynamicObject numberFormatPrototype;
+    @CompilationFinal private DynamicObject pluralRulesConstructor;
+    @CompilationFinal private DynamicObject pluralRulesPrototype;
+    @CompilationFinal private DynamicObject listFormatConstructor;
+    @CompilationFinal private DynamicObject listFormatPrototype;
+    @CompilationFinal private DynamicObject dateTimeFormatConstructor;
+    @CompilationFinal private DynamicObject dateTimeFormatPrototype;
+    @CompilationFinal private DynamicObject relativeTimeFormatConstructor;
+    @CompilationFinal private DynamicObject relativeTimeFormatPrototype;
+    @CompilationFinal private DynamicObject segmenterConstructor;
+    @CompilationFinal private DynamicObject segmenterPrototype;
+    @CompilationFinal private DynamicObject displayNamesConstructor;
+    @CompilationFinal private DynamicObject displayNamesPrototype;
+    @CompilationFinal private DynamicObject localeConstructor;
+    @CompilationFinal private DynamicObject localePrototype;
     private final DynamicObject dateConstructor;
     private final DynamicObject datePrototype;
     @CompilationFinal(dimensions = 1) private final DynamicObject[] errorConstructors;
@@ -233,8 +244,8 @@ public class JSRealm {
     private final DynamicObject mapPrototype;
     private final DynamicObject setConstructor;
     private final DynamicObject setPrototype;
-    private final DynamicObject weakRefConstructor;
-    private final DynamicObject weakRefPrototype;
+    @CompilationFinal private DynamicObject weakRefConstructor;
+    @CompilationFinal private DynamicObject weakRefPrototype;
     private final DynamicObject weakMapConstructor;
     private final DynamicObject weakMapPrototype;
     private final DynamicObject weakSetConstructor;
@@ -258,6 +269,7 @@ public class JSRealm {
 
     @CompilationFinal(dimensions = 1) private final DynamicObject[] typedArrayConstructors;
     @CompilationFinal(dimensions = 1) private final DynamicObject[] typedArrayPrototypes;
+    @CompilationFinal private boolean typedArrayConstructorsInitialized;
     private final DynamicObject dataViewConstructor;
     private final DynamicObject dataViewPrototype;
     private final DynamicObject jsAdapterConstructor;
@@ -266,14 +278,14 @@ public class JSRealm {
     private final DynamicObject javaImporterPrototype;
     private final DynamicObject proxyConstructor;
     private final DynamicObject proxyPrototype;
-    private final DynamicObject finalizationRegistryConstructor;
-    private final DynamicObject finalizationRegistryPrototype;
+    @CompilationFinal private DynamicObject finalizationRegistryConstructor;
+    @CompilationFinal private DynamicObject finalizationRegistryPrototype;
 
     private final DynamicObject iteratorPrototype;
     private final DynamicObject arrayIteratorPrototype;
     private final DynamicObject setIteratorPrototype;
     private final DynamicObject mapIteratorPrototype;
-    private final DynamicObject segmentIteratorPrototype;
+    @CompilationFinal private DynamicObject segmentIteratorPrototype;
     private final DynamicObject stringIteratorPrototype;
     private final DynamicObject regExpStringIteratorPrototype;
     private final DynamicObject enumerateIteratorPrototype;
@@ -304,6 +316,10 @@ public class JSRealm {
     private final DynamicObject arrayProtoValuesIterator;
     @CompilationFinal private DynamicObject typedArrayConstructor;
     @CompilationFinal private DynamicObject typedArrayPrototype;
+    @CompilationFinal private boolean intlConstructorsInitialized;
+    @CompilationFinal private boolean weakRefConstructorsInitialized;
+    private DynamicObject reflectObject;
+    private DynamicObject atomicsObject;
 
     private DynamicObject preinitIntlObject;
     private DynamicObject preinitConsoleBuiltinObject;
@@ -341,6 +357,7 @@ public class JSRealm {
      * Local time zone ID. Initialized lazily.
      */
     @CompilationFinal private ZoneId localTimeZoneId;
+    private TimeZoneOffsetCache localTimeZoneOffsetCache;
 
     public static final long NANOSECONDS_PER_MILLISECOND = 1000000;
     private SplittableRandom random;
@@ -391,6 +408,22 @@ public class JSRealm {
      */
     private final Map<TruffleFile, DynamicObject> commonJSRequireCache;
 
+    /**
+     * Per-realm cache of the file system lookups of CommonJS and npm-compatible module resolution.
+     * Not shared with other contexts since they may have a different file system.
+     */
+    private CommonJSResolutionCache commonJSResolutionCache;
+
+    /**
+     * Global state recorded by {@link #capturePristineState()}.
+     */
+    private PristineRealmState pristineState;
+
+    /**
+     * Set when a built-in object marked by {@link #capturePristineState()} is modified.
+     */
+    private boolean builtinsModified;
+
     public JSRealm(JSContext context, TruffleLanguage.Env env) {
         this.context = context;
         this.truffleLanguageEnv = env; // can be null
@@ -499,7 +532,6 @@ public class JSRealm {
         this.arrayBufferPrototype = ctor.getPrototype();
         this.typedArrayConstructors = new DynamicObject[TypedArray.factories(context).length];
         this.typedArrayPrototypes = new DynamicObject[TypedArray.factories(context).length];
-        initializeTypedArrayConstructors();
         ctor = JSDataView.createConstructor(this);
         this.dataViewConstructor = ctor.getFunctionObject();
         this.dataViewPrototype = ctor.getPrototype();
@@ -520,34 +552,6 @@ public class JSRealm {
         this.stringIteratorPrototype = es6 ? createStringIteratorPrototype() : null;
         this.regExpStringIteratorPrototype = context.getContextOptions().getEcmaScriptVersion() >= JSConfig.ECMAScript2019 ? createRegExpStringIteratorPrototype() : null;
 
-        ctor = JSCollator.createConstructor(this);
-        this.collatorConstructor = ctor.getFunctionObject();
-        this.collatorPrototype = ctor.getPrototype();
-        ctor = JSNumberFormat.createConstructor(this);
-        this.numberFormatConstructor = ctor.getFunctionObject();
-        this.numberFormatPrototype = ctor.getPrototype();
-        ctor = JSDateTimeFormat.createConstructor(this);
-        this.dateTimeFormatConstructor = ctor.getFunctionObject();
-        this.dateTimeFormatPrototype = ctor.getPrototype();
-        ctor = JSPluralRules.createConstructor(this);
-        this.pluralRulesConstructor = ctor.getFunctionObject();
-        this.pluralRulesPrototype = ctor.getPrototype();
-        ctor = JSListFormat.createConstructor(this);
-        this.listFormatConstructor = ctor.getFunctionObject();
-        this.listFormatPrototype = ctor.getPrototype();
-        ctor = JSRelativeTimeFormat.createConstructor(this);
-        this.relativeTimeFormatConstructor = ctor.getFunctionObject();
-        this.relativeTimeFormatPrototype = ctor.getPrototype();
-        ctor = JSSegmenter.createConstructor(this);
-        this.segmenterConstructor = ctor.getFunctionObject();
-        this.segmenterPrototype = ctor.getPrototype();
-        this.segmentIteratorPrototype = JSSegmenter.createSegmentIteratorPrototype(context, this);
-        ctor = JSDisplayNames.createConstructor(this);
-        this.displayNamesConstructor = ctor.getFunctionObject();
-        this.displayNamesPrototype = ctor.getPrototype();
-        ctor = JSLocale.createConstructor(this);
-        this.localeConstructor = ctor.getFunctionObject();
-        this.localePrototype = ctor.getPrototype();
 
         if (es6) {
             ctor = JSFunction.createGeneratorFunctionConstructor(this);
@@ -600,22 +604,6 @@ public class JSRealm {
             this.asyncGeneratorObjectPrototype = null;
         }
 
-        boolean es12 = context.getContextOptions().getEcmaScriptVersion() >= JSConfig.ECMAScript2021;
-        if (es12) {
-            ctor = JSWeakRef.createConstructor(this);
-            this.weakRefConstructor = ctor.getFunctionObject();
-            this.weakRefPrototype = ctor.getPrototype();
-
-            ctor = JSFinalizationRegistry.createConstructor(this);
-            this.finalizationRegistryConstructor = ctor.getFunctionObject();
-            this.finalizationRegistryPrototype = ctor.getPrototype();
-        } else {
-            this.weakRefConstructor = null;
-            this.weakRefPrototype = null;
-            this.finalizationRegistryConstructor = null;
-            this.finalizationRegistryPrototype = null;
-        }
-
         boolean nashornCompat = context.isOptionNashornCompatibilityMode();
         if (nashornCompat) {
             ctor = JSAdapter.createConstructor(this);
@@ -644,7 +632,15 @@ public class JSRealm {
         }
     }
 
+    private void ensureTypedArrayConstructorsInitialized() {
+        if (!typedArrayConstructorsInitialized) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            initializeTypedArrayConstructors();
+        }
+    }
+
     private void initializeTypedArrayConstructors() {
+        typedArrayConstructorsInitialized = true;
         JSConstructor taConst = JSArrayBufferView.createTypedArrayConstructor(this);
         typedArrayConstructor = taConst.getFunctionObject();
         typedArrayPrototype = taConst.getPrototype();
@@ -656,6 +652,63 @@ public class JSRealm {
         }
     }
 
+    private void ensureIntlConstructorsInitialized() {
+        if (!intlConstructorsInitialized) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            initializeIntlConstructors();
+        }
+    }
+
+    private void initializeIntlConstructors() {
+        intlConstructorsInitialized = true;
+        JSConstructor ctor = JSCollator.createConstructor(this);
+        collatorConstructor = ctor.getFunctionObject();
+        collatorPrototype = ctor.getPrototype();
+        ctor = JSNumberFormat.createConstructor(this);
+        numberFormatConstructor = ctor.getFunctionObject();
+        numberFormatPrototype = ctor.getPrototype();
+        ctor = JSDateTimeFormat.createConstructor(this);
+        dateTimeFormatConstructor = ctor.getFunctionObject();
+        dateTimeFormatPrototype = ctor.getPrototype();
+        ctor = JSPluralRules.createConstructor(this);
+        pluralRulesConstructor = ctor.getFunctionObject();
+        pluralRulesPrototype = ctor.getPrototype();
+        ctor = JSListFormat.createConstructor(this);
+        listFormatConstructor = ctor.getFunctionObject();
+        listFormatPrototype = ctor.getPrototype();
+        ctor = JSRelativeTimeFormat.createConstructor(this);
+        relativeTimeFormatConstructor = ctor.getFunctionObject();
+        relativeTimeFormatPrototype = ctor.getPrototype();
+        ctor = JSSegmenter.createConstructor(this);
+        segmenterConstructor = ctor.getFunctionObject();
+        segmenterPrototype = ctor.getPrototype();
+        segmentIteratorPrototype = JSSegmenter.createSegmentIteratorPrototype(context, this);
+        ctor = JSDisplayNames.createConstructor(this);
+        displayNamesConstructor = ctor.getFunctionObject();
+        displayNamesPrototype = ctor.getPrototype();
+        ctor = JSLocale.createConstructor(this);
+        localeConstructor = ctor.getFunctionObject();
+        localePrototype = ctor.getPrototype();
+    }
+
+    private void ensureWeakRefConstructorsInitialized() {
+        if (!weakRefConstructorsInitialized) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            initializeWeakRefConstructors();
+        }
+    }
+
+    private void initializeWeakRefConstructors() {
+        assert context.getEcmaScriptVersion() >= JSConfig.ECMAScript2021;
+        weakRefConstructorsInitialized = true;
+        JSConstructor ctor = JSWeakRef.createConstructor(this);
+        weakRefConstructor = ctor.getFunctionObject();
+        weakRefPrototype = ctor.getPrototype();
+        ctor = JSFinalizationRegistry.createConstructor(this);
+        finalizationRegistryConstructor = ctor.getFunctionObject();
+        finalizationRegistryPrototype = ctor.getPrototype();
+    }
+
     private void initializeErrorConstructors() {
         for (JSErrorType type : JSErrorType.errorTypes()) {
             JSConstructor errorConstructor = JSError.createErrorConstructor(this, type);
@@ -771,50 +824,62 @@ public class JSRealm {
     }
 
     public final DynamicObject getCollatorConstructor() {
+        ensureIntlConstructorsInitialized();
         return collatorConstructor;
     }
 
     public final DynamicObject getCollatorPrototype() {
+        ensureIntlConstructorsInitialized();
         return collatorPrototype;
     }
 
     public final DynamicObject getNumberFormatConstructor() {
+        ensureIntlConstructorsInitialized();
         return numberFormatConstructor;
     }
 
     public final DynamicObject getNumberFormatPrototype() {
+        ensureIntlConstructorsInitialized();
         return numberFormatPrototype;
     }
 
     public final DynamicObject getPluralRulesConstructor() {
+        ensureIntlConstructorsInitialized();
         return pluralRulesConstructor;
     }
 
     public final DynamicObject getPluralRulesPrototype() {
+        ensureIntlConstructorsInitialized();
         return pluralRulesPrototype;
     }
 
     public final DynamicObject getListFormatConstructor() {
+        ensureIntlConstructorsInitialized();
         return listFormatConstructor;
     }
 
     public final DynamicObject getListFormatPrototype() {
+        ensureIntlConstructorsInitialized();
         return listFormatPrototype;
     }
 
     public final DynamicObject getRelativeTimeFormatConstructor() {
+        ensureIntlConstructorsInitialized();
         return relativeTimeFormatConstructor;
     }
 
     public final DynamicObject getRelativeTimeFormatPrototype() {
+        ensureIntlConstructorsInitialized();
         return relativeTimeFormatPrototype;
     }
 
     public final DynamicObject getDateTimeFormatConstructor() {
+        ensureIntlConstructorsInitialized();
         return dateTimeFormatConstructor;
     }
 
     public final DynamicObject getDateTimeFormatPrototype() {
+        ensureIntlConstructorsInitialized();
         return dateTimeFormatPrototype;
     }
 
@@ -827,26 +892,32 @@ public class JSRealm {
     }
 
     public final DynamicObject getSegmenterConstructor() {
+        ensureIntlConstructorsInitialized();
         return segmenterConstructor;
     }
 
     public final DynamicObject getSegmenterPrototype() {
+        ensureIntlConstructorsInitialized();
         return segmenterPrototype;
     }
 
     public final DynamicObject getDisplayNamesConstructor() {
+        ensureIntlConstructorsInitialized();
         return displayNamesConstructor;
     }
 
     public final DynamicObject getDisplayNamesPrototype() {
+        ensureIntlConstructorsInitialized();
         return displayNamesPrototype;
     }
 
     public final DynamicObject getLocaleConstructor() {
+        ensureIntlConstructorsInitialized();
         return localeConstructor;
     }
 
     public final DynamicObject getLocalePrototype() {
+        ensureIntlConstructorsInitialized();
         return localePrototype;
     }
 
@@ -875,18 +946,22 @@ public class JSRealm {
     }
 
     public final DynamicObject getWeakRefConstructor() {
+        ensureWeakRefConstructorsInitialized();
         return weakRefConstructor;
     }
 
     public final DynamicObject getWeakRefPrototype() {
+        ensureWeakRefConstructorsInitialized();
         return weakRefPrototype;
     }
 
     public final DynamicObject getFinalizationRegistryConstructor() {
+        ensureWeakRefConstructorsInitialized();
         return finalizationRegistryConstructor;
     }
 
     public final DynamicObject getFinalizationRegistryPrototype() {
+        ensureWeakRefConstructorsInitialized();
         return finalizationRegistryPrototype;
     }
 
@@ -929,10 +1004,12 @@ public class JSRealm {
     }
 
     public final DynamicObject getArrayBufferViewConstructor(TypedArrayFactory factory) {
+        ensureTypedArrayConstructorsInitialized();
         return typedArrayConstructors[factory.getFactoryIndex()];
     }
 
     public final DynamicObject getArrayBufferViewPrototype(TypedArrayFactory factory) {
+        ensureTypedArrayConstructorsInitialized();
         return typedArrayPrototypes[factory.getFactoryIndex()];
     }
 
@@ -945,10 +1022,12 @@ public class JSRealm {
     }
 
     public final DynamicObject getTypedArrayConstructor() {
+        ensureTypedArrayConstructorsInitialized();
         return typedArrayConstructor;
     }
 
     public final DynamicObject getTypedArrayPrototype() {
+        ensureTypedArrayConstructorsInitialized();
         return typedArrayPrototype;
     }
 
@@ -1115,6 +1194,7 @@ public class JSRealm {
     }
 
     public DynamicObject getSegmentIteratorPrototype() {
+        ensureIntlConstructorsInitialized();
         return segmentIteratorPrototype;
     }
 
@@ -1179,7 +1259,7 @@ public class JSRealm {
 
         putGlobalProperty(JSArrayBuffer.CLASS_NAME, getArrayBufferConstructor());
         for (TypedArrayFactory factory : TypedArray.factories(context)) {
-            putGlobalProperty(factory.getName(), getArrayBufferViewConstructor(factory));
+            putLazyGlobalProperty(factory.getName(), () -> getArrayBufferViewConstructor(factory));
         }
         putGlobalProperty(JSDataView.CLASS_NAME, getDataViewConstructor());
 
@@ -1224,10 +1304,7 @@ public class JSRealm {
             putGlobalProperty(JSSymbol.CLASS_NAME, getSymbolConstructor());
             setupPredefinedSymbols(getSymbolConstructor());
 
-            DynamicObject reflectObject = createReflect();
-            putGlobalProperty(REFLECT_CLASS_NAME, reflectObject);
-            this.reflectApplyFunctionObject = JSObject.get(reflectObject, "apply");
-            this.reflectConstructFunctionObject = JSObject.get(reflectObject, "construct");
+            putLazyGlobalProperty(REFLECT_CLASS_NAME, this::getReflectObject);
 
             putGlobalProperty(JSProxy.CLASS_NAME, getProxyConstructor());
             putGlobalProperty(JSPromise.CLASS_NAME, getPromiseConstructor());
@@ -1238,14 +1315,14 @@ public class JSRealm {
             putGlobalProperty(SHARED_ARRAY_BUFFER_CLASS_NAME, getSharedArrayBufferConstructor());
         }
         if (context.isOptionAtomics()) {
-            putGlobalProperty(ATOMICS_CLASS_NAME, createAtomics());
+            putLazyGlobalProperty(ATOMICS_CLASS_NAME, this::getAtomicsObject);
         }
         if (context.getEcmaScriptVersion() >= JSConfig.ECMAScript2019) {
             putGlobalProperty("globalThis", global);
         }
         if (context.getEcmaScriptVersion() >= JSConfig.ECMAScript2021) {
-            putGlobalProperty(JSWeakRef.CLASS_NAME, getWeakRefConstructor());
-            putGlobalProperty(JSFinalizationRegistry.CLASS_NAME, getFinalizationRegistryConstructor());
+            putLazyGlobalProperty(JSWeakRef.CLASS_NAME, this::getWeakRefConstructor);
+            putLazyGlobalProperty(JSFinalizationRegistry.CLASS_NAME, this::getFinalizationRegistryConstructor);
         }
         if (context.getContextOptions().isGraalBuiltin()) {
             putGraalObject();
@@ -1268,7 +1345,7 @@ public class JSRealm {
         assert getContext().isOptionNashornCompatibilityMode();
 
         // Nashorn has no join method on TypedArrays
-        JSObject.delete(typedArrayPrototype, "join");
+        JSObject.delete(getTypedArrayPrototype(), "join");
     }
 
     private void addPrintGlobals() {
@@ -1379,7 +1456,11 @@ public class JSRealm {
 
     private void addIntlGlobal() {
         if (context.isOptionIntl402()) {
-            putGlobalProperty(JSIntl.CLASS_NAME, preinitIntlObject != null ? preinitIntlObject : createIntlObject());
+            if (preinitIntlObject != null) {
+                putGlobalProperty(JSIntl.CLASS_NAME, preinitIntlObject);
+            } else {
+                putLazyGlobalProperty(JSIntl.CLASS_NAME, this::createIntlObject);
+            }
         }
     }
 
@@ -1414,6 +1495,10 @@ public class JSRealm {
         JSObjectUtil.putDataProperty(context, graalObject, "versionGraalVM", GRAALVM_VERSION, flags);
         JSObjectUtil.putDataProperty(context, graalObject, "versionJS", GRAALVM_VERSION, flags);
         JSObjectUtil.putDataProperty(context, graalObject, "isGraalRuntime", JSFunction.create(this, isGraalRuntimeFunction(context)), flags);
+        JSObjectUtil.putFunctionsFromContainer(this, graalObject, GraalBuiltins.BUILTINS);
+        if (context.getContextOptions().isMapFile()) {
+            JSObjectUtil.putFunctionsFromContainer(this, graalObject, GraalBuiltins.MAP_FILE_BUILTINS);
+        }
         putGlobalProperty("Graal", graalObject);
     }
 
@@ -1444,6 +1529,13 @@ public class JSRealm {
         JSObjectUtil.putDataProperty(getContext(), getGlobalObject(), key, value, attributes);
     }
 
+    /**
+     * Puts a global property whose value is only created when the property is first accessed.
+     */
+    private void putLazyGlobalProperty(Object key, Supplier<Object> valueSupplier) {
+        JSObjectUtil.putProxyProperty(getGlobalObject(), key, new LazyGlobalPropertyProxy(key, valueSupplier), JSAttributes.getDefaultNotEnumerable());
+    }
+
     private void putProperty(DynamicObject receiver, Object key, Object value) {
         JSObjectUtil.putDataProperty(getContext(), receiver, key, value, JSAttributes.getDefaultNotEnumerable());
     }
@@ -1602,6 +1694,22 @@ public class JSRealm {
         return arrayProtoValuesIterator;
     }
 
+    private DynamicObject getReflectObject() {
+        if (reflectObject == null) {
+            reflectObject = createReflect();
+            reflectApplyFunctionObject = JSObject.get(reflectObject, "apply");
+            reflectConstructFunctionObject = JSObject.get(reflectObject, "construct");
+        }
+        return reflectObject;
+    }
+
+    private DynamicObject getAtomicsObject() {
+        if (atomicsObject == null) {
+            atomicsObject = createAtomics();
+        }
+        return atomicsObject;
+    }
+
     private DynamicObject createReflect() {
         DynamicObject obj = JSObjectUtil.createOrdinaryPrototypeObject(this, this.getObjectPrototype());
         JSObjectUtil.putToStringTag(obj, REFLECT_CLASS_NAME);
@@ -1821,6 +1929,99 @@ public class JSRealm {
         return true;
     }
 
+    /**
+     * Records the current global state as the state {@link #resetToPristineState()} returns to.
+     * Globals that are normally created on first access are created now.
+     */
+    @TruffleBoundary
+    public void capturePristineState() {
+        for (Property property : JSDynamicObject.getPropertyArray(getGlobalObject())) {
+            if (JSProperty.isProxy(property) && JSProperty.getConstantProxy(property) instanceof LazyGlobalPropertyProxy) {
+                JSProperty.getConstantProxy(property).get(getGlobalObject());
+            }
+        }
+        pristineState = PristineRealmState.capture(getGlobalObject(), getGlobalScope());
+    }
+
+    /**
+     * Records that a built-in object captured by {@link #capturePristineState()} was modified, so
+     * that the realm can no longer be reset.
+     */
+    public void setBuiltinsModified() {
+        builtinsModified = true;
+    }
+
+    /**
+     * Resets the realm to the state recorded by {@link #capturePristineState()} so that it can run
+     * unrelated code: global variables and lexical declarations are discarded, and so are loaded
+     * modules, polyglot bindings, the symbols registered with {@code Symbol.for}, finalization
+     * registries and other per-realm caches. Compiled code is kept.
+     *
+     * @return {@code false} if the realm cannot be reset, e.g. because a built-in object was
+     *         modified, promise jobs are still pending or embedder data (like the pending timeouts
+     *         of the test shell) was set; the realm is left unchanged in that case.
+     */
+    @TruffleBoundary
+    public boolean resetToPristineState() {
+        if (pristineState == null || builtinsModified || agent.hasPendingPromiseJobs() || embedderData != null || (realmList != null && realmList.size() > 1)) {
+            return false;
+        }
+        Object polyglotBindings;
+        try {
+            polyglotBindings = getEnv().getPolyglotBindings();
+        } catch (SecurityException e) {
+            // no polyglot access, nothing can have been exported
+            polyglotBindings = null;
+        }
+        List<String> exportedNames = polyglotBindings == null ? Collections.emptyList() : getRemovableMemberNames(polyglotBindings);
+        if (exportedNames == null || !pristineState.restore(getGlobalObject(), getGlobalScope())) {
+            return false;
+        }
+        for (String name : exportedNames) {
+            try {
+                InteropLibrary.getUncached(polyglotBindings).removeMember(polyglotBindings, name);
+            } catch (UnknownIdentifierException e) {
+                // already gone
+            } catch (UnsupportedMessageException e) {
+                throw Errors.shouldNotReachHere(e);
+            }
+        }
+        agent.resetRealmState();
+        moduleLoader = null;
+        if (commonJSRequireCache != null) {
+            commonJSRequireCache.clear();
+        }
+        consoleUtil.reset();
+        clearStaticRegexResult();
+        initTimeOffsetAndRandom();
+        return true;
+    }
+
+    /**
+     * Returns the names of the members of the polyglot bindings, or {@code null} if one of them
+     * cannot be removed.
+     */
+    private static List<String> getRemovableMemberNames(Object bindings) {
+        InteropLibrary interop = InteropLibrary.getUncached(bindings);
+        try {
+            Object members = interop.getMembers(bindings);
+            InteropLibrary membersInterop = InteropLibrary.getUncached(members);
+            long size = membersInterop.getArraySize(members);
+            List<String> names = new ArrayList<>((int) size);
+            for (long i = 0; i < size; i++) {
+                Object member = membersInterop.readArrayElement(members, i);
+                String name = InteropLibrary.getUncached(member).asString(member);
+                if (!interop.isMemberRemovable(bindings, name)) {
+                    return null;
+                }
+                names.add(name);
+            }
+            return names;
+        } catch (UnsupportedMessageException | InvalidArrayIndexException e) {
+            return null;
+        }
+    }
+
     public void initialize() {
         CompilerAsserts.neverPartOfCompilation();
         if (getEnv().isPreInitialization()) {
@@ -1913,6 +2114,15 @@ public class JSRealm {
         return staticRegexResult;
     }
 
+    private void clearStaticRegexResult() {
+        staticRegexResult = null;
+        staticRegexResultInputString = "";
+        staticRegexResultCompiledRegex = null;
+        staticRegexResultInvalidated = false;
+        staticRegexResultFromIndex = 0;
+        staticRegexResultOriginalInputString = null;
+    }
+
     /**
      * To allow virtualization of TRegex RegexResults, we want to avoid storing the last result
      * globally. Instead, we store the values needed to calculate the result on demand, under the
@@ -2089,6 +2299,19 @@ public class JSRealm {
         return id;
     }
 
+    /**
+     * Returns the offset cache of the local time zone, replacing it if the time zone has changed.
+     */
+    public TimeZoneOffsetCache getLocalTimeZoneOffsetCache() {
+        ZoneId id = getLocalTimeZoneId();
+        TimeZoneOffsetCache cache = localTimeZoneOffsetCache;
+        if (CompilerDirectives.injectBranchProbability(CompilerDirectives.SLOWPATH_PROBABILITY, cache == null || cache.getZoneId() != id)) {
+            cache = new TimeZoneOffsetCache(id);
+            localTimeZoneOffsetCache = cache;
+        }
+        return cache;
+    }
+
     @TruffleBoundary
     private ZoneId getTimeZoneFromEnv() {
         OptionValues options = getEnv().getOptions();
@@ -2188,9 +2411,52 @@ public class JSRealm {
         }
     }
 
+    /**
+     * Data property of the global object whose value is created on first access. The first read or
+     * write replaces it with an ordinary data property with the same attributes.
+     */
+    private static final class LazyGlobalPropertyProxy implements PropertyProxy {
+        private final Object key;
+        private final Supplier<Object> valueSupplier;
+        private Object value;
+
+        LazyGlobalPropertyProxy(Object key, Supplier<Object> valueSupplier) {
+            this.key = key;
+            this.valueSupplier = valueSupplier;
+        }
+
+        @TruffleBoundary
+        @Override
+        public Object get(DynamicObject store) {
+            if (value == null) {
+                value = valueSupplier.get();
+            }
+            Property property = DynamicObjectLibrary.getUncached().getProperty(store, key);
+            if (property != null && JSProperty.isProxy(property) && JSProperty.getConstantProxy(property) == this) {
+                JSObjectUtil.defineDataProperty(store, key, value, property.getFlags() & JSAttributes.ATTRIBUTES_MASK);
+            }
+            return value;
+        }
+
+        @TruffleBoundary
+        @Override
+        public boolean set(DynamicObject store, Object newValue) {
+            Property property = DynamicObjectLibrary.getUncached().getProperty(store, key);
+            JSObjectUtil.defineDataProperty(store, key, newValue, property.getFlags() & JSAttributes.ATTRIBUTES_MASK);
+            return true;
+        }
+    }
+
     public final Map<TruffleFile, DynamicObject> getCommonJSRequireCache() {
         assert context.getContextOptions().isCommonJSRequire();
         return commonJSRequireCache;
     }
 
+    public final CommonJSResolutionCache getCommonJSResolutionCache() {
+        if (commonJSResolutionCache == null) {
+            commonJSResolutionCache = new CommonJSResolutionCache(context.getContextOptions().getCommonJSResolutionCache());
+        }
+        return commonJSResolutionCache;
+    }
+
 }
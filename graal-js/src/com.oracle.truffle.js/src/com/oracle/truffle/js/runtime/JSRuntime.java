@@ -2327,6 +2327,7 @@ public final class JSRuntime {
     public static void definePropertyOrThrow(DynamicObject o, Object key, PropertyDescriptor desc) {
         assert JSRuntime.isObject(o);
         assert JSRuntime.isPropertyKey(key);
+        JSObject.checkBuiltinModification(o);
         boolean success = JSObject.getJSClass(o).defineOwnProperty(o, key, desc, true);
         assert success; // we should have thrown instead of returning false
     }
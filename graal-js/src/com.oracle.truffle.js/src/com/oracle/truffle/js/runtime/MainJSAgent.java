@@ -59,9 +59,4 @@ public final class MainJSAgent extends JSAgent {
         // No-op
     }
 
-    @Override
-    public void wakeAgent(int w) {
-        // No-op
-    }
-
 }
@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.object.DynamicObjectLibrary;
+import com.oracle.truffle.api.object.Property;
+import com.oracle.truffle.api.object.Shape;
+import com.oracle.truffle.js.runtime.builtins.JSAbstractArray;
+import com.oracle.truffle.js.runtime.builtins.JSArray;
+import com.oracle.truffle.js.runtime.builtins.JSClass;
+import com.oracle.truffle.js.runtime.builtins.JSProxy;
+import com.oracle.truffle.js.runtime.objects.Accessor;
+import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
+import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.objects.JSShape;
+import com.oracle.truffle.js.runtime.objects.Null;
+import com.oracle.truffle.js.runtime.objects.Undefined;
+
+/**
+ * Snapshot of the global state of a realm right after its initialization, used to reset the realm
+ * for reuse by another, unrelated script.
+ *
+ * The global object and the global scope are restored to their recorded properties. The built-in
+ * objects reachable from them are marked with {@link JSShape#BUILTIN_FLAG} instead: restoring a
+ * modified built-in in place would not undo everything a script may have done with it, so any
+ * write to a marked object flags the realm as no longer resettable (see
+ * {@link JSRealm#setBuiltinsModified()}).
+ */
+final class PristineRealmState {
+
+    private final ObjectState globalObject;
+    private final ObjectState globalScope;
+
+    private PristineRealmState(ObjectState globalObject, ObjectState globalScope) {
+        this.globalObject = globalObject;
+        this.globalScope = globalScope;
+    }
+
+    @TruffleBoundary
+    static PristineRealmState capture(DynamicObject globalObject, DynamicObject globalScope) {
+        Set<DynamicObject> builtins = Collections.newSetFromMap(new IdentityHashMap<>());
+        ArrayDeque<DynamicObject> queue = new ArrayDeque<>();
+        ObjectState globalObjectState = new ObjectState(globalObject);
+        ObjectState globalScopeState = new ObjectState(globalScope);
+        globalObjectState.addReferences(queue);
+        globalScopeState.addReferences(queue);
+        while (!queue.isEmpty()) {
+            DynamicObject object = queue.poll();
+            if (object == globalObject || object == globalScope || JSProxy.isJSProxy(object) || !builtins.add(object)) {
+                continue;
+            }
+            new ObjectState(object).addReferences(queue);
+        }
+        for (DynamicObject builtin : builtins) {
+            JSShape.markBuiltinObject(builtin);
+        }
+        return new PristineRealmState(globalObjectState, globalScopeState);
+    }
+
+    /**
+     * Restores the global object and the global scope. Returns {@code false} without changing
+     * anything if the global object can no longer be restored.
+     */
+    @TruffleBoundary
+    boolean restore(DynamicObject global, DynamicObject scope) {
+        if (!globalObject.isRestorable(global) || !globalScope.isRestorable(scope)) {
+            return false;
+        }
+        globalObject.restore(global);
+        globalScope.restore(scope);
+        return true;
+    }
+
+    private static boolean isSameValue(Object a, Object b) {
+        if (a == b) {
+            return true;
+        } else if (a == null || b == null || a instanceof DynamicObject || b instanceof DynamicObject) {
+            return false;
+        }
+        // boxed primitives may have been reboxed
+        return a.getClass() == b.getClass() && a.equals(b);
+    }
+
+    private static final class ObjectState {
+        private final Shape shape;
+        private final JSClass jsClass;
+        private final DynamicObject prototype;
+        private final Property[] properties;
+        private final Object[] values;
+        private final Object[] elements;
+
+        ObjectState(DynamicObject object) {
+            DynamicObjectLibrary lib = DynamicObjectLibrary.getUncached();
+            this.shape = object.getShape();
+            this.jsClass = JSObject.getJSClass(object);
+            this.prototype = JSObject.getPrototype(object);
+            this.properties = JSDynamicObject.getPropertyArray(object);
+            this.values = new Object[properties.length];
+            for (int i = 0; i < properties.length; i++) {
+                values[i] = lib.getOrDefault(object, properties[i].getKey(), null);
+            }
+            if (JSArray.isJSArray(object)) {
+                long length = JSAbstractArray.arrayGetLength(object);
+                this.elements = new Object[(int) length];
+                for (int i = 0; i < length; i++) {
+                    elements[i] = JSObject.get(object, i);
+                }
+            } else {
+                this.elements = null;
+            }
+        }
+
+        void addReferences(ArrayDeque<DynamicObject> queue) {
+            if (prototype != Null.instance) {
+                queue.add(prototype);
+            }
+            List<Object> references = new ArrayList<>(values.length);
+            for (Object value : values) {
+                if (value instanceof Accessor) {
+                    references.add(((Accessor) value).getGetter());
+                    references.add(((Accessor) value).getSetter());
+                } else {
+                    references.add(value);
+                }
+            }
+            if (elements != null) {
+                for (Object element : elements) {
+                    references.add(element);
+                }
+            }
+            for (Object reference : references) {
+                if (JSDynamicObject.isJSDynamicObject(reference) && reference != Null.instance && reference != Undefined.instance) {
+                    queue.add((DynamicObject) reference);
+                }
+            }
+        }
+
+        boolean isRestorable(DynamicObject object) {
+            Shape currentShape = object.getShape();
+            return JSObject.getJSClass(object) == jsClass && JSObject.getPrototype(object) == prototype && JSShape.isExtensible(currentShape) == JSShape.isExtensible(shape);
+        }
+
+        /**
+         * Removes added properties and puts back the recorded ones. Properties are kept in their
+         * recorded order: everything from the first deviating property on is removed and added
+         * again.
+         */
+        void restore(DynamicObject object) {
+            DynamicObjectLibrary lib = DynamicObjectLibrary.getUncached();
+            if (object.getShape() == shape) {
+                for (int i = 0; i < properties.length; i++) {
+                    Object key = properties[i].getKey();
+                    if (!isSameValue(values[i], lib.getOrDefault(object, key, null))) {
+                        lib.putWithFlags(object, key, values[i], properties[i].getFlags());
+                    }
+                }
+                return;
+            }
+            Property[] current = JSDynamicObject.getPropertyArray(object);
+            int common = 0;
+            while (common < current.length && common < properties.length && current[common].getKey().equals(properties[common].getKey()) &&
+                            current[common].getFlags() == properties[common].getFlags()) {
+                common++;
+            }
+            for (int i = current.length - 1; i >= common; i--) {
+                lib.removeKey(object, current[i].getKey());
+            }
+            for (int i = 0; i < properties.length; i++) {
+                Object key = properties[i].getKey();
+                if (i >= common || !isSameValue(values[i], lib.getOrDefault(object, key, null))) {
+                    lib.putWithFlags(object, key, values[i], properties[i].getFlags());
+                }
+            }
+        }
+    }
+}
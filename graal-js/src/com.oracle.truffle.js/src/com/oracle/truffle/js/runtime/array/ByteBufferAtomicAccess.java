@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.array;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Lock-free atomic read-modify-write access to the elements of a direct {@link ByteBuffer} in
+ * native byte order, used by the {@code Atomics} builtins on {@code SharedArrayBuffer}s.
+ *
+ * Only 32-bit and 64-bit compare-exchange are provided by the platform; 8-bit and 16-bit elements
+ * are updated with a compare-exchange loop on the enclosing aligned 32-bit word.
+ */
+public abstract class ByteBufferAtomicAccess {
+
+    private static final boolean LITTLE_ENDIAN = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
+
+    /**
+     * Returns {@code true} if atomic operations on the given buffer can be performed without a
+     * lock. This is a property of the whole buffer, so that all agents accessing a given location
+     * agree on whether to use the lock or not.
+     */
+    public abstract boolean isLockFree(ByteBuffer buffer);
+
+    /**
+     * Returns {@code true} if an element of the given size at the given byte index can be updated
+     * without a lock. Sub-word elements must not straddle the end of the buffer, since they are
+     * updated through the enclosing 32-bit word.
+     */
+    public final boolean isLockFree(ByteBuffer buffer, int byteIndex, int bytesPerElement) {
+        if (!isLockFree(buffer)) {
+            return false;
+        }
+        return bytesPerElement >= Integer.BYTES || wordIndex(byteIndex) + Integer.BYTES <= buffer.limit();
+    }
+
+    public abstract int getInt32Volatile(ByteBuffer buffer, int byteIndex);
+
+    /**
+     * Atomically sets the 32-bit value at {@code byteIndex} to {@code replacement} if it equals
+     * {@code expected}. Returns the witness value.
+     */
+    public abstract int compareExchangeInt32(ByteBuffer buffer, int byteIndex, int expected, int replacement);
+
+    /**
+     * Atomically sets the 64-bit value at {@code byteIndex} to {@code replacement} if it equals
+     * {@code expected}. Returns the witness value.
+     */
+    public abstract long compareExchangeInt64(ByteBuffer buffer, int byteIndex, long expected, long replacement);
+
+    /**
+     * 8-bit compare-exchange. Returns the zero-extended witness value.
+     */
+    public final int compareExchangeInt8(ByteBuffer buffer, int byteIndex, int expected, int replacement) {
+        return compareExchangeSubword(buffer, byteIndex, Byte.BYTES, 0xFF, expected, replacement);
+    }
+
+    /**
+     * 16-bit compare-exchange. Returns the zero-extended witness value.
+     */
+    public final int compareExchangeInt16(ByteBuffer buffer, int byteIndex, int expected, int replacement) {
+        return compareExchangeSubword(buffer, byteIndex, Short.BYTES, 0xFFFF, expected, replacement);
+    }
+
+    private int compareExchangeSubword(ByteBuffer buffer, int byteIndex, int size, int elementMask, int expected, int replacement) {
+        int wordIndex = wordIndex(byteIndex);
+        int shift = subwordShift(byteIndex - wordIndex, size);
+        int mask = elementMask << shift;
+        int expectedBits = (expected << shift) & mask;
+        int replacementBits = (replacement << shift) & mask;
+        int word = getInt32Volatile(buffer, wordIndex);
+        while ((word & mask) == expectedBits) {
+            int witness = compareExchangeInt32(buffer, wordIndex, word, (word & ~mask) | replacementBits);
+            if (witness == word) {
+                break;
+            }
+            // lost a race, possibly against a neighboring element; retry with the witness
+            word = witness;
+        }
+        return (word & mask) >>> shift;
+    }
+
+    private static int wordIndex(int byteIndex) {
+        return byteIndex & ~(Integer.BYTES - 1);
+    }
+
+    private static int subwordShift(int offsetInWord, int size) {
+        return (LITTLE_ENDIAN ? offsetInWord : Integer.BYTES - size - offsetInWord) * Byte.SIZE;
+    }
+
+    public static ByteBufferAtomicAccess nativeOrder() {
+        return ByteBufferAtomicSupport.nativeOrder();
+    }
+}
@@ -49,6 +49,7 @@ import java.nio.ByteBuffer;
 
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.js.runtime.BigInt;
+import com.oracle.truffle.js.runtime.Boundaries;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSRuntime;
@@ -231,6 +232,76 @@ public abstract class TypedArray extends ScriptArray {
 
     public abstract void setBufferElement(DynamicObject buffer, int index, boolean littleEndian, Object value);
 
+    /**
+     * Returns {@code true} if converting the elements of an array of the source type to the target
+     * type preserves their bytes, i.e., if elements can be copied from one to the other in bulk.
+     * This holds for the same element type and for integer types of the same size (conversion
+     * wraps around), except for conversions to Uint8Clamped, which saturate.
+     */
+    public static boolean isBytewiseCompatible(TypedArray sourceType, TypedArray targetType) {
+        TypedArrayFactory source = sourceType.getFactory();
+        TypedArrayFactory target = targetType.getFactory();
+        if (source == target) {
+            return true;
+        } else if (source.getBytesPerElement() != target.getBytesPerElement() || sourceType instanceof TypedFloatArray || targetType instanceof TypedFloatArray ||
+                        (sourceType instanceof TypedBigIntArray) != (targetType instanceof TypedBigIntArray)) {
+            return false;
+        }
+        return target != TypedArrayFactory.Uint8ClampedArray || source == TypedArrayFactory.Uint8Array;
+    }
+
+    /**
+     * Copies bytes between backing buffers of typed arrays ({@code byte[]} or {@link ByteBuffer}).
+     * Overlapping ranges of the same buffer are copied as if through a temporary buffer.
+     */
+    public static void copyBytes(Object source, int sourceIndex, Object target, int targetIndex, int length) {
+        if (source instanceof byte[]) {
+            if (target instanceof byte[]) {
+                System.arraycopy(source, sourceIndex, target, targetIndex, length);
+            } else {
+                Boundaries.byteBufferPutArray((ByteBuffer) target, targetIndex, (byte[]) source, sourceIndex, length);
+            }
+        } else if (target instanceof byte[]) {
+            Boundaries.byteBufferGetArray((ByteBuffer) source, sourceIndex, (byte[]) target, targetIndex, length);
+        } else if (source == target && sourceIndex < targetIndex + length && targetIndex < sourceIndex + length) {
+            byte[] temp = new byte[length];
+            Boundaries.byteBufferGetArray((ByteBuffer) source, sourceIndex, temp, 0, length);
+            Boundaries.byteBufferPutArray((ByteBuffer) target, targetIndex, temp, 0, length);
+        } else {
+            Boundaries.byteBufferPutSlice((ByteBuffer) target, targetIndex, (ByteBuffer) source, sourceIndex, sourceIndex + length);
+        }
+    }
+
+    /**
+     * Copies bytes within one buffer as if one at a time in ascending order, where the target range
+     * starts inside the source range. Bytes that have been written are read again, so the target
+     * repeats the first {@code targetIndex - sourceIndex} bytes of the source.
+     */
+    public static void copyBytesAscending(Object buffer, int sourceIndex, int targetIndex, int length) {
+        assert sourceIndex < targetIndex && targetIndex < sourceIndex + length;
+        int period = targetIndex - sourceIndex;
+        copyBytes(buffer, sourceIndex, buffer, targetIndex, period);
+        for (int filled = period; filled < length;) {
+            int chunk = Math.min(filled, length - filled);
+            copyBytes(buffer, targetIndex, buffer, targetIndex + filled, chunk);
+            filled += chunk;
+        }
+    }
+
+    /**
+     * Fills {@code count} elements starting at {@code byteIndex} with copies of the (already
+     * written) first one, doubling the filled range with every bulk copy.
+     */
+    public static void replicateElement(Object buffer, int byteIndex, int elementSize, int count) {
+        int byteLength = count * elementSize;
+        int filled = elementSize;
+        while (filled < byteLength) {
+            int chunk = Math.min(filled, byteLength - filled);
+            copyBytes(buffer, byteIndex, buffer, byteIndex + filled, chunk);
+            filled += chunk;
+        }
+    }
+
     public static TypedArrayFactory[] factories(JSContext context) {
         if (context.getContextOptions().isBigInt()) {
             return TypedArrayFactory.FACTORIES;
@@ -111,6 +111,14 @@ public abstract class AbstractWritableArray extends DynamicArray {
 
     protected abstract int prepareInBoundsFast(DynamicObject object, long index);
 
+    /**
+     * Returns the position of the in-bounds element {@code index} in the internal storage array.
+     */
+    public final int getInternalIndex(DynamicObject object, long index) {
+        assert isInBoundsFast(object, index);
+        return prepareInBoundsFast(object, index);
+    }
+
     public final boolean isInBounds(DynamicObject object, int index) {
         return isSupported(object, index) && rangeCheck(object, index);
     }
@@ -65,6 +65,11 @@ public final class ConstantEmptyPrototypeArray extends AbstractConstantEmptyArra
         return JSObject.getJSContext(object).getArrayPrototypeNoElementsAssumption();
     }
 
+    private static void invalidateArrayPrototypeNoElements(DynamicObject object) {
+        getArrayPrototypeNoElementsAssumption(object).invalidate(JSAbstractArray.ARRAY_PROTOTYPE_NO_ELEMENTS_INVALIDATION);
+        JSObject.checkBuiltinModification(object);
+    }
+
     @Override
     public ScriptArray setLengthImpl(DynamicObject object, long length, ProfileHolder profile) {
         setCapacity(object, length);
@@ -73,25 +78,25 @@ public final class ConstantEmptyPrototypeArray extends AbstractConstantEmptyArra
 
     @Override
     public AbstractIntArray createWriteableInt(DynamicObject object, long index, int value, ProfileHolder profile) {
-        getArrayPrototypeNoElementsAssumption(object).invalidate(JSAbstractArray.ARRAY_PROTOTYPE_NO_ELEMENTS_INVALIDATION);
+        invalidateArrayPrototypeNoElements(object);
         return super.createWriteableInt(object, index, value, profile);
     }
 
     @Override
     public AbstractDoubleArray createWriteableDouble(DynamicObject object, long index, double value, ProfileHolder profile) {
-        getArrayPrototypeNoElementsAssumption(object).invalidate(JSAbstractArray.ARRAY_PROTOTYPE_NO_ELEMENTS_INVALIDATION);
+        invalidateArrayPrototypeNoElements(object);
         return super.createWriteableDouble(object, index, value, profile);
     }
 
     @Override
     public AbstractJSObjectArray createWriteableJSObject(DynamicObject object, long index, JSDynamicObject value, ProfileHolder profile) {
-        getArrayPrototypeNoElementsAssumption(object).invalidate(JSAbstractArray.ARRAY_PROTOTYPE_NO_ELEMENTS_INVALIDATION);
+        invalidateArrayPrototypeNoElements(object);
         return super.createWriteableJSObject(object, index, value, profile);
     }
 
     @Override
     public AbstractObjectArray createWriteableObject(DynamicObject object, long index, Object value, ProfileHolder profile) {
-        getArrayPrototypeNoElementsAssumption(object).invalidate(JSAbstractArray.ARRAY_PROTOTYPE_NO_ELEMENTS_INVALIDATION);
+        invalidateArrayPrototypeNoElements(object);
         return super.createWriteableObject(object, index, value, profile);
     }
 
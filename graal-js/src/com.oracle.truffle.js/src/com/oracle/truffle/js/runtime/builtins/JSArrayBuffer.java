@@ -44,6 +44,8 @@ import static com.oracle.truffle.js.runtime.objects.JSObjectUtil.putConstructorP
 import static com.oracle.truffle.js.runtime.objects.JSObjectUtil.putFunctionsFromContainer;
 
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
 
 import com.oracle.truffle.api.CallTarget;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
@@ -114,6 +116,76 @@ public final class JSArrayBuffer extends JSAbstractBuffer implements JSConstruct
         return context.trackAllocation(obj);
     }
 
+    /**
+     * Creates an ArrayBuffer backed by a memory-mapped file region. The buffer may be read-only.
+     */
+    public static DynamicObject createMappedArrayBuffer(JSContext context, MappedByteBuffer buffer) {
+        JSRealm realm = context.getRealm();
+        JSObjectFactory factory = context.getDirectArrayBufferFactory();
+        DynamicObject obj = JSArrayBufferObject.createMappedArrayBuffer(factory.getShape(realm), DirectByteBufferHelper.checkDirect(buffer, context));
+        factory.initProto(obj, realm);
+        assert isJSDirectArrayBuffer(obj);
+        return context.trackAllocation(obj);
+    }
+
+    /**
+     * Creates an ArrayBuffer that shares the contents of a host ByteBuffer, from index 0 up to its
+     * capacity (position and limit are ignored). Direct buffers are always shared; a heap buffer is
+     * shared if it is writable and spans its whole backing array, otherwise its contents are
+     * copied, since heap ArrayBuffers are backed by a whole {@code byte[]}.
+     */
+    @TruffleBoundary
+    public static DynamicObject createArrayBufferFromHostBuffer(JSContext context, ByteBuffer buffer) {
+        if (buffer.isDirect()) {
+            return createDirectArrayBuffer(context, DirectByteBufferHelper.checkDirect(buffer, context));
+        } else if (buffer.hasArray() && buffer.arrayOffset() == 0 && buffer.capacity() == buffer.array().length) {
+            return createArrayBuffer(context, buffer.array());
+        } else {
+            byte[] copy = new byte[buffer.capacity()];
+            ByteBuffer source = buffer.duplicate();
+            source.clear();
+            source.get(copy);
+            return createArrayBuffer(context, copy);
+        }
+    }
+
+    /**
+     * Returns a ByteBuffer (in native byte order) over {@code length} bytes of the contents of the
+     * array buffer, starting at {@code offset}, without copying. Writes to either one are visible in
+     * the other. The ByteBuffer is not affected when the array buffer is detached later.
+     */
+    @TruffleBoundary
+    public static ByteBuffer asByteBuffer(DynamicObject arrayBuffer, int offset, int length) {
+        assert !isDetachedBuffer(arrayBuffer);
+        ByteBuffer buffer;
+        if (isJSHeapArrayBuffer(arrayBuffer)) {
+            buffer = ByteBuffer.wrap(getByteArray(arrayBuffer));
+        } else {
+            buffer = getDirectByteBuffer(arrayBuffer).duplicate();
+        }
+        buffer.limit(offset + length);
+        buffer.position(offset);
+        return buffer.slice().order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Whether the contents of the (direct) array buffer cannot be modified, i.e., it is backed by a
+     * read-only ByteBuffer.
+     */
+    @TruffleBoundary
+    public static boolean isReadOnlyBuffer(DynamicObject arrayBuffer) {
+        assert isJSAbstractBuffer(arrayBuffer);
+        if (isJSDirectArrayBuffer(arrayBuffer)) {
+            ByteBuffer buffer = getDirectByteBuffer(arrayBuffer);
+            return buffer != null && buffer.isReadOnly();
+        }
+        return false;
+    }
+
+    public static boolean isJSMappedArrayBuffer(Object obj) {
+        return isJSDirectArrayBuffer(obj) && ((JSArrayBufferObject.Direct) obj).isMapped();
+    }
+
     @Override
     public DynamicObject createPrototype(JSRealm realm, DynamicObject ctor) {
         JSContext context = realm.getContext();
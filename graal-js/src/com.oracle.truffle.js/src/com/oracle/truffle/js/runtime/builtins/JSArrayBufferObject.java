@@ -47,6 +47,7 @@ import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSAgentWaiterList;
 import com.oracle.truffle.js.runtime.objects.JSNonProxyObject;
+import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.util.DirectByteBufferHelper;
 
 public abstract class JSArrayBufferObject extends JSNonProxyObject {
@@ -85,7 +86,7 @@ public abstract class JSArrayBufferObject extends JSNonProxyObject {
 
     public static ByteBuffer getDirectByteBuffer(DynamicObject thisObj) {
         assert JSArrayBuffer.isJSDirectArrayBuffer(thisObj) || JSSharedArrayBuffer.isJSSharedArrayBuffer(thisObj);
-        return DirectByteBufferHelper.cast(((DirectBase) thisObj).getByteBuffer());
+        return DirectByteBufferHelper.cast(((DirectBase) thisObj).getByteBuffer(), JSObject.getJSContext(thisObj));
     }
 
     public static JSAgentWaiterList getWaiterList(DynamicObject thisObj) {
@@ -135,8 +136,18 @@ public abstract class JSArrayBufferObject extends JSNonProxyObject {
     }
 
     public static final class Direct extends DirectBase {
-        protected Direct(Shape shape, ByteBuffer byteBuffer) {
+        final boolean mapped;
+
+        protected Direct(Shape shape, ByteBuffer byteBuffer, boolean mapped) {
             super(shape, byteBuffer);
+            this.mapped = mapped;
+        }
+
+        /**
+         * Whether this buffer is backed by a memory-mapped file region.
+         */
+        public boolean isMapped() {
+            return mapped;
         }
 
         @Override
@@ -172,7 +183,11 @@ public abstract class JSArrayBufferObject extends JSNonProxyObject {
     }
 
     public static DynamicObject createDirectArrayBuffer(Shape shape, ByteBuffer byteBuffer) {
-        return new Direct(shape, byteBuffer);
+        return new Direct(shape, byteBuffer, false);
+    }
+
+    public static DynamicObject createMappedArrayBuffer(Shape shape, ByteBuffer byteBuffer) {
+        return new Direct(shape, byteBuffer, true);
     }
 
     public static DynamicObject createSharedArrayBuffer(Shape shape, ByteBuffer byteBuffer, JSAgentWaiterList waiterList) {
@@ -110,7 +110,7 @@ public final class JSArrayBufferView extends JSNonProxy {
     }
 
     public static ByteBuffer typedArrayGetByteBuffer(DynamicObject thisObj) {
-        return DirectByteBufferHelper.cast(typedArray().getByteBuffer(thisObj));
+        return DirectByteBufferHelper.cast(typedArray().getByteBuffer(thisObj), JSObject.getJSContext(thisObj));
     }
 
     private static String typedArrayGetName(DynamicObject thisObj) {
@@ -219,7 +219,11 @@ public final class JSArrayBufferView extends JSNonProxy {
         }
         Object numValue = convertValue(thisObj, value);
         checkDetachedView(thisObj);
-        typedArrayGetArrayType(thisObj).setElement(thisObj, index, numValue, isStrict);
+        TypedArray typedArray = typedArrayGetArrayType(thisObj);
+        if (typedArray.hasElement(thisObj, index)) {
+            checkReadOnlyView(thisObj);
+        }
+        typedArray.setElement(thisObj, index, numValue, isStrict);
         return true;
     }
 
@@ -247,6 +251,7 @@ public final class JSArrayBufferView extends JSNonProxy {
                 if (index < 0 || index >= length) {
                     return false;
                 } else {
+                    checkReadOnlyView(thisObj);
                     typedArrayGetArrayType(thisObj).setElement(thisObj, index, numValue, isStrict);
                     return true;
                 }
@@ -505,6 +510,15 @@ public final class JSArrayBufferView extends JSNonProxy {
         return JSArrayBuffer.isDetachedBuffer(getArrayBuffer(obj));
     }
 
+    public static boolean hasReadOnlyBuffer(DynamicObject obj, JSContext ctx) {
+        assert isJSArrayBufferView(obj);
+        if (ctx.getArrayBufferNotReadOnlyAssumption().isValid()) {
+            return false;
+        } else {
+            return JSArrayBuffer.isReadOnlyBuffer(getArrayBuffer(obj));
+        }
+    }
+
     @Override
     @TruffleBoundary
     public List<Object> getOwnPropertyKeys(DynamicObject thisObj, boolean strings, boolean symbols) {
@@ -566,6 +580,7 @@ public final class JSArrayBufferView extends JSNonProxy {
             Object value = desc.getValue();
             Object numValue = convertValue(thisObj, value);
             checkDetachedView(thisObj);
+            checkReadOnlyView(thisObj);
             assert index >= 0 && index < length;
             JSArrayBufferView.typedArrayGetArrayType(thisObj).setElement(thisObj, index, numValue, true);
             return true;
@@ -623,6 +638,12 @@ public final class JSArrayBufferView extends JSNonProxy {
         }
     }
 
+    private static void checkReadOnlyView(DynamicObject thisObj) {
+        if (JSArrayBufferView.hasReadOnlyBuffer(thisObj, JSObject.getJSContext(thisObj))) {
+            throw Errors.createTypeErrorReadOnlyBuffer();
+        }
+    }
+
     @Override
     public String toDisplayStringImpl(DynamicObject obj, int depth, boolean allowSideEffects, JSContext context) {
         if (context.isOptionNashornCompatibilityMode()) {
@@ -42,10 +42,8 @@ package com.oracle.truffle.js.runtime.builtins;
 
 import java.time.Instant;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.Year;
-import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.Locale;
@@ -66,6 +64,7 @@ import com.oracle.truffle.js.runtime.objects.JSAttributes;
 import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
 import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
 import com.oracle.truffle.js.runtime.objects.JSShape;
+import com.oracle.truffle.js.runtime.util.TimeZoneOffsetCache;
 
 public final class JSDate extends JSNonProxy implements JSConstructorFactory.Default.WithFunctions, PrototypeSupplier {
 
@@ -397,24 +396,17 @@ public final class JSDate extends JSNonProxy implements JSConstructorFactory.Def
     }
 
     public static long localTZA(double t, boolean isUTC, JSContext context) {
-        return localTZA(t, isUTC, context.getRealm().getLocalTimeZoneId());
-    }
-
-    @TruffleBoundary
-    public static long localTZA(double t, boolean isUTC, ZoneId zoneId) {
-        ZoneOffset zoneOffset;
+        TimeZoneOffsetCache offsetCache = context.getRealm().getLocalTimeZoneOffsetCache();
         if (isUTC) {
-            zoneOffset = zoneId.getRules().getOffset(Instant.ofEpochMilli((long) t));
+            return offsetCache.getOffsetFromUTC((long) t);
         } else {
             if (!(Math.abs(t) < MAX_DATE + MS_PER_DAY)) {
                 // No need to calculate the offset for times that will be time clipped after
                 // adjustment anyway.
                 return 0;
             }
-            LocalDateTime localDateTime = LocalDateTime.of(yearFromTime((long) t), 1 + monthFromTime(t), dateFromTime(t), hourFromTime(t), minFromTime(t), secFromTime(t), msFromTime(t));
-            zoneOffset = zoneId.getRules().getOffset(localDateTime);
+            return offsetCache.getOffsetFromLocal((long) t);
         }
-        return zoneOffset.getTotalSeconds() * 1000L;
     }
 
     // 15.9.1.10
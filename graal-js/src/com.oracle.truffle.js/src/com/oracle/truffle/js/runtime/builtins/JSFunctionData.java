@@ -91,6 +91,13 @@ public final class JSFunctionData {
     private static final int NEEDS_NEW_TARGET = 1 << 9;
     /** Is this a bound function. */
     private static final int IS_BOUND = 1 << 10;
+    /**
+     * The body is {@code return a - b} over the two simple parameters {@code a} and {@code b}, so
+     * the function orders numbers ascending.
+     */
+    private static final int IS_ASCENDING_NUMERIC_COMPARATOR = 1 << 11;
+    /** The body is {@code return b - a}, so the function orders numbers descending. */
+    private static final int IS_DESCENDING_NUMERIC_COMPARATOR = 1 << 12;
 
     /** Innermost call target used for lazy creation of the actual call targets. */
     private volatile CallTarget rootTarget;
@@ -123,9 +130,17 @@ public final class JSFunctionData {
     public static JSFunctionData create(JSContext context, CallTarget callTarget, CallTarget constructTarget, CallTarget constructNewTarget, int length, String name, boolean isConstructor,
                     boolean isDerived, boolean isStrict, boolean isBuiltin, boolean needsParentFrame, boolean isGenerator, boolean isAsync, boolean isClassConstructor,
                     boolean strictFunctionProperties, boolean needsNewTarget, boolean isBound) {
+        return create(context, callTarget, constructTarget, constructNewTarget, length, name, isConstructor, isDerived, isStrict, isBuiltin, needsParentFrame, isGenerator, isAsync,
+                        isClassConstructor, strictFunctionProperties, needsNewTarget, isBound, false, false);
+    }
+
+    public static JSFunctionData create(JSContext context, CallTarget callTarget, CallTarget constructTarget, CallTarget constructNewTarget, int length, String name, boolean isConstructor,
+                    boolean isDerived, boolean isStrict, boolean isBuiltin, boolean needsParentFrame, boolean isGenerator, boolean isAsync, boolean isClassConstructor,
+                    boolean strictFunctionProperties, boolean needsNewTarget, boolean isBound, boolean isAscendingNumericComparator, boolean isDescendingNumericComparator) {
         int flags = (isConstructor ? IS_CONSTRUCTOR : 0) | (isDerived ? IS_DERIVED : 0) | (isStrict ? IS_STRICT : 0) | (isBuiltin ? IS_BUILTIN : 0) |
                         (needsParentFrame ? NEEDS_PARENT_FRAME : 0) | (isGenerator ? IS_GENERATOR : 0) | (isAsync ? IS_ASYNC : 0) | (isClassConstructor ? IS_CLASS_CONSTRUCTOR : 0) |
-                        (strictFunctionProperties ? STRICT_FUNCTION_PROPERTIES : 0) | (needsNewTarget ? NEEDS_NEW_TARGET : 0) | (isBound ? IS_BOUND : 0);
+                        (strictFunctionProperties ? STRICT_FUNCTION_PROPERTIES : 0) | (needsNewTarget ? NEEDS_NEW_TARGET : 0) | (isBound ? IS_BOUND : 0) |
+                        (isAscendingNumericComparator ? IS_ASCENDING_NUMERIC_COMPARATOR : 0) | (isDescendingNumericComparator ? IS_DESCENDING_NUMERIC_COMPARATOR : 0);
         return create(context, callTarget, constructTarget, constructNewTarget, length, name, flags);
     }
 
@@ -256,6 +271,14 @@ public final class JSFunctionData {
         return (flags & IS_BOUND) != 0;
     }
 
+    public boolean isAscendingNumericComparator() {
+        return (flags & IS_ASCENDING_NUMERIC_COMPARATOR) != 0;
+    }
+
+    public boolean isDescendingNumericComparator() {
+        return (flags & IS_DESCENDING_NUMERIC_COMPARATOR) != 0;
+    }
+
     public int getFlags() {
         return flags;
     }
@@ -40,10 +40,12 @@
  */
 package com.oracle.truffle.js.runtime.builtins;
 
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.js.builtins.JSONBuiltins;
 import com.oracle.truffle.js.runtime.JSRealm;
 import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
+import com.oracle.truffle.js.runtime.util.StringBuilderProfile;
 
 public final class JSON {
 
@@ -58,4 +60,69 @@ public final class JSON {
         JSObjectUtil.putFunctionsFromContainer(realm, obj, JSONBuiltins.BUILTINS);
         return obj;
     }
+
+    /**
+     * Appends the string as a JSON string literal, as specified by QuoteJSONString.
+     */
+    @TruffleBoundary
+    public static void quote(StringBuilderProfile stringBuilderProfile, StringBuilder builder, String value) {
+        stringBuilderProfile.append(builder, '"');
+        for (int i = 0; i < value.length();) {
+            char ch = value.charAt(i);
+            if (ch < ' ') {
+                if (ch == '\b') {
+                    stringBuilderProfile.append(builder, "\\b");
+                } else if (ch == '\f') {
+                    stringBuilderProfile.append(builder, "\\f");
+                } else if (ch == '\n') {
+                    stringBuilderProfile.append(builder, "\\n");
+                } else if (ch == '\r') {
+                    stringBuilderProfile.append(builder, "\\r");
+                } else if (ch == '\t') {
+                    stringBuilderProfile.append(builder, "\\t");
+                } else {
+                    quoteUnicode(stringBuilderProfile, builder, ch);
+                }
+            } else {
+                if (ch == '\\') {
+                    stringBuilderProfile.append(builder, "\\\\");
+                } else if (ch == '"') {
+                    stringBuilderProfile.append(builder, "\\\"");
+                } else if (Character.isSurrogate(ch)) {
+                    if (Character.isHighSurrogate(ch)) {
+                        char nextCh;
+                        if (i + 1 < value.length() && (Character.isLowSurrogate(nextCh = value.charAt(i + 1)))) {
+                            // paired surrogates
+                            stringBuilderProfile.append(builder, ch);
+                            stringBuilderProfile.append(builder, nextCh);
+                            i++;
+                        } else {
+                            // unpaired high surrogate
+                            quoteSurrogate(stringBuilderProfile, builder, ch);
+                        }
+                    } else {
+                        // unpaired low surrogate
+                        quoteSurrogate(stringBuilderProfile, builder, ch);
+                    }
+                } else {
+                    stringBuilderProfile.append(builder, ch);
+                }
+            }
+            i++;
+        }
+        stringBuilderProfile.append(builder, '"');
+    }
+
+    private static void quoteUnicode(StringBuilderProfile profile, StringBuilder builder, char c) {
+        profile.append(builder, "\\u00");
+        profile.append(builder, Character.forDigit((c >> 4) & 0xF, 16));
+        profile.append(builder, Character.forDigit(c & 0xF, 16));
+    }
+
+    private static void quoteSurrogate(StringBuilderProfile profile, StringBuilder builder, char c) {
+        profile.append(builder, "\\ud");
+        profile.append(builder, Character.forDigit((c >> 8) & 0xF, 16));
+        profile.append(builder, Character.forDigit((c >> 4) & 0xF, 16));
+        profile.append(builder, Character.forDigit(c & 0xF, 16));
+    }
 }
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.builtins.intl;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.js.runtime.objects.Undefined;
+
+/**
+ * Engine-wide cache of ICU objects (number formatters, date formats, collators and plural rules)
+ * and of the resolved internal state used by the {@code toLocaleString} family of builtins. The
+ * entries are keyed by the resolved locale and the normalized options they were created from, so
+ * that formatting the same kind of value repeatedly does not rebuild the ICU object every time.
+ *
+ * Only immutable or frozen objects may be shared through this cache; mutable ICU objects like
+ * {@link com.ibm.icu.text.DateFormat} have to be cloned or accessed under a lock by the users. The
+ * least recently used entry is evicted when the cache exceeds its maximum size.
+ */
+public final class IntlObjectCache {
+
+    private final int maxSize;
+    private final Map<Object, Object> cache;
+
+    public IntlObjectCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.cache = new LinkedHashMap<Object, Object>(16, 0.75F, true) {
+            private static final long serialVersionUID = 2790328402185839347L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Object> eldest) {
+                return size() > IntlObjectCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Creates a cache key from the given parts. The first part should identify the kind of the
+     * cached object; the parts may be {@code null}.
+     */
+    public static Object key(Object... parts) {
+        return Arrays.asList(parts);
+    }
+
+    /**
+     * Returns whether initializing an Intl object with these arguments is free of observable side
+     * effects (no options object is read and the locale list is not an object), so that the result
+     * only depends on the arguments themselves and may be cached.
+     */
+    public static boolean isCacheable(Object locales, Object options) {
+        return options == Undefined.instance && (locales == Undefined.instance || locales instanceof String);
+    }
+
+    /**
+     * Returns the object cached for the key, or {@code null} if there is none.
+     */
+    @TruffleBoundary
+    public Object get(Object key) {
+        if (maxSize <= 0) {
+            return null;
+        }
+        synchronized (cache) {
+            return cache.get(key);
+        }
+    }
+
+    @TruffleBoundary
+    public void put(Object key, Object value) {
+        if (maxSize <= 0) {
+            return;
+        }
+        synchronized (cache) {
+            cache.put(key, value);
+        }
+    }
+
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+}
@@ -215,25 +215,38 @@ public final class JSCollator extends JSNonProxy implements JSConstructorFactory
             collatorLocale = builder.setUnicodeLocaleKeyword("co", IntlUtil.SEARCH).build();
         }
 
-        state.collator = Collator.getInstance(collatorLocale);
-        state.collator.setDecomposition(Collator.CANONICAL_DECOMPOSITION);
-        switch (state.sensitivity) {
+        // collators are thread-safe once frozen, so they can be shared between states
+        IntlObjectCache cache = ctx.getIntlObjectCache();
+        Object key = IntlObjectCache.key(Collator.class, collatorLocale, state.sensitivity, state.ignorePunctuation);
+        Collator collator = (Collator) cache.get(key);
+        if (collator == null) {
+            collator = createCollator(collatorLocale, state.sensitivity, state.ignorePunctuation);
+            cache.put(key, collator);
+        }
+        state.collator = collator;
+    }
+
+    private static Collator createCollator(Locale collatorLocale, String sensitivity, boolean ignorePunctuation) {
+        Collator collator = Collator.getInstance(collatorLocale);
+        collator.setDecomposition(Collator.CANONICAL_DECOMPOSITION);
+        switch (sensitivity) {
             case IntlUtil.BASE:
-                state.collator.setStrength(Collator.PRIMARY);
+                collator.setStrength(Collator.PRIMARY);
                 break;
             case IntlUtil.ACCENT:
-                state.collator.setStrength(Collator.SECONDARY);
+                collator.setStrength(Collator.SECONDARY);
                 break;
             case IntlUtil.CASE:
             case IntlUtil.VARIANT:
-                state.collator.setStrength(Collator.TERTIARY);
+                collator.setStrength(Collator.TERTIARY);
                 break;
         }
-        if (state.ignorePunctuation) {
-            if (state.collator instanceof RuleBasedCollator) {
-                ((RuleBasedCollator) state.collator).setAlternateHandlingShifted(true);
+        if (ignorePunctuation) {
+            if (collator instanceof RuleBasedCollator) {
+                ((RuleBasedCollator) collator).setAlternateHandlingShifted(true);
             }
         }
+        return collator.freeze();
     }
 
     @Override
@@ -262,8 +275,12 @@ public final class JSCollator extends JSNonProxy implements JSConstructorFactory
 
     @TruffleBoundary
     public static int compare(DynamicObject collatorObj, String one, String two) {
-        Collator collator = getCollatorProperty(collatorObj);
-        return collator.compare(normalize(one), normalize(two));
+        return compare(getInternalState(collatorObj), one, two);
+    }
+
+    @TruffleBoundary
+    public static int compare(InternalState state, String one, String two) {
+        return state.collator.compare(normalize(one), normalize(two));
     }
 
     private static String normalize(String s) {
@@ -42,6 +42,7 @@ package com.oracle.truffle.js.runtime.builtins.intl;
 
 import java.text.AttributedCharacterIterator;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
@@ -184,6 +185,42 @@ public final class JSDateTimeFormat extends JSNonProxy implements JSConstructorF
                     String numberingSystemOpt,
                     String dateStyleOpt,
                     String timeStyleOpt) {
+        // the resolved state only depends on the arguments, so it is shared through the cache;
+        // DateFormat is not thread-safe, every state gets a clone of its own
+        IntlObjectCache cache = ctx.getIntlObjectCache();
+        Object key = IntlObjectCache.key(DateFormat.class, Arrays.asList(locales), weekdayOpt, eraOpt, yearOpt, monthOpt, dayOpt, hourOpt, hcOpt, hour12Opt, minuteOpt, secondOpt, tzNameOpt,
+                        timeZone.getID(), calendarOpt, numberingSystemOpt, dateStyleOpt, timeStyleOpt);
+        InternalState template = (InternalState) cache.get(key);
+        if (template == null) {
+            resolveInternalDateTimeFormat(ctx, state, locales, weekdayOpt, eraOpt, yearOpt, monthOpt, dayOpt, hourOpt, hcOpt, hour12Opt, minuteOpt, secondOpt, tzNameOpt, timeZone, calendarOpt,
+                            numberingSystemOpt, dateStyleOpt, timeStyleOpt);
+            template = new InternalState();
+            template.copyFrom(state);
+            cache.put(key, template);
+        } else {
+            state.copyFrom(template);
+        }
+    }
+
+    private static void resolveInternalDateTimeFormat(
+                    JSContext ctx,
+                    InternalState state, String[] locales,
+                    String weekdayOpt,
+                    String eraOpt,
+                    String yearOpt,
+                    String monthOpt,
+                    String dayOpt,
+                    String hourOpt,
+                    String hcOpt,
+                    Boolean hour12Opt,
+                    String minuteOpt,
+                    String secondOpt,
+                    String tzNameOpt,
+                    TimeZone timeZone,
+                    String calendarOpt,
+                    String numberingSystemOpt,
+                    String dateStyleOpt,
+                    String timeStyleOpt) {
         Locale selectedLocale = IntlUtil.selectedLocale(ctx, locales);
         Locale strippedLocale = selectedLocale.stripExtensions();
 
@@ -638,6 +675,19 @@ public final class JSDateTimeFormat extends JSNonProxy implements JSConstructorF
         return dateFormat.format(timeClip(context, n));
     }
 
+    /**
+     * Formats with a state that is not owned by a single DateTimeFormat object and may therefore be
+     * used by several threads at once.
+     */
+    @TruffleBoundary
+    public static String formatShared(JSContext context, InternalState state, Object n) {
+        double x = timeClip(context, n);
+        DateFormat dateFormat = state.dateFormat;
+        synchronized (dateFormat) {
+            return dateFormat.format(x);
+        }
+    }
+
     private static double timeClip(JSContext context, Object n) {
         double x;
         if (n == Undefined.instance) {
@@ -785,6 +835,30 @@ public final class JSDateTimeFormat extends JSNonProxy implements JSConstructorF
         private String dateStyle;
         private String timeStyle;
 
+        /**
+         * Copies the resolved options of another state, with a clone of its date format.
+         */
+        void copyFrom(InternalState other) {
+            this.initialized = other.initialized;
+            this.dateFormat = (DateFormat) other.dateFormat.clone();
+            this.locale = other.locale;
+            this.calendar = other.calendar;
+            this.numberingSystem = other.numberingSystem;
+            this.weekday = other.weekday;
+            this.era = other.era;
+            this.year = other.year;
+            this.month = other.month;
+            this.day = other.day;
+            this.hour = other.hour;
+            this.minute = other.minute;
+            this.second = other.second;
+            this.hourCycle = other.hourCycle;
+            this.timeZoneName = other.timeZoneName;
+            this.timeZone = other.timeZone;
+            this.dateStyle = other.dateStyle;
+            this.timeStyle = other.timeStyle;
+        }
+
         DynamicObject toResolvedOptionsObject(JSContext context) {
             DynamicObject result = JSOrdinary.create(context);
             JSObjectUtil.defineDataProperty(result, IntlUtil.LOCALE, locale, JSAttributes.getDefault());
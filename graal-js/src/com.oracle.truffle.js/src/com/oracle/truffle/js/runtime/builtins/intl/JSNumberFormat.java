@@ -393,7 +393,11 @@ public final class JSNumberFormat extends JSNonProxy implements JSConstructorFac
 
     @TruffleBoundary
     public static String format(DynamicObject numberFormatObj, Object n) {
-        InternalState state = getInternalState(numberFormatObj);
+        return format(getInternalState(numberFormatObj), n);
+    }
+
+    @TruffleBoundary
+    public static String format(InternalState state, Object n) {
         Number x = toInternalNumberRepresentation(JSRuntime.toNumeric(n));
         return formattedValue(state, x).toString();
     }
@@ -556,8 +560,28 @@ public final class JSNumberFormat extends JSNonProxy implements JSConstructorFac
             }
         }
 
+        /**
+         * Sets the number formatter for the resolved options, sharing it through the
+         * {@link IntlObjectCache} with all other states that resolved to the same options.
+         */
         @TruffleBoundary
-        public void initializeNumberFormatter() {
+        public void initializeNumberFormatter(JSContext ctx) {
+            IntlObjectCache cache = ctx.getIntlObjectCache();
+            Object key = numberFormatterCacheKey();
+            LocalizedNumberFormatter formatter = (LocalizedNumberFormatter) cache.get(key);
+            if (formatter == null) {
+                formatter = createNumberFormatter();
+                cache.put(key, formatter);
+            }
+            this.numberFormatter = formatter;
+        }
+
+        Object numberFormatterCacheKey() {
+            return IntlObjectCache.key(LocalizedNumberFormatter.class, javaLocale, numberingSystem, minimumIntegerDigits, minimumFractionDigits, maximumFractionDigits, minimumSignificantDigits,
+                            maximumSignificantDigits);
+        }
+
+        LocalizedNumberFormatter createNumberFormatter() {
             LocalizedNumberFormatter formatter = NumberFormatter.withLocale(javaLocale).roundingMode(RoundingMode.HALF_UP);
 
             formatter = formatter.symbols(NumberingSystem.getInstanceByName(numberingSystem));
@@ -569,7 +593,7 @@ public final class JSNumberFormat extends JSNonProxy implements JSConstructorFac
                 formatter = formatter.precision(Precision.minMaxFraction(minimumFractionDigits, maximumFractionDigits));
             }
 
-            this.numberFormatter = formatter;
+            return formatter;
         }
 
         public LocalizedNumberFormatter getNumberFormatter() {
@@ -678,12 +702,14 @@ public final class JSNumberFormat extends JSNonProxy implements JSConstructorFac
             JSObjectUtil.defineDataProperty(result, IntlUtil.SIGN_DISPLAY, signDisplay, JSAttributes.getDefault());
         }
 
-        @TruffleBoundary
         @Override
-        public void initializeNumberFormatter() {
-            super.initializeNumberFormatter();
+        Object numberFormatterCacheKey() {
+            return IntlObjectCache.key(super.numberFormatterCacheKey(), style, currency, currencyDisplay, currencySign, unit, unitDisplay, useGrouping, notation, compactDisplay, signDisplay);
+        }
 
-            LocalizedNumberFormatter formatter = getNumberFormatter();
+        @Override
+        LocalizedNumberFormatter createNumberFormatter() {
+            LocalizedNumberFormatter formatter = super.createNumberFormatter();
 
             formatter = formatter.notation(notationToICUNotation(notation, compactDisplay));
             if (!useGrouping) {
@@ -712,7 +738,7 @@ public final class JSNumberFormat extends JSNonProxy implements JSConstructorFac
 
             formatter = formatter.sign(signDisplay(signDisplay, IntlUtil.ACCOUNTING.equals(currencySign)));
 
-            this.setNumberFormatter(formatter);
+            return formatter;
         }
 
         public String getStyle() {
@@ -150,8 +150,14 @@ public final class JSPluralRules extends JSNonProxy implements JSConstructorFact
         }
 
         @TruffleBoundary
-        public void initializePluralRules() {
-            pluralRules = PluralRules.forLocale(getJavaLocale(), IntlUtil.ORDINAL.equals(type) ? PluralType.ORDINAL : PluralType.CARDINAL);
+        public void initializePluralRules(JSContext ctx) {
+            IntlObjectCache cache = ctx.getIntlObjectCache();
+            Object key = IntlObjectCache.key(PluralRules.class, getJavaLocale(), type);
+            pluralRules = (PluralRules) cache.get(key);
+            if (pluralRules == null) {
+                pluralRules = PluralRules.forLocale(getJavaLocale(), IntlUtil.ORDINAL.equals(type) ? PluralType.ORDINAL : PluralType.CARDINAL);
+                cache.put(key, pluralRules);
+            }
             pluralCategories.addAll(pluralRules.getKeywords());
         }
 
@@ -51,6 +51,7 @@ import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.js.lang.JavaScriptLanguage;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSConfig;
+import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSRuntime;
 
 @ExportLibrary(InteropLibrary.class)
@@ -117,7 +118,7 @@ public final class JSLazyString implements CharSequence, TruffleObject, JSLazySt
         assert assertChecked(left, right, length);
         CharSequence ll = left.left;
         CharSequence lr = left.right;
-        if (lr != null && lr instanceof String && lr.length() + right.length() <= JSConfig.ConcatToLeafLimit) {
+        if (lr != null && lr instanceof String && !(ll instanceof JSLazySlice) && lr.length() + right.length() <= JSConfig.ConcatToLeafLimit) {
             return createChecked(ll, lr.toString().concat(right), length);
         }
         return null;
@@ -162,6 +163,42 @@ public final class JSLazyString implements CharSequence, TruffleObject, JSLazySt
         return new JSLazyString(new JSLazyIntWrapper(left), right);
     }
 
+    /**
+     * Returns the substring of {@code str} from {@code begin} (inclusive) to {@code end}
+     * (exclusive). If the substring is long enough and at least 1/{@link JSContext#getSlicedStringRatio()
+     * ratio} as long as the string whose characters it would reference, a sliced string is returned
+     * that shares the characters instead of copying them. Shorter substrings are copied, so that a
+     * small substring does not keep a large string alive.
+     */
+    @TruffleBoundary
+    public static CharSequence substring(JSContext context, CharSequence str, int begin, int end) {
+        assert JSRuntime.isString(str);
+        assert 0 <= begin && begin <= end && end <= str.length();
+        int resultLength = end - begin;
+        if (resultLength == str.length()) {
+            return str;
+        }
+        int ratio = context.getSlicedStringRatio();
+        if (!JSConfig.LazyStrings || ratio <= 0 || resultLength < JSConfig.MinLazyStringLength) {
+            return str.toString().substring(begin, end);
+        }
+        String parent;
+        int offset = begin;
+        CharSequence leaf = str instanceof JSLazyString ? ((JSLazyString) str).left : null;
+        if (leaf instanceof JSLazySlice) {
+            // slice the parent of a sliced string instead of flattening it
+            JSLazySlice slice = (JSLazySlice) leaf;
+            parent = slice.parent;
+            offset += slice.offset;
+        } else {
+            parent = str.toString();
+        }
+        if ((long) resultLength * ratio < parent.length()) {
+            return parent.substring(offset, offset + resultLength);
+        }
+        return new JSLazyString(new JSLazySlice(parent, offset, resultLength));
+    }
+
     private CharSequence left;
     private CharSequence right;
     private final int length;
@@ -177,6 +214,16 @@ public final class JSLazyString implements CharSequence, TruffleObject, JSLazySt
         this(left, right, left.length() + right.length());
     }
 
+    /**
+     * A sliced string: the (only) left leaf references the characters of its parent string, the
+     * right leaf is empty.
+     */
+    private JSLazyString(JSLazySlice slice) {
+        this.left = slice;
+        this.right = "";
+        this.length = slice.length();
+    }
+
     @Override
     public int length() {
         return length;
@@ -203,6 +250,11 @@ public final class JSLazyString implements CharSequence, TruffleObject, JSLazySt
 
     @TruffleBoundary
     private void flatten() {
+        if (left instanceof JSLazySlice) {
+            left = left.toString();
+            right = null;
+            return;
+        }
         char[] dst = new char[length];
         flatten(this, 0, length, dst, 0);
         left = new String(dst);
@@ -253,6 +305,10 @@ public final class JSLazyString implements CharSequence, TruffleObject, JSLazySt
             } else if (str instanceof String) {
                 ((String) str).getChars(from, to, dst, dstFrom);
                 return;
+            } else if (str instanceof JSLazySlice) {
+                JSLazySlice slice = (JSLazySlice) str;
+                slice.parent.getChars(slice.offset + from, slice.offset + to, dst, dstFrom);
+                return;
             } else {
                 assert JSRuntime.isString(str) || str instanceof JSLazyIntWrapper;
                 str.toString().getChars(from, to, dst, dstFrom);
@@ -263,6 +319,10 @@ public final class JSLazyString implements CharSequence, TruffleObject, JSLazySt
 
     @Override
     public char charAt(int index) {
+        CharSequence leaf = left;
+        if (leaf instanceof JSLazySlice) {
+            return leaf.charAt(index);
+        }
         return toString().charAt(index);
     }
 
@@ -275,6 +335,50 @@ public final class JSLazyString implements CharSequence, TruffleObject, JSLazySt
         return length == 0;
     }
 
+    /**
+     * Whether this is a sliced string that has not been flattened yet.
+     */
+    public boolean isSlice() {
+        return left instanceof JSLazySlice;
+    }
+
+    private static final class JSLazySlice implements CharSequence {
+
+        private final String parent;
+        private final int offset;
+        private final int length;
+
+        JSLazySlice(String parent, int offset, int length) {
+            assert 0 <= offset && offset + length <= parent.length();
+            this.parent = parent;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= length) {
+                throw new StringIndexOutOfBoundsException(index);
+            }
+            return parent.charAt(offset + index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return parent.subSequence(offset + start, offset + end);
+        }
+
+        @Override
+        public String toString() {
+            return parent.substring(offset, offset + length);
+        }
+    }
+
     private static class JSLazyIntWrapper implements CharSequence {
 
         private final int value;
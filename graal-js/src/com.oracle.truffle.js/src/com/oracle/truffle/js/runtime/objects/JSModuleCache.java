@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.objects;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.source.Source;
+
+/**
+ * Engine-wide cache of parsed and translated module sources, keyed by the path and the content of
+ * the source. Module loaders of all realms of a {@link com.oracle.truffle.js.runtime.JSContext}
+ * consult this cache so that a module imported by many contexts is only parsed once; every realm
+ * still creates, links and evaluates module records of its own.
+ *
+ * Sources without a path are not cached. The least recently used entry is evicted when the cache
+ * exceeds its maximum size.
+ */
+public final class JSModuleCache {
+
+    private final int maxSize;
+    private final Map<Key, JSModuleData> cache;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public JSModuleCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.cache = new LinkedHashMap<Key, JSModuleData>(16, 0.75F, true) {
+            private static final long serialVersionUID = -4310586219524394812L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, JSModuleData> eldest) {
+                return size() > JSModuleCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached module data for the source, or {@code null} if the source has not been
+     * parsed yet (or was evicted).
+     */
+    @TruffleBoundary
+    public JSModuleData get(Source source) {
+        if (!isCacheable(source)) {
+            return null;
+        }
+        Key key = new Key(source);
+        JSModuleData cached;
+        synchronized (cache) {
+            cached = cache.get(key);
+        }
+        // the hash of the content may collide
+        if (cached != null && contentEquals(cached.getSource(), source)) {
+            hits.incrementAndGet();
+            return cached;
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    @TruffleBoundary
+    public void put(JSModuleData moduleData) {
+        Source source = moduleData.getSource();
+        if (!isCacheable(source)) {
+            return;
+        }
+        synchronized (cache) {
+            cache.put(new Key(source), moduleData);
+        }
+    }
+
+    private boolean isCacheable(Source source) {
+        return maxSize > 0 && source.getPath() != null && source.hasCharacters();
+    }
+
+    private static boolean contentEquals(Source cachedSource, Source source) {
+        return cachedSource == source || cachedSource.getCharacters().toString().equals(source.getCharacters().toString());
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    private static final class Key {
+        private final String path;
+        private final int contentHash;
+
+        Key(Source source) {
+            this.path = source.getPath();
+            this.contentHash = source.getCharacters().toString().hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * path.hashCode() + contentHash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            } else if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return contentHash == other.contentHash && path.equals(other.path);
+        }
+    }
+}
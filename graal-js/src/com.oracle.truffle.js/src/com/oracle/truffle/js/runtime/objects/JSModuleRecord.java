@@ -44,7 +44,6 @@ import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.frame.FrameDescriptor;
 import com.oracle.truffle.api.frame.MaterializedFrame;
 import com.oracle.truffle.api.object.DynamicObject;
-import com.oracle.truffle.api.source.Source;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.builtins.JSFunctionData;
 import com.oracle.truffle.js.runtime.builtins.JSOrdinary;
@@ -65,8 +64,8 @@ public final class JSModuleRecord extends ScriptOrModule {
         Evaluated,
     }
 
-    /** Module parse node. */
-    private final Object module;
+    /** Parsed and translated module code, possibly shared with other realms. */
+    private final JSModuleData parsedModule;
     private final JSModuleLoader moduleLoader;
 
     /** Module's instantiation/evaluation status. */
@@ -77,9 +76,6 @@ public final class JSModuleRecord extends ScriptOrModule {
     /** Implementation-specific: The result of ModuleExecution if no exception occurred. */
     private Object executionResult;
 
-    private JSFunctionData functionData;
-    private FrameDescriptor frameDescriptor;
-
     /** Lazily initialized Module Namespace object ({@code [[Namespace]]}). */
     private DynamicObject namespace;
     /** Lazily initialized frame ({@code [[Environment]]}). */
@@ -106,15 +102,20 @@ public final class JSModuleRecord extends ScriptOrModule {
      */
     private Object topLevelAwaitModuleLoadingContinuation;
 
-    public JSModuleRecord(Object module, JSContext context, JSModuleLoader moduleLoader, Source source) {
-        super(context, source);
-        this.module = module;
+    public JSModuleRecord(JSModuleData parsedModule, JSContext context, JSModuleLoader moduleLoader) {
+        super(context, parsedModule.getSource());
+        this.parsedModule = parsedModule;
         this.moduleLoader = moduleLoader;
+        this.async = parsedModule.isTopLevelAsync();
         setUninstantiated();
     }
 
     public Object getModule() {
-        return module;
+        return parsedModule.getModule();
+    }
+
+    public JSModuleData getModuleData() {
+        return parsedModule;
     }
 
     public JSModuleLoader getModuleLoader() {
@@ -122,23 +123,11 @@ public final class JSModuleRecord extends ScriptOrModule {
     }
 
     public JSFunctionData getFunctionData() {
-        assert functionData != null;
-        return functionData;
-    }
-
-    public void setFunctionData(JSFunctionData functionData) {
-        assert this.functionData == null;
-        this.functionData = functionData;
+        return parsedModule.getFunctionData();
     }
 
     public FrameDescriptor getFrameDescriptor() {
-        assert frameDescriptor != null;
-        return frameDescriptor;
-    }
-
-    public void setFrameDescriptor(FrameDescriptor frameDescriptor) {
-        assert this.frameDescriptor == null;
-        this.frameDescriptor = frameDescriptor;
+        return parsedModule.getFrameDescriptor();
     }
 
     public Status getStatus() {
@@ -178,7 +167,7 @@ public final class JSModuleRecord extends ScriptOrModule {
 
     public void setEnvironment(MaterializedFrame environment) {
         assert this.environment == null;
-        assert this.frameDescriptor == environment.getFrameDescriptor();
+        assert getFrameDescriptor() == environment.getFrameDescriptor();
         this.environment = environment;
     }
 
@@ -240,7 +229,7 @@ public final class JSModuleRecord extends ScriptOrModule {
     // ##### Top-level await
 
     // [[Async]]
-    private boolean async = false;
+    private final boolean async;
     // [[AsyncEvaluating]]
     private boolean asyncEvaluating = false;
     // [[TopLevelCapability]]
@@ -299,10 +288,6 @@ public final class JSModuleRecord extends ScriptOrModule {
         return async;
     }
 
-    public void setTopLevelAsync() {
-        async = true;
-    }
-
     public void setExecutionContinuation(Object continuation) {
         this.topLevelAwaitModuleLoadingContinuation = continuation;
     }
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.objects;
+
+import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.object.Property;
+import com.oracle.truffle.api.object.Shape;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.builtins.JSArray;
+import com.oracle.truffle.js.runtime.builtins.JSClass;
+import com.oracle.truffle.js.runtime.builtins.JSON;
+import com.oracle.truffle.js.runtime.builtins.JSObjectPrototype;
+import com.oracle.truffle.js.runtime.builtins.JSOrdinary;
+import com.oracle.truffle.js.runtime.util.StringBuilderProfile;
+
+/**
+ * Precomputed JSON.stringify serialization of ordinary objects of one shape: the enumerable own
+ * property names in enumeration order, their (data) properties, and the names already quoted. The
+ * plan is cached in the {@link JSShapeData} of its shape and does not reference the shape itself.
+ *
+ * @see JSShape#getJSONSerializationPlan(Shape)
+ */
+public final class JSONSerializationPlan {
+
+    private static final String TO_JSON = "toJSON";
+    private static final JSONSerializationPlan UNSUPPORTED = new JSONSerializationPlan(null, null, null);
+
+    private final String[] keys;
+    private final Property[] properties;
+    private final String[] quotedKeys;
+
+    private JSONSerializationPlan(String[] keys, Property[] properties, String[] quotedKeys) {
+        this.keys = keys;
+        this.properties = properties;
+        this.quotedKeys = quotedKeys;
+    }
+
+    /**
+     * Creates the plan for a shape, given its enumerable string-keyed property names in enumeration
+     * order. Returns an unsupported plan if the shape does not describe an ordinary object or has an
+     * enumerable accessor or proxy property.
+     */
+    public static JSONSerializationPlan create(Shape shape, String[] enumerablePropertyNames) {
+        CompilerAsserts.neverPartOfCompilation();
+        JSClass jsclass = JSShape.getJSClass(shape);
+        if (jsclass != JSOrdinary.INSTANCE && jsclass != JSOrdinary.BARE_INSTANCE) {
+            return UNSUPPORTED;
+        }
+        int count = enumerablePropertyNames.length;
+        Property[] properties = new Property[count];
+        String[] quotedKeys = new String[count];
+        JSContext context = JSShape.getJSContext(shape);
+        StringBuilderProfile profile = StringBuilderProfile.create(context.getStringLengthLimit());
+        for (int i = 0; i < count; i++) {
+            Property property = shape.getProperty(enumerablePropertyNames[i]);
+            if (!JSProperty.isData(property) || JSProperty.isProxy(property)) {
+                return UNSUPPORTED;
+            }
+            properties[i] = property;
+            StringBuilder builder = new StringBuilder();
+            JSON.quote(profile, builder, enumerablePropertyNames[i]);
+            quotedKeys[i] = builder.toString();
+        }
+        return new JSONSerializationPlan(enumerablePropertyNames, properties, quotedKeys);
+    }
+
+    public boolean isSupported() {
+        return keys != null;
+    }
+
+    public int getPropertyCount() {
+        return keys.length;
+    }
+
+    public String getKey(int index) {
+        return keys[index];
+    }
+
+    public String getQuotedKey(int index) {
+        return quotedKeys[index];
+    }
+
+    /**
+     * Reads the value of a property; only valid while the object still has the shape of this plan.
+     */
+    public Object getValue(DynamicObject object, int index) {
+        assert object.getShape().getProperty(keys[index]) == properties[index];
+        return properties[index].get(object, false);
+    }
+
+    /**
+     * Returns {@code true} if neither the object nor its prototypes can have a {@code toJSON}
+     * property, i.e., all of them are ordinary objects, arrays, or Object.prototype, whose shapes do
+     * not contain such a property.
+     */
+    public static boolean hasNoToJSON(DynamicObject object) {
+        CompilerAsserts.neverPartOfCompilation();
+        DynamicObject current = object;
+        while (current != Null.instance) {
+            JSClass jsclass = JSObject.getJSClass(current);
+            if (jsclass != JSOrdinary.INSTANCE && jsclass != JSOrdinary.BARE_INSTANCE && jsclass != JSArray.INSTANCE && jsclass != JSObjectPrototype.INSTANCE) {
+                return false;
+            }
+            if (current.getShape().hasProperty(TO_JSON)) {
+                return false;
+            }
+            current = JSObject.getPrototype(current);
+        }
+        return true;
+    }
+}
@@ -302,11 +302,13 @@ public abstract class JSObject extends JSDynamicObject {
     @TruffleBoundary
     public static boolean setPrototype(DynamicObject obj, DynamicObject newPrototype) {
         assert newPrototype != null;
+        checkBuiltinModification(obj);
         return JSObject.getJSClass(obj).setPrototypeOf(obj, newPrototype);
     }
 
     public static boolean setPrototype(DynamicObject obj, DynamicObject newPrototype, JSClassProfile jsclassProfile) {
         assert newPrototype != null;
+        checkBuiltinModification(obj);
         return jsclassProfile.getJSClass(obj).setPrototypeOf(obj, newPrototype);
     }
 
@@ -359,12 +361,14 @@ public abstract class JSObject extends JSDynamicObject {
 
     @TruffleBoundary
     public static boolean set(DynamicObject obj, long index, Object value, boolean isStrict) {
+        checkBuiltinModification(obj);
         return JSObject.getJSClass(obj).set(obj, index, value, obj, isStrict);
     }
 
     @TruffleBoundary
     public static boolean set(DynamicObject obj, Object key, Object value, boolean isStrict) {
         assert JSRuntime.isPropertyKey(key);
+        checkBuiltinModification(obj);
         return JSObject.getJSClass(obj).set(obj, key, value, obj, isStrict);
     }
 
@@ -374,20 +378,24 @@ public abstract class JSObject extends JSDynamicObject {
     @TruffleBoundary
     public static boolean setWithReceiver(DynamicObject obj, Object key, Object value, Object receiver, boolean isStrict) {
         assert JSRuntime.isPropertyKey(key);
+        checkBuiltinModification(obj, receiver);
         return JSObject.getJSClass(obj).set(obj, key, value, receiver, isStrict);
     }
 
     @TruffleBoundary
     public static boolean setWithReceiver(DynamicObject obj, long index, Object value, Object receiver, boolean isStrict) {
+        checkBuiltinModification(obj, receiver);
         return JSObject.getJSClass(obj).set(obj, index, value, receiver, isStrict);
     }
 
     public static boolean setWithReceiver(DynamicObject obj, Object key, Object value, Object receiver, boolean isStrict, JSClassProfile classProfile) {
         assert JSRuntime.isPropertyKey(key);
+        checkBuiltinModification(obj, receiver);
         return classProfile.getJSClass(obj).set(obj, key, value, receiver, isStrict);
     }
 
     public static boolean setWithReceiver(DynamicObject obj, long index, Object value, Object receiver, boolean isStrict, JSClassProfile classProfile) {
+        checkBuiltinModification(obj, receiver);
         return classProfile.getJSClass(obj).set(obj, index, value, receiver, isStrict);
     }
 
@@ -398,10 +406,12 @@ public abstract class JSObject extends JSDynamicObject {
 
     @TruffleBoundary
     public static boolean delete(DynamicObject obj, long index, boolean isStrict) {
+        checkBuiltinModification(obj);
         return JSObject.getJSClass(obj).delete(obj, index, isStrict);
     }
 
     public static boolean delete(DynamicObject obj, long index, boolean isStrict, JSClassProfile classProfile) {
+        checkBuiltinModification(obj);
         return classProfile.getJSClass(obj).delete(obj, index, isStrict);
     }
 
@@ -413,11 +423,13 @@ public abstract class JSObject extends JSDynamicObject {
     @TruffleBoundary
     public static boolean delete(DynamicObject obj, Object key, boolean isStrict) {
         assert JSRuntime.isPropertyKey(key);
+        checkBuiltinModification(obj);
         return JSObject.getJSClass(obj).delete(obj, key, isStrict);
     }
 
     public static boolean delete(DynamicObject obj, Object key, boolean isStrict, JSClassProfile classProfile) {
         assert JSRuntime.isPropertyKey(key);
+        checkBuiltinModification(obj);
         return classProfile.getJSClass(obj).delete(obj, key, isStrict);
     }
 
@@ -507,12 +519,14 @@ public abstract class JSObject extends JSDynamicObject {
     @TruffleBoundary
     public static boolean defineOwnProperty(DynamicObject obj, Object key, PropertyDescriptor desc) {
         assert JSRuntime.isPropertyKey(key);
+        checkBuiltinModification(obj);
         return JSObject.getJSClass(obj).defineOwnProperty(obj, key, desc, false);
     }
 
     @TruffleBoundary
     public static boolean defineOwnProperty(DynamicObject obj, Object key, PropertyDescriptor desc, boolean doThrow) {
         assert JSRuntime.isPropertyKey(key);
+        checkBuiltinModification(obj);
         return JSObject.getJSClass(obj).defineOwnProperty(obj, key, desc, doThrow);
     }
 
@@ -612,6 +626,7 @@ public abstract class JSObject extends JSDynamicObject {
 
     @TruffleBoundary
     public static boolean preventExtensions(DynamicObject obj, boolean doThrow) {
+        checkBuiltinModification(obj);
         return JSObject.getJSClass(obj).preventExtensions(obj, doThrow);
     }
 
@@ -679,7 +694,32 @@ public abstract class JSObject extends JSDynamicObject {
 
     @TruffleBoundary
     public static boolean setIntegrityLevel(DynamicObject obj, boolean freeze, boolean doThrow) {
+        checkBuiltinModification(obj);
         return JSObject.getJSClass(obj).setIntegrityLevel(obj, freeze, doThrow);
     }
 
+    /**
+     * Records that {@code obj} is about to be modified if it is a built-in object of a realm that
+     * can be reset (see {@link JSShape#BUILTIN_FLAG}).
+     */
+    public static void checkBuiltinModification(DynamicObject obj) {
+        if (JSShape.isBuiltinObject(obj.getShape())) {
+            markBuiltinsModified(obj);
+        }
+    }
+
+    private static void checkBuiltinModification(DynamicObject obj, Object receiver) {
+        if (JSShape.areBuiltinObjectsMarked()) {
+            checkBuiltinModification(obj);
+            if (receiver != obj && JSDynamicObject.isJSDynamicObject(receiver)) {
+                checkBuiltinModification((DynamicObject) receiver);
+            }
+        }
+    }
+
+    @TruffleBoundary
+    private static void markBuiltinsModified(DynamicObject obj) {
+        getJSContext(obj).getRealm().setBuiltinsModified();
+    }
+
 }
@@ -41,6 +41,7 @@
 package com.oracle.truffle.js.runtime.objects;
 
 import com.oracle.truffle.api.Assumption;
+import com.oracle.truffle.api.Truffle;
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.api.object.HiddenKey;
 import com.oracle.truffle.api.object.ObjectType;
@@ -73,6 +74,22 @@ public final class JSShape {
      */
     public static final int EXTERNAL_PROPERTIES_FLAG = 1 << 3;
 
+    /**
+     * If this flag is set, the object is a built-in of a realm that can be reset to its initial
+     * state, and modifying it prevents the reset.
+     *
+     * @see com.oracle.truffle.js.runtime.JSRealm#capturePristineState()
+     */
+    public static final int BUILTIN_FLAG = 1 << 4;
+
+    /**
+     * Assumption: No object has been marked with {@link #BUILTIN_FLAG}. As long as this assumption
+     * holds, modifications of built-in objects are not checked at all. It is global because the
+     * checks are made in static helpers that have no context at hand, and it is only invalidated
+     * when a realm captures its pristine state.
+     */
+    private static final Assumption NO_BUILTIN_OBJECTS_MARKED_ASSUMPTION = Truffle.getRuntime().createAssumption("noBuiltinObjectsMarkedAssumption");
+
     private JSShape() {
     }
 
@@ -117,6 +134,21 @@ public final class JSShape {
         return (shape.getFlags() & NOT_EXTENSIBLE_FLAG) == 0;
     }
 
+    public static boolean isBuiltinObject(Shape shape) {
+        return areBuiltinObjectsMarked() && (shape.getFlags() & BUILTIN_FLAG) != 0;
+    }
+
+    public static boolean areBuiltinObjectsMarked() {
+        return !NO_BUILTIN_OBJECTS_MARKED_ASSUMPTION.isValid();
+    }
+
+    public static void markBuiltinObject(DynamicObject object) {
+        if (NO_BUILTIN_OBJECTS_MARKED_ASSUMPTION.isValid()) {
+            NO_BUILTIN_OBJECTS_MARKED_ASSUMPTION.invalidate("built-in object marked");
+        }
+        JSDynamicObject.setObjectFlags(object, JSDynamicObject.getObjectFlags(object) | BUILTIN_FLAG);
+    }
+
     public static boolean isPrototypeInShape(Shape shape) {
         return getPrototypeProperty(shape).getLocation().isConstant();
     }
@@ -164,6 +196,14 @@ public final class JSShape {
         return JSShapeData.getPropertiesIfHasEnumerablePropertyNames(shape);
     }
 
+    /**
+     * Returns the JSON.stringify serialization plan for objects of this shape, or {@code null} if
+     * such objects have to be serialized generically.
+     */
+    public static JSONSerializationPlan getJSONSerializationPlan(Shape shape) {
+        return JSShapeData.getJSONSerializationPlan(shape);
+    }
+
     /**
      * Internal constructor for null and undefined shapes.
      */
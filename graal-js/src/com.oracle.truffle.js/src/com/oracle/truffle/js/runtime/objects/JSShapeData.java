@@ -65,6 +65,7 @@ public final class JSShapeData {
 
     private Property[] propertyArray;
     private String[] enumerablePropertyNames;
+    private JSONSerializationPlan jsonSerializationPlan;
 
     private JSShapeData() {
     }
@@ -168,10 +169,23 @@ public final class JSShapeData {
         return asUnmodifiableList(shape.getPropertyCount() == 0 ? EMPTY_PROPERTY_ARRAY : getPropertiesArrayIfHasEnumerablePropertyNames(shape));
     }
 
+    @TruffleBoundary
+    static JSONSerializationPlan getJSONSerializationPlan(Shape shape) {
+        JSShapeData shapeData = getShapeData(shape);
+        JSONSerializationPlan plan = shapeData.jsonSerializationPlan;
+        if (plan == null) {
+            jsonSerializationPlanAllocCount.inc();
+            plan = JSONSerializationPlan.create(shape, shape.getPropertyCount() == 0 ? EMPTY_STRING_ARRAY : getEnumerablePropertyNamesArray(shapeData, shape));
+            shapeData.jsonSerializationPlan = plan;
+        }
+        return plan.isSupported() ? plan : null;
+    }
+
     private static <T> UnmodifiableArrayList<T> asUnmodifiableList(T[] array) {
         return new UnmodifiableArrayList<>(array);
     }
 
     private static final DebugCounter enumerablePropertyListAllocCount = DebugCounter.create("Enumerable property lists allocated");
+    private static final DebugCounter jsonSerializationPlanAllocCount = DebugCounter.create("JSON serialization plans allocated");
     private static final DebugCounter propertyListAllocCount = DebugCounter.create("Property lists allocated");
 }
@@ -45,6 +45,7 @@ import java.nio.ByteOrder;
 
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.js.runtime.JSContext;
 
 public final class DirectByteBufferHelper {
     private static final Class<? extends ByteBuffer> DIRECT_BYTE_BUFFER_CLASS = ByteBuffer.allocateDirect(0).getClass();
@@ -64,4 +65,31 @@ public final class DirectByteBufferHelper {
     public static ByteBuffer cast(ByteBuffer buffer) {
         return CompilerDirectives.castExact(buffer, DIRECT_BYTE_BUFFER_CLASS);
     }
+
+    /**
+     * Casts the buffer of a direct array buffer to the exact direct buffer class, unless read-only
+     * buffers have been used in this context.
+     *
+     * @see JSContext#getArrayBufferNotReadOnlyAssumption()
+     */
+    public static ByteBuffer cast(ByteBuffer buffer, JSContext context) {
+        if (context.getArrayBufferNotReadOnlyAssumption().isValid()) {
+            return cast(buffer);
+        }
+        return buffer;
+    }
+
+    /**
+     * Returns the buffer if it can back a direct array buffer. Buffers of other classes than the
+     * exact direct buffer class, e.g. read-only buffers, invalidate the
+     * {@link JSContext#getArrayBufferNotReadOnlyAssumption() assumption} of the context.
+     */
+    @TruffleBoundary
+    public static ByteBuffer checkDirect(ByteBuffer buffer, JSContext context) {
+        assert buffer.isDirect();
+        if (buffer.getClass() != DIRECT_BYTE_BUFFER_CLASS) {
+            context.getArrayBufferNotReadOnlyAssumption().invalidate("read-only or foreign direct byte buffer");
+        }
+        return buffer;
+    }
 }
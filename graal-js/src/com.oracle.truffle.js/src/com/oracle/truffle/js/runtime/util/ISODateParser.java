@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.util;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.builtins.JSDate;
+
+/**
+ * Parser for the common forms of the ECMAScript Date Time String Format (ES2020 20.4.1.15):
+ *
+ * <pre>
+ * (YYYY | (+|-)YYYYYY)[-MM[-DD]][THH:mm[:ss[.sss]][Z | (+|-)HH:mm]]
+ * </pre>
+ *
+ * The time value is computed directly from the characters of the string, without a tokenizer or
+ * intermediate objects. Strings of any other form yield {@code NaN} and have to be parsed by the
+ * general date parser, which accepts all strings accepted here (with the same result) and many
+ * more. Time values outside of the valid range also yield {@code NaN}, the general parser
+ * reports them as well.
+ */
+public final class ISODateParser {
+
+    /** Days before the first day of each month in a non-leap year. */
+    private static final int[] DAYS_BEFORE_MONTH = {0, 31, 59, 90, 120, 151, 181, 212, 243, 273, 304, 334};
+
+    private ISODateParser() {
+    }
+
+    /**
+     * Returns the time value of a (trimmed) date time string, or {@code NaN} if the string is not
+     * in one of the supported forms.
+     */
+    @TruffleBoundary
+    public static double parse(String str, JSContext context) {
+        int length = str.length();
+        int pos;
+        int year;
+        if (length >= 4 && isDigits(str, 0, 4)) {
+            year = readDigits(str, 0, 4);
+            pos = 4;
+        } else if (length >= 7 && (str.charAt(0) == '+' || str.charAt(0) == '-') && isDigits(str, 1, 6)) {
+            year = readDigits(str, 1, 6);
+            if (str.charAt(0) == '-') {
+                year = -year;
+            }
+            pos = 7;
+        } else {
+            return Double.NaN;
+        }
+
+        int month = 1;
+        int day = 1;
+        if (isNumberDelimiter(str, pos, '-', 2)) {
+            month = readDigits(str, pos + 1, 2);
+            pos += 3;
+            if (isNumberDelimiter(str, pos, '-', 2)) {
+                day = readDigits(str, pos + 1, 2);
+                pos += 3;
+            }
+        }
+        if (month < 1 || month > 12 || day < 1 || day > 31) {
+            return Double.NaN;
+        }
+        long date = dayFromDate(year, month, day) * JSDate.MS_PER_DAY;
+
+        if (pos == length) {
+            // date-only forms are UTC
+            return timeClip(date);
+        } else if (str.charAt(pos) != 'T' || !isDigits(str, pos + 1, 2) || !isNumberDelimiter(str, pos + 3, ':', 2)) {
+            return Double.NaN;
+        }
+        int hour = readDigits(str, pos + 1, 2);
+        int minute = readDigits(str, pos + 4, 2);
+        pos += 6;
+        int second = 0;
+        int millis = 0;
+        if (isNumberDelimiter(str, pos, ':', 2)) {
+            second = readDigits(str, pos + 1, 2);
+            pos += 3;
+            if (isNumberDelimiter(str, pos, '.', 1)) {
+                pos++;
+                int start = pos;
+                while (pos < length && isDigit(str.charAt(pos))) {
+                    if (pos - start < 3) {
+                        millis = millis * 10 + (str.charAt(pos) - '0');
+                    }
+                    pos++;
+                }
+                if (pos - start > 9) {
+                    return Double.NaN;
+                }
+                for (int i = pos - start; i < 3; i++) {
+                    millis *= 10;
+                }
+            }
+        }
+        if (hour > 24 || minute > 59 || second > 59 || (hour == 24 && (minute != 0 || second != 0 || millis != 0))) {
+            return Double.NaN;
+        }
+        date += ((hour * 60L + minute) * 60L + second) * 1000L + millis;
+
+        if (pos == length) {
+            // date-time forms without an offset are local time
+            if (Math.abs(date) >= JSDate.MAX_DATE + JSDate.MS_PER_DAY) {
+                return Double.NaN;
+            }
+            return timeClip(date - JSDate.localTZA(date, false, context));
+        }
+        char c = str.charAt(pos);
+        if (c == 'Z' && pos + 1 == length) {
+            return timeClip(date);
+        } else if ((c == '+' || c == '-') && pos + 6 == length && isDigits(str, pos + 1, 2) && isNumberDelimiter(str, pos + 3, ':', 2)) {
+            int offset = readDigits(str, pos + 1, 2) * 60 + readDigits(str, pos + 4, 2);
+            return timeClip(date - (c == '-' ? -offset : offset) * (long) JSDate.MS_PER_MINUTE);
+        }
+        return Double.NaN;
+    }
+
+    private static long dayFromDate(int year, int month, int day) {
+        int dayInYear = DAYS_BEFORE_MONTH[month - 1] + (month > 2 && isLeapYear(year) ? 1 : 0);
+        return (long) JSDate.dayFromYear(year) + dayInYear + day - 1;
+    }
+
+    private static boolean isLeapYear(int year) {
+        return year % 4 == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    private static double timeClip(long time) {
+        return Math.abs(time) > JSDate.MAX_DATE ? Double.NaN : time;
+    }
+
+    private static boolean isDigit(char c) {
+        return '0' <= c && c <= '9';
+    }
+
+    private static boolean isDigits(String str, int start, int count) {
+        if (start + count > str.length()) {
+            return false;
+        }
+        for (int i = start; i < start + count; i++) {
+            if (!isDigit(str.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether there is the given delimiter at {@code pos}, followed by exactly
+     * {@code digits} digits (or at least that many, if the delimiter is '.').
+     */
+    private static boolean isNumberDelimiter(String str, int pos, char delimiter, int digits) {
+        if (pos >= str.length() || str.charAt(pos) != delimiter || !isDigits(str, pos + 1, digits)) {
+            return false;
+        }
+        int end = pos + 1 + digits;
+        return delimiter == '.' || end == str.length() || !isDigit(str.charAt(end));
+    }
+
+    private static int readDigits(String str, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            value = value * 10 + (str.charAt(i) - '0');
+        }
+        return value;
+    }
+}
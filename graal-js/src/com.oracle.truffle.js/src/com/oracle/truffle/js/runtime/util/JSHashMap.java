@@ -40,12 +40,19 @@
  */
 package com.oracle.truffle.js.runtime.util;
 
-import java.util.HashMap;
+import java.util.Arrays;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 
 /**
  * ES6-compliant hash map implementation.
+ *
+ * Entries are stored in insertion order in a flat array, with hash chains threaded through a
+ * parallel int array (like V8's OrderedHashTable). Removed entries become tombstones until the
+ * table is rebuilt, which happens when it is full (growing it unless enough tombstones can be
+ * dropped) or mostly empty (shrinking it). A rebuilt or cleared table remembers its successor and
+ * which entries were dropped, so that live cursors can move over to the new table without skipping
+ * or repeating entries.
  */
 public final class JSHashMap {
     public interface Cursor {
@@ -72,21 +79,20 @@ public final class JSHashMap {
         Cursor copy();
     }
 
-    private final HashMap<Object, Node> map;
-    private final Node head;
-    private Node tail;
+    private static final int INITIAL_CAPACITY = 8;
+    private static final int NO_ENTRY = -1;
+
+    private Table table;
+    private int size;
 
     @TruffleBoundary(allowInlining = true)
     public JSHashMap() {
-        this.map = new HashMap<>();
-        Node dummy = new Node(null, null, null, null);
-        this.head = dummy;
-        this.tail = dummy;
+        this.table = new Table(INITIAL_CAPACITY);
     }
 
     @TruffleBoundary(allowInlining = true)
     public int size() {
-        return map.size();
+        return size;
     }
 
     /**
@@ -94,172 +100,238 @@ public final class JSHashMap {
      */
     @TruffleBoundary
     public void put(Object key, Object value) {
-        Node newNode = new Node(key, value, null, null);
-        Node oldNode = map.putIfAbsent(key, newNode);
-        if (oldNode == null) {
-            newNode.setPrev(tail);
-            tail.setNext(newNode);
-            tail = newNode;
-        } else {
-            oldNode.setValue(value);
+        assert key != null && value != null;
+        int hash = hash(key);
+        int index = table.find(key, hash);
+        if (index != NO_ENTRY) {
+            table.entries[valueIndex(index)] = value;
+            return;
+        }
+        if (table.used == table.capacity()) {
+            int capacity = table.capacity();
+            // drop the tombstones in place if that frees at least half of the table
+            rebuild(size <= capacity / 2 ? capacity : capacity * 2);
         }
+        table.append(key, value, hash);
+        size++;
     }
 
     @TruffleBoundary
     public Object get(Object key) {
-        Node node = map.get(key);
-        return node == null ? null : node.getValue();
+        int index = table.find(key, hash(key));
+        return index == NO_ENTRY ? null : table.entries[valueIndex(index)];
     }
 
     @TruffleBoundary
     public boolean has(Object key) {
-        return map.containsKey(key);
+        return table.find(key, hash(key)) != NO_ENTRY;
     }
 
     @TruffleBoundary
     public boolean remove(Object key) {
-        Node node = map.remove(key);
-        if (node == null) {
+        int index = table.find(key, hash(key));
+        if (index == NO_ENTRY) {
             return false;
-        } else {
-            unlink(node);
-            return true;
         }
-    }
-
-    private void unlink(Node node) {
-        Node next = node.getNext();
-        Node prev = node.getPrev();
-        prev.setNext(next);
-        if (next != null) {
-            next.setPrev(prev);
-        } else {
-            tail = prev;
+        table.entries[keyIndex(index)] = null;
+        table.entries[valueIndex(index)] = null;
+        size--;
+        int capacity = table.capacity();
+        if (capacity > INITIAL_CAPACITY && size < capacity / 4) {
+            rebuild(capacity / 2);
         }
-        node.setEmpty();
+        return true;
     }
 
     @TruffleBoundary
     public void clear() {
-        map.clear();
-        for (Node current = head.getNext(); current != null; current = current.getNext()) {
-            current.setEmpty();
+        Table newTable = new Table(INITIAL_CAPACITY);
+        table.succeed(newTable, null);
+        table = newTable;
+        size = 0;
+    }
+
+    /**
+     * Copies the live entries to a new table of the given capacity, in order.
+     */
+    private void rebuild(int capacity) {
+        assert size <= capacity;
+        Table oldTable = table;
+        Table newTable = new Table(capacity);
+        int[] removed = new int[oldTable.used - size];
+        int removedCount = 0;
+        for (int i = 0; i < oldTable.used; i++) {
+            Object key = oldTable.entries[keyIndex(i)];
+            if (key == null) {
+                removed[removedCount++] = i;
+            } else {
+                newTable.append(key, oldTable.entries[valueIndex(i)], hash(key));
+            }
         }
-        head.setNext(null);
-        tail = head;
+        assert removedCount == removed.length;
+        oldTable.succeed(newTable, removed);
+        table = newTable;
+    }
+
+    /**
+     * Keys are normalized by the callers, so that SameValueZero corresponds to {@link Object#equals}
+     * and {@link Object#hashCode}. Integer keys hash to their value and strings cache their hash
+     * code, so the common key types need no extra work here.
+     */
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static int keyIndex(int entry) {
+        return entry << 1;
+    }
+
+    private static int valueIndex(int entry) {
+        return (entry << 1) + 1;
     }
 
     @TruffleBoundary
     @Override
     public String toString() {
-        return map.toString();
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < table.used; i++) {
+            Object key = table.entries[keyIndex(i)];
+            if (key != null) {
+                if (sb.length() > 1) {
+                    sb.append(", ");
+                }
+                sb.append(key).append('=').append(table.entries[valueIndex(i)]);
+            }
+        }
+        return sb.append('}').toString();
     }
 
     public Cursor getEntries() {
-        return new CursorImpl(head);
+        return new CursorImpl(table, NO_ENTRY);
+    }
+
+    private static final class Table {
+        /** Keys and values of the entries in insertion order; {@code null} keys are tombstones. */
+        final Object[] entries;
+        /** Next entry in the same bucket, for each entry. */
+        final int[] chain;
+        /** First entry of each bucket. */
+        final int[] buckets;
+        /** Number of entries appended so far, including tombstones. */
+        int used;
+
+        /** The table that replaced this one, or {@code null} if this table is current. */
+        Table successor;
+        /** Sorted indices of the tombstones dropped when the successor was built, {@code null} if cleared. */
+        int[] removed;
+
+        Table(int capacity) {
+            this.entries = new Object[capacity * 2];
+            this.chain = new int[capacity];
+            this.buckets = new int[Math.max(1, capacity / 2)];
+            Arrays.fill(buckets, NO_ENTRY);
+        }
+
+        int capacity() {
+            return chain.length;
+        }
+
+        int bucket(int hash) {
+            return hash & (buckets.length - 1);
+        }
+
+        int find(Object key, int hash) {
+            for (int i = buckets[bucket(hash)]; i != NO_ENTRY; i = chain[i]) {
+                Object candidate = entries[keyIndex(i)];
+                if (candidate == key || (candidate != null && candidate.equals(key))) {
+                    return i;
+                }
+            }
+            return NO_ENTRY;
+        }
+
+        void append(Object key, Object value, int hash) {
+            int index = used++;
+            entries[keyIndex(index)] = key;
+            entries[valueIndex(index)] = value;
+            int bucket = bucket(hash);
+            chain[index] = buckets[bucket];
+            buckets[bucket] = index;
+        }
+
+        void succeed(Table newTable, int[] removedIndices) {
+            this.successor = newTable;
+            this.removed = removedIndices;
+        }
+
+        /**
+         * Maps an entry index of this table to the successor table. A removed entry maps to the
+         * entry before it, so that advancing continues with the entry that followed it.
+         */
+        int translate(int index) {
+            if (removed == null) {
+                return NO_ENTRY;
+            }
+            int pos = Arrays.binarySearch(removed, index);
+            int removedUpToIndex = pos >= 0 ? pos + 1 : -(pos + 1);
+            return index - removedUpToIndex;
+        }
     }
 
     private static final class CursorImpl implements Cursor {
-        private Node current;
+        /** {@code null} once the cursor is exhausted. */
+        private Table table;
+        private int index;
 
-        CursorImpl(Node head) {
-            this.current = head;
+        CursorImpl(Table table, int index) {
+            this.table = table;
+            this.index = index;
         }
 
         @Override
         public boolean advance() {
-            if (current == null) {
+            Table t = table;
+            if (t == null) {
                 return false;
-            } else {
-                // if current is no longer in the map, back up to a previous node still in the map
-                while (current.isEmpty() && current.getPrev() != null) {
-                    current = current.getPrev();
+            }
+            while (t.successor != null) {
+                index = t.translate(index);
+                t = t.successor;
+            }
+            for (int i = index + 1; i < t.used; i++) {
+                if (t.entries[keyIndex(i)] != null) {
+                    table = t;
+                    index = i;
+                    return true;
                 }
-                Node next = current.getNext();
-                assert next == null || next.getKey() != null;
-                current = next;
-                return next != null;
             }
+            table = null;
+            return false;
         }
 
         @Override
         public Object getKey() {
-            Object key = current.getKey();
+            Object key = table.entries[keyIndex(index)];
             assert key != null;
             return key;
         }
 
         @Override
         public Object getValue() {
-            Object value = current.getValue();
+            Object value = table.entries[valueIndex(index)];
             assert value != null;
             return value;
         }
 
         @Override
         public String toString() {
-            return "Cursor [current=" + current + "]";
+            return "Cursor [index=" + index + "]";
         }
 
         @Override
         public Cursor copy() {
-            return new CursorImpl(current);
-        }
-    }
-
-    private static final class Node {
-        private Object key;
-        private Object value;
-        private Node prev;
-        private Node next;
-
-        Node(Object key, Object value, Node prev, Node next) {
-            this.key = key;
-            this.value = value;
-            this.prev = prev;
-            this.next = next;
-        }
-
-        Object getKey() {
-            return key;
-        }
-
-        Object getValue() {
-            return value;
-        }
-
-        void setValue(Object value) {
-            this.value = value;
-        }
-
-        Node getPrev() {
-            return prev;
-        }
-
-        void setPrev(Node prev) {
-            this.prev = prev;
-        }
-
-        Node getNext() {
-            return next;
-        }
-
-        void setNext(Node next) {
-            this.next = next;
-        }
-
-        void setEmpty() {
-            this.key = null;
-            this.value = null;
-        }
-
-        boolean isEmpty() {
-            return this.key == null;
-        }
-
-        @Override
-        public String toString() {
-            return "Node [key=" + key + ", value=" + value + "]";
+            return new CursorImpl(table, index);
         }
     }
 }
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.util;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * Caches the offset of a time zone for the interval between the two transitions (e.g. DST
+ * changes) surrounding the last requested time, so that repeated local time computations in the
+ * same interval do not have to consult the {@link ZoneRules}. Separate intervals are kept for
+ * lookups by UTC time and by local time.
+ *
+ * The offsets are the same as those of {@link ZoneRules#getOffset(Instant)} and
+ * {@link ZoneRules#getOffset(LocalDateTime)}, respectively. In particular, a local time in a gap or
+ * an overlap gets the offset before the transition.
+ */
+public final class TimeZoneOffsetCache {
+
+    private static final Interval EMPTY = new Interval(0, 0, 0);
+
+    private final ZoneId zoneId;
+    private final ZoneRules rules;
+    private final boolean fixedOffset;
+    private final long fixedOffsetMillis;
+
+    private Interval utcInterval = EMPTY;
+    private Interval localInterval = EMPTY;
+
+    @TruffleBoundary
+    public TimeZoneOffsetCache(ZoneId zoneId) {
+        this.zoneId = zoneId;
+        this.rules = zoneId.getRules();
+        this.fixedOffset = rules.isFixedOffset();
+        this.fixedOffsetMillis = fixedOffset ? toMillis(rules.getOffset(Instant.EPOCH)) : 0;
+    }
+
+    public ZoneId getZoneId() {
+        return zoneId;
+    }
+
+    /**
+     * Returns the offset of the time zone at the given UTC time, in milliseconds.
+     */
+    public long getOffsetFromUTC(long utcMillis) {
+        if (fixedOffset) {
+            return fixedOffsetMillis;
+        }
+        Interval interval = utcInterval;
+        if (interval.contains(utcMillis)) {
+            return interval.offset;
+        }
+        return lookupFromUTC(utcMillis);
+    }
+
+    /**
+     * Returns the offset of the time zone at the given local time, in milliseconds.
+     */
+    public long getOffsetFromLocal(long localMillis) {
+        if (fixedOffset) {
+            return fixedOffsetMillis;
+        }
+        Interval interval = localInterval;
+        if (interval.contains(localMillis)) {
+            return interval.offset;
+        }
+        return lookupFromLocal(localMillis);
+    }
+
+    @TruffleBoundary
+    private long lookupFromUTC(long utcMillis) {
+        long offset = toMillis(rules.getOffset(Instant.ofEpochMilli(utcMillis)));
+        ZoneOffsetTransition previous = rules.previousTransition(Instant.ofEpochMilli(utcMillis + 1));
+        ZoneOffsetTransition next = rules.nextTransition(Instant.ofEpochMilli(utcMillis));
+        long start = previous == null ? Long.MIN_VALUE : toMillis(previous);
+        long end = next == null ? Long.MAX_VALUE : toMillis(next);
+        utcInterval = new Interval(start, end, offset);
+        return offset;
+    }
+
+    @TruffleBoundary
+    private long lookupFromLocal(long localMillis) {
+        LocalDateTime localDateTime = LocalDateTime.ofEpochSecond(Math.floorDiv(localMillis, 1000L), (int) Math.floorMod(localMillis, 1000L) * 1000000, ZoneOffset.UTC);
+        long offset = toMillis(rules.getOffset(localDateTime));
+        long utcMillis = localMillis - offset;
+        if (toMillis(rules.getOffset(Instant.ofEpochMilli(utcMillis))) != offset) {
+            // local time in a gap, the offset before the transition does not apply at utcMillis
+            return offset;
+        }
+        // local times in a gap or an overlap at either end belong to the earlier interval
+        ZoneOffsetTransition previous = rules.previousTransition(Instant.ofEpochMilli(utcMillis + 1));
+        ZoneOffsetTransition next = rules.nextTransition(Instant.ofEpochMilli(utcMillis));
+        long start = previous == null ? Long.MIN_VALUE : toMillis(previous) + Math.max(offset, toMillis(previous.getOffsetBefore()));
+        long end = next == null ? Long.MAX_VALUE : toMillis(next) + Math.max(offset, toMillis(next.getOffsetAfter()));
+        Interval interval = new Interval(start, end, offset);
+        if (interval.contains(localMillis)) {
+            localInterval = interval;
+        }
+        return offset;
+    }
+
+    private static long toMillis(ZoneOffset offset) {
+        return offset.getTotalSeconds() * 1000L;
+    }
+
+    private static long toMillis(ZoneOffsetTransition transition) {
+        return transition.toEpochSecond() * 1000L;
+    }
+
+    private static final class Interval {
+        /** Inclusive start of the interval. */
+        final long start;
+        /** Exclusive end of the interval. */
+        final long end;
+        final long offset;
+
+        Interval(long start, long end, long offset) {
+            this.start = start;
+            this.end = end;
+            this.offset = offset;
+        }
+
+        boolean contains(long millis) {
+            return start <= millis && millis < end;
+        }
+    }
+}